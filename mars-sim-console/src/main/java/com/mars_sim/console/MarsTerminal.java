@@ -339,6 +339,11 @@ public class MarsTerminal extends SwingTextTerminal implements ClockListener {
 		// not needed
 	}
 
+	@Override
+	public boolean isParallel() {
+		return true;
+	}
+
 	@Override
 	public void pauseChange(boolean isPaused, boolean showPane) {
 		changeTitle(isPaused);
@@ -15,6 +15,7 @@ import com.mars_sim.console.chat.Conversation;
 import com.mars_sim.console.chat.ConversationRole;
 import com.mars_sim.core.time.MarsTime;
 import com.mars_sim.core.time.MasterClock;
+import com.mars_sim.core.time.MasterClock.ClockListenerTask;
 
 /**
  * Command to stop speaking with an entity.
@@ -53,6 +54,18 @@ public class DateCommand extends ChatCommand {
 			responseText.appendLabelledDigit("Last Pulse execution (msec)", clock.getExecutionTime());
 			responseText.appendLabelledDigit("Last sleep time (msec)", clock.getSleepTime());
 			responseText.appendLabelledDigit("Pulse count", (int) clock.getTotalPulses());
+			responseText.appendLabelledDigit("Last save pause (msec)", (int) context.getSim().getLastSavePauseTime());
+			responseText.appendLabelledDigit("Last save write (msec)", (int) context.getSim().getLastSaveWriteTime());
+
+			// Show which listener is holding the clock back
+			responseText.appendBlankLine();
+			responseText.appendTableHeading("Clock Listener", 30, "Mode", "Last (msec)", "Average (msec)");
+			for (ClockListenerTask t : clock.getClockListenerTasks()) {
+				responseText.appendTableRow(t.getClockListener().getClass().getSimpleName(),
+								(t.isParallel() ? "Parallel" : "Serial"),
+								String.format("%.3f", t.getLastExecutionTime()),
+								String.format("%.3f", t.getAverageExecutionTime()));
+			}
 		}
 
 		context.println(responseText.getOutput());
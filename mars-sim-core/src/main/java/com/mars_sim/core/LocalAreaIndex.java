@@ -0,0 +1,177 @@
+/*
+ * Mars Simulation Project
+ * LocalAreaIndex.java
+ */
+package com.mars_sim.core;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mars_sim.core.map.location.LocalBoundedObject;
+
+/**
+ * A spatial index of the bounded objects at one location. Each object is held in the
+ * cells of a uniform grid covered by its bounding rectangle so a collision check only
+ * needs an exact test against the objects near it.
+ * Changes are serialised but lookups can run concurrently with them.
+ */
+final class LocalAreaIndex {
+
+	/** Size of a grid cell in meters. */
+	private static final double CELL_SIZE = 10D;
+
+	private final Map<LocalBoundedObject, Rectangle2D> bounds = new ConcurrentHashMap<>();
+	private final Map<Long, Set<LocalBoundedObject>> cells = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an index of some objects.
+	 *
+	 * @param objects Objects at the location
+	 */
+	LocalAreaIndex(Collection<? extends LocalBoundedObject> objects) {
+		for (LocalBoundedObject o : objects) {
+			add(o);
+		}
+	}
+
+	private static int toCell(double v) {
+		return (int) Math.floor(v / CELL_SIZE);
+	}
+
+	private static Long toKey(int x, int y) {
+		return ((long) x << 32) | (y & 0xffffffffL);
+	}
+
+	/**
+	 * Adds an object or refreshes the bounds of an existing one.
+	 *
+	 * @param o
+	 */
+	synchronized void add(LocalBoundedObject o) {
+		remove(o);
+		if (o.getPosition() == null) {
+			// Not placed yet
+			return;
+		}
+
+		Rectangle2D rect = LocalAreaUtil.getBoundingRectangle(o);
+		bounds.put(o, rect);
+		for (int x = toCell(rect.getMinX()); x <= toCell(rect.getMaxX()); x++) {
+			for (int y = toCell(rect.getMinY()); y <= toCell(rect.getMaxY()); y++) {
+				cells.computeIfAbsent(toKey(x, y), k -> ConcurrentHashMap.newKeySet()).add(o);
+			}
+		}
+	}
+
+	/**
+	 * Removes an object.
+	 *
+	 * @param o
+	 */
+	synchronized void remove(LocalBoundedObject o) {
+		Rectangle2D rect = bounds.remove(o);
+		if (rect == null) {
+			return;
+		}
+		for (int x = toCell(rect.getMinX()); x <= toCell(rect.getMaxX()); x++) {
+			for (int y = toCell(rect.getMinY()); y <= toCell(rect.getMaxY()); y++) {
+				Long key = toKey(x, y);
+				Set<LocalBoundedObject> cell = cells.get(key);
+				if (cell != null) {
+					cell.remove(o);
+					if (cell.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets all the objects in the index.
+	 */
+	Collection<LocalBoundedObject> getAll() {
+		return Collections.unmodifiableSet(bounds.keySet());
+	}
+
+	/**
+	 * Gets the objects whose bounding rectangle contains a point.
+	 *
+	 * @param x
+	 * @param y
+	 * @return
+	 */
+	List<LocalBoundedObject> getCandidates(double x, double y) {
+		Set<LocalBoundedObject> cell = cells.get(toKey(toCell(x), toCell(y)));
+		if (cell == null) {
+			return Collections.emptyList();
+		}
+
+		List<LocalBoundedObject> result = new ArrayList<>();
+		for (LocalBoundedObject o : cell) {
+			Rectangle2D rect = bounds.get(o);
+			if ((rect != null) && rect.contains(x, y)) {
+				result.add(o);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the objects whose bounding rectangle intersects an area.
+	 *
+	 * @param area
+	 * @return
+	 */
+	List<LocalBoundedObject> getCandidates(Rectangle2D area) {
+		int minX = toCell(area.getMinX());
+		int maxX = toCell(area.getMaxX());
+		int minY = toCell(area.getMinY());
+		int maxY = toCell(area.getMaxY());
+
+		List<LocalBoundedObject> result = new ArrayList<>();
+		long cellCount = (long) (maxX - minX + 1) * (maxY - minY + 1);
+		if (cellCount > bounds.size()) {
+			// Large area so quicker to check every object
+			for (Map.Entry<LocalBoundedObject, Rectangle2D> e : bounds.entrySet()) {
+				if (intersects(e.getValue(), area)) {
+					result.add(e.getKey());
+				}
+			}
+			return result;
+		}
+
+		Set<LocalBoundedObject> seen = new HashSet<>();
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				Set<LocalBoundedObject> cell = cells.get(toKey(x, y));
+				if (cell == null) {
+					continue;
+				}
+				for (LocalBoundedObject o : cell) {
+					Rectangle2D rect = bounds.get(o);
+					if ((rect != null) && intersects(rect, area) && seen.add(o)) {
+						result.add(o);
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks two rectangles overlap. This includes touching edges which
+	 * Rectangle2D.intersects does not, as a thin line path may have no width.
+	 */
+	private static boolean intersects(Rectangle2D r1, Rectangle2D r2) {
+		return (r1.getMinX() <= r2.getMaxX()) && (r2.getMinX() <= r1.getMaxX())
+				&& (r1.getMinY() <= r2.getMaxY()) && (r2.getMinY() <= r1.getMaxY());
+	}
+}
@@ -13,11 +13,11 @@ import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mars_sim.core.map.location.Coordinates;
 import com.mars_sim.core.map.location.LocalBoundedObject;
@@ -25,8 +25,6 @@ import com.mars_sim.core.map.location.LocalPosition;
 import com.mars_sim.core.structure.Settlement;
 import com.mars_sim.core.structure.building.Building;
 import com.mars_sim.core.structure.construction.ConstructionSite;
-import com.mars_sim.core.time.MarsTime;
-import com.mars_sim.core.time.MasterClock;
 import com.mars_sim.core.tool.RandomUtil;
 import com.mars_sim.core.vehicle.Vehicle;
 
@@ -36,9 +34,6 @@ import com.mars_sim.core.vehicle.Vehicle;
  */
 public class LocalAreaUtil {
 
-	// Record representing an Area and when it was calculated
-	private record CachedArea(Area area, MarsTime when) {};
-
 	/** default logger. */
 	// May add back private static SimLogger logger = SimLogger.getLogger(LocalAreaUtil.class.getName())
 
@@ -50,12 +45,11 @@ public class LocalAreaUtil {
 	private static final double DEGREE_PER_RAD = 180 / Math.PI;
 
 	/**
-	 * Cache for total area containing obstacles for a given coordinate location.
+	 * Spatial index of the obstacles for a given coordinate location.
 	 */
-	private static final Map<Coordinates, CachedArea> obstacleAreaCache = new HashMap<>();
+	private static final Map<Coordinates, LocalAreaIndex> obstacleIndexes = new ConcurrentHashMap<>();
 
 	private static UnitManager unitManager;
-	private static MasterClock master;
 
 	/**
 	 * Private empty constructor for utility class.
@@ -247,46 +241,10 @@ public class LocalAreaUtil {
 	 */
 	public static boolean isPositionCollisionFree(LocalPosition pos, Coordinates coordinates) {
 
-//		Iterator<LocalBoundedObject> i = getAllLocalBoundedObjectsAtLocation(coordinates).iterator();
-//		while (i.hasNext()) {
-//			if (isPositionWithinLocalBoundedObject(pos, i.next())) {
-//				return false;
-//			}
-//		}
-
-		// Add all vehicles at location.
-		Iterator<Vehicle> i = unitManager.getVehicles().iterator();
-		while (i.hasNext()) {
-			Vehicle vehicle = i.next();
-			if (vehicle.getCoordinates().equals(coordinates)) {
-				if (isPositionWithinLocalBoundedObject(pos, vehicle)) {
-					return false;
-				}
-			}
-		}
-
-		// Check for any settlements at coordinates.
-		Iterator<Settlement> l = unitManager.getSettlements().iterator();
-		while (l.hasNext()) {
-			Settlement settlement = l.next();
-			if (settlement.getCoordinates().equals(coordinates)) {
-
-				// Add all buildings at settlement.
-				Iterator<Building> j = settlement.getBuildingManager().getBuildingSet().iterator();
-				while (j.hasNext()) {
-					if (isPositionWithinLocalBoundedObject(pos, j.next())) {
-						return false;
-					}
-				}
-
-				
-				// Check all construction sites at settlement.
-				Iterator<ConstructionSite> k = settlement.getConstructionManager().getConstructionSites().iterator();
-				while (k.hasNext()) {
-					if (isPositionWithinLocalBoundedObject(pos, k.next())) {
-						return false;
-					}
-				}
+		// Only the objects whose bounds contain the position need an exact check
+		for (LocalBoundedObject o : getObstacleIndex(coordinates).getCandidates(pos.getX(), pos.getY())) {
+			if (isPositionWithinLocalBoundedObject(pos, o)) {
+				return false;
 			}
 		}
 		
@@ -344,14 +302,10 @@ public class LocalAreaUtil {
 //			}
 //		}
 		
-		// Add all vehicles at location.
-		Iterator<Vehicle> i = unitManager.getVehicles().iterator();
-		while (i.hasNext()) {
-			Vehicle vehicle = i.next();
-			if (vehicle.getCoordinates().equals(coordinates)) {				
-				if (isTwoBoundedOjectsIntersected(object, vehicle)) {
-					return true;
-				}
+		// Check the vehicles near the object.
+		for (LocalBoundedObject o : getObstacleIndex(coordinates).getCandidates(getBoundingRectangle(object))) {
+			if ((o instanceof Vehicle) && isTwoBoundedOjectsIntersected(object, o)) {
+				return true;
 			}
 		}
 
@@ -397,28 +351,12 @@ public class LocalAreaUtil {
 //			}
 //		}
 		
-		// Check for any settlements at coordinates.
-		Iterator<Settlement> l = unitManager.getSettlements().iterator();
-		while (l.hasNext()) {
-			Settlement settlement = l.next();
-			if (settlement.getCoordinates().equals(coordinates)) {
-
-				// Add all buildings at settlement.
-				Iterator<Building> j = settlement.getBuildingManager().getBuildingSet().iterator();
-				while (j.hasNext()) {
-					Building b = j.next();
-					if (!b.getInTransport() && isTwoBoundedOjectsIntersected(object, b)) {
-						return true;
-					}
-				}
-
-				// Check all construction sites at settlement.
-				Iterator<ConstructionSite> k = settlement.getConstructionManager().getConstructionSites().iterator();
-				while (k.hasNext()) {
-					if (isTwoBoundedOjectsIntersected(object, k.next())) {
-						return true;
-					}
-				}
+		// Check the buildings and construction sites near the object.
+		for (LocalBoundedObject o : getObstacleIndex(coordinates).getCandidates(getBoundingRectangle(object))) {
+			boolean immovable = ((o instanceof Building b) && !b.getInTransport())
+									|| (o instanceof ConstructionSite);
+			if (immovable && isTwoBoundedOjectsIntersected(object, o)) {
+				return true;
 			}
 		}
 		
@@ -468,6 +406,16 @@ public class LocalAreaUtil {
 	 * @return set of local bounded objects at location (may be empty).
 	 */
 	public static Set<LocalBoundedObject> getAllLocalBoundedObjectsAtLocation(Coordinates coordinates) {
+		return new HashSet<>(getObstacleIndex(coordinates).getAll());
+	}
+
+	/**
+	 * Finds the vehicles, buildings and construction sites at a location.
+	 *
+	 * @param coordinates the coordinate location.
+	 * @return set of local bounded objects at location (may be empty).
+	 */
+	private static Set<LocalBoundedObject> findLocalBoundedObjectsAtLocation(Coordinates coordinates) {
 
 		Set<LocalBoundedObject> result = new HashSet<>();
 
@@ -485,21 +433,7 @@ public class LocalAreaUtil {
 		while (l.hasNext()) {
 			Settlement settlement = l.next();
 			if (settlement.getCoordinates().equals(coordinates)) {
-
-				// Add all buildings at settlement.
-//				Iterator<Building> j = settlement.getBuildingManager().getBuildingSet().iterator();
-//				while (j.hasNext()) {
-//					result.add(j.next());
-//				}
-
 				result.addAll(settlement.getBuildingManager().getBuildingSet());
-				
-				// Check all construction sites at settlement.
-//				Iterator<ConstructionSite> k = settlement.getConstructionManager().getConstructionSites().iterator();
-//				while (k.hasNext()) {
-//					result.add(k.next());
-//				}
-				
 				result.addAll(settlement.getConstructionManager().getConstructionSites());
 			}
 		}
@@ -507,6 +441,65 @@ public class LocalAreaUtil {
 		return result;
 	}
 
+	/**
+	 * Gets the spatial index of the obstacles at a location. The index is built from the
+	 * live objects on first use and then kept up to date by the add, move and remove
+	 * notifications. It is only built again after a structural change.
+	 *
+	 * @param coordinates the coordinate location.
+	 * @return
+	 */
+	private static LocalAreaIndex getObstacleIndex(Coordinates coordinates) {
+		LocalAreaIndex index = obstacleIndexes.get(coordinates);
+		if (index != null) {
+			return index;
+		}
+		return obstacleIndexes.computeIfAbsent(coordinates,
+						c -> new LocalAreaIndex(findLocalBoundedObjectsAtLocation(c)));
+	}
+
+	/**
+	 * Notifies a structural change at a location, such as a settlement being added or
+	 * removed, so the obstacles are gathered again on the next lookup.
+	 *
+	 * @param coordinates the coordinate location.
+	 */
+	public static void resetObstacleIndex(Coordinates coordinates) {
+		if (coordinates != null) {
+			obstacleIndexes.remove(coordinates);
+		}
+	}
+
+	/**
+	 * Notifies that a vehicle, building or construction site has been added or moved at a location.
+	 *
+	 * @param object the object that has changed.
+	 * @param coordinates the coordinate location of the object.
+	 */
+	public static void updateBoundedObject(LocalBoundedObject object, Coordinates coordinates) {
+		if (coordinates != null) {
+			obstacleIndexes.computeIfPresent(coordinates, (c, index) -> {
+				index.add(object);
+				return index;
+			});
+		}
+	}
+
+	/**
+	 * Notifies that a vehicle, building or construction site has been removed from a location.
+	 *
+	 * @param object the object that has gone.
+	 * @param coordinates the coordinate location of the object.
+	 */
+	public static void removeBoundedObject(LocalBoundedObject object, Coordinates coordinates) {
+		if (coordinates != null) {
+			obstacleIndexes.computeIfPresent(coordinates, (c, index) -> {
+				index.remove(object);
+				return index;
+			});
+		}
+	}
+
 	/**
 	 * Helper method to output the various geometry aspects in string format.
 	 */
@@ -567,7 +560,7 @@ public class LocalAreaUtil {
 		Rectangle2D objectRect = new Rectangle2D.Double(xLoc - (width / 2D), yLoc - (length / 2D), width, length);
 		Path2D objectPath = getPathFromRectangleRotation(objectRect, facing);
 
-		result = isPathCollisionFree(object, objectPath, coordinates, false);
+		result = isPathCollisionFree(object, objectPath, coordinates);
 
 		return result;
 	}
@@ -578,14 +571,10 @@ public class LocalAreaUtil {
 	 *
 	 * @param line        the line.
 	 * @param coordinates the global coordinate location to check.
-	 * @param useCache    true if caching should be used.
 	 * @return true if line path doesn't collide with anything.
 	 */
-	public static boolean isLinePathCollisionFree(Line2D line, Coordinates coordinates, boolean useCache) {
-		// Create line path
-//		Path2D linePath = createLinePath(line);
-
-		return isPathCollisionFree(null, createLinePath(line), coordinates, useCache);
+	public static boolean isLinePathCollisionFree(Line2D line, Coordinates coordinates) {
+		return isPathCollisionFree(null, createLinePath(line), coordinates);
 
 	}
 
@@ -742,70 +731,32 @@ public class LocalAreaUtil {
 	 * @param object      the object being checked (may be null if no object).
 	 * @param path        the path to check.
 	 * @param coordinates the global coordinate location to check.
-	 * @param useCache    true if caching should be used.
 	 * @return true if path doesn't collide with anything.
 	 */
-	private static boolean isPathCollisionFree(Object object, Path2D path, Coordinates coordinates, boolean useCache) {
-
-		boolean result = true;
-
-		// Check if obstacle area has been cached for this coordinate location if using
-		// cache.
-		boolean cached = false;
-		Area obstacleArea = null;
-		if (useCache && obstacleAreaCache.containsKey(coordinates)) {
-			CachedArea cachedArea = obstacleAreaCache.get(coordinates);
-			if (master.getMarsTime().equals(cachedArea.when())) {
-				cached = true;
-				obstacleArea = cachedArea.area();
-			}
-		}
-
-		if (!cached) {
-			// Add all obstacle areas at location together to create a total obstacle area.
-			Iterator<LocalBoundedObject> i = getAllLocalBoundedObjectsAtLocation(coordinates).iterator();
-			while (i.hasNext()) {
-				LocalBoundedObject lbo = i.next();
-				if (object == null || lbo != object) {
-					Rectangle2D objectRect = new Rectangle2D.Double(lbo.getXLocation() - (lbo.getWidth() / 2D),
-							lbo.getYLocation() - (lbo.getLength() / 2D), lbo.getWidth(), lbo.getLength());
-					Path2D objectPath = getPathFromRectangleRotation(objectRect, lbo.getFacing());
-					Area objectArea = new Area(objectPath);
-					if (obstacleArea == null) {
-						obstacleArea = objectArea;
-					} else {
-						obstacleArea.add(objectArea);
-					}
+	private static boolean isPathCollisionFree(Object object, Path2D path, Coordinates coordinates) {
+
+		// Only the obstacles whose bounding rectangle meets the path need the
+		// slower check for collision of the areas
+		Area pathArea = null;
+		for (LocalBoundedObject lbo : getObstacleIndex(coordinates).getCandidates(path.getBounds2D())) {
+			if (object == null || lbo != object) {
+				if (pathArea == null) {
+					pathArea = new Area(path);
+				}
+				if (doAreasCollide(pathArea, getBoundedObjectArea(lbo))) {
+					return false;
 				}
 			}
 		}
 
-		if (obstacleArea != null) {
-			// Check for intersection of obstacle and path bounding rectangles first
-			// (faster).
-			Rectangle2D pathBounds = path.getBounds2D();
-			Rectangle2D obstacleBounds = obstacleArea.getBounds2D();
-			if (pathBounds.intersects(obstacleBounds)) {
-				// If rectangles intersect, check for collision of path and obstacle areas
-				// (slower).
-				Area pathArea = new Area(path);
-				result = !doAreasCollide(pathArea, obstacleArea);
-			}
-		}
-
-		// Store cached obstacle area for location with current timestamp if needed.
-		if (useCache && !cached && (obstacleArea != null)) {
-			obstacleAreaCache.put(coordinates, new CachedArea(obstacleArea, master.getMarsTime()));
-		}
-
-		return result;
+		return true;
 	}
 
 	/**
-	 * Clears the obstacle area cache and time stamps.
+	 * Clears the obstacle indexes.
 	 */
 	public static void clearObstacleCache() {
-		obstacleAreaCache.clear();
+		obstacleIndexes.clear();
 	}
 
 	/**
@@ -841,10 +792,10 @@ public class LocalAreaUtil {
 	 * Initializes the simulation globals.
 	 * 
 	 * @param unitMgr
-	 * @param marsClk
 	 */
-	public static void initializeInstances(UnitManager unitMgr, MasterClock clock) {
+	public static void initializeInstances(UnitManager unitMgr) {
 		unitManager = unitMgr;
-		master = clock;
+		// Indexes of another simulation are not valid
+		obstacleIndexes.clear();
 	}
 }
\ No newline at end of file
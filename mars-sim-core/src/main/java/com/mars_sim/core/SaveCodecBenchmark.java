@@ -0,0 +1,84 @@
+/*
+ * Mars Simulation Project
+ * SaveCodecBenchmark.java
+ */
+package com.mars_sim.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.DecimalFormat;
+
+import com.mars_sim.core.configuration.ScenarioConfig;
+import com.mars_sim.core.persist.SaveCodec;
+import com.mars_sim.core.structure.SettlementBuilder;
+
+/**
+ * Measures the save and load time and the file size of every save codec. The
+ * simulation is the single settlement scenario used by the saving tests; the name
+ * of another scenario can be given as the argument.
+ */
+final class SaveCodecBenchmark {
+
+	private static final String DEFAULT_SCENARIO = "Single Settlement";
+
+	private SaveCodecBenchmark() {
+	}
+
+	/**
+	 * Runs the benchmark of all the codecs.
+	 */
+	public static void main(String[] args) throws IOException {
+		DecimalFormat formatter = new DecimalFormat("###,###,###.0");
+		int runs = 5;
+
+		SimulationConfig simConfig = SimulationConfig.instance();
+		simConfig.loadConfig();
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(64);
+		new SettlementBuilder(sim, simConfig).createInitialSettlements(
+				new ScenarioConfig().getItem(args.length > 0 ? args[0] : DEFAULT_SCENARIO));
+
+		SaveCodec original = Simulation.getSaveCodec();
+		File file = File.createTempFile("save-benchmark", ".sim");
+		try {
+			for (SaveCodec codec : SaveCodec.values()) {
+				Simulation.setSaveCodec(codec);
+
+				// Warm up
+				save(sim, file);
+				sim.loadSimulation(file);
+
+				long pause = 0;
+				long start = System.nanoTime();
+				for (int i = 0; i < runs; i++) {
+					save(sim, file);
+					pause += sim.getLastSavePauseTime();
+				}
+				long saveTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < runs; i++) {
+					sim.loadSimulation(file);
+				}
+				long loadTime = System.nanoTime() - start;
+
+				System.out.println(codec + " - save " + formatter.format(saveTime / (runs * 1_000_000D)) + " ms"
+						+ " (paused " + formatter.format(pause / (double) runs) + " ms)"
+						+ ", load " + formatter.format(loadTime / (runs * 1_000_000D)) + " ms"
+						+ ", size " + formatter.format(file.length() / 1024D) + " KB.");
+			}
+		}
+		finally {
+			Simulation.setSaveCodec(original);
+			file.delete();
+		}
+	}
+
+	private static void save(Simulation sim, File file) {
+		String[] result = new String[1];
+		sim.saveSimulation(Simulation.SaveType.SAVE_AS, file, action -> result[0] = action);
+		if (!SimulationListener.SAVE_COMPLETED.equals(result[0])) {
+			throw new IllegalStateException("Save failed with " + Simulation.getSaveCodec());
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Mars Simulation Project
+ * SettlementPulseEngine.java
+ */
+package com.mars_sim.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import com.mars_sim.core.logging.SimLogger;
+import com.mars_sim.core.structure.Settlement;
+import com.mars_sim.core.time.ClockPulse;
+
+/**
+ * This applies a pulse to all Settlements using a work stealing ForkJoinPool.
+ * Each Settlement is a single task so idle workers pick up the next Settlement
+ * rather than waiting on a fixed thread. The units owned by a Settlement share
+ * inventories, buildings and tasks so they are always pulsed serially by
+ * {@link Settlement#timePassing(ClockPulse)}; only Settlements run in parallel.
+ * So the pulse can never finish faster than the largest Settlement takes on one thread;
+ * splitting a Settlement would first need its inventories, building occupants and task
+ * structures to be made thread safe. The largest Settlements are started first so the
+ * smaller ones fill the other workers meanwhile.
+ * Every task runs with its Settlement as the active Settlement of the executing
+ * thread so {@link UnitManager#validateActiveSettlement(String, Unit)} still applies.
+ */
+class SettlementPulseEngine {
+
+	/** default logger. */
+	private static final SimLogger logger = SimLogger.getLogger(SettlementPulseEngine.class.getName());
+
+	private ForkJoinPool pool;
+
+	/**
+	 * Creates an engine using a dedicated pool.
+	 *
+	 * @param parallelism Number of worker threads
+	 */
+	SettlementPulseEngine(int parallelism) {
+		pool = new ForkJoinPool(parallelism, p -> {
+			var worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+			worker.setName("unitmanager-fj-" + worker.getPoolIndex());
+			return worker;
+		}, null, false);
+	}
+
+	/**
+	 * Applies the pulse to the Settlements and waits for all of them to complete.
+	 *
+	 * @param settlements
+	 * @param pulse
+	 */
+	void timePassing(Collection<Settlement> settlements, ClockPulse pulse) {
+		List<Settlement> ordered = new ArrayList<>(settlements);
+		ordered.sort(Comparator.comparingInt(SettlementPulseEngine::getUnitCount).reversed());
+
+		List<SettlementAction> actions = new ArrayList<>(ordered.size());
+		for (Settlement s : ordered) {
+			actions.add(new SettlementAction(s, pulse));
+		}
+		pool.invoke(ForkJoinTask.adapt(() -> {
+			// Idle workers steal the oldest fork first
+			for (SettlementAction a : actions) {
+				a.fork();
+			}
+			for (SettlementAction a : actions) {
+				a.join();
+			}
+		}));
+	}
+
+	/**
+	 * Gets the number of units pulsed by a Settlement as an estimate of its work.
+	 */
+	private static int getUnitCount(Settlement s) {
+		return s.getNumCitizens() + s.getNumBots();
+	}
+
+	/**
+	 * Is this engine still accepting pulses ?
+	 */
+	boolean isShutdown() {
+		return pool.isShutdown();
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	void shutdown() {
+		pool.shutdownNow();
+	}
+
+	/**
+	 * Pulses a single Settlement and all its units.
+	 */
+	private static class SettlementAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Settlement settlement;
+		private final transient ClockPulse pulse;
+
+		private SettlementAction(Settlement settlement, ClockPulse pulse) {
+			this.settlement = settlement;
+			this.pulse = pulse;
+		}
+
+		@Override
+		protected void compute() {
+			Settlement previous = UnitManager.setActiveSettlement(settlement);
+			try {
+				settlement.timePassing(pulse);
+			}
+			catch (RuntimeException rte) {
+				logger.severe(settlement, "Problem with pulse #" + pulse.getId(), rte);
+			}
+			finally {
+				UnitManager.setActiveSettlement(previous);
+			}
+		}
+	}
+}
@@ -6,10 +6,12 @@
  */
 package com.mars_sim.core;
 
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
@@ -23,12 +25,17 @@ import java.text.DateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mars_sim.core.air.AirComposition;
 import com.mars_sim.core.authority.AuthorityFactory;
 import com.mars_sim.core.data.DataLogger;
@@ -63,6 +70,10 @@ import com.mars_sim.core.person.ai.task.util.MetaTaskUtil;
 import com.mars_sim.core.person.ai.task.util.TaskManager;
 import com.mars_sim.core.person.health.MedicalConfig;
 import com.mars_sim.core.person.health.MedicalManager;
+import com.mars_sim.core.persist.ChunkedInputStream;
+import com.mars_sim.core.persist.ChunkedOutputStream;
+import com.mars_sim.core.persist.MemorySnapshot;
+import com.mars_sim.core.persist.SaveCodec;
 import com.mars_sim.core.resource.ResourceUtil;
 import com.mars_sim.core.science.ScientificStudy;
 import com.mars_sim.core.science.ScientificStudyManager;
@@ -109,8 +120,14 @@ public class Simulation implements ClockListener, Serializable {
 		
 		@Override
 		public void clockPulse(ClockPulse currentPulse) {
-			// Set the pending save flag for an auto save
-			sim.savePending = type;
+			// Set the pending save flag for an auto save; a requested save is kept
+			sim.savePending.compareAndSet(null, type);
+		}
+
+		@Override
+		public boolean isParallel() {
+			// Only sets a flag
+			return true;
 		}
 	}
 	
@@ -138,6 +155,9 @@ public class Simulation implements ClockListener, Serializable {
 	/** Default save filename extension. */
 	public static final String SAVE_FILE_EXTENSION = Msg.getString("Simulation.saveFile.extension"); //$NON-NLS-1$
 
+	/** Compression of the save files. */
+	private static SaveCodec saveCodec = SaveCodec.GZIP;
+
 
 	/** true if displaying graphic user interface. */
 	private transient boolean useGUI = true;
@@ -188,9 +208,18 @@ public class Simulation implements ClockListener, Serializable {
 	/** The SimulationConfig instance. */
 	private transient SimulationConfig simulationConfig;
 
-	private transient SaveType savePending = null;
-	private transient File savePendingFile = null;
-	private transient SimulationListener saveCallback = null;
+	/** Set by the UI and the parallel auto save trigger; taken by the serial pulse. */
+	private final transient AtomicReference<SaveType> savePending = new AtomicReference<>();
+	private transient volatile File savePendingFile = null;
+	private transient volatile SimulationListener saveCallback = null;
+	/** Thread writing the save files. */
+	private transient ExecutorService saveExecutor = null;
+	/** The save file being written. */
+	private transient Future<Boolean> pendingSave = null;
+	/** Time [in ms] the simulation waited for the last save snapshot. */
+	private transient long lastSavePauseTime = 0;
+	/** Time [in ms] taken to write the last save in the background. */
+	private transient long lastSaveWriteTime = 0;
 
 	/**
 	 * Private constructor for the Singleton Simulation. This prevents instantiation
@@ -372,7 +401,7 @@ public class Simulation implements ClockListener, Serializable {
 
 		Unit.initializeInstances(masterClock, unitManager, weather, missionManager);
 		
-		LocalAreaUtil.initializeInstances(unitManager, masterClock);
+		LocalAreaUtil.initializeInstances(unitManager);
 		SalvageValues.initializeInstances(unitManager, masterClock);
 
 		// Initialize instances in Airlock
@@ -533,7 +562,7 @@ public class Simulation implements ClockListener, Serializable {
 				surfaceFeatures, missionManager, pc);	
 		MissionStep.initializeInstances(masterClock, unitManager);
 
-		LocalAreaUtil.initializeInstances(unitManager, masterClock);
+		LocalAreaUtil.initializeInstances(unitManager);
 		
 		// Initialize Unit related class
 		SalvageValues.initializeInstances(unitManager, masterClock);
@@ -657,7 +686,7 @@ public class Simulation implements ClockListener, Serializable {
 		AbstractMission.initializeInstances(sim, eventManager, unitManager,
 				surfaceFeatures, missionManager, pc);
 
-		LocalAreaUtil.initializeInstances(unitManager, masterClock);
+		LocalAreaUtil.initializeInstances(unitManager);
 		
 		// Re-initialize Unit related class
 		SalvageValues.initializeInstances(unitManager, masterClock);
@@ -745,14 +774,20 @@ public class Simulation implements ClockListener, Serializable {
      */
     private void deserialize(File file) throws IOException, ClassNotFoundException {
 
-		FileInputStream in = null;
+		InputStream in = null;
 	    ObjectInputStream ois = null;
 
 		try {
-			in = new FileInputStream(file);
+			in = new BufferedInputStream(new FileInputStream(file), 1024 * 1024);
 
 			// Stream the file directly into the Object stream to reduce memory
-			ois = new ObjectInputStream(new GZIPInputStream(in));
+			if (ChunkedInputStream.isChunked(in)) {
+				ois = new ObjectInputStream(new ChunkedInputStream(in));
+			}
+			else {
+				// Legacy save file
+				ois = new ObjectInputStream(new GZIPInputStream(in, 64 * 1024));
+			}
 
 			// Load remaining serialized objects
 			lastSaveTimeStamp = (Date) ois.readObject();
@@ -871,54 +906,98 @@ public class Simulation implements ClockListener, Serializable {
 
 
 	/**
-	 * Saves a simulation instance to a save file.
+	 * Saves a simulation instance to a save file and waits for the file to be written.
 	 *
 	 * @param type
 	 * @param file the file to be saved to.
 	 * @param callback
 	 */
 	synchronized void saveSimulation(SaveType type, File file, SimulationListener callback) {
+		waitForSave(startSave(type, file, callback));
+	}
 
-		// Checks to see if the simulation is on pause
-		boolean isAlreadyPaused = masterClock.isPaused();
+	/**
+	 * Captures a snapshot of the simulation and writes it to a save file on a background
+	 * thread. This must be called between pulses. The simulation only waits for the
+	 * snapshot and carries on while the file is compressed and written.
+	 *
+	 * @param type
+	 * @param file the file to be saved to.
+	 * @param callback
+	 * @return Completes when the file has been written
+	 */
+	private synchronized Future<Boolean> startSave(SaveType type, File file, SimulationListener callback) {
+		// Only one save file is written at a time
+		waitForSave(pendingSave);
 
-		// Stops the master clock and removes the Simulation clock listener
-		masterClock.stop();
-		
-		if (!isAlreadyPaused) 
-			masterClock.setPaused(true, false);
+		// Save local machine timestamp
+		lastSaveTimeStamp = new Date();
 
-		// Call up garbage collector System.gc(). But it's still up to the gc what it will do.
+		File saveFile = getSaveFile(type, file);
 
-		lastSaveTimeStamp = new Date();
+		// Capture the state at the pulse boundary
+		long start = System.nanoTime();
+		MemorySnapshot snapshot = new MemorySnapshot();
+		boolean captured = false;
+		try (ObjectOutputStream oos = new ObjectOutputStream(snapshot)) {
+			writeState(oos);
+			captured = true;
+		}
+		catch (IOException e) {
+			logger.log(Level.SEVERE, "Problem capturing the simulation", e); 
+		}
+		lastSavePauseTime = (System.nanoTime() - start) / 1_000_000L;
+		logger.config("Captured " + formatSize(snapshot.size()) + " in " + lastSavePauseTime
+							+ " ms. The simulation resumes.");
 
-		Path srcPath = null;
-		Path destPath = null;
+		if (!captured) {
+			if (callback != null) {
+				callback.eventPerformed(SimulationListener.SAVE_FAILED);
+			}
+			return CompletableFuture.completedFuture(false);
+		}
+
+		if (saveExecutor == null) {
+			saveExecutor = Executors.newSingleThreadExecutor(
+						new ThreadFactoryBuilder().setNameFormat("simulation-save-%d").build());
+		}
+		pendingSave = saveExecutor.submit(() -> writeSnapshot(type, saveFile, snapshot, callback));
+		return pendingSave;
+	}
 
+	/**
+	 * Waits for a save file to be written.
+	 *
+	 * @param save
+	 */
+	private static void waitForSave(Future<Boolean> save) {
+		if (save == null) {
+			return;
+		}
+		try {
+			save.get();
+		}
+		catch (ExecutionException ee) {
+			logger.log(Level.SEVERE, "Problem saving simulation", ee.getCause());
+		}
+		catch (InterruptedException ie) {
+			// Restore interrupted state
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Selects the file to save to according to the type of save.
+	 *
+	 * @param type
+	 * @param file the requested file
+	 * @return
+	 */
+	private File getSaveFile(SaveType type, File file) {
 		// Use type to differentiate in what name/dir it is saved
 		switch(type) {
 			case AUTOSAVE_AS_DEFAULT, SAVE_DEFAULT:
 				file = new File(SimulationRuntime.getSaveDir(), SAVE_FILE + SAVE_FILE_EXTENSION);
-	
-				if (file.exists() && !file.isDirectory()) {
-					FileSystem fileSys = FileSystems.getDefault();
-					
-					// Create the backup file for storing the previous version of default.sim
-					File backupFile = new File(SimulationRuntime.getSaveDir(), "previous" + SAVE_FILE_EXTENSION);
-
-					destPath = fileSys.getPath(backupFile.getPath());
-					srcPath = fileSys.getPath(file.getPath());
-					
-					try {
-						// Backup the existing default.sim
-						Files.move(srcPath, destPath, StandardCopyOption.REPLACE_EXISTING);
-					
-					}
-					catch (IOException ioe) {
-						logger.severe("Problem saving simulation " + ioe.getMessage());
-					}
-				}
-	
 				logger.config("Saving the simulation as " + SAVE_FILE + SAVE_FILE_EXTENSION + ".");
 				break;
 			
@@ -937,49 +1016,84 @@ public class Simulation implements ClockListener, Serializable {
 						+ SAVE_FILE_EXTENSION;
 				file = new File(SimulationRuntime.getAutoSaveDir(), autosaveFilename);
 				logger.config("Autosaving the simulation as " + autosaveFilename + ".");
-				
-				// NOTE: Should purge old auto saved files
 				break;
 				
 			default:
 				break;
 		}
+		return file;
+	}
+
+	/**
+	 * Writes the simulation state to a stream.
+	 *
+	 * @param oos
+	 * @throws IOException
+	 */
+	private void writeState(ObjectOutputStream oos) throws IOException {
+		// Store the in-transient objects.
+		oos.writeObject(lastSaveTimeStamp);
+		oos.writeObject(malfunctionFactory);
+		oos.writeObject(lunarWorld);
+		oos.writeObject(lunarColonyManager);
+		oos.writeObject(orbitInfo);
+		oos.writeObject(weather);
+		oos.writeObject(surfaceFeatures);		
+		oos.writeObject(missionManager);
+		oos.writeObject(medicalManager);
+		oos.writeObject(scientificStudyManager);
+		oos.writeObject(eventManager);
+		oos.writeObject(transportManager);
+		oos.writeObject(unitManager);
+		oos.writeObject(masterClock);
+	}
+
+	/**
+	 * Writes a captured snapshot to the save file. This runs on the background save thread.
+	 *
+	 * @param type
+	 * @param file
+	 * @param snapshot
+	 * @param callback
+	 * @return true if the file was written
+	 */
+	private boolean writeSnapshot(SaveType type, File file, MemorySnapshot snapshot, SimulationListener callback) {
+		long start = System.nanoTime();
+		Path srcPath = null;
+		Path destPath = null;
+
+		if ((type == SaveType.AUTOSAVE_AS_DEFAULT || type == SaveType.SAVE_DEFAULT)
+				&& file.exists() && !file.isDirectory()) {
+			FileSystem fileSys = FileSystems.getDefault();
+			
+			// Create the backup file for storing the previous version of default.sim
+			File backupFile = new File(SimulationRuntime.getSaveDir(), "previous" + SAVE_FILE_EXTENSION);
+
+			destPath = fileSys.getPath(backupFile.getPath());
+			srcPath = fileSys.getPath(file.getPath());
+			
+			try {
+				// Backup the existing default.sim
+				Files.move(srcPath, destPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (IOException ioe) {
+				logger.severe("Problem saving simulation " + ioe.getMessage());
+			}
+		}
 	
 		// if the autosave/default save directory does not exist, create one now
 		if (!file.getParentFile().exists()) {
 			file.getParentFile().mkdirs();
 		}
 
-		boolean success = checkHeapSizeSerialize(type, file, srcPath, destPath);
-			
-		if (callback != null) {
-			callback.eventPerformed(success ? SimulationListener.SAVE_COMPLETED : SimulationListener.SAVE_FAILED);
-		}
-
-		// Restarts the master clock and adds back the Simulation clock listener
-		if (!isAlreadyPaused) 
-			masterClock.setPaused(false, false);
-		
-		masterClock.start();
-	}
+		logger.config("Heap Max Size: " + formatSize(Runtime.getRuntime().maxMemory())
+					+ ", Heap Free Size: " + formatSize(Runtime.getRuntime().freeMemory()));
 
-	private boolean checkHeapSizeSerialize(SaveType type, File file, Path  srcPath, Path destPath) {
-		boolean sucessful = false;
+		boolean success = false;
 		try {
-			// Get maximum size of heap in bytes. The heap cannot grow beyond this size.// Any attempt will result in an OutOfMemoryException.
-			long heapMaxSize = Runtime.getRuntime().maxMemory();
-			 // Get amount of free memory within the heap in bytes. This size will increase // after garbage collection and decrease as new objects are created.
-			long heapFreeSize = Runtime.getRuntime().freeMemory();
-	
-			logger.config("Heap Max Size: " + formatSize(heapMaxSize)
-						+ ", Heap Free Size: " + formatSize(heapFreeSize));
-	
-				// Save local machine timestamp
-			// Serialize the file
-			lastSaveTimeStamp = new Date();
-			sucessful = serialize(type, file, srcPath, destPath);
+			success = serialize(type, file, snapshot, srcPath, destPath);
 
-			if (sucessful && (type == SaveType.AUTOSAVE)) {
+			if (success && (type == SaveType.AUTOSAVE)) {
 				// Purge old auto backups
 				SimulationRuntime.purgeOldFiles( SimulationRuntime.getAutoSaveDir(),
 											   simulationConfig.getNumberAutoSaves(), SAVE_FILE_EXTENSION);
@@ -988,24 +1102,18 @@ public class Simulation implements ClockListener, Serializable {
 		catch (IOException ioe) {
 			logger.severe("Problem saving simulation " + ioe.getMessage());
 		}
+		finally {
+			snapshot.release();
+		}
 
-		return sucessful;
+		lastSaveWriteTime = (System.nanoTime() - start) / 1_000_000L;
+		logger.config("Save written in the background in " + lastSaveWriteTime + " ms.");
+
+		if (callback != null) {
+			callback.eventPerformed(success ? SimulationListener.SAVE_COMPLETED : SimulationListener.SAVE_FAILED);
+		}
+		return success;
 	}
-	
-	/**
-	 * Delays for a period of time in millis
-	 *
-	 * @param millis
-	 */
-    private static void delay(long millis) {
-        try {
-			TimeUnit.MILLISECONDS.sleep(millis);
-        } catch (InterruptedException e) {
-          	logger.log(Level.SEVERE, "Cannot sleep : " + e.getMessage());
-          	// Restore interrupted state
-            Thread.currentThread().interrupt();
-        }
-    }
 
     /**
      * Prints the format for the size of files.
@@ -1020,62 +1128,77 @@ public class Simulation implements ClockListener, Serializable {
     }
 
     /**
-     * Serializes the given object and save it to a given file.
+     * Compresses a snapshot and saves it to a given file.
      * 
      * @return 
      */
-    private boolean serialize(SaveType type, File file, Path srcPath, Path destPath)
+    private boolean serialize(SaveType type, File file, MemorySnapshot snapshot, Path srcPath, Path destPath)
             throws IOException {
 		boolean success = false;
-	    ObjectOutputStream oos = new ObjectOutputStream(
-	    			new GZIPOutputStream(new FileOutputStream(file)));
+		ChunkedOutputStream chunks = new ChunkedOutputStream(new FileOutputStream(file), saveCodec);
 		try {
-
-			// Set a delay for 500 millis to avoid java.util.ConcurrentModificationException
-			delay(500L);
-
-			// Store the in-transient objects.
-			oos.writeObject(lastSaveTimeStamp);
-			oos.writeObject(malfunctionFactory);
-			oos.writeObject(lunarWorld);
-			oos.writeObject(lunarColonyManager);
-			oos.writeObject(orbitInfo);
-			oos.writeObject(weather);
-			oos.writeObject(surfaceFeatures);		
-			oos.writeObject(missionManager);
-			oos.writeObject(medicalManager);
-			oos.writeObject(scientificStudyManager);
-			oos.writeObject(eventManager);
-			oos.writeObject(transportManager);
-			oos.writeObject(unitManager);
-			oos.writeObject(masterClock);
-
-			oos.flush();
-			oos.close();
+			snapshot.moveTo(chunks);
+			chunks.close();
 
 			// Print the size of the saved sim
 			logger.config("           File size: " + computeFileSize(file));
-			logger.config("Done saving. The simulation resumes.");
+			logger.config("               Codec: " + saveCodec);
+			logger.config("              Chunks: " + chunks.getChunkCount());
+			logger.config("Done saving.");
 			success = true;
 
 		} catch (IOException e0) {
 			logger.log(Level.SEVERE, "Problem saving simulation", e0); 
 
-			if ((type == SaveType.AUTOSAVE_AS_DEFAULT || type == SaveType.SAVE_DEFAULT) 
-				&& file.exists() && !file.isDirectory()) {
-				// Backup the existing default.sim
+			if (destPath != null) {
+				// Restore the previous default.sim
 				Files.move(destPath, srcPath, StandardCopyOption.REPLACE_EXISTING);
 			}
 		}
 		finally {
-			if (oos != null)
-				oos.close();
+			chunks.close();
 			justSaved = true;
 		}
 
 		return success;
     }
 
+	/**
+	 * Sets the compression of the save files.
+	 *
+	 * @param codec
+	 */
+	public static void setSaveCodec(SaveCodec codec) {
+		saveCodec = codec;
+	}
+
+	/**
+	 * Gets the compression of the save files.
+	 *
+	 * @return
+	 */
+	public static SaveCodec getSaveCodec() {
+		return saveCodec;
+	}
+
+	/**
+	 * Gets the time [in milliseconds] the simulation waited for the last save snapshot.
+	 *
+	 * @return
+	 */
+	public long getLastSavePauseTime() {
+		return lastSavePauseTime;
+	}
+
+	/**
+	 * Gets the time [in milliseconds] the background thread took to write the last save.
+	 *
+	 * @return
+	 */
+	public long getLastSaveWriteTime() {
+		return lastSaveWriteTime;
+	}
+
 	/**
 	 * Prints the object and its size.
 	 * 
@@ -1207,6 +1330,13 @@ public class Simulation implements ClockListener, Serializable {
 		logger.log(Level.CONFIG, "Exiting the simulation. Good Bye !");
 
 		instance().stop();
+
+		// Let the last save complete
+		if (saveExecutor != null) {
+			waitForSave(pendingSave);
+			saveExecutor.shutdown();
+		}
+
 		// Ends the clock listener executor in master clock
 		if (masterClock != null)
 			masterClock.shutdown();
@@ -1215,6 +1345,8 @@ public class Simulation implements ClockListener, Serializable {
 		if (unitManager != null) {
 			unitManager.endSimulation();
 		}
+
+		TaskManager.closeActivityArchive();
 	}
 
 	/**
@@ -1368,9 +1500,10 @@ public class Simulation implements ClockListener, Serializable {
 	 */
 	public void requestSave(File saveFile, SimulationListener callback) {
 		logger.log(Level.CONFIG, "Submitting the request for saving the simulation."); 
-		savePending = (saveFile == null ? SaveType.SAVE_DEFAULT : SaveType.SAVE_AS);
 		savePendingFile = saveFile;	
 		saveCallback = callback;	
+		// Set last so the pulse sees the file and callback
+		savePending.set(saveFile == null ? SaveType.SAVE_DEFAULT : SaveType.SAVE_AS);
 	}
 
 	/**
@@ -1379,7 +1512,7 @@ public class Simulation implements ClockListener, Serializable {
 	 * @return
 	 */
 	public boolean isSavePending() {
-		return (savePending != null);
+		return (savePending.get() != null);
 	}
 	
 	/**
@@ -1403,15 +1536,19 @@ public class Simulation implements ClockListener, Serializable {
 
 			surfaceFeatures.timePassing(pulse);
 
+			// Snapshot the weather at the settlements before they run
+			weather.refreshFields(pulse);
+
 			unitManager.timePassing(pulse);
 
 			transportManager.timePassing(pulse);
 			
-			// Pending save
-			if (savePending != null) {
-				saveSimulation(savePending, savePendingFile, saveCallback);
+			// Pending save; the file is written in the background
+			SaveType type = savePending.getAndSet(null);
+			if (type != null) {
+				SimulationListener callback = saveCallback;
 				saveCallback = null;
-				savePending = null;
+				startSave(type, savePendingFile, callback);
 			}
 		}
 	}
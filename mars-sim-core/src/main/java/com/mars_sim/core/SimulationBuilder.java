@@ -11,10 +11,12 @@ import java.io.FileNotFoundException;
 import java.lang.Runtime.Version;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import com.mars_sim.core.structure.*;
 import org.apache.commons.cli.CommandLine;
@@ -24,9 +26,11 @@ import com.mars_sim.core.authority.Authority;
 import com.mars_sim.core.configuration.Scenario;
 import com.mars_sim.core.configuration.ScenarioConfig;
 import com.mars_sim.core.configuration.UserConfigurableConfig;
+import com.mars_sim.core.goods.GoodsManager;
 import com.mars_sim.core.logging.DiagnosticsManager;
 import com.mars_sim.core.map.common.FileLocator;
 import com.mars_sim.core.map.location.Coordinates;
+import com.mars_sim.core.persist.SaveCodec;
 import com.mars_sim.core.person.Crew;
 import com.mars_sim.core.person.CrewConfig;
 import com.mars_sim.core.tool.RandomUtil;
@@ -47,6 +51,9 @@ public class SimulationBuilder {
 	private static final String CREW_ARG = "crew";
 	private static final String DIAGNOSTICS_ARG = "diags";
 	private static final String SCENARIO_ARG = "scenario";
+	private static final String FORKJOIN_ARG = "forkjoin";
+	private static final String SAVECODEC_ARG = "savecodec";
+	private static final String GOODSDELTA_ARG = "goodsdelta";
 	private static final String WHITESPACES = "---------------------------------------------------";
 	
 	private static final Logger logger = Logger.getLogger(SimulationBuilder.class.getName());
@@ -61,6 +68,8 @@ public class SimulationBuilder {
 	private boolean useCrews = true;
 	private UserConfigurableConfig<Crew> crewConfig;
 	private Scenario bootstrap;
+	private int batchTargetSol = 0; // zero means not in batch mode
+	private double batchPulseWidth;
 
 	public SimulationBuilder() {
 		super();
@@ -153,6 +162,18 @@ public class SimulationBuilder {
 		this.crewConfig  = crewConfig;
 	}
 
+	/**
+	 * Runs the simulation as fast as possible with fixed width pulses until
+	 * a target mission sol is reached.
+	 * 
+	 * @param targetSol Mission sol that stops the run
+	 * @param pulseWidth Width of each pulse in millisols
+	 */
+	public void setBatchMode(int targetSol, double pulseWidth) {
+		this.batchTargetSol = targetSol;
+		this.batchPulseWidth = pulseWidth;
+	}
+
 	/**
 	 * Sets the scenario for a new simulation.
 	 * 
@@ -193,6 +214,12 @@ public class SimulationBuilder {
 				.desc("Enable or disable use of the crews").build());	
 		options.add(Option.builder(DIAGNOSTICS_ARG).argName("<module>,<module>.....").hasArg()
 				.desc("Enable diagnositics modules").build());	
+		options.add(Option.builder(FORKJOIN_ARG)
+				.desc("Run the settlement updates on a work stealing pool").build());
+		options.add(Option.builder(SAVECODEC_ARG).argName("none|gzip|xz|lz").hasArg()
+				.desc("Compression of the saved simulation (defaults to gzip)").build());
+		options.add(Option.builder(GOODSDELTA_ARG)
+				.desc("Only revalue the goods whose inputs have changed on each goods update").build());
 		return options;
 	}
 
@@ -236,6 +263,15 @@ public class SimulationBuilder {
 		if (line.hasOption(DIAGNOSTICS_ARG)) {
 			setDiagnostics(line.getOptionValue(DIAGNOSTICS_ARG));
 		}		
+		if (line.hasOption(FORKJOIN_ARG)) {
+			UnitManager.setForkJoinPulse(true);
+		}
+		if (line.hasOption(SAVECODEC_ARG)) {
+			setSaveCodec(line.getOptionValue(SAVECODEC_ARG));
+		}
+		if (line.hasOption(GOODSDELTA_ARG)) {
+			GoodsManager.setIncrementalReview(true);
+		}
 	}
 
 	/**
@@ -252,6 +288,23 @@ public class SimulationBuilder {
 		setScenario(found);
 	}
 
+	/**
+	 * Sets the compression of the save files based on the name.
+	 * 
+	 * @param name
+	 */
+	private void setSaveCodec(String name) {
+		try {
+			Simulation.setSaveCodec(SaveCodec.valueOf(name.toUpperCase()));
+		}
+		catch (IllegalArgumentException e) {
+			String valid = Arrays.stream(SaveCodec.values())
+								.map(c -> c.name().toLowerCase())
+								.collect(Collectors.joining(", "));
+			throw new IllegalArgumentException("No save codec named '" + name + "', use one of " + valid);
+		}
+	}
+
 	public void printJavaVersion() {
 		Version version = java.lang.Runtime.version();
 		logger.config(WHITESPACES);
@@ -326,6 +379,9 @@ public class SimulationBuilder {
 	        try {
 				TimeUnit.MILLISECONDS.sleep(1000);
 				if (!sim.isUpdating()) {
+					if (batchTargetSol > 0) {
+						sim.getMasterClock().setBatchMode(batchPulseWidth, batchTargetSol);
+					}
 					logger.config("Starting the Master Clock...");		
 					sim.startClock(false);
 					break;
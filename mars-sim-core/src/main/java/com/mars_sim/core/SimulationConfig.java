@@ -10,6 +10,12 @@ import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 
 import javax.xml.XMLConstants;
 
@@ -102,6 +108,9 @@ public class SimulationConfig {
 
 	private static final String MISSION_CONFIGURATION = "mission-configuration";
 	private static final String EVA_LIGHT = "min-eva-light";
+	private static final String PERFORMANCE_CONFIGURATION = "performance-configuration";
+	private static final String ACTIVITY_ARCHIVE = "activity-archive";
+	private static final String BATCH_PHYSIOLOGY = "batch-physiology";
 	private static final String CONTENT_URL = "content-url";
 
 	private static final String OLD_BACKUP = "backup";
@@ -152,6 +161,8 @@ public class SimulationConfig {
 	private AuthorityFactory raFactory;
 
 	private double minEVALight;
+	private boolean activityArchive;
+	private boolean batchPhysiology;
 
 	private ResourceCache cachedResources;
 
@@ -234,6 +245,11 @@ public class SimulationConfig {
 			Element missionConfig = root.getChild(MISSION_CONFIGURATION);
 			minEVALight = loadDoubleValue(missionConfig, EVA_LIGHT, 0D, 1000D);
 
+			// Load optional performance features
+			Element performanceConfig = root.getChild(PERFORMANCE_CONFIGURATION);
+			activityArchive = loadOptionalBoolean(performanceConfig, ACTIVITY_ARCHIVE);
+			batchPhysiology = loadOptionalBoolean(performanceConfig, BATCH_PHYSIOLOGY);
+
 			loadDefaultConfiguration();
 
 			loaded = true;
@@ -270,6 +286,20 @@ public class SimulationConfig {
 		return str.trim();
 	}
 
+	/**
+	 * Load a boolean value that is held as a 'value' attribute. The value is false
+	 * if the parent or the child is missing as older files do not have them.
+	 * 
+	 * @param parent Parent XML node; may be null
+	 * @param child XML Node containing the 'value'
+	 */
+	private static boolean loadOptionalBoolean(Element parent, String child) {
+		if ((parent == null) || (parent.getChild(child) == null)) {
+			return false;
+		}
+		return Boolean.parseBoolean(parent.getChild(child).getAttributeValue(VALUE));
+	}
+
 	/**
 	 * Load an integer value that is held as a 'value' attribute.
 	 * @param parent Parent XML node
@@ -393,6 +423,24 @@ public class SimulationConfig {
 	public double getMinEVALight() {
 		return minEVALight;
 	}
+
+	/**
+	 * Are the activities that drop out of a worker's history appended to an archive ?
+	 * 
+	 * @return
+	 */
+	public boolean isActivityArchived() {
+		return activityArchive;
+	}
+
+	/**
+	 * Are the vitals of each settlement's citizens updated in a batch ?
+	 * 
+	 * @return
+	 */
+	public boolean isBatchPhysiology() {
+		return batchPhysiology;
+	}
 	
 	/**
 	 * Gets the Earth date/time when the simulation starts.
@@ -638,58 +686,157 @@ public class SimulationConfig {
 	 */
 	public Document parseXMLFileAsJDOMDocument(String filename, boolean useDTD)
 			throws JDOMException, IOException {
-		File f = getBundledXML(filename);
-		if (f != null) {
-			SAXBuilder builder = new SAXBuilder();
-			builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-			builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-			return builder.build(f);
-		}
-		else {
+		return parseXMLFile(filename, getBundledXML(filename));
+	}
+
+	/**
+	 * Parses an extracted XML file with a builder of its own so it can run on any thread.
+	 *
+	 * @param filename Name of the file
+	 * @param f The extracted file; null if it could not be found
+	 * @return DOM document
+	 * @throws IOException
+	 * @throws JDOMException
+	 */
+	private static Document parseXMLFile(String filename, File f) throws JDOMException, IOException {
+		if (f == null) {
 			logger.warning("Can not find default XML " + filename);
 			throw new IllegalStateException("Can not find default XML " + filename);
 		}
+
+		SAXBuilder builder = new SAXBuilder();
+		builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+		builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+		return builder.build(f);
+	}
+
+	/**
+	 * A parsed XML document and how long it took to parse.
+	 */
+	record ParsedXML(Document doc, long parseNanos) {}
+
+	/**
+	 * Starts parsing the XML files in parallel. The files are extracted from the bundle first
+	 * on the calling thread as the resource cache is not thread safe; each parse uses its own
+	 * SAXBuilder.
+	 *
+	 * @param filenames
+	 * @return The pending documents by filename
+	 */
+	Map<String, CompletableFuture<ParsedXML>> parseInParallel(String... filenames) {
+		Map<String, CompletableFuture<ParsedXML>> docs = new HashMap<>();
+		for (String filename : filenames) {
+			if (!docs.containsKey(filename)) {
+				File f = getBundledXML(filename);
+				docs.put(filename, CompletableFuture.supplyAsync(() -> parseTimed(filename, f)));
+			}
+		}
+		return docs;
 	}
 
+	private static ParsedXML parseTimed(String filename, File f) {
+		long start = System.nanoTime();
+		try {
+			return new ParsedXML(parseXMLFile(filename, f), System.nanoTime() - start);
+		}
+		catch (JDOMException | IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * Builds a config from a document once it has been parsed. The time taken to parse and
+	 * build is recorded against the file.
+	 *
+	 * @param docs Pending documents
+	 * @param filename File holding the config
+	 * @param factory Creates the config from the document
+	 * @param timings Parse and build times in nanoseconds by file
+	 * @return
+	 * @throws JDOMException
+	 * @throws IOException
+	 */
+	static <T> T build(Map<String, CompletableFuture<ParsedXML>> docs, String filename,
+						Function<Document, T> factory, Map<String, long[]> timings)
+						throws JDOMException, IOException {
+		ParsedXML parsed;
+		try {
+			parsed = docs.get(filename).join();
+		}
+		catch (CompletionException e) {
+			// Rethrow the original parse failure
+			switch (e.getCause()) {
+				case JDOMException je -> throw je;
+				case IOException ie -> throw ie;
+				case RuntimeException re -> throw re;
+				default -> throw e;
+			}
+		}
+
+		long start = System.nanoTime();
+		T result = factory.apply(parsed.doc());
+		long buildNanos = System.nanoTime() - start;
+
+		long[] times = timings.computeIfAbsent(filename, k -> new long[2]);
+		times[0] = parsed.parseNanos();
+		times[1] += buildNanos;
+		return result;
+	}
 
 	/**
-	 * load the default config files
+	 * load the default config files. All the files are parsed in parallel and each config
+	 * is built as soon as its document is ready. The configs are still built in this order
+	 * as they depend on the earlier ones, either directly or through the resources and parts
+	 * they register.
 	 * @throws IOException
 	 * @throws JDOMException
 	 */
 	private void loadDefaultConfiguration() throws JDOMException, IOException {
-  BuildingPackageConfig buildingPackageConfig;
+		long start = System.nanoTime();
+		var docs = parseInParallel(GOVERNANCE_FILE, RESOURCE_FILE, PART_FILE, PART_PACKAGE_FILE,
+						BUILDING_PACKAGE_FILE, PEOPLE_FILE, MEDICAL_FILE, LANDMARK_FILE, MINERAL_MAP_FILE,
+						MANUFACTURE_FILE, MALFUNCTION_FILE, CROP_FILE, VEHICLE_FILE, RESPROCESS_FILE,
+						BUILDING_FILE, RESUPPLY_FILE, SETTLEMENT_FILE, SETTLEMENT_TEMPLATE_FILE,
+						CONSTRUCTION_FILE, FOODPRODUCTION_FILE, MEAL_FILE, ROBOT_FILE);
+		Map<String, long[]> timings = new LinkedHashMap<>();
 
 		// Load subset configuration classes.
-		raFactory = new AuthorityFactory(parseXMLFileAsJDOMDocument(GOVERNANCE_FILE, true));
-		resourceConfig = new AmountResourceConfig(parseXMLFileAsJDOMDocument(RESOURCE_FILE, true));
-		partConfig = new PartConfig(parseXMLFileAsJDOMDocument(PART_FILE, true));
-		PartPackageConfig partPackageConfig = new PartPackageConfig(parseXMLFileAsJDOMDocument(PART_PACKAGE_FILE, true));
-		buildingPackageConfig = new BuildingPackageConfig(parseXMLFileAsJDOMDocument(BUILDING_PACKAGE_FILE, true));
-		personConfig = new PersonConfig(parseXMLFileAsJDOMDocument(PEOPLE_FILE, true));
-		medicalConfig = new MedicalConfig(parseXMLFileAsJDOMDocument(MEDICAL_FILE, true));
-		landmarkConfig = new LandmarkConfig(parseXMLFileAsJDOMDocument(LANDMARK_FILE, true));
-		mineralMapConfig = new MineralMapConfig(parseXMLFileAsJDOMDocument(MINERAL_MAP_FILE, true));
-		manufactureConfig = new ManufactureConfig(parseXMLFileAsJDOMDocument(MANUFACTURE_FILE, true));
-		malfunctionConfig = new MalfunctionConfig(parseXMLFileAsJDOMDocument(MALFUNCTION_FILE, true));
-		cropConfig = new CropConfig(parseXMLFileAsJDOMDocument(CROP_FILE, true), personConfig);
-		vehicleConfig = new VehicleConfig(parseXMLFileAsJDOMDocument(VEHICLE_FILE, true), manufactureConfig);
-		ResourceProcessConfig resourceProcessConfig = new ResourceProcessConfig(parseXMLFileAsJDOMDocument(RESPROCESS_FILE, true));
-		buildingConfig = new BuildingConfig(parseXMLFileAsJDOMDocument(BUILDING_FILE, true), resourceProcessConfig);
-		ResupplyConfig resupplyConfig = new ResupplyConfig(parseXMLFileAsJDOMDocument(RESUPPLY_FILE, true), partPackageConfig);
-		settlementConfig = new SettlementConfig(parseXMLFileAsJDOMDocument(SETTLEMENT_FILE, true));
-		settlementTemplateConfig = new SettlementTemplateConfig(parseXMLFileAsJDOMDocument(
-				SETTLEMENT_TEMPLATE_FILE, true), partPackageConfig, buildingPackageConfig,
-				resupplyConfig, settlementConfig, raFactory);
-
-
-		constructionConfig = new ConstructionConfig(parseXMLFileAsJDOMDocument(CONSTRUCTION_FILE, true));
-		foodProductionConfig = new FoodProductionConfig(parseXMLFileAsJDOMDocument(FOODPRODUCTION_FILE, true));
-		mealConfig = new MealConfig(parseXMLFileAsJDOMDocument(MEAL_FILE, true),
-						cropConfig, personConfig);
-		robotConfig = new RobotConfig(parseXMLFileAsJDOMDocument(ROBOT_FILE, true));
+		raFactory = build(docs, GOVERNANCE_FILE, AuthorityFactory::new, timings);
+		resourceConfig = build(docs, RESOURCE_FILE, AmountResourceConfig::new, timings);
+		partConfig = build(docs, PART_FILE, PartConfig::new, timings);
+		PartPackageConfig partPackageConfig = build(docs, PART_PACKAGE_FILE, PartPackageConfig::new, timings);
+		BuildingPackageConfig buildingPackageConfig = build(docs, BUILDING_PACKAGE_FILE, BuildingPackageConfig::new, timings);
+		personConfig = build(docs, PEOPLE_FILE, PersonConfig::new, timings);
+		medicalConfig = build(docs, MEDICAL_FILE, MedicalConfig::new, timings);
+		landmarkConfig = build(docs, LANDMARK_FILE, LandmarkConfig::new, timings);
+		mineralMapConfig = build(docs, MINERAL_MAP_FILE, MineralMapConfig::new, timings);
+		manufactureConfig = build(docs, MANUFACTURE_FILE, ManufactureConfig::new, timings);
+		malfunctionConfig = build(docs, MALFUNCTION_FILE, MalfunctionConfig::new, timings);
+		cropConfig = build(docs, CROP_FILE, d -> new CropConfig(d, personConfig), timings);
+		vehicleConfig = build(docs, VEHICLE_FILE, d -> new VehicleConfig(d, manufactureConfig), timings);
+		ResourceProcessConfig resourceProcessConfig = build(docs, RESPROCESS_FILE, ResourceProcessConfig::new, timings);
+		buildingConfig = build(docs, BUILDING_FILE, d -> new BuildingConfig(d, resourceProcessConfig), timings);
+		ResupplyConfig resupplyConfig = build(docs, RESUPPLY_FILE, d -> new ResupplyConfig(d, partPackageConfig), timings);
+		settlementConfig = build(docs, SETTLEMENT_FILE, SettlementConfig::new, timings);
+		settlementTemplateConfig = build(docs, SETTLEMENT_TEMPLATE_FILE,
+				d -> new SettlementTemplateConfig(d, partPackageConfig, buildingPackageConfig,
+							resupplyConfig, settlementConfig, raFactory), timings);
+
+
+		constructionConfig = build(docs, CONSTRUCTION_FILE, ConstructionConfig::new, timings);
+		foodProductionConfig = build(docs, FOODPRODUCTION_FILE, FoodProductionConfig::new, timings);
+		mealConfig = build(docs, MEAL_FILE, d -> new MealConfig(d, cropConfig, personConfig), timings);
+		robotConfig = build(docs, ROBOT_FILE, RobotConfig::new, timings);
 		scienceConfig = new ScienceConfig();
 
-		logger.config("Done loading all xml config files.");
+		for (var t : timings.entrySet()) {
+			logger.config(t.getKey() + XML_EXTENSION + " parsed in " + toMillis(t.getValue()[0])
+							+ " ms, built in " + toMillis(t.getValue()[1]) + " ms.");
+		}
+		logger.config("Done loading all xml config files in " + toMillis(System.nanoTime() - start) + " ms.");
+	}
+
+	private static long toMillis(long nanos) {
+		return nanos / 1_000_000L;
 	}
 }
@@ -50,6 +50,8 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 
 	/** Unit listeners. */
 	private transient Set<UnitListener> listeners;
+	/** Unit listeners receiving events through the event bus. */
+	private transient volatile Set<UnitListener> batchedListeners;
 
 	protected static SimulationConfig simulationConfig = SimulationConfig.instance();
 
@@ -239,9 +241,8 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 	 * @return
 	 */
 	public synchronized boolean hasUnitListener(UnitListener listener) {
-		if (listeners == null)
-			return false;
-		return listeners.contains(listener);
+		return ((listeners != null) && listeners.contains(listener))
+				|| ((batchedListeners != null) && batchedListeners.contains(listener));
 	}
 
 	/**
@@ -252,6 +253,15 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 	public final synchronized void addUnitListener(UnitListener newListener) {
 		if (newListener == null)
 			throw new IllegalArgumentException();
+		if (newListener.isBatched()) {
+			if (batchedListeners == null)
+				batchedListeners = new HashSet<>();
+			synchronized(batchedListeners) {	
+				batchedListeners.add(newListener);
+			}
+			return;
+		}
+
 		if (listeners == null)
 			listeners = new HashSet<>();
 
@@ -274,6 +284,11 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 				listeners.remove(oldListener);
 			}
 		}
+		if (batchedListeners != null) {
+			synchronized(batchedListeners) {
+				batchedListeners.remove(oldListener);
+			}
+		}
 	}
 
 	/**
@@ -292,6 +307,11 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 	 * @param target     the event target object or null if none.
 	 */
 	public final void fireUnitUpdate(UnitEventType updateType, Object target) {
+		if (batchedListeners != null && !batchedListeners.isEmpty()) {
+			// Delivered later with any repeats coalesced
+			UnitEventBus.instance().post(this, updateType, target);
+		}
+
 		if (listeners == null || listeners.isEmpty()) {
 			return;
 		}
@@ -309,6 +329,28 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 		}
 	}
 
+	/**
+	 * Delivers an event from the event bus to the batched listeners.
+	 *
+	 * @param ue
+	 */
+	void deliverBatchedEvent(UnitEvent ue) {
+		Set<UnitListener> batched = batchedListeners;
+		if (batched == null) {
+			return;
+		}
+		synchronized (batched) {
+			for(UnitListener i : batched) {
+				try {
+					i.unitUpdate(ue);
+				}
+				catch(RuntimeException rte) {
+					logger.severe(this, "Problem executing listener " + i + " for event " + ue, rte);
+				}
+			}
+		}
+	}
+
 	/**
 	 * Gets the associated settlement this unit is with.
 	 *
@@ -383,5 +425,6 @@ public abstract class Unit implements UnitIdentifer, Comparable<Unit> {
 		name = null;
 		description = null;
 		listeners = null;
+		batchedListeners = null;
 	}
 }
@@ -0,0 +1,148 @@
+/*
+ * Mars Simulation Project
+ * UnitEventBus.java
+ */
+package com.mars_sim.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.swing.SwingUtilities;
+
+import com.mars_sim.core.logging.SimLogger;
+
+/**
+ * Collects the unit events for batched listeners and delivers them together. Repeats of
+ * the same event from a unit are coalesced until the next delivery so a listener sees a
+ * change once however many times it was fired. Once started, a delivery is queued every
+ * frame on the event dispatch thread so the simulation threads never wait on a listener
+ * and the listeners can update Swing components directly.
+ */
+public final class UnitEventBus {
+
+	/**
+	 * Key of an event for coalescing.
+	 */
+	private record EventKey(Unit source, UnitEventType type, Object target) {}
+
+	/** default logger. */
+	private static final SimLogger logger = SimLogger.getLogger(UnitEventBus.class.getName());
+
+	/** Default time between deliveries in milliseconds. */
+	public static final long FRAME_PERIOD = 100;
+
+	private static final UnitEventBus instance = new UnitEventBus();
+
+	private final Map<EventKey, UnitEvent> pending = new ConcurrentHashMap<>();
+	private final LongAdder fired = new LongAdder();
+	private final LongAdder delivered = new LongAdder();
+	// A delivery is waiting on the event dispatch thread
+	private final AtomicBoolean queued = new AtomicBoolean(false);
+	private ScheduledExecutorService deliverer;
+
+	UnitEventBus() {
+		// Use the shared instance outside tests
+	}
+
+	/**
+	 * Gets the bus shared by all units.
+	 */
+	public static UnitEventBus instance() {
+		return instance;
+	}
+
+	/**
+	 * Starts delivering the events every frame on the event dispatch thread. Until started, events are only delivered
+	 * by calling {@link #deliver()}.
+	 *
+	 * @param period Time between deliveries in milliseconds
+	 */
+	public synchronized void start(long period) {
+		if (deliverer == null) {
+			deliverer = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread t = new Thread(r, "unit-event-bus");
+				t.setDaemon(true);
+				return t;
+			});
+			deliverer.scheduleAtFixedRate(this::queueDelivery, period, period, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Stops the frame delivery.
+	 */
+	public synchronized void stop() {
+		if (deliverer != null) {
+			deliverer.shutdown();
+			deliverer = null;
+		}
+	}
+
+	/**
+	 * Queues a delivery on the event dispatch thread unless one is already waiting.
+	 */
+	private void queueDelivery() {
+		if (!pending.isEmpty() && queued.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(() -> {
+				// Cleared first so an event posted during the delivery gets the next frame
+				queued.set(false);
+				deliver();
+			});
+		}
+	}
+
+	/**
+	 * Posts an event for the batched listeners of a unit.
+	 *
+	 * @param source
+	 * @param type
+	 * @param target
+	 */
+	void post(Unit source, UnitEventType type, Object target) {
+		fired.increment();
+		pending.computeIfAbsent(new EventKey(source, type, target),
+								k -> new UnitEvent(source, type, target));
+	}
+
+	/**
+	 * Delivers the events posted since the last delivery to the batched listeners.
+	 */
+	public synchronized void deliver() {
+		for (EventKey key : pending.keySet()) {
+			// Removed one at a time so an event posted meanwhile is not lost
+			UnitEvent ue = pending.remove(key);
+			if (ue == null) {
+				continue;
+			}
+
+			Unit source = key.source();
+			try {
+				source.deliverBatchedEvent(ue);
+			}
+			catch (RuntimeException rte) {
+				// Stop one listener breaking the delivery of the others
+				logger.severe(source, "Problem delivering event " + ue, rte);
+			}
+			delivered.increment();
+		}
+	}
+
+	/**
+	 * Gets the number of events fired to batched listeners.
+	 */
+	public long getFiredCount() {
+		return fired.sum();
+	}
+
+	/**
+	 * Gets the number of events delivered after coalescing.
+	 */
+	public long getDeliveredCount() {
+		return delivered.sum();
+	}
+}
@@ -14,4 +14,14 @@ public interface UnitListener {
 	 * @param event the unit event.
 	 */
 	public void unitUpdate(UnitEvent event);
+
+	/**
+	 * Should events be collected and delivered in batches by the {@link UnitEventBus} ?
+	 * Batched listeners receive repeated events once and not on the simulation thread.
+	 * 
+	 * @return true if the listener can receive events late
+	 */
+	public default boolean isBatched() {
+		return false;
+	}
 }
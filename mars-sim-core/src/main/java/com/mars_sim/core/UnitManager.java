@@ -28,6 +28,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mars_sim.core.environment.MarsSurface;
 import com.mars_sim.core.environment.OuterSpace;
 import com.mars_sim.core.equipment.Equipment;
+import com.mars_sim.core.goods.GoodsManager;
 import com.mars_sim.core.logging.SimLogger;
 import com.mars_sim.core.malfunction.MalfunctionFactory;
 import com.mars_sim.core.map.location.Coordinates;
@@ -77,6 +78,8 @@ public class UnitManager implements Serializable, Temporal {
 
 	private transient ExecutorService executor;
 
+	private transient SettlementPulseEngine pulseEngine;
+
 	private transient Set<SettlementTask> settlementTasks = new HashSet<>();
 	/** Map of equipment types and their numbers. */
 	private Map<String, Integer> unitCounts = new HashMap<>();
@@ -104,6 +107,9 @@ public class UnitManager implements Serializable, Temporal {
 
 	private static ThreadLocal<Settlement> activeSettlement = new ThreadLocal<>();
 
+	/** Use the work stealing engine to pulse the settlements. */
+	private static boolean useForkJoin = false;
+
 	/** The instance of Mars Surface. */
 	private MarsSurface marsSurface;
 
@@ -314,6 +320,11 @@ public class UnitManager implements Serializable, Temporal {
 					"Cannot store unit type:" + unit.getUnitType());
 		}
 
+		if (unit instanceof Settlement s) {
+			// Obstacles of the new settlement are gathered on the next lookup
+			LocalAreaUtil.resetObstacleIndex(s.getCoordinates());
+		}
+
 		// Notify listeners
 		fireUnitManagerUpdate(UnitManagerEventType.ADD_UNIT, unit);
 	}
@@ -329,6 +340,13 @@ public class UnitManager implements Serializable, Temporal {
 
 		map.remove(unit.getIdentifier());
 
+		if (unit instanceof Settlement s) {
+			LocalAreaUtil.resetObstacleIndex(s.getCoordinates());
+		}
+		else if (unit instanceof Vehicle v) {
+			LocalAreaUtil.removeBoundedObject(v, v.getCoordinates());
+		}
+
 		// Fire unit manager event.
 		fireUnitManagerUpdate(UnitManagerEventType.REMOVE_UNIT, unit);
 	}
@@ -373,6 +391,9 @@ public class UnitManager implements Serializable, Temporal {
 
 		if (pulse.getElapsed() > 0) {
 			runExecutor(pulse);
+
+			// All settlements have finished so apply their market updates
+			GoodsManager.aggregateMarket();
 		}
 		else {
 			logger.warning("Zero elapsed pulse #" + pulse.getId());
@@ -381,11 +402,38 @@ public class UnitManager implements Serializable, Temporal {
 		return true;
 	}
 
+	/**
+	 * Selects the work stealing engine that pulses the settlements on a shared pool
+	 * instead of using the fixed thread per settlement executor.
+	 *
+	 * @param forkJoin
+	 */
+	public static void setForkJoinPulse(boolean forkJoin) {
+		useForkJoin = forkJoin;
+	}
+
+	/**
+	 * Gets the number of threads that can be used for the settlement update.
+	 *
+	 * @return
+	 */
+	private static int getAvailableThreads() {
+		return Math.max(1, SimulationRuntime.NUM_CORES - simulationConfig.getUnusedCores());
+	}
+
 	/**
 	 * Sets up executive service.
 	 */
 	private void setupExecutor() {
-		if (executor == null) {
+		if (useForkJoin) {
+			if (pulseEngine == null) {
+				int num = getAvailableThreads();
+				logger.config("Setting up a work stealing pool of " + num
+						+ " thread(s) for running the settlement update.");
+				pulseEngine = new SettlementPulseEngine(num);
+			}
+		}
+		else if (executor == null) {
 			int size = (int)(lookupSettlement.size()/2D);
 			int num = Math.min(size, SimulationRuntime.NUM_CORES - simulationConfig.getUnusedCores());
 			if (num <= 0) num = 1;
@@ -421,6 +469,23 @@ public class UnitManager implements Serializable, Temporal {
 		settlementTasks.add(st);
 	}
 
+	/**
+	 * Sets the active Settlement of the current thread.
+	 *
+	 * @param s Settlement being pulsed; null if none
+	 * @return The previous active Settlement
+	 */
+	static Settlement setActiveSettlement(Settlement s) {
+		Settlement previous = activeSettlement.get();
+		if (s == null) {
+			activeSettlement.remove();
+		}
+		else {
+			activeSettlement.set(s);
+		}
+		return previous;
+	}
+
 	/**
 	 * This method validates whether the current active Settlement in this thread matches
 	 * the owner of an entity. This is a Thread specific method.
@@ -452,6 +517,10 @@ public class UnitManager implements Serializable, Temporal {
 	 */
 	private void runExecutor(ClockPulse pulse) {
 		setupExecutor();
+		if (pulseEngine != null) {
+			runPulseEngine(pulse);
+			return;
+		}
 		setupTasks();
 		// May use parallelStream() after it's proven to be safe
 		settlementTasks.stream().forEach(s -> s.setCurrentPulse(pulse));
@@ -476,12 +545,31 @@ public class UnitManager implements Serializable, Temporal {
 		}
 	}
 
+	/**
+	 * Fires the clock pulse to each settlement using the work stealing engine.
+	 *
+	 * @param pulse
+	 */
+	private void runPulseEngine(ClockPulse pulse) {
+		try {
+			pulseEngine.timePassing(lookupSettlement.values(), pulse);
+		}
+		catch (RuntimeException rte) {
+			if (!pulseEngine.isShutdown()) {
+				// Problem running the pulse
+				logger.severe("Problem running the pulse : ", rte);
+			}
+		}
+	}
+
 	/**
 	 * Ends the current executor.
 	 */
 	public void endSimulation() {
 		if (executor != null)
 			executor.shutdownNow();
+		if (pulseEngine != null)
+			pulseEngine.shutdown();
 	}
 
 	/**
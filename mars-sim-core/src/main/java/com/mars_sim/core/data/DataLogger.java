@@ -7,9 +7,12 @@
 
 package com.mars_sim.core.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +23,8 @@ import com.mars_sim.core.time.MarsTime;
  * Logs data items according to the current Sol. Each sol is a single data item.
  * Only a maximum number of sols is retained.
  * The timestamp of the logger is shifted automatically via the Simulation.
+ * The sols are always persisted as data items in dailyData, even by subclasses that
+ * hold their own storage, so the save format does not depend on the storage.
  * 
  * @param <T> Data item being recorded
  */
@@ -34,7 +39,7 @@ public abstract class DataLogger<T> implements Serializable {
 	private int maxSols = 7;
 	private int latestSol = 0;
 	protected T currentData = null;
-	protected List<T> dailyData = new LinkedList<T>();
+	protected List<T> dailyData = new ArrayList<>();
 	
 	public DataLogger(int maxSols) {
 		super();
@@ -58,12 +63,48 @@ public abstract class DataLogger<T> implements Serializable {
 	 */
 	private void newSol(int newSol) {
 		latestSol = newSol;
+		addSol();
+	}
+
+	/**
+	 * Adds the data item for a new sol and drops the oldest sol once there are too many.
+	 * Subclasses that hold their own storage override this.
+	 */
+	protected void addSol() {
 		currentData = getNewDataItem(); 
 		dailyData.add(0, currentData);
 		if (dailyData.size() > maxSols) {
-			dailyData.remove(maxSols-1);
+			dailyData.remove(dailyData.size() - 1);
 		}
 	}
+
+	/**
+	 * Gets the maximum number of sols retained.
+	 * 
+	 * @return
+	 */
+	protected int getMaxSols() {
+		return maxSols;
+	}
+
+	/**
+	 * Gets the number of sols held.
+	 * 
+	 * @return
+	 */
+	protected int getNumSols() {
+		return dailyData.size();
+	}
+
+	/**
+	 * Gets the data item of a sol held.
+	 * 
+	 * @param solsAgo Number of sols before the latest one; 0 is the latest
+	 * @return
+	 */
+	protected T getSolDataAt(int solsAgo) {
+		return dailyData.get(solsAgo);
+	}
 	
 	/**
 	 * Creates a new data item for a new sol.
@@ -88,9 +129,9 @@ public abstract class DataLogger<T> implements Serializable {
 	 */
 	public Map<Integer, T> getHistory() {
 		Map<Integer, T> results = new HashMap<>();
-		int sol = latestSol;
-		for (T t : dailyData) {
-			results.put(sol--, t);
+		int numSols = getNumSols();
+		for (int i = 0; i < numSols; i++) {
+			results.put(latestSol - i, getSolDataAt(i));
 		}
 		return results;
 	}
@@ -158,11 +199,11 @@ public abstract class DataLogger<T> implements Serializable {
 			throw new IllegalArgumentException("Mission Sol cannot be less than 1");
 		}
 		int idx = latestSol - sol;
-		if ((idx < 0) || (idx >= dailyData.size())) {
+		if ((idx < 0) || (idx >= getNumSols())) {
 			return null;
 		}
 		else {
-			return dailyData.get(idx);
+			return getSolDataAt(idx);
 		}
 	}
 	
@@ -192,5 +233,37 @@ public abstract class DataLogger<T> implements Serializable {
 	public T getYestersolData() {
 		return getSolData(currentSol - 1);
 	}
-	
+
+	/**
+	 * Writes the sols held as data items to be compatible with older saves.
+	 * 
+	 * @param out
+	 * @throws IOException
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		int numSols = getNumSols();
+		List<T> days = new ArrayList<>(numSols);
+		for (int i = 0; i < numSols; i++) {
+			days.add(getSolDataAt(i));
+		}
+
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("maxSols", maxSols);
+		fields.put("latestSol", latestSol);
+		fields.put("currentData", (days.isEmpty() ? currentData : days.get(0)));
+		fields.put("dailyData", days);
+		out.writeFields();
+	}
+
+	/**
+	 * Reads the sols; older saves hold them in a LinkedList.
+	 * 
+	 * @param in
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		dailyData = new ArrayList<>(dailyData);
+	}
 }
@@ -6,9 +6,16 @@
  */
 package com.mars_sim.core.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
 
 import com.mars_sim.core.time.MarsDate;
 import com.mars_sim.core.time.MarsTime;
@@ -17,18 +24,31 @@ import com.mars_sim.core.time.MasterClock;
 /**
  * Represents the history a value that changes over time.
  * Whenever a value is added it is timestamped with the current martian time.
+ * The items are held in a circular buffer of primitive timestamps and value references
+ * so adding never shifts the older items; a HistoryItem is only created when the
+ * changes are read. Items pushed out of a bounded history can be passed to an overflow,
+ * e.g. a {@link HistoryArchive}.
  */
 public class History<T> implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+    /** The items are persisted as the columns; the list of items is only read from older saves. */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("dates", long[].class),
+        new ObjectStreamField("millisols", double[].class),
+        new ObjectStreamField("values", Object[].class),
+        new ObjectStreamField("history", List.class),
+        new ObjectStreamField("maxItems", int.class)
+    };
+
 	/**
      * Something happened in the history of this object.
      */
     public static class HistoryItem<T> implements Serializable {
-    
+
 		private static final long serialVersionUID = 1L;
-		
+
 		private MarsTime when;
         private T what;
 
@@ -43,24 +63,64 @@ public class History<T> implements Serializable {
         public T getWhat() {
             return what;
         }
-        
+
     }
 
+    /**
+     * A read only view of the items at the time it was taken.
+     */
+    private static final class ItemsView<T> extends AbstractList<HistoryItem<T>> implements RandomAccess {
+        private final long[] dates;
+        private final double[] millisols;
+        private final Object[] values;
+
+        private ItemsView(long[] dates, double[] millisols, Object[] values) {
+            this.dates = dates;
+            this.millisols = millisols;
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public HistoryItem<T> get(int index) {
+            return new HistoryItem<>(toMarsTime(dates[index], millisols[index]), (T) values[index]);
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    private static final int INITIAL_SIZE = 16;
+
     private static MasterClock master;
-    private List<HistoryItem<T>> history = new ArrayList<>();
+
+    // Circular buffer of items; the oldest is at first
+    private long[] dates;
+    private double[] millisols;
+    private Object[] values;
+    private int first = 0;
+    private int size = 0;
     private int maxItems;
-    
+
+    private transient Consumer<HistoryItem<T>> overflow;
+
     static MarsTime getMarsTime() {
         return master.getMarsTime();
     }
 
     /**
      * Creates a History but define the maximum items to hold.
-     * 
+     *
      * @param maxItems
      */
     public History(int maxItems) {
         this.maxItems = maxItems;
+        int initial = (maxItems > 0 ? Math.min(maxItems, INITIAL_SIZE) : INITIAL_SIZE);
+        dates = new long[initial];
+        millisols = new double[initial];
+        values = new Object[initial];
     }
 
     /**
@@ -71,56 +131,206 @@ public class History<T> implements Serializable {
     }
 
     /**
-     * Adds a value to the history and timestamp it. If the value is the same as the previous item 
+     * Packs the date part of a timestamp into a long.
+     */
+    private static long toDate(MarsTime when) {
+        return ((long) when.getMissionSol() << 32)
+                | ((long) (when.getOrbit() & 0x3fffff) << 10)
+                | (when.getMonth() << 5)
+                | when.getSolOfMonth();
+    }
+
+    private static MarsTime toMarsTime(long date, double millisol) {
+        return new MarsTime(getOrbit(date), getMonth(date), getSol(date), millisol, (int) (date >> 32));
+    }
+
+    private static int getOrbit(long date) {
+        // Arithmetic shift keeps the sign of the orbit
+        return ((int) date) >> 10;
+    }
+
+    private static int getMonth(long date) {
+        return (int) (date >> 5) & 0x1f;
+    }
+
+    private static int getSol(long date) {
+        return (int) date & 0x1f;
+    }
+
+    private int slot(int index) {
+        return (first + index) % values.length;
+    }
+
+    /**
+     * Sets where the items pushed out of a bounded history are passed.
+     *
+     * @param overflow
+     */
+    public void setOverflow(Consumer<HistoryItem<T>> overflow) {
+        this.overflow = overflow;
+    }
+
+    /**
+     * Adds a value to the history and timestamp it. If the value is the same as the previous item
      * this the item is not added.
      * If the timestamp of the previous item has not advance; then it is overwritten.
-     * 
+     *
      * @param value New value to add
      */
-    public boolean add(T value) {
+    public synchronized boolean add(T value) {
         MarsTime now = getMarsTime();
-        if (!history.isEmpty()) {
-            HistoryItem<T> previous = history.get(history.size()-1);
-            if (now.equals(previous.getWhen())) {
+        long date = toDate(now);
+        double millisol = now.getMillisol();
+        if (size > 0) {
+            int last = slot(size - 1);
+            if ((dates[last] == date) && (millisols[last] == millisol)) {
                 // Time has not advance so replace existing
-                history.remove(history.size()-1);
+                size--;
             }
-            else if (value.equals(previous.getWhat())) {
+            else if (value.equals(values[last])) {
                 // Same value as last time so ignore
                 return false;
             }
         }
 
-        if (history.size() == maxItems) {
-            // Remove first item (oldest)
-            history.remove(0);
+        if (size == maxItems) {
+            // Overwrite the first item (oldest)
+            if (overflow != null) {
+                overflow.accept(getItem(0));
+            }
+            first = slot(1);
+            size--;
+        }
+        else if (size == values.length) {
+            grow();
         }
-        history.add(new HistoryItem<>(now, value));
+
+        int next = slot(size);
+        dates[next] = date;
+        millisols[next] = millisol;
+        values[next] = value;
+        size++;
 
         return true;
     }
 
     /**
-     * Gets the changes that have occurred over time.
-     * 
+     * Doubles the capacity up to the maximum items.
+     */
+    private void grow() {
+        int newLength = values.length * 2;
+        if (maxItems > 0) {
+            newLength = Math.min(newLength, maxItems);
+        }
+        dates = copyInOrder(dates, new long[newLength]);
+        millisols = copyInOrder(millisols, new double[newLength]);
+        values = copyInOrder(values, new Object[newLength]);
+        first = 0;
+    }
+
+    /**
+     * Copies the items from the circular buffer to the start of an array oldest first.
+     */
+    private <A> A copyInOrder(A source, A target) {
+        int length = values.length;
+        int head = Math.min(size, length - first);
+        System.arraycopy(source, first, target, 0, head);
+        System.arraycopy(source, 0, target, head, size - head);
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HistoryItem<T> getItem(int index) {
+        int s = slot(index);
+        return new HistoryItem<>(toMarsTime(dates[s], millisols[s]), (T) values[s]);
+    }
+
+    /**
+     * Gets the changes that have occurred over time. This is a read only view of the
+     * items when it was called and is not changed by later additions.
+     *
      * @return List of changes.
      */
-    public List<HistoryItem<T>> getChanges() {
-        return history;
+    public synchronized List<HistoryItem<T>> getChanges() {
+        return new ItemsView<>(copyInOrder(dates, new long[size]),
+                            copyInOrder(millisols, new double[size]),
+                            copyInOrder(values, new Object[size]));
     }
 
     /**
      * Gets the range of dates covered by this history.
-     * 
+     *
      * @return
      */
-    public List<MarsDate> getRange() {
-        return history.stream().map(i -> i.getWhen().getDate()).distinct().toList();
+    public synchronized List<MarsDate> getRange() {
+        // The date is the same for a day so only unpack each new one
+        return Arrays.stream(copyInOrder(dates, new long[size]))
+                .distinct()
+                .mapToObj(d -> toMarsTime(d, 0D).getDate())
+                .toList();
+    }
+
+    /**
+     * Saves the items oldest first as the columns.
+     */
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("dates", copyInOrder(dates, new long[size]));
+        fields.put("millisols", copyInOrder(millisols, new double[size]));
+        fields.put("values", copyInOrder(values, new Object[size]));
+        fields.put("maxItems", maxItems);
+        out.writeFields();
+    }
+
+    /**
+     * Loads the columns, or the list of items of an older save, into the circular buffer.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        maxItems = fields.get("maxItems", -1);
+        long[] savedDates = (long[]) fields.get("dates", null);
+        if (savedDates != null) {
+            load(savedDates, (double[]) fields.get("millisols", null), (Object[]) fields.get("values", null));
+            return;
+        }
+
+        List<HistoryItem<T>> saved = (List<HistoryItem<T>>) fields.get("history", null);
+        if (saved == null) {
+            saved = List.of();
+        }
+        savedDates = new long[saved.size()];
+        double[] savedMillisols = new double[saved.size()];
+        Object[] savedValues = new Object[saved.size()];
+        for (int i = 0; i < saved.size(); i++) {
+            HistoryItem<T> item = saved.get(i);
+            savedDates[i] = toDate(item.getWhen());
+            savedMillisols[i] = item.getWhen().getMillisol();
+            savedValues[i] = item.getWhat();
+        }
+        load(savedDates, savedMillisols, savedValues);
+    }
+
+    /**
+     * Fills the circular buffer from columns that are oldest first.
+     */
+    private void load(long[] savedDates, double[] savedMillisols, Object[] savedValues) {
+        // Only the newest items fit a bounded history
+        int start = (maxItems > 0 ? Math.max(0, savedValues.length - maxItems) : 0);
+        size = savedValues.length - start;
+        first = 0;
+        int capacity = Math.max(size, (maxItems > 0 ? Math.min(maxItems, INITIAL_SIZE) : INITIAL_SIZE));
+        dates = new long[capacity];
+        millisols = new double[capacity];
+        values = new Object[capacity];
+        System.arraycopy(savedDates, start, dates, 0, size);
+        System.arraycopy(savedMillisols, start, millisols, 0, size);
+        System.arraycopy(savedValues, start, values, 0, size);
     }
 
     /**
      * Loads up the reference to the master clock.
-     * 
+     *
      * @param mc
      */
     public static void initializeInstances(MasterClock mc) {
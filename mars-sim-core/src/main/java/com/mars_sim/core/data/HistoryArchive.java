@@ -0,0 +1,109 @@
+/*
+ * Mars Simulation Project
+ * HistoryArchive.java
+ */
+package com.mars_sim.core.data;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.mars_sim.core.data.History.HistoryItem;
+
+/**
+ * An append-only text file that keeps the items that have been pushed out of bounded
+ * histories. Each line holds the time, the owner of the history and the value.
+ * The lines are written in segments; each full segment is flushed to the file so
+ * at most one segment is lost if the simulation stops without closing the archive.
+ */
+public class HistoryArchive implements Closeable {
+
+	private static final Logger logger = Logger.getLogger(HistoryArchive.class.getName());
+
+	private static final char SEPARATOR = '\t';
+	/** Number of lines in a segment. */
+	static final int SEGMENT_LINES = 1000;
+
+	private final File file;
+	private BufferedWriter writer;
+	private int segmentLines = 0;
+
+	/**
+	 * Opens an archive file to append to.
+	 *
+	 * @param file
+	 * @throws IOException
+	 */
+	public HistoryArchive(File file) throws IOException {
+		this.file = file;
+		writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Creates an overflow for a history that appends the items to this archive.
+	 *
+	 * @param owner Name of the owner of the history
+	 * @param formatter Converts a value to the text archived
+	 * @return
+	 */
+	public <T> Consumer<HistoryItem<T>> createOverflow(String owner, Function<T, String> formatter) {
+		return item -> append(owner, item.getWhen().getDateTimeStamp(), formatter.apply(item.getWhat()));
+	}
+
+	private synchronized void append(String owner, String when, String what) {
+		if (writer == null) {
+			return;
+		}
+		try {
+			writer.append(when).append(SEPARATOR).append(owner).append(SEPARATOR).append(what);
+			writer.newLine();
+			segmentLines++;
+			if (segmentLines >= SEGMENT_LINES) {
+				// Segment rolls over
+				writer.flush();
+				segmentLines = 0;
+			}
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "Cannot append to history archive " + file.getName(), e);
+			close();
+		}
+	}
+
+	/**
+	 * Writes out all the items appended.
+	 */
+	public synchronized void flush() {
+		if (writer != null) {
+			try {
+				writer.flush();
+				segmentLines = 0;
+			}
+			catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot flush history archive " + file.getName(), e);
+			}
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			}
+			catch (IOException e) {
+				logger.log(Level.WARNING, "Cannot close history archive " + file.getName(), e);
+			}
+			writer = null;
+		}
+	}
+}
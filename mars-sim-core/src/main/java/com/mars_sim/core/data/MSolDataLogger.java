@@ -7,14 +7,22 @@
 
 package com.mars_sim.core.data;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 
 /**
  * This logger records data in a DataLogger for each Sol. Datapoint is timstamped with the msol value as well.
+ * The total and count of the numeric datapoints are held per sol in {@link SolColumns} for the average.
  */
 public class MSolDataLogger<T> extends SolListDataLogger<MSolDataItem<T>> {
 	
 	private static final long serialVersionUID = 1L;
+
+	private static final int SUM = 0;
+	private static final int COUNT = 1;
+
+	// Rebuilt from the daily lists when read
+	private transient SolColumns totals;
 	
 	/**
 	 * Creates a new logger.
@@ -23,7 +31,21 @@ public class MSolDataLogger<T> extends SolListDataLogger<MSolDataItem<T>> {
 	 */
 	public MSolDataLogger(int maxSols) {
 		super(maxSols);
+		createTotals();
+	}
+
+	private void createTotals() {
+		totals = new SolColumns(getMaxSols());
+		totals.addColumn();
+		totals.addColumn();
+	}
+
+	@Override
+	protected void addSol() {
+		super.addSol();
+		totals.newSol();
 	}
+
 	/**
 	 * Adds a datapoint at the current time & sol.
 	 * 
@@ -32,25 +54,24 @@ public class MSolDataLogger<T> extends SolListDataLogger<MSolDataItem<T>> {
 	public void addDataPoint(T data) {
 		MSolDataItem<T> item = new MSolDataItem<T>(currentMsol, data);
 		super.addData(item);
+		addTotal(data);
+	}
+
+	private void addTotal(T data) {
+		if (data instanceof Number n) {
+			totals.add(SUM, n.doubleValue());
+			totals.add(COUNT, 1);
+		}
 	}
 	
 	/**
-	 * Gets the average.
+	 * Gets the average of the numeric datapoints over all the sols held.
 	 * 
 	 * @return
 	 */
 	public double getAverageDouble() {
-		int count = 0;
-		double sum = 0;
-
-		for (int sol: getHistory().keySet()) {
-			List<MSolDataItem<T>> list = getHistory().get(sol);
-			for (MSolDataItem<T> s: list) {
-				count++;
-				T item = s.getData();
-				sum += convertGenericToDouble(item);
-			}
-		}
+		double sum = totals.getPastSum(SUM) + valueOrZero(totals.get(SUM, 0));
+		double count = totals.getPastSum(COUNT) + valueOrZero(totals.get(COUNT, 0));
 		
 		if (count > 0 && sum > 0)
 			return sum / count;
@@ -58,4 +79,26 @@ public class MSolDataLogger<T> extends SolListDataLogger<MSolDataItem<T>> {
 		return 0;
 	}
 
+	private static double valueOrZero(double value) {
+		return (Double.isNaN(value) ? 0 : value);
+	}
+
+	/**
+	 * Rebuilds the totals from the daily lists, oldest sol first.
+	 * 
+	 * @param in
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		createTotals();
+		for (int i = getNumSols() - 1; i >= 0; i--) {
+			totals.newSol();
+			for (MSolDataItem<T> item : getSolDataAt(i)) {
+				addTotal(item.getData());
+			}
+		}
+	}
+
 }
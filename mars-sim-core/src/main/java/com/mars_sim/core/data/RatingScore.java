@@ -6,21 +6,35 @@
  */
 package com.mars_sim.core.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * A class to represent a score Rating. Consists of a base value and a set
  * of modifiers that are applied to create a final score.
+ * The named values are held in small parallel arrays rather than Maps as many
+ * thousands of these are created every sol when scoring Tasks.
  */
 public class RatingScore implements Comparable<RatingScore>, Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+    /** The persisted form keeps the Maps of named values to be compatible with older saves. */
+    private static final ObjectStreamField[] serialPersistentFields = {
+        new ObjectStreamField("bases", Map.class),
+        new ObjectStreamField("modifiers", Map.class),
+        new ObjectStreamField("score", double.class)
+    };
+
     private static final DecimalFormat SCORE_FORMAT = new DecimalFormat("0.###");
 
     /**
@@ -42,8 +56,16 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
 
     public static final String BASE = "base";
 
-    private Map<String, Double> bases;
-    private Map<String, Double> modifiers;
+    private static final int INITIAL_SIZE = 4;
+    private static final String[] NO_NAMES = new String[0];
+    private static final double[] NO_VALUES = new double[0];
+
+    private String[] baseNames = NO_NAMES;
+    private double[] baseValues = NO_VALUES;
+    private int numBases = 0;
+    private String[] modifierNames = NO_NAMES;
+    private double[] modifierValues = NO_VALUES;
+    private int numModifiers = 0;
     private double score = -1;
 
     /**
@@ -51,8 +73,6 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
      * 
      */
     public RatingScore() {
-        this.modifiers = new HashMap<>();
-        this.bases = new HashMap<>();
         this.score = 0;
     }
 
@@ -74,7 +94,11 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
     public RatingScore(String name, double base) {
         this();
         this.score = base;
-        this.bases.put(name, base);
+        this.baseNames = new String[INITIAL_SIZE];
+        this.baseValues = new double[INITIAL_SIZE];
+        this.baseNames[0] = name;
+        this.baseValues[0] = base;
+        this.numBases = 1;
     }
  
     /**
@@ -84,8 +108,12 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
      */
     public RatingScore(RatingScore source) {
         this.score = source.score;
-        this.modifiers = new HashMap<>(source.modifiers);
-        this.bases = new HashMap<>(source.bases);
+        this.numBases = source.numBases;
+        this.baseNames = Arrays.copyOf(source.baseNames, source.baseNames.length);
+        this.baseValues = Arrays.copyOf(source.baseValues, source.baseValues.length);
+        this.numModifiers = source.numModifiers;
+        this.modifierNames = Arrays.copyOf(source.modifierNames, source.modifierNames.length);
+        this.modifierValues = Arrays.copyOf(source.modifierValues, source.modifierValues.length);
     }
 
     /**
@@ -103,7 +131,7 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
      * @return
      */
     public Map<String, Double> getModifiers() {
-        return Collections.unmodifiableMap(modifiers);
+        return toMap(modifierNames, modifierValues, numModifiers);
     }
 
     /**
@@ -112,7 +140,30 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
      * @return
      */
     public Map<String, Double> getBases() {
-        return Collections.unmodifiableMap(bases);
+        return toMap(baseNames, baseValues, numBases);
+    }
+
+    private static Map<String, Double> toMap(String[] names, double[] values, int size) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            result.put(names[i], values[i]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Finds the position of a name.
+     * 
+     * @return Index or -1 if not present
+     */
+    private static int indexOf(String[] names, int size, String name) {
+        for (int i = 0; i < size; i++) {
+            // Names are nearly always constants so try identity first
+            if ((names[i] == name) || names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -123,16 +174,19 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
      * @param value
      */
     public void addModifier(String name, double value) {
-        modifiers.put(name, value);
-
-        if (modifiers.containsKey(name)) {
-            // Recalculate the score
-            calculateScore();
-        }
-        else {
-            // New modifier so just apply multipler
-            score *= value;
+        int idx = indexOf(modifierNames, numModifiers, name);
+        if (idx < 0) {
+            if (numModifiers == modifierNames.length) {
+                int newSize = Math.max(INITIAL_SIZE, numModifiers * 2);
+                modifierNames = Arrays.copyOf(modifierNames, newSize);
+                modifierValues = Arrays.copyOf(modifierValues, newSize);
+            }
+            idx = numModifiers++;
+            modifierNames[idx] = name;
         }
+        modifierValues[idx] = value;
+
+        calculateScore();
     }
     
     /**
@@ -144,16 +198,32 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
      * @param base New base score.
      */
     public void addBase(String name, double base) {
-        this.bases.put(name, base);
+        int idx = indexOf(baseNames, numBases, name);
+        if (idx < 0) {
+            if (numBases == baseNames.length) {
+                int newSize = Math.max(INITIAL_SIZE, numBases * 2);
+                baseNames = Arrays.copyOf(baseNames, newSize);
+                baseValues = Arrays.copyOf(baseValues, newSize);
+            }
+            idx = numBases++;
+            baseNames[idx] = name;
+        }
+        baseValues[idx] = base;
 
         calculateScore();
     }
 
     private void calculateScore() {
     	// base values are added
-        double base = bases.values().stream().reduce(0D, (a, b) -> a + b);
+        double result = 0D;
+        for (int i = 0; i < numBases; i++) {
+            result += baseValues[i];
+        }
         // modifiers are multiplied
-        score = modifiers.values().stream().reduce(base, (a, b) -> a * b);
+        for (int i = 0; i < numModifiers; i++) {
+            result *= modifierValues[i];
+        }
+        score = result;
     }
 
     /**
@@ -181,15 +251,15 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
         
         StringBuilder output = new StringBuilder();
         output.append("Score: ").append(SCORE_FORMAT.format(score)).append(" (");
-        output.append(bases.entrySet().stream()
-                                .map(entry -> entry.getKey() + ": " + SCORE_FORMAT.format(entry.getValue()))
-                                .collect(Collectors.joining(", ")));
-        if (!modifiers.isEmpty()) {
-            output.append(", ");
+        for (int i = 0; i < numBases; i++) {
+            if (i > 0) {
+                output.append(", ");
+            }
+            output.append(baseNames[i]).append(": ").append(SCORE_FORMAT.format(baseValues[i]));
+        }
+        for (int i = 0; i < numModifiers; i++) {
+            output.append(", ").append(modifierNames[i]).append(": ").append(SCORE_FORMAT.format(modifierValues[i]));
         }
-        output.append(modifiers.entrySet().stream()
-                                .map(entry -> entry.getKey() + ": " + SCORE_FORMAT.format(entry.getValue()))
-                                .collect(Collectors.joining(", ")));
         output.append(")");
         return output.toString();
     }
@@ -203,4 +273,49 @@ public class RatingScore implements Comparable<RatingScore>, Serializable {
     public int compareTo(RatingScore o) {
         return Double.compare(score, o.getScore());
     }
+
+    /**
+     * Saves the named values as Maps.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("bases", new HashMap<>(getBases()));
+        fields.put("modifiers", new HashMap<>(getModifiers()));
+        fields.put("score", score);
+        out.writeFields();
+    }
+
+    /**
+     * Loads the Maps of named values into the arrays.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        score = fields.get("score", 0D);
+
+        // Filled directly as the zero rating does not allow changes
+        Map<String, Double> savedBases = (Map<String, Double>) fields.get("bases", null);
+        baseNames = NO_NAMES;
+        baseValues = NO_VALUES;
+        numBases = 0;
+        if ((savedBases != null) && !savedBases.isEmpty()) {
+            baseNames = savedBases.keySet().toArray(new String[0]);
+            baseValues = new double[baseNames.length];
+            for (String n : baseNames) {
+                baseValues[numBases++] = savedBases.get(n);
+            }
+        }
+
+        Map<String, Double> savedModifiers = (Map<String, Double>) fields.get("modifiers", null);
+        modifierNames = NO_NAMES;
+        modifierValues = NO_VALUES;
+        numModifiers = 0;
+        if ((savedModifiers != null) && !savedModifiers.isEmpty()) {
+            modifierNames = savedModifiers.keySet().toArray(new String[0]);
+            modifierValues = new double[modifierNames.length];
+            for (String n : modifierNames) {
+                modifierValues[numModifiers++] = savedModifiers.get(n);
+            }
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Mars Simulation Project
+ * SolColumns.java
+ */
+
+package com.mars_sim.core.data;
+
+import java.util.Arrays;
+
+/**
+ * Columnar store of daily values. Each metric is a column holding a ring buffer of
+ * doubles with one slot per sol; a sol without a value holds NaN. The sum of the sols
+ * before today is kept for every column so averages do not walk the history.
+ * The columns are not persisted; the loggers save the daily data items.
+ */
+final class SolColumns {
+
+	private static final int INITIAL_COLUMNS = 4;
+
+	private final int maxSols;
+	private int numColumns = 0;
+	private int numSols = 0;
+
+	// Slot of today in each ring
+	private int today;
+	private double[][] values;
+	private double[] pastSums;
+
+	SolColumns(int maxSols) {
+		this.maxSols = Math.max(1, maxSols);
+		values = new double[INITIAL_COLUMNS][];
+		pastSums = new double[INITIAL_COLUMNS];
+	}
+
+	/**
+	 * Adds a new column with no values.
+	 *
+	 * @return Index of the column
+	 */
+	int addColumn() {
+		if (numColumns == values.length) {
+			values = Arrays.copyOf(values, numColumns * 2);
+			pastSums = Arrays.copyOf(pastSums, numColumns * 2);
+		}
+		double[] column = new double[maxSols];
+		Arrays.fill(column, Double.NaN);
+		values[numColumns] = column;
+		pastSums[numColumns] = 0D;
+		return numColumns++;
+	}
+
+	int getNumColumns() {
+		return numColumns;
+	}
+
+	int getNumSols() {
+		return numSols;
+	}
+
+	/**
+	 * Starts a new sol. The oldest sol is overwritten once the ring is full.
+	 */
+	void newSol() {
+		if (numSols > 0) {
+			today = (today + 1) % maxSols;
+		}
+		numSols = Math.min(numSols + 1, maxSols);
+		for (int c = 0; c < numColumns; c++) {
+			values[c][today] = Double.NaN;
+			pastSums[c] = sumPast(c);
+		}
+	}
+
+	/**
+	 * Sums the sols before today. Only done once a sol so no rounding builds up.
+	 */
+	private double sumPast(int column) {
+		double sum = 0D;
+		for (int i = 1; i < numSols; i++) {
+			double v = get(column, i);
+			if (!Double.isNaN(v)) {
+				sum += v;
+			}
+		}
+		return sum;
+	}
+
+	private int slot(int solsAgo) {
+		return (today - solsAgo + maxSols) % maxSols;
+	}
+
+	/**
+	 * Adds to today's value of a column.
+	 *
+	 * @param column
+	 * @param increment
+	 */
+	void add(int column, double increment) {
+		double[] ring = values[column];
+		double current = ring[today];
+		ring[today] = (Double.isNaN(current) ? increment : current + increment);
+	}
+
+	/**
+	 * Gets the value of a column for a sol.
+	 *
+	 * @param column
+	 * @param solsAgo Number of sols before today; 0 is today
+	 * @return NaN if there is no value
+	 */
+	double get(int column, int solsAgo) {
+		if ((column < 0) || (column >= numColumns) || (solsAgo < 0) || (solsAgo >= numSols)) {
+			return Double.NaN;
+		}
+		return values[column][slot(solsAgo)];
+	}
+
+	/**
+	 * Gets the total of a column over the sols before today.
+	 *
+	 * @param column
+	 * @return
+	 */
+	double getPastSum(int column) {
+		return pastSums[column];
+	}
+}
@@ -7,19 +7,31 @@
 
 package com.mars_sim.core.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * This class logs a number increasing metrics as Doubles for each day. The metrics are keyed on a 
  * particular value.
+ * The values are held in {@link SolColumns} with a column per metric so adding to a metric does
+ * not box a Double; the daily maps are only created when the history is read or saved.
  */
 public class SolMetricDataLogger<K> extends DataLogger<Map<K,Double>> {
 
 	private static final long serialVersionUID = 1L;
+
+	// Rebuilt from the daily maps when read
+	private transient List<K> metrics = new ArrayList<>();
+	private transient Map<K, Integer> columnIds = new HashMap<>();
+	private transient SolColumns columns;
 	
 	public SolMetricDataLogger(int maxSols) {
 		super(maxSols);
+		columns = new SolColumns(maxSols);
 	}
 
 
@@ -28,20 +40,61 @@ public class SolMetricDataLogger<K> extends DataLogger<Map<K,Double>> {
 		return new HashMap<>();
 	}
 
+	@Override
+	protected void addSol() {
+		columns.newSol();
+	}
+
+	@Override
+	protected int getNumSols() {
+		return columns.getNumSols();
+	}
+
+	/**
+	 * Creates a map of the metrics that have a value for a sol.
+	 */
+	@Override
+	protected Map<K, Double> getSolDataAt(int solsAgo) {
+		Map<K, Double> result = getNewDataItem();
+		for (int c = 0; c < columns.getNumColumns(); c++) {
+			double value = columns.get(c, solsAgo);
+			if (!Double.isNaN(value)) {
+				result.put(metrics.get(c), value);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets a copy of the latest Sol data being captured.
+	 */
+	@Override
+	public Map<K, Double> getTodayData() {
+		return (columns.getNumSols() == 0 ? null : getSolDataAt(0));
+	}
+
+	/**
+	 * Gets the column of a metric; adding one if it is new.
+	 */
+	private int getColumn(K metric) {
+		Integer id = columnIds.get(metric);
+		if (id == null) {
+			id = columns.addColumn();
+			metrics.add(metric);
+			columnIds.put(metric, id);
+		}
+		return id;
+	}
+
 	/**
 	 * Increases the metric on one of the data points. It adds the increment to any existing value.
 	 * If no value for this metric is present; it created one.
 	 * 
 	 * @param increment Value to add to the existing metric.
 	 */
-	public void increaseDataPoint(K metric, Double increment) {
+	public void increaseDataPoint(K metric, double increment) {
 		updating();
-		
-		Double stored = currentData.get(metric);
-		
-		double current = (stored == null ? 0 : stored);
-		current += increment;
-		currentData.put(metric, current);
+		columns.add(getColumn(metric), increment);
 	}
 
 	/**
@@ -51,7 +104,12 @@ public class SolMetricDataLogger<K> extends DataLogger<Map<K,Double>> {
 	 * @return
 	 */
 	public Double getDataPoint(K type) {
-		return currentData.get(type);
+		Integer id = columnIds.get(type);
+		if (id == null) {
+			return null;
+		}
+		double value = columns.get(id, 0);
+		return (Double.isNaN(value) ? null : value);
 	}
 	
 	/**
@@ -62,30 +120,48 @@ public class SolMetricDataLogger<K> extends DataLogger<Map<K,Double>> {
 	 * @return Daily average
 	 */
 	public double getDailyAverage(K metric) {
-		double sum = 0;
-		int numSols = 0;
-
-		for (Map<K, Double> oneDay : dailyData) {
-			// Get metric for the day; there may not be any
-			double dailyTotal = 0;
-			if (oneDay.containsKey(metric)) {
-				dailyTotal = oneDay.get(metric);
-			}
+		int numSols = columns.getNumSols();
+		if (numSols == 0) {
+			// No data points
+			return 0;
+		}
 
-			// First entry is always today
-			if (numSols == 0) {
-				sum += ((dailyTotal/currentMsol) * 1_000D);
+		Integer id = columnIds.get(metric);
+		double today = 0;
+		double past = 0;
+		if (id != null) {
+			double value = columns.get(id, 0);
+			if (!Double.isNaN(value)) {
+				today = value;
 			}
-			else {
-				sum += dailyTotal;
-			}
-			numSols++;
+			past = columns.getPastSum(id);
 		}
 
-		if (numSols == 0) {
-			// No data points
-			return 0;
+		// Today is extrapolated to the whole sol
+		return (((today/currentMsol) * 1_000D) + past) / numSols;
+	}
+
+	/**
+	 * Moves the daily maps read into the columns, oldest sol first.
+	 * 
+	 * @param in
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		metrics = new ArrayList<>();
+		columnIds = new HashMap<>();
+		columns = new SolColumns(getMaxSols());
+		for (int i = dailyData.size() - 1; i >= 0; i--) {
+			columns.newSol();
+			for (Map.Entry<K, Double> e : dailyData.get(i).entrySet()) {
+				if (e.getValue() != null) {
+					columns.add(getColumn(e.getKey()), e.getValue());
+				}
+			}
 		}
-		return sum / numSols;
+		dailyData.clear();
+		currentData = null;
 	}
 }
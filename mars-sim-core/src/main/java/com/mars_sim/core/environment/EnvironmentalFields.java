@@ -0,0 +1,117 @@
+/*
+ * Mars Simulation Project
+ * EnvironmentalFields.java
+ */
+package com.mars_sim.core.environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mars_sim.core.map.location.Coordinates;
+
+/**
+ * A snapshot of the environmental fields at the registered locations. Each location is
+ * given an ID when registered that indexes the snapshot directly. The fields of every location are computed in one
+ * pass at the start of a pulse and published as a whole so the settlement threads can read
+ * them for the rest of the millisol without taking any lock.
+ */
+final class EnvironmentalFields {
+
+	static final int TEMPERATURE = 0;
+	static final int AIR_PRESSURE = 1;
+	static final int WIND_SPEED = 2;
+	static final int WIND_DIRECTION = 3;
+	static final int OPTICAL_DEPTH = 4;
+	static final int SOLAR_IRRADIANCE = 5;
+	private static final int FIELDS = 6;
+
+	/**
+	 * The fields of all the locations for one millisol. The stamp versions the snapshot.
+	 */
+	private record Snapshot(long stamp, int size, double[] values) {}
+
+	private final List<Coordinates> locations = new ArrayList<>();
+
+	private volatile Snapshot current;
+
+	/**
+	 * Registers a location to be covered by the snapshot from the next refresh. The
+	 * caller makes sure a location is only registered once.
+	 *
+	 * @param location
+	 * @return The ID of the location
+	 */
+	synchronized int register(Coordinates location) {
+		locations.add(location);
+		return locations.size() - 1;
+	}
+
+	/**
+	 * Gets the stamp of a snapshot valid for a time.
+	 *
+	 * @param totalMillisols Total millisols of the time
+	 * @return
+	 */
+	static long toStamp(double totalMillisols) {
+		return (long) totalMillisols;
+	}
+
+	/**
+	 * Gets a field of a location from the snapshot.
+	 *
+	 * @param field
+	 * @param id ID of the location given at registration
+	 * @param stamp Stamp of the current millisol
+	 * @return The value or NaN if the location is not covered by an up to date snapshot
+	 */
+	double get(int field, int id, long stamp) {
+		Snapshot s = current;
+		if ((s == null) || (s.stamp() != stamp) || (id >= s.size())) {
+			return Double.NaN;
+		}
+		return s.values()[field * s.size() + id];
+	}
+
+	/**
+	 * Is there a snapshot for a millisol ?
+	 *
+	 * @param stamp
+	 */
+	boolean isCurrent(long stamp) {
+		Snapshot s = current;
+		return (s != null) && (s.stamp() == stamp);
+	}
+
+	/**
+	 * Drops the snapshot so the fields are computed on demand until the next refresh.
+	 */
+	void invalidate() {
+		current = null;
+	}
+
+	/**
+	 * Computes the fields of every registered location and publishes them as the snapshot.
+	 * The previous snapshot is stale whilst this runs so the calculations read the
+	 * live values of the other fields.
+	 *
+	 * @param stamp Stamp of the current millisol
+	 * @param weather
+	 * @param surface
+	 */
+	synchronized void refresh(long stamp, Weather weather, SurfaceFeatures surface) {
+		int size = locations.size();
+		double[] values = new double[FIELDS * size];
+		for (int i = 0; i < size; i++) {
+			Coordinates location = locations.get(i);
+			values[OPTICAL_DEPTH * size + i] = surface.lookupOpticalDepth(location);
+			values[SOLAR_IRRADIANCE * size + i] = surface.lookupSolarIrradiance(location);
+			double speed = weather.computeWindSpeed(location);
+			values[WIND_SPEED * size + i] = speed;
+			values[WIND_DIRECTION * size + i] = weather.computeWindDirection(location, speed);
+			values[AIR_PRESSURE * size + i] = weather.getCachedAirPressure(location);
+			values[TEMPERATURE * size + i] = weather.computeTemperature(location);
+		}
+
+		current = new Snapshot(stamp, size, values);
+	}
+}
@@ -123,6 +123,30 @@ public class SurfaceFeatures implements Serializable, Temporal {
 	 * @return
 	 */
 	public double getOpticalDepth(Coordinates location) {
+		return lookupOpticalDepth(location);
+	}
+
+	/**
+	 * Gets the optical depth at a location added to the weather.
+	 *
+	 * @param id ID given by {@link Weather#addLocation(Coordinates)}
+	 * @return
+	 */
+	public double getOpticalDepth(int id) {
+		double field = weather.getField(EnvironmentalFields.OPTICAL_DEPTH, id);
+		if (!Double.isNaN(field)) {
+			return field;
+		}
+		return lookupOpticalDepth(weather.getLocation(id));
+	}
+
+	/**
+	 * Gets the optical depth from the cache or computes it.
+	 *
+	 * @param location
+	 * @return
+	 */
+	double lookupOpticalDepth(Coordinates location) {
 		Double value = opticalDepthMap.get(location);
 		if (value != null)
 			return value.doubleValue();
@@ -262,6 +286,30 @@ public class SurfaceFeatures implements Serializable, Temporal {
 	 * @return solar irradiance (W/m2)
 	 */
 	public double getSolarIrradiance(Coordinates location) {
+		return lookupSolarIrradiance(location);
+	}
+
+	/**
+	 * Calculates the solar irradiance at a location added to the weather.
+	 *
+	 * @param id ID given by {@link Weather#addLocation(Coordinates)}
+	 * @return solar irradiance (W/m2)
+	 */
+	public double getSolarIrradiance(int id) {
+		double field = weather.getField(EnvironmentalFields.SOLAR_IRRADIANCE, id);
+		if (!Double.isNaN(field)) {
+			return field;
+		}
+		return lookupSolarIrradiance(weather.getLocation(id));
+	}
+
+	/**
+	 * Gets the solar irradiance from the cache or calculates it.
+	 *
+	 * @param location
+	 * @return solar irradiance (W/m2)
+	 */
+	double lookupSolarIrradiance(Coordinates location) {
 		Double cachedValue = currentIrradiance.get(location);
 		if (cachedValue != null)
 			return cachedValue.doubleValue();
@@ -92,6 +92,8 @@ public class Weather implements Serializable, Temporal {
 	private transient Map<Coordinates, Double> airPressureCacheMap;
 	private transient Map<Coordinates, Double> windSpeedCacheMap;
 	private transient Map<Coordinates, Integer> windDirCacheMap;
+	/** Lock-free snapshot of the fields at the settlement locations. */
+	private transient volatile EnvironmentalFields fields;
 
 	private List<DustStorm> dustStorms;
 	
@@ -125,13 +127,74 @@ public class Weather implements Serializable, Temporal {
 	}
 
 	/**
-	 * Adds a location to the coordinate list.
+	 * Adds a location to the coordinate list. The ID returned reads the fields of the
+	 * location from the snapshot; it is the position in the list so it survives a reload.
 	 * 
 	 * @param location
+	 * @return ID of the location
 	 */
-	public void addLocation(Coordinates location) {
-		if (!coordinateList.contains(location))
+	public synchronized int addLocation(Coordinates location) {
+		EnvironmentalFields f = getFields();
+		int id = coordinateList.indexOf(location);
+		if (id < 0) {
 			coordinateList.add(location);
+			id = f.register(location);
+		}
+		return id;
+	}
+
+	/**
+	 * Gets a location added to the coordinate list.
+	 * 
+	 * @param id ID given by {@link #addLocation(Coordinates)}
+	 * @return
+	 */
+	Coordinates getLocation(int id) {
+		return coordinateList.get(id);
+	}
+
+	/**
+	 * Gets the field snapshot. It is rebuilt from the locations after loading a saved sim.
+	 */
+	private EnvironmentalFields getFields() {
+		EnvironmentalFields f = fields;
+		if (f == null) {
+			synchronized (this) {
+				f = fields;
+				if (f == null) {
+					f = new EnvironmentalFields();
+					coordinateList.forEach(f::register);
+					fields = f;
+				}
+			}
+		}
+		return f;
+	}
+
+	/**
+	 * Gets a field of a location from the snapshot of the current millisol.
+	 *
+	 * @param field
+	 * @param id ID of the location
+	 * @return The value or NaN if the snapshot does not cover it
+	 */
+	double getField(int field, int id) {
+		return getFields().get(field, id,
+				EnvironmentalFields.toStamp(clock.getMarsTime().getTotalMillisols()));
+	}
+
+	/**
+	 * Refreshes the field snapshot of all the locations once per millisol. This should be
+	 * called at the start of a pulse before the settlements run.
+	 *
+	 * @param pulse
+	 */
+	public void refreshFields(ClockPulse pulse) {
+		long stamp = EnvironmentalFields.toStamp(pulse.getMarsTime().getTotalMillisols());
+		EnvironmentalFields f = getFields();
+		if (!f.isCurrent(stamp)) {
+			f.refresh(stamp, this, surfaceFeatures);
+		}
 	}
 
 	/**
@@ -161,7 +224,7 @@ public class Weather implements Serializable, Temporal {
 	 * 
 	 * @return wind speed in m/s.
 	 */
-	private double computeWindSpeed(Coordinates location) {
+	double computeWindSpeed(Coordinates location) {
 		double newSpeed = 0;
 		
 		if (windSpeedCacheMap == null)
@@ -302,6 +365,20 @@ public class Weather implements Serializable, Temporal {
 		return computeWindSpeed(location);
 	}
 
+	/**
+	 * Gets the wind speed at an added location.
+	 * 
+	 * @param id ID given by {@link #addLocation(Coordinates)}
+	 * @return wind speed in m/s.
+	 */
+	public double getWindSpeed(int id) {
+		double value = getField(EnvironmentalFields.WIND_SPEED, id);
+		if (!Double.isNaN(value)) {
+			return value;
+		}
+		return computeWindSpeed(getLocation(id));
+	}
+
 	/**
 	 * Gets the wind direction at a given location.
 	 * 
@@ -311,15 +388,38 @@ public class Weather implements Serializable, Temporal {
 		return computeWindDirection(location);
 	}
 
+	/**
+	 * Gets the wind direction at an added location.
+	 * 
+	 * @param id ID given by {@link #addLocation(Coordinates)}
+	 * @return wind direction in degree.
+	 */
+	public int getWindDirection(int id) {
+		double value = getField(EnvironmentalFields.WIND_DIRECTION, id);
+		if (!Double.isNaN(value)) {
+			return (int) value;
+		}
+		return computeWindDirection(getLocation(id));
+	}
+
 	/**
 	 * Computes the wind direction at a given location.
 	 * 
 	 * @return wind direction in degree.
 	 */
 	public int computeWindDirection(Coordinates location) {
+		return computeWindDirection(location, getWindSpeed(location));
+	}
+
+	/**
+	 * Computes the wind direction at a given location with a known wind speed.
+	 * 
+	 * @return wind direction in degree.
+	 */
+	int computeWindDirection(Coordinates location, double windSpeed) {
 		int result = 0;
 
-		if (getWindSpeed(location) < 0.01)
+		if (windSpeed < 0.01)
 			return 0;
 
 		int newDir = RandomUtil.getRandomInt(359);
@@ -352,6 +452,20 @@ public class Weather implements Serializable, Temporal {
 		return getCachedAirPressure(location);
 	}
 
+	/**
+	 * Gets the air pressure at an added location.
+	 * 
+	 * @param id ID given by {@link #addLocation(Coordinates)}
+	 * @return air pressure in kPa.
+	 */
+	public double getAirPressure(int id) {
+		double value = getField(EnvironmentalFields.AIR_PRESSURE, id);
+		if (!Double.isNaN(value)) {
+			return value;
+		}
+		return getCachedAirPressure(getLocation(id));
+	}
+
 	// The air pressure varies from 690 to 780 Pa in daily cycles from Sol 9.5 to 13
 	// See chart at
 	// https://mars.jpl.nasa.gov/msl/mission/instruments/environsensors/rems/
@@ -438,6 +552,29 @@ public class Weather implements Serializable, Temporal {
 	 * @return temperature in deg Celsius.
 	 */
 	public double getTemperature(Coordinates location) {
+		return computeTemperature(location);
+	}
+
+	/**
+	 * Gets the temperature at an added location.
+	 * 
+	 * @param id ID given by {@link #addLocation(Coordinates)}
+	 * @return temperature in deg Celsius.
+	 */
+	public double getTemperature(int id) {
+		double value = getField(EnvironmentalFields.TEMPERATURE, id);
+		if (!Double.isNaN(value)) {
+			return value;
+		}
+		return computeTemperature(getLocation(id));
+	}
+
+	/**
+	 * Computes the temperature at a given location from the cache.
+	 * 
+	 * @return temperature in deg Celsius.
+	 */
+	double computeTemperature(Coordinates location) {
 		double newT = 0;
 		
 		// Lazy instantiation of temperatureCacheMap.
@@ -649,6 +786,8 @@ public class Weather implements Serializable, Temporal {
 		if (windDirCacheMap != null) {
 			windDirCacheMap.clear();
 		}
+
+		getFields().invalidate();
 	}
 
 	/**
@@ -6,10 +6,18 @@
  */
 package com.mars_sim.core.events;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import com.mars_sim.core.time.ClockPulse;
 import com.mars_sim.core.time.MarsTime;
@@ -18,10 +26,24 @@ import com.mars_sim.core.time.Temporal;
 
 /**
  * This class manages a list off future scheduled events.
+ * The events are held in a heap ordered on when they are due so adding an event is O(log n).
+ * Cancelling an event via its handle is O(1); cancelled events are discarded when they reach
+ * the head of the heap.
  */
 public class ScheduledEventManager implements Serializable, Temporal {
 
 	private static final long serialVersionUID = 1L;
+
+	/** The persisted form is kept as a sorted List to be compatible with older saves. */
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("master", MasterClock.class),
+		new ObjectStreamField("eventQueue", List.class)
+	};
+
+	/** Events are ordered on when they are due; same time events in the order they were added. */
+	private static final Comparator<ScheduledEvent> DUE_ORDER = Comparator
+					.comparingDouble((ScheduledEvent e) -> e.due)
+					.thenComparingLong(e -> e.sequence);
 	
     /**
      * Represents an event that is scheduled for future execution.
@@ -32,11 +54,15 @@ public class ScheduledEventManager implements Serializable, Temporal {
 		
         private MarsTime when;
         private ScheduledEventHandler handler;
-
+        private transient double due;
+        private transient long sequence;
+        private transient boolean cancelled;
+        private transient boolean queued;
 
         public ScheduledEvent(MarsTime when, ScheduledEventHandler handler) {
             this.when = when;
             this.handler = handler;
+            this.due = when.getTotalMillisols();
         }
 
         public MarsTime getWhen() {
@@ -58,6 +84,20 @@ public class ScheduledEventManager implements Serializable, Temporal {
             return handler.getEventDescription();
         }
 
+        /**
+         * Cancels this event so it will not be executed.
+         */
+        public void cancel() {
+            cancelEvent(this);
+        }
+
+        /**
+         * Has this event been cancelled?
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
         @Override
         public int hashCode() {
             final int prime = 31;
@@ -92,7 +132,12 @@ public class ScheduledEventManager implements Serializable, Temporal {
     }
 
     private MasterClock master;
-    private List<ScheduledEvent> eventQueue = new ArrayList<>();
+    private transient PriorityQueue<ScheduledEvent> eventQueue = new PriorityQueue<>(DUE_ORDER);
+    private transient int cancelledCount = 0;
+    private transient long nextSequence = 0;
+    /** Sorted copy of the queue for callers; discarded when the queue changes. */
+    private transient List<ScheduledEvent> sortedEvents = null;
+    private transient List<ScheduledEvent> eventsView = new EventsView();
 
     public ScheduledEventManager(MasterClock clock) {
         this.master = clock;
@@ -126,73 +171,201 @@ public class ScheduledEventManager implements Serializable, Temporal {
         return result;
     }
 
-
-    private void addEvent(ScheduledEvent newEvent) {
-        synchronized(eventQueue) {
-            eventQueue.add(newEvent);
-            Collections.sort(eventQueue);
-        }
+    private synchronized void addEvent(ScheduledEvent newEvent) {
+        newEvent.sequence = nextSequence++;
+        newEvent.queued = true;
+        eventQueue.add(newEvent);
+        sortedEvents = null;
     }
 
     /**
      * Removes a previously registered event against a handler.
+     * If the event handle is available then {@link ScheduledEvent#cancel()} is quicker.
      * 
      * @param handler Handler to be removed
      */
-    public void removeEvent(ScheduledEventHandler handler) {
-        synchronized(eventQueue) {
-            for(ScheduledEvent event : eventQueue) {
-                if (event.handler.equals(handler)) {
-                    eventQueue.remove(event);
-                    return;
-                }
+    public synchronized void removeEvent(ScheduledEventHandler handler) {
+        // Remove the first one due
+        ScheduledEvent found = null;
+        for (ScheduledEvent event : eventQueue) {
+            if (!event.cancelled && event.handler.equals(handler)
+                    && ((found == null) || (DUE_ORDER.compare(event, found) < 0))) {
+                found = event;
             }
         }
+        if (found != null) {
+            cancelEvent(found);
+        }
+    }
+
+    /**
+     * Cancels an event. It stays in the heap until it reaches the head or the
+     * heap is compacted.
+     * 
+     * @param event
+     */
+    private synchronized void cancelEvent(ScheduledEvent event) {
+        if (event.cancelled) {
+            return;
+        }
+        event.cancelled = true;
+        if (!event.queued) {
+            // Being executed so just stop it repeating
+            return;
+        }
+        cancelledCount++;
+        sortedEvents = null;
+
+        // Stop cancelled events from dominating the heap
+        if (cancelledCount > eventQueue.size() / 2) {
+            eventQueue.removeIf(e -> e.cancelled);
+            cancelledCount = 0;
+        }
     }
 
     /**
-     * Returns a list of events are scheduled for the future.
+     * Returns a list of events are scheduled for the future. This is a read only view
+     * that reflects later changes.
      * 
      * @return
      */
     public List<ScheduledEvent> getEvents() {
-        return Collections.unmodifiableList(eventQueue);
+        return eventsView;
+    }
+
+    /**
+     * Gets the active events sorted in the order they are due.
+     */
+    private synchronized List<ScheduledEvent> getSortedEvents() {
+        if (sortedEvents == null) {
+            List<ScheduledEvent> sorted = new ArrayList<>(eventQueue.size() - cancelledCount);
+            for (ScheduledEvent e : eventQueue) {
+                if (!e.cancelled) {
+                    sorted.add(e);
+                }
+            }
+            sorted.sort(DUE_ORDER);
+            sortedEvents = Collections.unmodifiableList(sorted);
+        }
+        return sortedEvents;
+    }
+
+    private synchronized int getEventCount() {
+        return eventQueue.size() - cancelledCount;
+    }
+
+    /**
+     * Removes all the events that are due in a single batch.
+     * 
+     * @param now Current time
+     * @return Due events in the order they are due
+     */
+    private synchronized List<ScheduledEvent> drainDueEvents(MarsTime now) {
+        List<ScheduledEvent> due = null;
+        double nowMillisols = now.getTotalMillisols();
+        ScheduledEvent next = eventQueue.peek();
+        while ((next != null) && (next.due <= nowMillisols)) {
+            eventQueue.poll();
+            next.queued = false;
+            if (next.cancelled) {
+                cancelledCount--;
+            }
+            else {
+                if (due == null) {
+                    due = new ArrayList<>();
+                }
+                due.add(next);
+            }
+            next = eventQueue.peek();
+        }
+
+        if (due == null) {
+            return Collections.emptyList();
+        }
+        sortedEvents = null;
+        return due;
     }
 
     /**
-     * Processes any expired events.
+     * Processes any expired events. The handlers are executed outside of the lock so
+     * they can schedule new events.
      * 
      * @param clockPulse
      */
     @Override
     public boolean timePassing(ClockPulse clockPulse) {
-        synchronized(eventQueue) {
-            MarsTime currentTime = clockPulse.getMarsTime();
-
-            if (!eventQueue.isEmpty()) {
-                ScheduledEvent next = eventQueue.get(0);
+        MarsTime currentTime = clockPulse.getMarsTime();
 
-                // Keep executing events that have past
-                while((next != null) && next.when.getTotalMillisols() <= currentTime.getTotalMillisols()) {
-                    eventQueue.remove(next);
+        // Repeating events may be due again so keep draining
+        List<ScheduledEvent> due = drainDueEvents(currentTime);
+        while (!due.isEmpty()) {
+            for (ScheduledEvent next : due) {
+                // An earlier handler may have cancelled this one
+                if (!next.cancelled) {
                     int repeatInterval = next.handler.execute(currentTime);
-                    if (repeatInterval > 0) {
-                        // Update the when and add back intot he queue
+                    if ((repeatInterval > 0) && !next.cancelled) {
+                        // Update the when and add back into the queue
                         next.when = next.when.addTime(repeatInterval);
+                        next.due = next.when.getTotalMillisols();
                         addEvent(next);
                     }
-
-                    // Get next event
-                    if (eventQueue.isEmpty()) {
-                        next = null;
-                    }
-                    else {
-                        next = eventQueue.get(0);
-                    }
                 }
             }
+            due = drainDueEvents(currentTime);
         }
         
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves the events as a sorted List which is the original format.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("master", master);
+        fields.put("eventQueue", new ArrayList<>(getSortedEvents()));
+        out.writeFields();
+    }
+
+    /**
+     * Loads the sorted List of events and rebuilds the heap.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        master = (MasterClock) fields.get("master", null);
+        List<ScheduledEvent> saved = (List<ScheduledEvent>) fields.get("eventQueue", null);
+
+        eventQueue = new PriorityQueue<>(DUE_ORDER);
+        eventsView = new EventsView();
+        if (saved != null) {
+            for (ScheduledEvent e : saved) {
+                e.due = e.when.getTotalMillisols();
+                e.sequence = nextSequence++;
+                e.queued = true;
+                eventQueue.add(e);
+            }
+        }
+    }
+
+    /**
+     * Read only view of the active events in due order.
+     */
+    private class EventsView extends AbstractList<ScheduledEvent> {
+
+        @Override
+        public ScheduledEvent get(int index) {
+            return getSortedEvents().get(index);
+        }
+
+        @Override
+        public int size() {
+            return getEventCount();
+        }
+
+        @Override
+        public Iterator<ScheduledEvent> iterator() {
+            return getSortedEvents().iterator();
+        }
+    }
+}
@@ -38,6 +38,7 @@ import com.mars_sim.core.structure.building.function.cooking.HotMeal;
 import com.mars_sim.core.structure.building.function.cooking.Ingredient;
 import com.mars_sim.core.structure.building.function.cooking.PreparingDessert;
 import com.mars_sim.core.structure.building.function.farming.Crop;
+import com.mars_sim.core.structure.building.function.farming.CropConfig;
 import com.mars_sim.core.structure.building.function.farming.Farming;
 import com.mars_sim.core.structure.construction.ConstructionSite;
 import com.mars_sim.core.structure.construction.ConstructionStage;
@@ -704,12 +705,18 @@ class AmountResourceGood extends Good {
 	 * @return demand (kg)
 	 */
 	private double getResourceProcessingDemand(GoodsManager owner, Settlement settlement) {
+		Set<String> consumers = getDependencies().getResourceProcessConsumers(getID());
+		if (consumers.isEmpty()) {
+			return 0D;
+		}
+
 		double demand = 0D;
 
-		// Get all resource processes at settlement.
+		// Get the resource processes at settlement that consume the resource.
 		for(ResourceProcess i : getResourceProcesses(settlement)) {
-			double processDemand = getResourceProcessDemand(owner, settlement, i);
-			demand += processDemand;
+			if (consumers.contains(i.getProcessName())) {
+				demand += getResourceProcessDemand(owner, settlement, i);
+			}
 		}
 
 		return Math.min(MAX_RESOURCE_PROCESSING_DEMAND, demand / 3);
@@ -784,9 +791,12 @@ class AmountResourceGood extends Good {
 		// Get highest manufacturing tech level in settlement.
 		int techLevel = ManufactureUtil.getHighestManufacturingTechLevel(settlement);
 		if (techLevel >= 0) {
-			for (ManufactureProcessInfo i : ManufactureUtil.getManufactureProcessesForTechLevel(techLevel)) {
-				double manufacturingDemand = getResourceManufacturingProcessDemand(owner, settlement, i);
-				demand += manufacturingDemand / 1000D;
+			// Only visit the processes that consume this resource
+			for (ManufactureProcessInfo i : getDependencies().getManufactureConsumers(getID())) {
+				if (i.getTechLevelRequired() <= techLevel) {
+					double manufacturingDemand = getResourceManufacturingProcessDemand(owner, settlement, i);
+					demand += manufacturingDemand / 1000D;
+				}
 			}
 		}
 
@@ -805,9 +815,11 @@ class AmountResourceGood extends Good {
 		// Get highest Food Production tech level in settlement.
 		if (FoodProductionUtil.doesSettlementHaveFoodProduction(settlement)) {
 			int techLevel = FoodProductionUtil.getHighestFoodProductionTechLevel(settlement);
-			for(FoodProductionProcessInfo i : FoodProductionUtil.getProcessesForTechSkillLevel(techLevel)) {
-				double foodProductionDemand = getResourceFoodProductionProcessDemand(owner, settlement, i);
-				demand += foodProductionDemand;
+			for(FoodProductionProcessInfo i : getDependencies().getFoodProductionConsumers(getID())) {
+				if (i.getTechLevelRequired() <= techLevel) {
+					double foodProductionDemand = getResourceFoodProductionProcessDemand(owner, settlement, i);
+					demand += foodProductionDemand;
+				}
 			}
 		}
 
@@ -822,11 +834,11 @@ class AmountResourceGood extends Good {
 	 */
 	private double getResourceManufacturingProcessDemand(GoodsManager owner, Settlement settlement, ManufactureProcessInfo process) {
 		double demand = 0D;
-		String r = getAmountResource().getName().toLowerCase();
+		int r = getID();
 
 		ProcessItem resourceInput = null;
 		for(var item : process.getInputList()) {
-			if ((ItemType.AMOUNT_RESOURCE == item.getType()) && r.equals(item.getName())) {
+			if ((ItemType.AMOUNT_RESOURCE == item.getType()) && (r == item.getId())) {
 				resourceInput = item;
 				break;
 			}
@@ -922,12 +934,12 @@ class AmountResourceGood extends Good {
 	 */
 	private double getResourceFoodProductionProcessDemand(GoodsManager owner, Settlement settlement, FoodProductionProcessInfo process) {
 		double demand = 0D;
-		String name = getAmountResource().getName();
+		int r = getID();
 
 		ProcessItem resourceInput = null;
 		for(ProcessItem i : process.getInputList()) {
 			if ((ItemType.AMOUNT_RESOURCE == i.getType())
-					&& name.equalsIgnoreCase(i.getName())) {
+					&& (r == i.getId())) {
 				resourceInput = i;
 				break;
 			}
@@ -998,15 +1010,7 @@ class AmountResourceGood extends Good {
 			
 			// Determine demand for the resource as an ingredient for each cooked meal
 			// recipe.
-
-			
-			for (HotMeal meal : meals) {
-				for (Ingredient ingredient : meal.getIngredientList()) {
-					if (id == ingredient.getAmountResourceID()) {
-						demand += ingredient.getProportion() * factor;
-					}
-				}
-			}
+			demand = getDependencies().getMealProportion(id) * factor;
 		}
 
 		return demand;
@@ -1086,7 +1090,8 @@ class AmountResourceGood extends Good {
 			ConstructionStageInfo stage = stageDetail.getKey();
 			double stageValue = stageDetail.getValue();
 			if (stageValue > 0D && ConstructionStageInfo.Stage.BUILDING.equals(stage.getType())
-					// TODO: reduce the utilization on this method using 5.7% of total cpu
+					// Check the resource is used before the costly constructable check
+					&& getDependencies().isUsedInStage(getID(), stage)
 					&& isLocallyConstructable(settlement, stage)) {
 				double constructionDemand = getResourceConstructionStageDemand(stage, stageValue);
 				if (constructionDemand > 0D) {
@@ -1174,6 +1179,10 @@ class AmountResourceGood extends Good {
 	 * @return demand (kg) for the resource.
 	 */
 	private double getFarmingDemand(GoodsManager owner, Settlement settlement) {
+		if (!getDependencies().isFarmingInput(getID())) {
+			return 0D;
+		}
+
 		double demand = 0D;
 
 		// Determine demand for resource at each farming building at settlement.
@@ -1192,23 +1201,35 @@ class AmountResourceGood extends Good {
 	 * @return
 	 */
 	private double getFarmingResourceDemand(Farming farm) {
-		double base = 0;
-		int resource = getID();
-		
 		double averageGrowingCyclesPerOrbit = farm.getAverageGrowingCyclesPerOrbit();
 		double totalCropArea = farm.getGrowingArea();
+		double factor = totalCropArea * averageGrowingCyclesPerOrbit / MarsTime.SOLS_PER_ORBIT_NON_LEAPYEAR;
+
+		return getFarmingResourceDemand(getID(), cropConfig, factor);
+	}
+
+	/**
+	 * Gets the demand of crops for a greenhouse resource. This is the one place that
+	 * lists the resources taken by crops; any other resource has no demand.
+	 *
+	 * @param resource
+	 * @param config
+	 * @param factor Crop area grown per sol
+	 * @return
+	 */
+	static double getFarmingResourceDemand(int resource, CropConfig config, double factor) {
+		double base = 0;
 		int solsInOrbit = MarsTime.SOLS_PER_ORBIT_NON_LEAPYEAR;
-		double factor = totalCropArea * averageGrowingCyclesPerOrbit / solsInOrbit;
 
 		if (resource == ResourceUtil.waterID) {
 			// Average water consumption rate of crops per orbit using total growing area.
-			base = cropConfig.getWaterConsumptionRate() * factor;
+			base = config.getWaterConsumptionRate() * factor;
 		} else if (resource == ResourceUtil.co2ID) {
 			// Average co2 consumption rate of crops per orbit using total growing area.
-			base = cropConfig.getCarbonDioxideConsumptionRate() * factor * CO2_VALUE_MODIFIER;
+			base = config.getCarbonDioxideConsumptionRate() * factor * CO2_VALUE_MODIFIER;
 		} else if (resource == ResourceUtil.oxygenID) {
 			// Average oxygen consumption rate of crops per orbit using total growing area.
-			base = cropConfig.getOxygenConsumptionRate() * factor * OXYGEN_VALUE_MODIFIER;
+			base = config.getOxygenConsumptionRate() * factor * OXYGEN_VALUE_MODIFIER;
 		} else if (resource == ResourceUtil.soilID) {
 			// Estimate soil needed for average number of crop plantings for total growing
 			// area.
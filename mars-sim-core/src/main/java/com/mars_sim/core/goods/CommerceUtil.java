@@ -6,23 +6,31 @@
  */
 package com.mars_sim.core.goods;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.mars_sim.core.UnitManager;
 import com.mars_sim.core.equipment.Container;
 import com.mars_sim.core.equipment.ContainerUtil;
 import com.mars_sim.core.equipment.EquipmentType;
 import com.mars_sim.core.logging.SimLogger;
+import com.mars_sim.core.map.location.Coordinates;
 import com.mars_sim.core.person.PhysicalCondition;
 import com.mars_sim.core.person.ai.mission.Mission;
 import com.mars_sim.core.person.ai.mission.MissionManager;
 import com.mars_sim.core.person.ai.mission.MissionType;
 import com.mars_sim.core.person.ai.mission.Trade;
 import com.mars_sim.core.resource.AmountResource;
+import com.mars_sim.core.resource.PhaseType;
 import com.mars_sim.core.resource.ResourceUtil;
 import com.mars_sim.core.structure.Settlement;
 import com.mars_sim.core.time.MarsTime;
@@ -47,9 +55,45 @@ public final class CommerceUtil {
 	 * must pay off credit to under limit to continue buying.
 	 */
 	private static final double SELL_CREDIT_LIMIT = 10_000_000D;
+	/** Share of the vehicle range that can be used to reach a trading settlement. */
+	private static final double RANGE_MARGIN = .8D;
+
+	/**
+	 * What a load from a seller to a buyer depends on: both trade lists, the capacity
+	 * of the vehicle and the empty containers of the seller for each phase.
+	 */
+	record LoadSignature(int buyerVersion, int sellerVersion, double capacity, List<Integer> emptyContainers) {}
+
+	/**
+	 * A load that stays valid while the signature is unchanged.
+	 */
+	private record CachedLoad(LoadSignature signature, Shipment load) {}
+
+	/**
+	 * Distances between settlements, indexed by the position of their identifier.
+	 * The location of each settlement is kept to detect a settlement that is replaced.
+	 */
+	private record Distances(Map<Integer, Integer> index, Coordinates[] locations, double[][] km) {
+
+		boolean isValid(Collection<Settlement> settlements) {
+			if (settlements.size() != locations.length) {
+				return false;
+			}
+			for (Settlement s : settlements) {
+				Integer i = index.get(s.getIdentifier());
+				if ((i == null) || !locations[i].equals(s.getCoordinates())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
 
 	private static MissionManager missionManager;
 	private static UnitManager unitManager;
+
+	private static Map<Long, CachedLoad> loadCache = new ConcurrentHashMap<>();
+	private static volatile Distances distances;
 			
 	/**
 	 * Private constructor for utility class.
@@ -58,7 +102,9 @@ public final class CommerceUtil {
 	}
 
 	/**
-	 * Gets the best trade deal for a given settlement.
+	 * Gets the best trade deal for a given settlement. The settlements in range are
+	 * evaluated in parallel; this only reads the trade lists, which are replaced
+	 * whole, and the inventories, and the loads are kept in a concurrent cache.
 	 * 
 	 * @param startingSettlement the settlement to trade from.
 	 * @param commenceType The type of Commerce mission being evaulated
@@ -66,14 +112,21 @@ public final class CommerceUtil {
 	 * @return the deal(value points) for trade.
 	 */
 	public static Deal getBestDeal(Settlement startingSettlement, MissionType commerceType, Vehicle delivery) {
-		Deal bestDeal = null;
-		for (Settlement tradingSettlement : unitManager.getSettlements()) {
-			Deal deal = getPotentialDeal(startingSettlement, commerceType, tradingSettlement, delivery);
-			if ((deal != null) 
-				&& ((bestDeal == null) || (bestDeal.getProfit() > deal.getProfit()))) {
-					bestDeal = deal;
-			}
-		}
+		double possibleRange = delivery.getEstimatedRange() * RANGE_MARGIN;
+		Distances d = getDistances();
+
+		// Prune the settlements out of range before any load is worked out
+		List<Settlement> candidates = unitManager.getSettlements().stream()
+				.filter(s -> !s.equals(startingSettlement)
+						&& (getDistance(d, startingSettlement, s) <= possibleRange))
+				.toList();
+
+		// Runs on the pool of the settlement pulse when called from one of its workers
+		Deal bestDeal = candidates.parallelStream()
+				.map(s -> getPotentialDeal(d, startingSettlement, commerceType, s, delivery))
+				.filter(Objects::nonNull)
+				.reduce((d1, d2) -> (d1.getProfit() > d2.getProfit() ? d2 : d1))
+				.orElse(null);
 
 		if (bestDeal == null) {
 			logger.info(startingSettlement, 30_000, "No deal for a " 
@@ -97,16 +150,20 @@ public final class CommerceUtil {
 	 */
 	public static Deal getPotentialDeal(Settlement startingSettlement, MissionType commerceType, Settlement tradingSettlement,
 										Vehicle delivery) {
-		double possibleRange = delivery.getEstimatedRange() * .8D;
+		return getPotentialDeal(getDistances(), startingSettlement, commerceType, tradingSettlement, delivery);
+	}
 
-		if (!startingSettlement.equals(tradingSettlement) && tradingSettlement.isMissionEnable(commerceType)) {
+	private static Deal getPotentialDeal(Distances d, Settlement startingSettlement, MissionType commerceType,
+										Settlement tradingSettlement, Vehicle delivery) {
+		double possibleRange = delivery.getEstimatedRange() * RANGE_MARGIN;
 
-			boolean hasCurrentCommerce = hasCurrentCommerceMission(startingSettlement, tradingSettlement);
+		if (!startingSettlement.equals(tradingSettlement)
+				&& (getDistance(d, startingSettlement, tradingSettlement) <= possibleRange)
+				&& tradingSettlement.isMissionEnable(commerceType)) {
 
-			double settlementRange = tradingSettlement.getCoordinates().getDistance(startingSettlement.getCoordinates());
-			boolean withinRange = (settlementRange <= possibleRange);
+			boolean hasCurrentCommerce = hasCurrentCommerceMission(startingSettlement, tradingSettlement);
 
-			if (!hasCurrentCommerce && withinRange) {					
+			if (!hasCurrentCommerce) {					
 				// Determine desired buy load at the other end. So reverse the buyer & seller 
 				// when calling
 				Shipment buyLoad = getDesiredBuyLoad(startingSettlement, delivery, tradingSettlement);
@@ -206,8 +263,7 @@ public final class CommerceUtil {
 		Shipment desiredBuyLoad = null;
 		if (credit > (SELL_CREDIT_LIMIT * -1D)) {
 			// Determine desired buy load,
-			desiredBuyLoad 	= determineLoad(buyingSettlement, sellingSettlement, 
-					delivery, Double.POSITIVE_INFINITY);
+			desiredBuyLoad 	= getLoad(buyingSettlement, sellingSettlement, delivery);
 		}
 
 		return desiredBuyLoad;
@@ -230,13 +286,121 @@ public final class CommerceUtil {
 		Shipment sellLoad = null;
 		if (credit < SELL_CREDIT_LIMIT) {
 			// Determine sell load.
-			sellLoad = determineLoad(buyingSettlement, sellingSettlement, delivery,
-									 Double.POSITIVE_INFINITY);
+			sellLoad = getLoad(buyingSettlement, sellingSettlement, delivery);
 		}
 
 		return sellLoad;
 	}
 
+	/**
+	 * Gets the load between a buying settlement and a selling settlement. This reuses
+	 * the last load for the pair if nothing it depends on has changed since.
+	 * 
+	 * @param buyingSettlement  the settlement buying the goods.
+	 * @param sellingSettlement the settlement selling the goods.
+	 * @param delivery          the Vehicle to carry the goods.
+	 * @return The load or null if nothing to trade
+	 */
+	private static Shipment getLoad(Settlement buyingSettlement, Settlement sellingSettlement,
+			Vehicle delivery) {
+		LoadSignature signature = getLoadSignature(buyingSettlement, sellingSettlement, delivery);
+		long key = getPairKey(buyingSettlement, sellingSettlement);
+
+		CachedLoad cached = loadCache.get(key);
+		if ((cached == null) || !cached.signature().equals(signature)) {
+			Shipment load = determineLoad(buyingSettlement, sellingSettlement, delivery,
+										Double.POSITIVE_INFINITY);
+			if (load != null) {
+				// Shared by every Deal using the cached load
+				load = new Shipment(Collections.unmodifiableMap(load.getLoad()), load.getCostValue());
+			}
+			cached = new CachedLoad(signature, load);
+			loadCache.put(key, cached);
+		}
+		return cached.load();
+	}
+
+	/**
+	 * Gets the state of a pair of settlements that the load between them depends on.
+	 * 
+	 * @param buyingSettlement  the settlement buying the goods.
+	 * @param sellingSettlement the settlement selling the goods.
+	 * @param delivery          the Vehicle to carry the goods.
+	 * @return
+	 */
+	static LoadSignature getLoadSignature(Settlement buyingSettlement, Settlement sellingSettlement,
+			Vehicle delivery) {
+		// The seller fills one empty container for each resource traded
+		List<Integer> emptyContainers = new ArrayList<>(PhaseType.values().length);
+		for (PhaseType phase : PhaseType.values()) {
+			EquipmentType containerType = ContainerUtil.getEquipmentTypeNeeded(phase);
+			emptyContainers.add(sellingSettlement.findNumEmptyCopyContainersOfType(containerType, false));
+		}
+		return new LoadSignature(buyingSettlement.getGoodsManager().getTradeListVersion(),
+						sellingSettlement.getGoodsManager().getTradeListVersion(),
+						delivery.getCargoCapacity(), emptyContainers);
+	}
+
+	private static long getPairKey(Settlement buyingSettlement, Settlement sellingSettlement) {
+		return ((long) buyingSettlement.getIdentifier() << 32) | (sellingSettlement.getIdentifier() & 0xffffffffL);
+	}
+
+	/**
+	 * Gets the distance between two settlements from the precomputed distances.
+	 * 
+	 * @param s1
+	 * @param s2
+	 * @return distance (km)
+	 */
+	static double getDistance(Settlement s1, Settlement s2) {
+		return getDistance(getDistances(), s1, s2);
+	}
+
+	/**
+	 * Gets the precomputed distances; these are rebuilt if a settlement has been
+	 * added, removed or replaced.
+	 * 
+	 * @return
+	 */
+	private static Distances getDistances() {
+		Distances d = distances;
+		Collection<Settlement> settlements = unitManager.getSettlements();
+		if ((d == null) || !d.isValid(settlements)) {
+			// Settlements have changed so rebuild
+			d = buildDistances(settlements);
+			distances = d;
+		}
+		return d;
+	}
+
+	private static double getDistance(Distances d, Settlement s1, Settlement s2) {
+		Integer i1 = d.index().get(s1.getIdentifier());
+		Integer i2 = d.index().get(s2.getIdentifier());
+		if ((i1 == null) || (i2 == null)) {
+			// Not a registered settlement
+			return s1.getCoordinates().getDistance(s2.getCoordinates());
+		}
+		return d.km()[i1][i2];
+	}
+
+	private static Distances buildDistances(Collection<Settlement> settlements) {
+		List<Settlement> ordered = List.copyOf(settlements);
+		Map<Integer, Integer> index = new HashMap<>();
+		Coordinates[] locations = new Coordinates[ordered.size()];
+		double[][] km = new double[ordered.size()][ordered.size()];
+		for (int i = 0; i < ordered.size(); i++) {
+			Settlement s1 = ordered.get(i);
+			index.put(s1.getIdentifier(), i);
+			locations[i] = s1.getCoordinates();
+			for (int j = 0; j < i; j++) {
+				double d = s1.getCoordinates().getDistance(ordered.get(j).getCoordinates());
+				km[i][j] = d;
+				km[j][i] = d;
+			}
+		}
+		return new Distances(index, locations, km);
+	}
+
 	/**
 	 * Determines the load between a buying settlement and a selling settlement.
 	 * 
@@ -536,5 +700,7 @@ public final class CommerceUtil {
 	public static void initializeInstances(MissionManager m, UnitManager u) {
 		missionManager = m;
 		unitManager = u;
+		loadCache.clear();
+		distances = null;
 	}
 }
\ No newline at end of file
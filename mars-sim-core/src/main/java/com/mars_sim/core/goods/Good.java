@@ -82,6 +82,8 @@ public abstract class Good implements Serializable, Comparable<Good> {
 	private static List<ManufactureProcessInfo> manufactureProcessInfos;
 	private static List<FoodProductionProcessInfo> foodProductionProcessInfos;
 
+	private static GoodDependencies dependencies;
+
 	/**
 	 * Constructor with object.
 	 *
@@ -692,5 +694,19 @@ public abstract class Good implements Serializable, Comparable<Good> {
 		vehicleConfig = sc.getVehicleConfiguration();
 		personConfig = sc.getPersonConfig();
 		cropConfig = sc.getCropConfiguration();
+
+		dependencies = new GoodDependencies(sc);
+	}
+
+	/**
+	 * Gets the index of what consumes and produces each resource.
+	 * 
+	 * @return
+	 */
+	static GoodDependencies getDependencies() {
+		if (dependencies == null) {
+			dependencies = new GoodDependencies(SimulationConfig.instance());
+		}
+		return dependencies;
 	}
 }
@@ -0,0 +1,225 @@
+/*
+ * Mars Simulation Project
+ * GoodDependencies.java
+ */
+package com.mars_sim.core.goods;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.mars_sim.core.SimulationConfig;
+import com.mars_sim.core.food.FoodProductionProcessInfo;
+import com.mars_sim.core.manufacture.ManufactureProcessInfo;
+import com.mars_sim.core.process.ProcessInfo;
+import com.mars_sim.core.process.ProcessItem;
+import com.mars_sim.core.resource.AmountResource;
+import com.mars_sim.core.resource.ItemType;
+import com.mars_sim.core.resource.ResourceUtil;
+import com.mars_sim.core.resourceprocess.ResourceProcessEngine;
+import com.mars_sim.core.structure.building.BuildingSpec;
+import com.mars_sim.core.structure.building.function.cooking.HotMeal;
+import com.mars_sim.core.structure.building.function.cooking.Ingredient;
+import com.mars_sim.core.structure.building.function.farming.CropConfig;
+import com.mars_sim.core.structure.construction.ConstructionStageInfo;
+
+/**
+ * An index from a resource to the processes, crops, meals and construction stages that consume it.
+ * It is built once from the configs so a Good only visits the entries that affect its
+ * demand rather than scanning every process.
+ * It also records the inputs used to make each good so a change in the value of a good
+ * can be passed back to its inputs.
+ */
+final class GoodDependencies {
+
+	private final Map<Integer, List<ManufactureProcessInfo>> manufactureConsumers = new HashMap<>();
+	private final Map<Integer, List<FoodProductionProcessInfo>> foodProductionConsumers = new HashMap<>();
+	private final Map<Integer, Set<String>> resourceProcessConsumers = new HashMap<>();
+	private final Set<Integer> farmingInputs = new HashSet<>();
+	private final Map<Integer, Double> mealProportions = new HashMap<>();
+	private final Map<Integer, Set<String>> constructionStages = new HashMap<>();
+	private final Map<Integer, Set<Integer>> inputs = new HashMap<>();
+
+	/**
+	 * Builds the index from the process, meal and construction configs.
+	 *
+	 * @param sc
+	 */
+	GoodDependencies(SimulationConfig sc) {
+		for (ManufactureProcessInfo p : sc.getManufactureConfiguration().getManufactureProcessList()) {
+			addProcess(p, manufactureConsumers);
+		}
+		for (FoodProductionProcessInfo p : sc.getFoodProductionConfiguration().getProcessList()) {
+			addProcess(p, foodProductionConsumers);
+		}
+
+		for (BuildingSpec spec : sc.getBuildingConfiguration().getBuildingTypes()) {
+			for (ResourceProcessEngine engine : spec.getResourceProcess()) {
+				var rp = engine.getProcessSpec();
+				for (Integer input : rp.getInputResources()) {
+					if (!rp.isAmbientInputResource(input)) {
+						resourceProcessConsumers.computeIfAbsent(input, k -> new HashSet<>()).add(rp.getName());
+					}
+				}
+				for (Integer output : rp.getOutputResources()) {
+					addInputs(output, rp.getInputResources());
+				}
+			}
+		}
+
+		// Resources the crops take from a greenhouse, i.e. those with a farming demand
+		CropConfig cropConfig = sc.getCropConfiguration();
+		for (AmountResource ar : ResourceUtil.getAmountResources()) {
+			if (AmountResourceGood.getFarmingResourceDemand(ar.getID(), cropConfig, 1D) > 0D) {
+				farmingInputs.add(ar.getID());
+			}
+		}
+
+		for (HotMeal meal : sc.getMealConfiguration().getDishList()) {
+			for (Ingredient i : meal.getIngredientList()) {
+				mealProportions.merge(i.getAmountResourceID(), i.getProportion(), Double::sum);
+			}
+		}
+
+		for (ConstructionStageInfo stage : sc.getConstructionConfiguration().getAllConstructionStageInfoList()) {
+			for (Integer resource : getStageResources(stage)) {
+				constructionStages.computeIfAbsent(resource, k -> new HashSet<>()).add(stage.getName());
+			}
+		}
+	}
+
+	/**
+	 * Records a process against each amount resource it consumes and against each output.
+	 */
+	private <T extends ProcessInfo> void addProcess(T process, Map<Integer, List<T>> consumers) {
+		List<Integer> ids = new ArrayList<>();
+		for (ProcessItem item : process.getInputList()) {
+			ids.add(item.getId());
+			if (ItemType.AMOUNT_RESOURCE == item.getType()) {
+				List<T> list = consumers.computeIfAbsent(item.getId(), k -> new ArrayList<>());
+				if (!list.contains(process)) {
+					list.add(process);
+				}
+			}
+		}
+
+		for (ProcessItem item : process.getOutputList()) {
+			addInputs(item.getId(), ids);
+		}
+	}
+
+	private void addInputs(int output, Collection<Integer> ids) {
+		Set<Integer> existing = inputs.computeIfAbsent(output, k -> new HashSet<>());
+		for (Integer i : ids) {
+			if (i != output) {
+				existing.add(i);
+			}
+		}
+	}
+
+	/**
+	 * Gets the resources with a positive amount needed to build a stage and the
+	 * constructable stages before it.
+	 */
+	private static Set<Integer> getStageResources(ConstructionStageInfo stage) {
+		Set<Integer> result = new HashSet<>();
+		addPositive(stage, result);
+
+		ConstructionStageInfo preStage1 = stage.getPrerequisiteStage();
+		if ((preStage1 != null) && preStage1.isConstructable()) {
+			addPositive(preStage1, result);
+
+			ConstructionStageInfo preStage2 = preStage1.getPrerequisiteStage();
+			if ((preStage2 != null) && preStage2.isConstructable()) {
+				addPositive(preStage2, result);
+			}
+		}
+		return result;
+	}
+
+	private static void addPositive(ConstructionStageInfo stage, Set<Integer> result) {
+		for (Map.Entry<Integer, Double> e : stage.getResources().entrySet()) {
+			if (e.getValue() > 0D) {
+				result.add(e.getKey());
+			}
+		}
+	}
+
+	/**
+	 * Gets the manufacturing processes that have an amount resource as an input.
+	 *
+	 * @param resource
+	 * @return
+	 */
+	List<ManufactureProcessInfo> getManufactureConsumers(int resource) {
+		return manufactureConsumers.getOrDefault(resource, Collections.emptyList());
+	}
+
+	/**
+	 * Gets the food production processes that have an amount resource as an input.
+	 *
+	 * @param resource
+	 * @return
+	 */
+	List<FoodProductionProcessInfo> getFoodProductionConsumers(int resource) {
+		return foodProductionConsumers.getOrDefault(resource, Collections.emptyList());
+	}
+
+	/**
+	 * Gets the names of the resource processes that have an amount resource as a
+	 * non-ambient input.
+	 *
+	 * @param resource
+	 * @return
+	 */
+	Set<String> getResourceProcessConsumers(int resource) {
+		return resourceProcessConsumers.getOrDefault(resource, Collections.emptySet());
+	}
+
+	/**
+	 * Is an amount resource consumed by growing crops ?
+	 *
+	 * @param resource
+	 * @return
+	 */
+	boolean isFarmingInput(int resource) {
+		return farmingInputs.contains(resource);
+	}
+
+	/**
+	 * Gets the total proportion of a resource across the ingredients of all meals.
+	 *
+	 * @param resource
+	 * @return
+	 */
+	double getMealProportion(int resource) {
+		return mealProportions.getOrDefault(resource, 0D);
+	}
+
+	/**
+	 * Does building a construction stage, including its prerequisite stages, need a resource ?
+	 *
+	 * @param resource
+	 * @param stage
+	 * @return
+	 */
+	boolean isUsedInStage(int resource, ConstructionStageInfo stage) {
+		Set<String> stages = constructionStages.get(resource);
+		return (stages != null) && stages.contains(stage.getName());
+	}
+
+	/**
+	 * Gets the goods that are consumed by any process making a good.
+	 *
+	 * @param good
+	 * @return
+	 */
+	Set<Integer> getInputs(int good) {
+		return inputs.getOrDefault(good, Collections.emptySet());
+	}
+}
@@ -9,10 +9,12 @@ package com.mars_sim.core.goods;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -147,12 +149,17 @@ public class GoodsManager implements Serializable {
 	public static final double MAX_FINAL_VP = 5_000D;
 	static final double MIN_DEMAND = 0.01;
 
+	/** Number of updates over which every good is revalued in the incremental review. */
+	private static final int FULL_REVIEW_UPDATES = 20;
+	/** Relative change in value that causes the inputs of a good to be revalued. */
+	private static final double INPUT_CHANGE_RATIO = 0.05;
+
 	// Fixed weights to apply to updates to commerce factors.
 	private static final Map<CommerceType, Double> FACTOR_WEIGHTS = Map.of(CommerceType.RESEARCH, 1.5D);
 
 	private static Map<Integer, ResourceLimits> resLimits;
 	
-	private static Map<Good, MarketData> marketMap = new HashMap<>();
+	private static volatile GoodsMarket market;
 	/** A standard list of resources to be excluded in buying negotiation. */
 	private static Set<Good> unsellableGoods = null;
 
@@ -160,6 +167,8 @@ public class GoodsManager implements Serializable {
 
 	private static UnitManager unitManager;
 
+	private static boolean incrementalReview = false;
+
 	// Data members
 	private double repairMod = BASE_REPAIR_PART;
 	private double maintenanceMod = BASE_MAINT_PART;
@@ -180,9 +189,15 @@ public class GoodsManager implements Serializable {
 	/** A standard list of buying resources in buying negotiation. */
 	private Map<Good, ShoppingItem> buyList =  Collections.emptyMap();
 	private Map<Good, ShoppingItem> sellList = Collections.emptyMap();
+	/** Changes whenever the buy or sell list is recalculated. */
+	private transient int tradeListVersion = 0;
 
 	private Set<Integer> reviewedEssentials = new HashSet<>();
 
+	/** Goods whose inputs have changed since they were last valued. */
+	private transient Set<Integer> changedGoods = new HashSet<>();
+	private int reviewOffset = 0;
+
 	private Settlement settlement;
 
 
@@ -261,7 +276,6 @@ public class GoodsManager implements Serializable {
 			deflationIndexMap.put(id, 0);
 			demandCache.put(id, good.getDefaultDemandValue());
 			supplyCache.put(id, good.getDefaultSupplyValue());
-			marketMap.put(good, new MarketData(good));
 		}
 	}
 
@@ -290,13 +304,63 @@ public class GoodsManager implements Serializable {
 		return unsellableGoods;
 	}
 
+	/**
+	 * Sets whether only the goods whose inputs have changed are revalued on each update.
+	 * 
+	 * @param incremental
+	 */
+	public static void setIncrementalReview(boolean incremental) {
+		incrementalReview = incremental;
+	}
+
+	/**
+	 * Marks a good to be revalued in the next incremental review.
+	 * 
+	 * @param id
+	 */
+	public void markGoodChanged(int id) {
+		changedGoods.add(id);
+	}
+
+	/**
+	 * Gets the goods to revalue in an incremental review. These are the changed goods plus
+	 * a rotating slice of the rest so any change not tracked is still picked up.
+	 * 
+	 * @param allGoods
+	 * @return
+	 */
+	List<Good> getGoodsToReview(List<Good> allGoods) {
+		int size = allGoods.size();
+		if (size == 0) {
+			return allGoods;
+		}
+		int slice = (size + FULL_REVIEW_UPDATES - 1) / FULL_REVIEW_UPDATES;
+
+		List<Good> result = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Good g = allGoods.get(i);
+			boolean changed = changedGoods.remove(g.getID());
+			boolean inSlice = ((i - reviewOffset + size) % size) < slice;
+			if (changed || inSlice) {
+				result.add(g);
+			}
+		}
+		reviewOffset = (reviewOffset + slice) % size;
+
+		return result;
+	}
+
 	/**
 	 * Updates the good values for all good.
 	 */
 	public void updateGoodValues() {
+		List<Good> goods = GoodsUtil.getGoodsList();
+		if (incrementalReview && initialized) {
+			goods = getGoodsToReview(goods);
+		}
 
  		// Update the goods value gradually with the use of buffers
-		for (Good g: GoodsUtil.getGoodsList()) {
+		for (Good g: goods) {
 			
 			double localValue = determineGoodValue(g);
 			double marketValue = getMarketData(1, g); 
@@ -388,6 +452,11 @@ public class GoodsManager implements Serializable {
 			if (oldValue != newValue) {
 				goodsValues.put(id, newValue);
 
+				if (Math.abs(newValue - oldValue) > INPUT_CHANGE_RATIO * oldValue) {
+					// Demand for the inputs depends on the value of what they make
+					changedGoods.addAll(Good.getDependencies().getInputs(id));
+				}
+
 				settlement.fireUnitUpdate(UnitEventType.VALUE_EVENT, good);
 			}
 
@@ -948,6 +1017,7 @@ public class GoodsManager implements Serializable {
 	public void injectResourceDemand(int resourceID, double newDemand) {
 		// Inject a sudden change of demand
 		setDemandValue(GoodsUtil.getGood(resourceID), newDemand);
+		markGoodChanged(resourceID);
 	}
 
 	/**
@@ -956,100 +1026,48 @@ public class GoodsManager implements Serializable {
 	 * @return
 	 */
 	public double getMarketData(int index, Good good) {
-
-		if (index == 0) {
-			if (marketMap.containsKey(good)) {
-				return marketMap.get(good).getDemand();
-			}
-		}
-		else if (index == 1) {
-			if (marketMap.containsKey(good)) {
-				return marketMap.get(good).getValue();
-			}		
-		}
-		else if (index == 2) {
-			if (marketMap.containsKey(good)) {
-				return marketMap.get(good).getCost();
-			}		
-		}
-		else if (index == 3) {
-			if (marketMap.containsKey(good)) {
-				return marketMap.get(good).getPrice();
-			}
-		}
-		
-		return -1;
+		return getMarket().get(index, good);
 	}
 
-	
 	/**
-	 * Updates a piece of market data.
+	 * Publishes a piece of market data. It is applied to the market when the
+	 * settlements have finished the current pulse.
 	 * 
 	 * @param index
 	 * @param good
 	 * @param data
 	 */
 	public static void setMarketData(int index, Good good, double data) {
+		getMarket().publish(index, good, data);
+	}
 
-		if (index == 0) {
-			if (marketMap.containsKey(good)) {
-				MarketData mData = marketMap.get(good);
-				
-				synchronized (mData) {
-					double old = mData.getDemand();
-					if (old == -1) {
-						mData.setDemand(data);
-					}
-					else {
-						mData.setDemand(0.95 * old + 0.05 * data);
-					}				
+	/**
+	 * Gets the market shared by all settlements.
+	 * 
+	 * @return
+	 */
+	private static GoodsMarket getMarket() {
+		GoodsMarket result = market;
+		if (result == null) {
+			synchronized (GoodsManager.class) {
+				result = market;
+				if (result == null) {
+					result = new GoodsMarket(GoodsUtil.getGoodsList());
+					market = result;
 				}
 			}
 		}
-		else if (index == 1) {
-			if (marketMap.containsKey(good)) {
-				MarketData mData = marketMap.get(good);
-				
-				synchronized (mData) {
-					double old = mData.getValue();
-					if (old == -1) {
-						mData.setValue(data);
-					}
-					else {
-						mData.setValue(0.95 * old + 0.05 * data);
-					}
-				}
-			}		
-		}
-		else if (index == 2) {
-			if (marketMap.containsKey(good)) {
-				MarketData mData = marketMap.get(good);
-				
-				synchronized (mData) {
-					double old = mData.getCost();
-					if (old == -1) {
-						mData.setCost(data);
-					}
-					else {
-						mData.setCost(0.95 * old + 0.05 * data);
-					}
-				}
-			}		
-		}
-		else if (index == 3) {
-			if (marketMap.containsKey(good)) {
-				MarketData mData = marketMap.get(good);
-				
-				synchronized (mData) {
-					double old = mData.getPrice();
-					if (old == -1) {
-						mData.setPrice(data);
-					}
-					else {
-						mData.setPrice(0.95 * old + 0.05 * data);
-					}
-				}
-			}
+		return result;
+	}
+
+	/**
+	 * Applies the market data published by the settlements to the market.
+	 * This is called once all settlements have finished a pulse.
+	 */
+	public static void aggregateMarket() {
+		GoodsMarket current = market;
+		if (current != null) {
+			current.aggregate();
 		}
 	}
 
@@ -1082,6 +1100,15 @@ public class GoodsManager implements Serializable {
 		return best;
 	}
 
+	/**
+	 * Gets the version of the buy and sell lists. This changes each time they are recalculated.
+	 * 
+	 * @return
+	 */
+	int getTradeListVersion() {
+		return tradeListVersion;
+	}
+
 	public void clearDeal(MissionType commerce) {
 		deals.remove(commerce);
 	}
@@ -1118,6 +1145,7 @@ public class GoodsManager implements Serializable {
 		}
 
 		sellList = Collections.unmodifiableMap(newSell);
+		tradeListVersion++;
 
 		// Any deal are now invalid
 		deals.clear();
@@ -1150,6 +1178,7 @@ public class GoodsManager implements Serializable {
 		}
 
 		buyList = Collections.unmodifiableMap(newBuy);
+		tradeListVersion++;
 
 		// Any deal are now invalid
 		deals.clear();
@@ -1165,6 +1194,7 @@ public class GoodsManager implements Serializable {
 		deals = new EnumMap<>(MissionType.class);
 		buyList = Collections.emptyMap();
 		sellList = Collections.emptyMap();
+		changedGoods = new HashSet<>();
 	}
 	
 	/**
@@ -1176,6 +1206,7 @@ public class GoodsManager implements Serializable {
 	 */
 	public static void initializeInstances(SimulationConfig sc, MissionManager m, UnitManager u) {
 		unitManager = u;
+		market = null;
 		Good.initializeInstances(sc, m);
 		CommerceUtil.initializeInstances(m, u);
 		resLimits = sc.getSettlementConfiguration().getEssentialResources();
@@ -0,0 +1,129 @@
+/*
+ * Mars Simulation Project
+ * GoodsMarket.java
+ */
+package com.mars_sim.core.goods;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The market figures of every good shared by all settlements. Settlements publish their
+ * local figures into lock-free slots indexed by good so many settlement threads can update
+ * at once. The published figures are folded into the market view after all the settlements
+ * have run a pulse; the view is then replaced as a whole so reads never wait.
+ */
+final class GoodsMarket {
+
+	static final int DEMAND = 0;
+	static final int VALUE = 1;
+	static final int COST = 2;
+	static final int PRICE = 3;
+	private static final int FIGURES = 4;
+
+	/** Weight the market figure keeps for each update published. */
+	private static final double KEEP_WEIGHT = 0.95;
+	private static final double UNSET = -1;
+
+	private final int size;
+	private final Map<Integer, Integer> slots;
+	private final DoubleAdder[] sums;
+	private final LongAdder[] counts;
+
+	private volatile double[] view;
+
+	/**
+	 * Creates a market for some goods.
+	 *
+	 * @param goods
+	 */
+	GoodsMarket(List<Good> goods) {
+		size = goods.size();
+		Map<Integer, Integer> index = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			index.put(goods.get(i).getID(), i);
+		}
+		slots = Map.copyOf(index);
+
+		sums = new DoubleAdder[FIGURES * size];
+		counts = new LongAdder[FIGURES * size];
+		for (int i = 0; i < sums.length; i++) {
+			sums[i] = new DoubleAdder();
+			counts[i] = new LongAdder();
+		}
+
+		double[] initial = new double[FIGURES * size];
+		Arrays.fill(initial, UNSET);
+		view = initial;
+	}
+
+	private int getSlot(int figure, Good good) {
+		Integer slot = slots.get(good.getID());
+		if ((slot == null) || (figure < 0) || (figure >= FIGURES)) {
+			return -1;
+		}
+		return figure * size + slot;
+	}
+
+	/**
+	 * Gets a market figure of a good.
+	 *
+	 * @param figure
+	 * @param good
+	 * @return The figure or -1 if nothing has been published yet
+	 */
+	double get(int figure, Good good) {
+		int slot = getSlot(figure, good);
+		return (slot < 0 ? UNSET : view[slot]);
+	}
+
+	/**
+	 * Publishes a local figure of a good. It is applied to the market at the next aggregation.
+	 *
+	 * @param figure
+	 * @param good
+	 * @param data
+	 */
+	void publish(int figure, Good good, double data) {
+		int slot = getSlot(figure, good);
+		if (slot >= 0) {
+			sums[slot].add(data);
+			counts[slot].increment();
+		}
+	}
+
+	/**
+	 * Folds the published figures into the market view. Several figures published for the
+	 * same good move the market as far as if each had been applied in turn.
+	 * This should be called when no settlement is publishing.
+	 */
+	synchronized void aggregate() {
+		double[] next = null;
+		for (int i = 0; i < sums.length; i++) {
+			long n = counts[i].sumThenReset();
+			if (n > 0) {
+				double mean = sums[i].sumThenReset() / n;
+				if (next == null) {
+					next = view.clone();
+				}
+
+				double old = next[i];
+				if (old == UNSET) {
+					next[i] = mean;
+				}
+				else {
+					double keep = Math.pow(KEEP_WEIGHT, n);
+					next[i] = keep * old + (1 - keep) * mean;
+				}
+			}
+		}
+
+		if (next != null) {
+			view = next;
+		}
+	}
+}
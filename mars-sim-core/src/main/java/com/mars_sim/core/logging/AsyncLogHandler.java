@@ -0,0 +1,248 @@
+/*
+ * Mars Simulation Project
+ * AsyncLogHandler.java
+ */
+package com.mars_sim.core.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+
+/**
+ * A log handler that passes records to other handlers on a single writer thread so the
+ * simulation threads never wait for formatting or I/O. Records go into a bounded
+ * lock-free ring buffer; if the buffer is full a record below WARNING is dropped and
+ * counted, and the writer reports the number dropped. A WARNING or worse is never
+ * dropped; it is written by the caller after the queued records.
+ * It is configured in the logging properties with the handlers to write to, e.g.
+ * <pre>
+ * handlers = com.mars_sim.core.logging.AsyncLogHandler
+ * com.mars_sim.core.logging.AsyncLogHandler.handlers = java.util.logging.FileHandler, java.util.logging.ConsoleHandler
+ * com.mars_sim.core.logging.AsyncLogHandler.capacity = 8192
+ * </pre>
+ */
+public class AsyncLogHandler extends Handler {
+
+	private static final int DEFAULT_CAPACITY = 8192;
+	private static final long IDLE_WAIT = 100_000_000L; // 100 ms
+
+	private final LogRingBuffer<LogRecord> buffer;
+	private final List<Handler> targets;
+	private final Thread writer;
+	private final AtomicLong dropped = new AtomicLong();
+	private long reportedDropped = 0;
+
+	private volatile boolean running = true;
+	private volatile boolean idle = false;
+
+	/**
+	 * Creates a handler from the logging properties.
+	 */
+	public AsyncLogHandler() {
+		this(createTargets(), getIntProperty("capacity", DEFAULT_CAPACITY));
+
+		String filterName = getProperty("filter");
+		if (filterName != null) {
+			try {
+				setFilter((Filter) createInstance(filterName));
+			}
+			catch (ReflectiveOperationException | ClassCastException e) {
+				reportError("Cannot create filter " + filterName, e, ErrorManager.GENERIC_FAILURE);
+			}
+		}
+	}
+
+	/**
+	 * Creates a handler writing to the given handlers.
+	 *
+	 * @param targets Handlers that do the actual writing
+	 * @param capacity Number of records that can be waiting
+	 */
+	public AsyncLogHandler(List<Handler> targets, int capacity) {
+		this.targets = List.copyOf(targets);
+		this.buffer = new LogRingBuffer<>(capacity);
+		setLevel(Level.ALL);
+
+		writer = new Thread(this::writeRecords, "mars-sim-log-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Queues a record to be written. This only blocks when the buffer is full and the
+	 * record is a WARNING or worse.
+	 */
+	@Override
+	public void publish(LogRecord record) {
+		if (!isLoggable(record)) {
+			return;
+		}
+
+		// The caller can only be found on the logging thread
+		record.getSourceClassName();
+
+		if (!running) {
+			// Closed so write it directly
+			write(record);
+			return;
+		}
+
+		if (buffer.offer(record)) {
+			if (idle) {
+				LockSupport.unpark(writer);
+			}
+		}
+		else if (record.getLevel().intValue() >= Level.WARNING.intValue()) {
+			writeNow(record);
+		}
+		else {
+			dropped.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Writes a record on the calling thread once the queued records have been written
+	 * so the order is kept.
+	 *
+	 * @param record
+	 */
+	private synchronized void writeNow(LogRecord record) {
+		drain();
+		write(record);
+	}
+
+	/**
+	 * Gets the number of records below WARNING dropped because the buffer was full.
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * Body of the writer thread.
+	 */
+	private void writeRecords() {
+		while (running) {
+			if (!drain()) {
+				idle = true;
+				// Check again in case a record arrived before the flag was seen
+				if (buffer.isEmpty() && running) {
+					LockSupport.parkNanos(this, IDLE_WAIT);
+				}
+				idle = false;
+			}
+		}
+	}
+
+	/**
+	 * Writes all the queued records. Only one thread may take records at a time.
+	 *
+	 * @return Were any records written ?
+	 */
+	private synchronized boolean drain() {
+		boolean written = false;
+		LogRecord next;
+		while ((next = buffer.poll()) != null) {
+			write(next);
+			written = true;
+		}
+
+		long lost = dropped.get();
+		if (lost > reportedDropped) {
+			LogRecord warning = new LogRecord(Level.WARNING, "Dropped " + (lost - reportedDropped)
+									+ " log records as the log buffer of " + buffer.capacity() + " was full.");
+			warning.setLoggerName(AsyncLogHandler.class.getName());
+			warning.setSourceClassName(AsyncLogHandler.class.getName());
+			write(warning);
+			reportedDropped = lost;
+		}
+		return written;
+	}
+
+	private void write(LogRecord record) {
+		for (Handler h : targets) {
+			try {
+				h.publish(record);
+			}
+			catch (RuntimeException e) {
+				reportError("Cannot write log record", e, ErrorManager.WRITE_FAILURE);
+			}
+		}
+	}
+
+	/**
+	 * Writes all the queued records and flushes the handlers.
+	 */
+	@Override
+	public void flush() {
+		drain();
+		targets.forEach(Handler::flush);
+	}
+
+	/**
+	 * Stops the writer thread after writing the queued records and closes the handlers.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		LockSupport.unpark(writer);
+		try {
+			writer.join(IDLE_WAIT / 1_000_000L);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		drain();
+		targets.forEach(Handler::close);
+	}
+
+	private static String getProperty(String name) {
+		return LogManager.getLogManager().getProperty(AsyncLogHandler.class.getName() + "." + name);
+	}
+
+	private static int getIntProperty(String name, int defaultValue) {
+		String value = getProperty(name);
+		if (value != null) {
+			try {
+				return Integer.parseInt(value.trim());
+			}
+			catch (NumberFormatException e) {
+				// Use the default
+			}
+		}
+		return defaultValue;
+	}
+
+	private static Object createInstance(String className) throws ReflectiveOperationException {
+		return ClassLoader.getSystemClassLoader().loadClass(className.trim())
+							.getDeclaredConstructor().newInstance();
+	}
+
+	/**
+	 * Creates the handlers named in the properties. Each reads its own properties.
+	 */
+	private static List<Handler> createTargets() {
+		List<Handler> result = new ArrayList<>();
+		String names = getProperty("handlers");
+		if (names != null) {
+			for (String name : names.split("[,\\s]+")) {
+				if (!name.isEmpty()) {
+					try {
+						result.add((Handler) createInstance(name));
+					}
+					catch (ReflectiveOperationException | ClassCastException e) {
+						new ErrorManager().error("Cannot create log handler " + name, e, ErrorManager.OPEN_FAILURE);
+					}
+				}
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Mars Simulation Project
+ * LogRingBuffer.java
+ */
+package com.mars_sim.core.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded lock-free queue of log records. Any number of threads may add records but
+ * only one thread takes them. Each slot has a sequence number that says whether it is
+ * free for the next producer or holds a record for the consumer, so a producer only
+ * needs one compare-and-set to claim a slot and never blocks; when the buffer is full
+ * the record is refused.
+ */
+final class LogRingBuffer<T> {
+
+	private final int mask;
+	private final AtomicReferenceArray<T> slots;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * Creates a buffer.
+	 *
+	 * @param capacity Minimum capacity; rounded up to a power of two
+	 */
+	LogRingBuffer(int capacity) {
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		mask = size - 1;
+		slots = new AtomicReferenceArray<>(size);
+		sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Adds an item to the buffer.
+	 *
+	 * @param item
+	 * @return false if the buffer is full
+	 */
+	boolean offer(T item) {
+		while (true) {
+			long pos = tail.get();
+			int index = (int) (pos & mask);
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					slots.lazySet(index, item);
+					// Hand the slot to the consumer
+					sequences.set(index, pos + 1);
+					return true;
+				}
+			}
+			else if (diff < 0) {
+				// The consumer has not freed this slot yet
+				return false;
+			}
+			// Otherwise another producer claimed the slot first so try again
+		}
+	}
+
+	/**
+	 * Takes the oldest item. Must only be called by the single consumer.
+	 *
+	 * @return null if the buffer is empty
+	 */
+	T poll() {
+		long pos = head.get();
+		int index = (int) (pos & mask);
+		if (sequences.get(index) != pos + 1) {
+			// Empty or the producer has not finished writing
+			return null;
+		}
+		T item = slots.get(index);
+		slots.lazySet(index, null);
+		head.lazySet(pos + 1);
+		// Free the slot for the producer one lap later
+		sequences.set(index, pos + mask + 1);
+		return item;
+	}
+
+	/**
+	 * Is the buffer empty ?
+	 */
+	boolean isEmpty() {
+		return head.get() >= tail.get();
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+}
@@ -10,7 +10,9 @@ package com.mars_sim.core.logging;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 import com.mars_sim.core.Entity;
@@ -20,6 +22,10 @@ import com.mars_sim.core.Entity;
  * This is a logger class similar to Java Logger that is Simulation aware
  * to handle common formatting.
  * This actor as an Adapter to the underlying Java Logger.
+ * The level is always checked before any message text is built and the Supplier
+ * variants only create the message when it will be logged, so a disabled level costs
+ * almost nothing. Install the {@link AsyncLogHandler} to write records off the
+ * simulation threads.
  */
 public class SimLogger {
 
@@ -50,6 +56,9 @@ public class SimLogger {
 	public static final long DEFAULT_SEVERE_TIME = 0;
 	private static final long DEFAULT_INFO_TIME = 0;
 
+	private static final String LOGGER_CLASS = SimLogger.class.getName();
+	private static final StackWalker WALKER = StackWalker.getInstance();
+
 	private String sourceName;
 
 	private Logger rootLogger;
@@ -106,6 +115,21 @@ public class SimLogger {
 		baseLog(actor, level, timeBetweenLogs, message, null);
 	}
 
+	/**
+	 * Logs a message that is only created if it will be logged.
+	 * 
+	 * @param actor           Unit that is the Actor in the message.
+	 * @param level           Level to log.
+	 * @param timeBetweenLogs Milliseconds to wait between similar log messages.
+	 * @param message         Creates the message to log.
+	 * @see #log(Entity, Level, long, String)
+	 */
+	public void log(Entity actor, Level level, long timeBetweenLogs, Supplier<String> message) {
+		if (rootLogger.isLoggable(level)) {
+			baseLog(actor, level, timeBetweenLogs, null, message, null);
+		}
+	}
+
 	/**
 	 * Does the actual logging to the logger.
 	 * 
@@ -117,9 +141,23 @@ public class SimLogger {
 	 */
 	private void baseLog(Entity actor, Level level, long timeBetweenLogs, String message,
 			Throwable t) {
-		if (!rootLogger.isLoggable(level)) {
-			return;
+		if (rootLogger.isLoggable(level)) {
+			baseLog(actor, level, timeBetweenLogs, message, null, t);
 		}
+	}
+
+	/**
+	 * Does the actual logging to the logger once the level is known to be enabled.
+	 * 
+	 * @param actor
+	 * @param level
+	 * @param timeBetweenLogs
+	 * @param message Message or null if it comes from the supplier
+	 * @param supplier Creates the message if it is not already known
+	 * @param t
+	 */
+	private void baseLog(Entity actor, Level level, long timeBetweenLogs, String message,
+			Supplier<String> supplier, Throwable t) {
 
 		long dTime = timeBetweenLogs;
 
@@ -159,40 +197,43 @@ public class SimLogger {
 			}
 			outputMessage.append(actor.getName()).append(DASH);		
 		}
-		outputMessage.append(message);
+		outputMessage.append(message != null ? message : supplier.get());
 
-		if (t == null) {
-			rootLogger.log(level, outputMessage::toString);
-		}
-		else {
-			rootLogger.log(level, outputMessage.toString(), t);
-		}
+		emit(level, outputMessage.toString(), t);
 
 		// Register the message
 		lastLogged.put(uniqueIdentifier, new TimeAndCount());
 	}
 
+	/**
+	 * Passes a record to the underlying logger. The source is set here so the handlers
+	 * never have to find it from the stack.
+	 *
+	 * @param level
+	 * @param message
+	 * @param t
+	 */
+	private void emit(Level level, String message, Throwable t) {
+		LogRecord r = new LogRecord(level, message);
+		r.setLoggerName(rootLogger.getName());
+		r.setSourceClassName(LOGGER_CLASS);
+		r.setThrown(t);
+		rootLogger.log(r);
+	}
+
 	/**
 	 * Returns the line.
 	 *
 	 * @return
 	 */
 	private static String getUniqueIdentifer(Entity actor) {
-		StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-		String loggerClass = SimLogger.class.getName();
 		String nickName = (actor != null ? actor.getName() : "unknown");
 
-		// Skip the first frame as it is the "getStackTrace" call
-		for (int idx = 1; idx < stackTrace.length; idx++) {
-			StackTraceElement ste = stackTrace[idx];
-			if (!ste.getClassName().equals(loggerClass)) {
-				// We have now file/line before entering SimLogger.
-				StringBuilder key = new StringBuilder();
-				key.append(ste.getFileName()).append(ste.getLineNumber()).append(nickName);
-				return key.toString();
-			}
-		}
-		return QUESTION;
+		// Only walk as far as the frame before entering SimLogger
+		return WALKER.walk(s -> s.filter(f -> !f.getClassName().equals(LOGGER_CLASS))
+									.findFirst()
+									.map(f -> f.getFileName() + f.getLineNumber() + nickName)
+									.orElse(QUESTION));
 	}
 
 	/**
@@ -202,7 +243,21 @@ public class SimLogger {
 	 * @param message
 	 */
 	public void log(Level level, String message) {
-		rootLogger.log(level, () -> sourceName + " : " + message);
+		if (rootLogger.isLoggable(level)) {
+			emit(level, sourceName + COLON + message, null);
+		}
+	}
+
+	/**
+	 * Logs directly a message that is only created if it will be logged.
+	 * 
+	 * @param level
+	 * @param message
+	 */
+	public void log(Level level, Supplier<String> message) {
+		if (rootLogger.isLoggable(level)) {
+			emit(level, sourceName + COLON + message.get(), null);
+		}
 	}
 
 	/**
@@ -213,7 +268,9 @@ public class SimLogger {
 	 * @param e Exception
 	 */
 	private void rootLog(Level level, String message, Throwable e) {
-		rootLogger.log(level, sourceName + " : " + message, e);
+		if (rootLogger.isLoggable(level)) {
+			emit(level, sourceName + COLON + message, e);
+		}
 	}
 	
 	/**
@@ -225,6 +282,15 @@ public class SimLogger {
 		log(Level.FINE, message);
 	}
 
+	/**
+	 * Logs directly a fine message that is only created if it will be logged.
+	 * 
+	 * @param message
+	 */
+	public void fine(Supplier<String> message) {
+		log(Level.FINE, message);
+	}
+
 	/**
 	 * Helper method just to log a fine message. Message timeout is predefined.
 	 * 
@@ -235,6 +301,16 @@ public class SimLogger {
 		baseLog(actor, Level.FINE, DEFAULT_INFO_TIME, string, null);
 	}
 
+	/**
+	 * Helper method to log a fine message that is only created if it will be logged.
+	 * 
+	 * @param actor
+	 * @param message
+	 */
+	public void fine(Entity actor, Supplier<String> message) {
+		log(actor, Level.FINE, DEFAULT_INFO_TIME, message);
+	}
+
 	/**
 	 * Helper method just to log a fine message.
 	 * 
@@ -245,6 +321,17 @@ public class SimLogger {
 	public void fine(Entity actor, long timeBetweenLogs, String string) {
 		baseLog(actor, Level.FINE, timeBetweenLogs, string, null);
 	}
+
+	/**
+	 * Helper method to log a fine message that is only created if it will be logged.
+	 * 
+	 * @param actor
+	 * @param timeBetweenLogs Milliseconds to wait between similar log messages.
+	 * @param message
+	 */
+	public void fine(Entity actor, long timeBetweenLogs, Supplier<String> message) {
+		log(actor, Level.FINE, timeBetweenLogs, message);
+	}
 	
 	/**
 	 * Logs directly without formatting.
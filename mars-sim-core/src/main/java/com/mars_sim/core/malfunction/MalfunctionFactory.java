@@ -10,9 +10,6 @@ package com.mars_sim.core.malfunction;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -23,7 +20,6 @@ import com.mars_sim.core.equipment.Equipment;
 import com.mars_sim.core.equipment.EquipmentOwner;
 import com.mars_sim.core.logging.SimLogger;
 import com.mars_sim.core.person.ai.task.util.Worker;
-import com.mars_sim.core.resource.MaintenanceScope;
 import com.mars_sim.core.resource.Part;
 import com.mars_sim.core.resource.PartConfig;
 import com.mars_sim.core.robot.Robot;
@@ -70,37 +66,14 @@ public final class MalfunctionFactory implements Serializable {
 	 * @return a randomly-picked malfunction or null if there are none available.
 	 */
 	public MalfunctionMeta pickAMalfunction(Collection<String> scopes) {
-		MalfunctionMeta choosenMalfunction = null;
-
-		List<MalfunctionMeta> malfunctions = new ArrayList<>(mc.getMalfunctionList());
-		double totalProbability = 0D;
-		// Total probability is fixed
-		for (MalfunctionMeta m : malfunctions) {
-			if (m.isMatched(scopes)) {
-				totalProbability += m.getProbability();
-			}
-		}
-
-		double r = RandomUtil.getRandomDouble(totalProbability);
-		// Shuffle the malfunction list
-		Collections.shuffle(malfunctions);
-		for (MalfunctionMeta m : malfunctions) {
-			double probability = m.getProbability();
-			
-			if (m.isMatched(scopes) && (choosenMalfunction == null)) {
-				if (r < probability) {
-					// will only pick one malfunction at a time 
-					choosenMalfunction = m;
-					break;
-				} else
-					r -= probability;
-			}
-		}
+		// will only pick one malfunction at a time 
+		MalfunctionMeta choosenMalfunction = MalfunctionIndex.pick(scopes);
 
 		// Safety check if probability failed to pick malfunction
 		if (choosenMalfunction == null) {
-			logger.warning("Failed to pick a malfunction by probability " + totalProbability + ".");
-			choosenMalfunction = malfunctions.get(0);
+			logger.warning("Failed to pick a malfunction by probability "
+						+ MalfunctionIndex.getTotalProbability(scopes) + ".");
+			choosenMalfunction = RandomUtil.getRandomElement(mc.getMalfunctionList());
 		}
 
 		double failureRate = choosenMalfunction.getProbability();
@@ -242,25 +215,7 @@ public final class MalfunctionFactory implements Serializable {
 	 * @throws Exception if error finding repair part probabilities.
 	 */
 	public static Map<Integer, Double> getRepairPartProbabilities(Collection<String> scope) {
-		Map<Integer, Double> repairPartProbabilities = new HashMap<>();
-
-		for (MalfunctionMeta m : mc.getMalfunctionList()) {
-			if (m.isMatched(scope)) {
-				double malfunctionProbability = m.getProbability() / 100D;
-
-				for (RepairPart p : m.getParts()) {
-					double partProbability = p.getRepairProbability() / 100D;
-					double averageNumber = RandomUtil.getIntegerAverageValue(p.getNumber());
-					double totalNumber = averageNumber * partProbability * malfunctionProbability;
-
-					int id = p.getPartID();
-					if (repairPartProbabilities.containsKey(id))
-						totalNumber += repairPartProbabilities.get(id);
-					repairPartProbabilities.put(id, totalNumber);
-				}
-			}
-		}
-		return repairPartProbabilities;
+		return MalfunctionIndex.getRepairParts(scope);
 	}
 
 	/**
@@ -273,20 +228,7 @@ public final class MalfunctionFactory implements Serializable {
 	 * @throws Exception if error finding maintenance part probabilities.
 	 */
 	static Map<Integer, Double> getMaintenancePartProbabilities(Set<String> scope) {
-		Map<Integer, Double> maintenancePartProbabilities = new HashMap<>();
-		for (MaintenanceScope maintenance : partConfig.getMaintenance(scope)) {
-			double prob = maintenance.getProbability() / 100D;
-			int partNumber = maintenance.getMaxNumber();
-			double averageNumber = RandomUtil.getIntegerAverageValue(partNumber);
-			double totalNumber = averageNumber * prob;
-
-			Integer id = maintenance.getPart().getID();
-			if (maintenancePartProbabilities.containsKey(id))
-				totalNumber += maintenancePartProbabilities.get(id);
-			maintenancePartProbabilities.put(id, totalNumber);
-		}
-
-		return maintenancePartProbabilities;
+		return MalfunctionIndex.getMaintenanceParts(scope);
 	}
 
 	/**
@@ -324,5 +266,6 @@ public final class MalfunctionFactory implements Serializable {
 		for (Part p : Part.getParts()) {
 			p.computeReliability(missionSol);
 		}
+		MalfunctionIndex.invalidate();
 	}
 }
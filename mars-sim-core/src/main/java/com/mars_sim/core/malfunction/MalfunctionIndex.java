@@ -0,0 +1,211 @@
+/*
+ * Mars Simulation Project
+ * MalfunctionIndex.java
+ */
+package com.mars_sim.core.malfunction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mars_sim.core.resource.MaintenanceScope;
+import com.mars_sim.core.resource.PartConfig;
+import com.mars_sim.core.tool.RandomUtil;
+
+/**
+ * Holds the malfunctions and part probabilities that apply to a set of scopes so they
+ * are not searched for on every roll. Entries are built on first use for each distinct
+ * scope set and rebuilt once the probabilities change; any change to a malfunction or
+ * repair part probability, and the daily reliability update, bump the version.
+ */
+final class MalfunctionIndex {
+
+	/**
+	 * The malfunctions matching a scope set with the running total of their probabilities
+	 * and the expected number of each part needed.
+	 */
+	private static final class Entry {
+		private final long version;
+		private final MalfunctionMeta[] metas;
+		private final double[] cumulative;
+		private final int[] repairIds;
+		private final double[] repairNumbers;
+		private final int[] maintenanceIds;
+		private final double[] maintenanceNumbers;
+
+		private Entry(long version, List<MalfunctionMeta> all, PartConfig partConfig, Set<String> scopes) {
+			this.version = version;
+
+			List<MalfunctionMeta> matched = new ArrayList<>();
+			for (MalfunctionMeta m : all) {
+				if (m.isMatched(scopes)) {
+					matched.add(m);
+				}
+			}
+			metas = matched.toArray(new MalfunctionMeta[0]);
+
+			cumulative = new double[metas.length];
+			double total = 0D;
+			Map<Integer, Double> repair = new HashMap<>();
+			for (int i = 0; i < metas.length; i++) {
+				MalfunctionMeta m = metas[i];
+				total += m.getProbability();
+				cumulative[i] = total;
+
+				double malfunctionProbability = m.getProbability() / 100D;
+				for (RepairPart p : m.getParts()) {
+					double partProbability = p.getRepairProbability() / 100D;
+					double averageNumber = RandomUtil.getIntegerAverageValue(p.getNumber());
+					repair.merge(p.getPartID(), averageNumber * partProbability * malfunctionProbability,
+								Double::sum);
+				}
+			}
+			repairIds = new int[repair.size()];
+			repairNumbers = new double[repair.size()];
+			toVectors(repair, repairIds, repairNumbers);
+
+			Map<Integer, Double> maintenance = new HashMap<>();
+			for (MaintenanceScope s : partConfig.getMaintenance(scopes)) {
+				double prob = s.getProbability() / 100D;
+				double averageNumber = RandomUtil.getIntegerAverageValue(s.getMaxNumber());
+				maintenance.merge(s.getPart().getID(), averageNumber * prob, Double::sum);
+			}
+			maintenanceIds = new int[maintenance.size()];
+			maintenanceNumbers = new double[maintenance.size()];
+			toVectors(maintenance, maintenanceIds, maintenanceNumbers);
+		}
+
+		private double getTotalProbability() {
+			return (cumulative.length == 0 ? 0D : cumulative[cumulative.length - 1]);
+		}
+
+		/**
+		 * Finds the first malfunction whose running total is above a value.
+		 *
+		 * @param r Value between 0 and the total probability
+		 * @return
+		 */
+		private MalfunctionMeta find(double r) {
+			int lo = 0;
+			int hi = cumulative.length - 1;
+			while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (cumulative[mid] > r) {
+					hi = mid;
+				}
+				else {
+					lo = mid + 1;
+				}
+			}
+			return metas[lo];
+		}
+	}
+
+	private static final AtomicLong version = new AtomicLong();
+	private static final Map<Set<String>, Entry> entries = new ConcurrentHashMap<>();
+
+	private MalfunctionIndex() {
+		// Static helper class
+	}
+
+	/**
+	 * Marks all entries as out of date because a probability has changed.
+	 */
+	static void invalidate() {
+		version.incrementAndGet();
+		entries.clear();
+	}
+
+	private static Set<String> toKey(Collection<String> scopes) {
+		return (scopes instanceof Set<String> s ? s : Set.copyOf(scopes));
+	}
+
+	/**
+	 * Gets the entry for a scope set; building it if needed.
+	 *
+	 * @param scopes
+	 * @return
+	 */
+	private static Entry getEntry(Collection<String> scopes) {
+		Set<String> key = toKey(scopes);
+		long current = version.get();
+		Entry e = entries.get(key);
+		if ((e == null) || (e.version != current)) {
+			// The stored key must not change if the caller changes their set
+			Set<String> stored = Set.copyOf(key);
+			e = new Entry(current, MalfunctionFactory.mc.getMalfunctionList(),
+						MalfunctionFactory.partConfig, stored);
+			entries.put(stored, e);
+		}
+		return e;
+	}
+
+	/**
+	 * Picks a malfunction matching the scopes with a chance in proportion to its probability.
+	 *
+	 * @param scopes
+	 * @return null if none match or they all have no probability
+	 */
+	static MalfunctionMeta pick(Collection<String> scopes) {
+		Entry e = getEntry(scopes);
+		double total = e.getTotalProbability();
+		if (total <= 0D) {
+			return null;
+		}
+		return e.find(RandomUtil.getRandomDouble(total));
+	}
+
+	/**
+	 * Gets the total probability of the malfunctions matching the scopes.
+	 *
+	 * @param scopes
+	 * @return
+	 */
+	static double getTotalProbability(Collection<String> scopes) {
+		return getEntry(scopes).getTotalProbability();
+	}
+
+	/**
+	 * Gets the probable number of each part needed per malfunction.
+	 *
+	 * @param scopes
+	 * @return A new map that the caller may change
+	 */
+	static Map<Integer, Double> getRepairParts(Collection<String> scopes) {
+		Entry e = getEntry(scopes);
+		return toMap(e.repairIds, e.repairNumbers);
+	}
+
+	/**
+	 * Gets the probable number of each part needed per maintenance.
+	 *
+	 * @param scopes
+	 * @return A new map that the caller may change
+	 */
+	static Map<Integer, Double> getMaintenanceParts(Collection<String> scopes) {
+		Entry e = getEntry(scopes);
+		return toMap(e.maintenanceIds, e.maintenanceNumbers);
+	}
+
+	private static void toVectors(Map<Integer, Double> source, int[] ids, double[] values) {
+		int i = 0;
+		for (Map.Entry<Integer, Double> s : source.entrySet()) {
+			ids[i] = s.getKey();
+			values[i] = s.getValue();
+			i++;
+		}
+	}
+
+	private static Map<Integer, Double> toMap(int[] ids, double[] values) {
+		Map<Integer, Double> result = new HashMap<>(ids.length * 2);
+		for (int i = 0; i < ids.length; i++) {
+			result.put(ids[i], values[i]);
+		}
+		return result;
+	}
+}
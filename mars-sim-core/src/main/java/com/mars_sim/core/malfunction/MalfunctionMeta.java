@@ -118,6 +118,7 @@ public class MalfunctionMeta implements Serializable {
 	 */
 	public void setProbability(double p) {
 		probability = p;
+		MalfunctionIndex.invalidate();
 	}
 
 	/**
@@ -55,5 +55,6 @@ public class RepairPart implements Serializable {
 	
 	protected void setRepairProbability(double value) {
 		repairProbability = value;
+		MalfunctionIndex.invalidate();
 	}
 }
@@ -16,6 +16,7 @@ import static com.mars_sim.core.map.OpenCL.getQueue;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
 import java.io.File;
 import java.io.IOException;
@@ -70,8 +71,10 @@ import com.mars_sim.core.map.location.Coordinates;
 	/* The default value of rho. */
 	private double rhoDefault;
 	
-	/* The base map color pixels double array. */
- 	private int[][] colorPixels = new int[0][0];
+	/* The base map color pixels by row. */
+ 	private IntBuffer colorPixels = IntBuffer.allocate(0);
+	/* The CPU renderer of the color pixels. */
+	private ParallelMapRenderer renderer;
  	
 	/* The cache for the last center. */
 	private Coordinates centerCache;
@@ -186,33 +189,31 @@ import com.mars_sim.core.map.location.Coordinates;
 	}
 
  	/**
- 	 * Loads the whole map data set into an 2-D integer array.
+ 	 * Loads the whole map data set into an integer buffer. The decoded pixels are
+ 	 * memory mapped from the texture cache when it is up to date.
  	 * 
  	 * @param dataFile File containing the data to be loaded
  	 * @return
  	 */
  	private void loadMapData(File dataFile) {
+		if (dataFile == null) {
+			logger.severe("Map data for " + meta.getId() + " is not available.");
+			loaded = MapState.FAILED;
+			return;
+		}
 
- 		BufferedImage cylindricalMapImage = null;
 		try {
-			cylindricalMapImage = ImageIO.read(dataFile);
-			
-	 		pixelWidth = cylindricalMapImage.getWidth();
-	 		pixelHeight = cylindricalMapImage.getHeight();
-	 				
-	 		if (!meta.isColourful()) {
-	 			colorPixels = loadMonoImage(cylindricalMapImage);
+			boolean colourful = meta.isColourful();
+			var texture = MapTextureCache.load(dataFile, colourful);
+			if (texture == null) {
+				texture = decodeImage(dataFile);
+				MapTextureCache.save(dataFile, colourful, texture);
 			}
-	 		else { 
-				final byte[] pixels = ((DataBufferByte) cylindricalMapImage.getRaster().getDataBuffer()).getData();
-				final boolean hasAlphaChannel = cylindricalMapImage.getAlphaRaster() != null;
-				if (hasAlphaChannel) {
-					colorPixels = loadAlphaImage(pixels);
-		 		}
-		 		else {
-					colorPixels = loadColourImage(pixels);
-				}
-	 		}
+
+	 		pixelWidth = texture.width();
+	 		pixelHeight = texture.height();
+			colorPixels = texture.pixels();
+			renderer = new ParallelMapRenderer(colorPixels, pixelWidth, pixelHeight, !colourful);
 
 			// Update as ready
 	 		loaded = MapState.LOADED;
@@ -226,18 +227,51 @@ import com.mars_sim.core.map.location.Coordinates;
 		rhoRange = new Range(rhoDefault * MIN_RHO_MULTIPLER,
 							 rhoDefault * MAX_RHO_MULTIPLER);
  	}
+
+	/**
+	 * Decodes the map image into pixels.
+	 * 
+	 * @param dataFile Image file
+	 * @return
+	 * @throws IOException
+	 */
+	private MapTextureCache.Texture decodeImage(File dataFile) throws IOException {
+		BufferedImage cylindricalMapImage = ImageIO.read(dataFile);
+		if (cylindricalMapImage == null) {
+			throw new IOException("Unknown image format");
+		}
+
+ 		pixelWidth = cylindricalMapImage.getWidth();
+ 		pixelHeight = cylindricalMapImage.getHeight();
+
+		int[] pixels;
+ 		if (!meta.isColourful()) {
+ 			pixels = loadMonoImage(cylindricalMapImage);
+		}
+ 		else { 
+			final byte[] data = ((DataBufferByte) cylindricalMapImage.getRaster().getDataBuffer()).getData();
+			final boolean hasAlphaChannel = cylindricalMapImage.getAlphaRaster() != null;
+			if (hasAlphaChannel) {
+				pixels = loadAlphaImage(data);
+	 		}
+	 		else {
+				pixels = loadColourImage(data);
+			}
+ 		}
+		return new MapTextureCache.Texture(pixelWidth, pixelHeight, IntBuffer.wrap(pixels));
+	}
  	
 	/**
 	 * Parse the byte data from a colour image into a color array
 	 * @param pixels Source mono byte values
 	 * @return
 	 */
- 	private int[][] loadColourImage(byte[] pixels) {
+ 	private int[] loadColourImage(byte[] pixels) {
 
-		var loadPixels = new int[pixelHeight][pixelWidth];
+		var loadPixels = new int[pixelHeight * pixelWidth];
 
 		final int pixelLength = 3;
-		for (int pixel = 0, row = 0, col = 0; pixel + 2 < pixels.length; pixel += pixelLength) {
+		for (int pixel = 0, i = 0; (pixel + 2 < pixels.length) && (i < loadPixels.length); pixel += pixelLength) {
 			int argb = 0;
 								 
 			// Note: The color is a 32-bit integer in ARGB format. 
@@ -253,12 +287,7 @@ import com.mars_sim.core.map.location.Coordinates;
 			argb += ((pixels[pixel + 1] & 0xff) << 8); // green
 			argb += ((pixels[pixel + 2] & 0xff) << 16); // red
 			
-			loadPixels[row][col] = argb;
-			col++;
-			if (col == pixelWidth) {
-				col = 0;
-				row++;
-			}
+			loadPixels[i++] = argb;
 		}
 		return loadPixels;
 	}
@@ -268,13 +297,13 @@ import com.mars_sim.core.map.location.Coordinates;
 	 * @param pixels
 	 * @return
 	 */
-	private int[][] loadAlphaImage(byte[] pixels) {
+	private int[] loadAlphaImage(byte[] pixels) {
 		// Note: 'Viking Geologic' and 'MOLA Shade' have alpha channel.
-		var loadPixels = new int[pixelHeight][pixelWidth];
+		var loadPixels = new int[pixelHeight * pixelWidth];
 
 		final int pixelLength = 4;
 
-		for (int pos = 0, row = 0, col = 0; pos + 3 < pixels.length; pos += pixelLength) {
+		for (int pos = 0, i = 0; (pos + 3 < pixels.length) && (i < loadPixels.length); pos += pixelLength) {
 			int argb = 0;
 
 			// Note: The color is a 32-bit integer in ARGB format. 
@@ -306,12 +335,7 @@ import com.mars_sim.core.map.location.Coordinates;
 			// do ((int) pixels[pixel + pixel_offset + 1] & 0xff); // green
 			// and merge the two loops into one. – Tomáš Zato Mar 23 '15 at 23:02
 					
-			loadPixels[row][col] = argb;
-			col++;
-			if (col == pixelWidth) {
-				col = 0;
-				row++;
-			}
+			loadPixels[i++] = argb;
 		}
 
 		return loadPixels;
@@ -322,16 +346,16 @@ import com.mars_sim.core.map.location.Coordinates;
 	 * @param cylindricalMapImage
 	 * @return
 	 */
-	private int[][] loadMonoImage(BufferedImage cylindricalMapImage) {
+	private int[] loadMonoImage(BufferedImage cylindricalMapImage) {
 		// Note: May use the shade map to get height values
-		var loadPixels = new int[pixelHeight][pixelWidth];
+		var loadPixels = new int[pixelHeight * pixelWidth];
 
 		Raster raster = cylindricalMapImage.getData();
 		int h = raster.getHeight();
 		int w = raster.getWidth();
 		for (int i = 0; i < w; i++) {
 			for (int j = 0; j < h; j++) {
-				loadPixels[j][i] = raster.getSample(i, j, 0);
+				loadPixels[j * pixelWidth + i] = raster.getSample(i, j, 0);
 			}
 		}
 
@@ -368,9 +392,10 @@ import com.mars_sim.core.map.location.Coordinates;
  		// Note: it turns out TYPE_INT_RGB works the best for gray map
  		
  		// Create an array of int RGB color values to create the map image from.
- 		int[] mapArray = new int[mapBoxWidth * mapBoxHeight];
+ 		int[] mapArray = null;
 		var rendered = hardwareAccel;
 		if (hardwareAccel) {
+			mapArray = new int[mapBoxWidth * mapBoxHeight];
 			try {
 				gpu(centerPhi, centerTheta, mapBoxWidth, mapBoxHeight, newRho, mapArray);
 			} catch(Exception e) {
@@ -379,12 +404,15 @@ import com.mars_sim.core.map.location.Coordinates;
 				logger.log(Level.SEVERE, "Exception with GPU OpenCL accel when running gpu(). " + e.getMessage());
 			}
 		}
-		if (!rendered) {
-			cpu0(centerPhi, centerTheta, mapBoxWidth, mapBoxHeight, newRho, mapArray);
+		if (rendered) {
+		 	// Gets the color pixels ready for the new projected map image in Mars Navigator.
+		 	setRGB(bImage, 0, 0, mapBoxWidth, mapBoxHeight, mapArray, 0, mapBoxHeight);
+		}
+		else if (renderer != null) {
+			// Render straight into the image
+			int[] imageArray = ((DataBufferInt) bImage.getRaster().getDataBuffer()).getData();
+			renderer.render(centerPhi, centerTheta, mapBoxWidth, mapBoxHeight, newRho, imageArray);
 		}
-
-	 	// Gets the color pixels ready for the new projected map image in Mars Navigator.
-	 	setRGB(bImage, 0, 0, mapBoxWidth, mapBoxHeight, mapArray, 0, mapBoxHeight);
 	
 	 	bImageCache = bImage;
 	 	
@@ -505,7 +533,7 @@ import com.mars_sim.core.map.location.Coordinates;
 				 mapArray[i] = 0;
 			 }
 			 else {
-				 mapArray[i] = colorPixels[x][y];
+				 mapArray[i] = colorPixels.get(x * pixelWidth + y);
 			 }
 		 }
 
@@ -513,33 +541,10 @@ import com.mars_sim.core.map.location.Coordinates;
 		 colBuffer.release();
 	 }
 
-	/**
- 	 * Constructs a map array for display with CPU.
- 	 * 
- 	 * @param centerPhi
- 	 * @param centerTheta
- 	 * @param mapBoxWidth
- 	 * @param mapBoxHeight
- 	 * @param mapArray
- 	 * @param scale
- 	 */
-	 private void cpu0(double centerPhi, double centerTheta, int mapBoxWidth, int mapBoxHeight, double rho, int[] mapArray) {
-		 int halfWidth = mapBoxWidth / 2;
-		 int halfHeight = mapBoxHeight / 2;
-
-		 for(int y = 0; y < mapBoxHeight; y++) {
-			 for(int x = 0; x < mapBoxWidth; x++) {
-				 int index = x + (y * mapBoxWidth);
-				 MapPoint loc = convertRectIntToSpherical(x - halfWidth, y - halfHeight, centerPhi, centerTheta, rho);
-				 mapArray[index] = getRGBColorInt(loc.phi(), loc.theta());
-			 }
-		 }
-	 }
-	 
  	/**
  	 * Constructs a map array for display with CPU without the projected background issue.
  	 * 
- 	 * @Note: this method cpu1 will replace cpu0 method. Currently not working. Retain for further debugging.
+ 	 * @Note: this method cpu1 will replace the CPU renderer. Currently not working. Retain for further debugging.
  	 * 
  	 * @param centerPhi
  	 * @param centerTheta
@@ -753,35 +758,7 @@ import com.mars_sim.core.map.location.Coordinates;
 	@Override
  	public int getRGBColorInt(double phi, double theta) {
 		
-		 boolean invalid = Double.isNaN(phi) || Double.isInfinite(phi) || Double.isNaN(theta) || Double.isInfinite(theta) ;
-		 if (invalid) {
-			 // Set the color to black
-			 return 0;
-		 }
-	
- 		// Make sure phi is between 0 and PI.
- 		while (phi > Math.PI)
- 			phi -= Math.PI;
- 		while (phi < 0)
- 			phi += Math.PI;
-
- 		// Adjust theta with PI for the map offset.
- 		// Note: the center of the map is when theta = 0
- 		// Make sure theta is between 0 and 2 PI.
- 		while (theta > TWO_PI)
- 			theta -= TWO_PI;
- 		while (theta < 0)
- 			theta += TWO_PI;
-
- 		int row = (int) Math.round(phi * (colorPixels.length / Math.PI));
- 		if (row > colorPixels.length - 1)
- 	 		row--;
- 			
- 		int column = (int) Math.round(theta * (colorPixels[0].length / TWO_PI));
- 		if (column > colorPixels[0].length - 1)
- 			column--;
- 		
- 		return colorPixels[row][column];
+		return ParallelMapRenderer.lookup(colorPixels, pixelWidth, pixelHeight, phi, theta);
  	}
 
  	/**
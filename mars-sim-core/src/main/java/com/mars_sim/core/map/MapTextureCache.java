@@ -0,0 +1,181 @@
+/*
+ * Mars Simulation Project
+ * MapTextureCache.java
+ */
+package com.mars_sim.core.map;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps the decoded pixels of a map image in a raw file next to the downloaded image.
+ * Later runs memory map the raw file rather than decoding the image again so there is no
+ * decode or copy on the heap. The header holds a checksum of the source image so a raw
+ * file made from a different image is ignored and rebuilt.
+ */
+final class MapTextureCache {
+
+	/**
+	 * The decoded pixels of a map by row.
+	 */
+	record Texture(int width, int height, IntBuffer pixels) {}
+
+	private static final Logger logger = Logger.getLogger(MapTextureCache.class.getName());
+
+	private static final String SUFFIX = ".argb";
+	private static final int MAGIC = 0x4d535458; // MSTX
+	private static final int VERSION = 1;
+	// Magic, version, width, height, colourful, source length & checksum
+	private static final int HEADER_SIZE = 5 * Integer.BYTES + 2 * Long.BYTES;
+	private static final int CHUNK_SIZE = 1 << 16;
+
+	private MapTextureCache() {
+		// Static helper class
+	}
+
+	/**
+	 * Gets the raw file holding the pixels of an image.
+	 *
+	 * @param source
+	 * @return
+	 */
+	static File getCacheFile(File source) {
+		return new File(source.getParentFile(), source.getName() + SUFFIX);
+	}
+
+	/**
+	 * Calculates the checksum of the contents of a file.
+	 *
+	 * @param source
+	 * @return
+	 * @throws IOException
+	 */
+	private static long checksum(File source) throws IOException {
+		CRC32C crc = new CRC32C();
+		try (RandomAccessFile raf = new RandomAccessFile(source, "r");
+			FileChannel channel = raf.getChannel()) {
+			crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Loads the pixels of an image from the raw file if it is up to date.
+	 *
+	 * @param source The image
+	 * @param colourful Are the pixels colours rather than mono samples ?
+	 * @return The memory mapped pixels or null if they need decoding from the image
+	 */
+	static Texture load(File source, boolean colourful) {
+		File cacheFile = getCacheFile(source);
+		if (!cacheFile.exists()) {
+			return null;
+		}
+
+		try (RandomAccessFile raf = new RandomAccessFile(cacheFile, "r");
+			FileChannel channel = raf.getChannel()) {
+			if (channel.size() < HEADER_SIZE) {
+				return null;
+			}
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			channel.read(header, 0);
+			header.flip();
+			if ((header.getInt() != MAGIC) || (header.getInt() != VERSION)) {
+				return null;
+			}
+			int width = header.getInt();
+			int height = header.getInt();
+			boolean cachedColourful = (header.getInt() != 0);
+			long sourceLength = header.getLong();
+			long sourceChecksum = header.getLong();
+
+			long pixelsSize = (long) width * height * Integer.BYTES;
+			if ((cachedColourful != colourful) || (sourceLength != source.length())
+					|| (channel.size() != HEADER_SIZE + pixelsSize)
+					|| (sourceChecksum != checksum(source))) {
+				logger.config("Map texture cache " + cacheFile.getName() + " is stale.");
+				return null;
+			}
+
+			// The mapping stays valid after the file is closed
+			MappedByteBuffer pixels = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, pixelsSize);
+			return new Texture(width, height, pixels.asIntBuffer());
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "Problem reading map texture cache " + cacheFile.getName(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Saves the decoded pixels of an image to the raw file. The file is written under a
+	 * temporary name and then moved so a partial file is never loaded.
+	 *
+	 * @param source The image
+	 * @param colourful Are the pixels colours rather than mono samples ?
+	 * @param texture The decoded pixels
+	 */
+	static void save(File source, boolean colourful, Texture texture) {
+		File cacheFile = getCacheFile(source);
+		File tempFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+
+		IntBuffer pixels = texture.pixels().duplicate();
+		pixels.rewind();
+
+		try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw");
+			FileChannel channel = raf.getChannel()) {
+			raf.setLength(0);
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.putInt(MAGIC)
+				.putInt(VERSION)
+				.putInt(texture.width())
+				.putInt(texture.height())
+				.putInt(colourful ? 1 : 0)
+				.putLong(source.length())
+				.putLong(checksum(source));
+			header.flip();
+			writeFully(channel, header);
+
+			// Write the pixels in chunks to avoid a second copy of the whole map on the heap
+			ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+			while (pixels.hasRemaining()) {
+				chunk.clear();
+				IntBuffer ints = chunk.asIntBuffer();
+				int count = Math.min(ints.remaining(), pixels.remaining());
+				ints.put(pixels.slice(pixels.position(), count));
+				pixels.position(pixels.position() + count);
+				chunk.limit(count * Integer.BYTES);
+				writeFully(channel, chunk);
+			}
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "Problem writing map texture cache " + cacheFile.getName(), e);
+			return;
+		}
+
+		try {
+			Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e) {
+			logger.log(Level.WARNING, "Problem saving map texture cache " + cacheFile.getName(), e);
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
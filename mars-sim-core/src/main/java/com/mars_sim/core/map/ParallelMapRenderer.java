@@ -0,0 +1,336 @@
+/*
+ * Mars Simulation Project
+ * ParallelMapRenderer.java
+ */
+package com.mars_sim.core.map;
+
+import java.nio.IntBuffer;
+import java.text.DecimalFormat;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.mars_sim.core.tool.RandomUtil;
+
+/**
+ * Projects a cylindrical map texture onto a globe using the CPU. The map box is split
+ * into bands of rows that run on the common ForkJoinPool. The terms that only depend on
+ * the row or the column are calculated once per image so each pixel only needs the
+ * spherical conversion and a texture lookup; no objects are created per pixel.
+ * The pixels are written as final RGB values so the target can be the data buffer of
+ * an image directly. The texture is only read with absolute gets so it may be a memory
+ * mapped buffer shared by all the threads.
+ */
+final class ParallelMapRenderer {
+
+	private static final double TWO_PI = Math.PI * 2;
+
+	/** Maximum number of rows rendered by a single task before it is split. */
+	private static final int ROWS_PER_TASK = 16;
+
+	private final IntBuffer texture;
+	private final int width;
+	private final int height;
+	private final boolean mono;
+
+	/**
+	 * Creates a renderer for a texture.
+	 *
+	 * @param texture Colours of the map by row
+	 * @param width Width of the texture
+	 * @param height Height of the texture
+	 * @param mono Is the texture monochrome samples rather than colours ?
+	 */
+	ParallelMapRenderer(IntBuffer texture, int width, int height, boolean mono) {
+		this.texture = texture;
+		this.width = width;
+		this.height = height;
+		this.mono = mono;
+	}
+
+	/**
+	 * Gets the texture colour at a given location.
+	 *
+	 * @param texture
+	 * @param width
+	 * @param height
+	 * @param phi
+	 * @param theta
+	 * @return
+	 */
+	static int lookup(IntBuffer texture, int width, int height, double phi, double theta) {
+		boolean invalid = Double.isNaN(phi) || Double.isInfinite(phi) || Double.isNaN(theta) || Double.isInfinite(theta) ;
+		if (invalid || (texture.capacity() == 0)) {
+			// Set the color to black
+			return 0;
+		}
+
+		// Make sure phi is between 0 and PI.
+		while (phi > Math.PI)
+			phi -= Math.PI;
+		while (phi < 0)
+			phi += Math.PI;
+
+		// Make sure theta is between 0 and 2 PI.
+		while (theta > TWO_PI)
+			theta -= TWO_PI;
+		while (theta < 0)
+			theta += TWO_PI;
+
+		int row = (int) Math.round(phi * (height / Math.PI));
+		if (row > height - 1)
+			row--;
+
+		int column = (int) Math.round(theta * (width / TWO_PI));
+		if (column > width - 1)
+			column--;
+
+		return texture.get(row * width + column);
+	}
+
+	/**
+	 * Converts a texture colour into the RGB value displayed. A monochrome sample
+	 * becomes a gray.
+	 *
+	 * @param p
+	 * @param mono
+	 * @return
+	 */
+	static int toRGB(int p, boolean mono) {
+		if (mono) {
+			int a = (p >> 24) & 0xff;
+			int r = (p >> 16) & 0xff;
+			int g = (p >> 8) & 0xff;
+			int b = p & 0xff;
+
+			// Note: dividing avg by 3 will make it too dark
+			int avg = (r + g + b);
+			p = (a << 24) | (avg << 16) | (avg << 8) | avg;
+		}
+		// An RGB image has no alpha
+		return p & 0xffffff;
+	}
+
+	/**
+	 * Renders the map box centred on a location.
+	 *
+	 * @param centerPhi
+	 * @param centerTheta
+	 * @param mapBoxWidth
+	 * @param mapBoxHeight
+	 * @param rho
+	 * @param target RGB pixels of the map box by row
+	 */
+	void render(double centerPhi, double centerTheta, int mapBoxWidth, int mapBoxHeight,
+				double rho, int[] target) {
+		Projection p = new Projection(centerPhi, centerTheta, mapBoxWidth, mapBoxHeight, rho);
+		ForkJoinPool.commonPool().invoke(new RowsAction(p, target, 0, mapBoxHeight));
+	}
+
+	/**
+	 * Renders the map box one pixel at a time on the calling thread. This is the
+	 * original CPU renderer and is kept as the reference.
+	 *
+	 * @param centerPhi
+	 * @param centerTheta
+	 * @param mapBoxWidth
+	 * @param mapBoxHeight
+	 * @param rho
+	 * @param target RGB pixels of the map box by row
+	 */
+	void renderSequential(double centerPhi, double centerTheta, int mapBoxWidth, int mapBoxHeight,
+				double rho, int[] target) {
+		int halfWidth = mapBoxWidth / 2;
+		int halfHeight = mapBoxHeight / 2;
+
+		for (int y = 0; y < mapBoxHeight; y++) {
+			for (int x = 0; x < mapBoxWidth; x++) {
+				int index = x + (y * mapBoxWidth);
+				MapPoint loc = IntegerMapData.convertRectIntToSpherical(x - halfWidth, y - halfHeight,
+									centerPhi, centerTheta, rho);
+				target[index] = toRGB(lookup(texture, width, height, loc.phi(), loc.theta()), mono);
+			}
+		}
+	}
+
+	/**
+	 * The terms of a projection that only depend on the centre, the row or the column.
+	 */
+	private static final class Projection {
+		private final int boxWidth;
+		private final double rho;
+		private final double rhoSquared;
+		private final double sinPhi;
+		private final double cosPhi;
+		private final double sinTheta;
+		private final double cosTheta;
+
+		// By column
+		private final double[] xSquared;
+		private final double[] xCosTheta;
+		private final double[] xSinTheta;
+
+		// By row
+		private final double[] ySquared;
+		private final double[] yCosPhi;
+		private final double[] ySinPhi;
+
+		private Projection(double phi, double theta, int boxWidth, int boxHeight, double rho) {
+			this.boxWidth = boxWidth;
+			this.rho = rho;
+			rhoSquared = rho * rho;
+			sinPhi = Math.sin(phi);
+			cosPhi = Math.cos(phi);
+			sinTheta = Math.sin(theta);
+			cosTheta = Math.cos(theta);
+
+			int halfWidth = boxWidth / 2;
+			xSquared = new double[boxWidth];
+			xCosTheta = new double[boxWidth];
+			xSinTheta = new double[boxWidth];
+			for (int c = 0; c < boxWidth; c++) {
+				int x = c - halfWidth;
+				xSquared[c] = x * x;
+				xCosTheta[c] = x * cosTheta;
+				xSinTheta[c] = x * sinTheta;
+			}
+
+			int halfHeight = boxHeight / 2;
+			ySquared = new double[boxHeight];
+			yCosPhi = new double[boxHeight];
+			ySinPhi = new double[boxHeight];
+			for (int r = 0; r < boxHeight; r++) {
+				int y = r - halfHeight;
+				ySquared[r] = y * y;
+				yCosPhi[r] = y * cosPhi;
+				ySinPhi[r] = y * sinPhi;
+			}
+		}
+	}
+
+	/**
+	 * Renders a band of rows. The band is split in half until it is small enough to
+	 * run directly.
+	 */
+	private final class RowsAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Projection p;
+		private final transient int[] target;
+		private final int from;
+		private final int to;
+
+		private RowsAction(Projection p, int[] target, int from, int to) {
+			this.p = p;
+			this.target = target;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if ((to - from) > ROWS_PER_TASK) {
+				int mid = (from + to) >>> 1;
+				invokeAll(new RowsAction(p, target, from, mid),
+						  new RowsAction(p, target, mid, to));
+				return;
+			}
+
+			for (int r = from; r < to; r++) {
+				renderRow(r);
+			}
+		}
+
+		/**
+		 * Renders a row with the same arithmetic as
+		 * {@link IntegerMapData#convertRectIntToSpherical(int, int, double, double, double)}
+		 * so the result matches the sequential renderer.
+		 */
+		private void renderRow(int r) {
+			double yCosPhi = p.yCosPhi[r];
+			double ySinPhi = p.ySinPhi[r];
+			int index = r * p.boxWidth;
+
+			for (int c = 0; c < p.boxWidth; c++, index++) {
+				double zSquared = (p.rhoSquared - p.xSquared[c]) - p.ySquared[r];
+				if (zSquared < 0) {
+					// Off the globe
+					target[index] = 0;
+					continue;
+				}
+				double z = Math.sqrt(zSquared);
+
+				double y2 = yCosPhi + (z * p.sinPhi);
+				double z2 = (z * p.cosPhi) - ySinPhi;
+
+				double x3 = p.xCosTheta[c] + (y2 * p.sinTheta);
+				double y3 = (y2 * p.cosTheta) - p.xSinTheta[c];
+
+				double phiNew = Math.acos(z2 / p.rho);
+				double thetaNew = Math.asin(x3 / (p.rho * Math.sin(phiNew)));
+
+				if (x3 >= 0) {
+					if (y3 < 0)
+						thetaNew = Math.PI - thetaNew;
+				} else {
+					if (y3 < 0)
+						thetaNew = Math.PI - thetaNew;
+					else
+						thetaNew = TWO_PI + thetaNew;
+				}
+
+				target[index] = toRGB(lookup(texture, width, height, phiNew, thetaNew), mono);
+			}
+		}
+	}
+
+	/**
+	 * Runs the benchmark of the parallel renderer against the sequential one for
+	 * common map box sizes and zoom levels.
+	 */
+	public static void main(String[] args) {
+		DecimalFormat formatter = new DecimalFormat("###,###,###.0");
+
+		// Size of a typical colour map texture
+		int width = 2880;
+		int height = 1440;
+		int[] texture = new int[width * height];
+		for (int i = 0; i < texture.length; i++) {
+			texture[i] = RandomUtil.getRandomInt(0xffffff);
+		}
+		ParallelMapRenderer renderer = new ParallelMapRenderer(IntBuffer.wrap(texture), width, height, false);
+
+		int[][] boxes = {{300, 300}, {512, 512}, {900, 700}, {1920, 1080}};
+		double[] zooms = {1D, 2D, 4D};
+		int runs = 20;
+		for (int[] box : boxes) {
+			int[] target = new int[box[0] * box[1]];
+			for (double zoom : zooms) {
+				double rho = zoom * height / Math.PI;
+				double phi = RandomUtil.getRandomDouble(Math.PI);
+				double theta = RandomUtil.getRandomDouble(TWO_PI);
+
+				// Warm up
+				renderer.renderSequential(phi, theta, box[0], box[1], rho, target);
+				renderer.render(phi, theta, box[0], box[1], rho, target);
+
+				long start = System.nanoTime();
+				for (int i = 0; i < runs; i++) {
+					renderer.renderSequential(phi, theta, box[0], box[1], rho, target);
+				}
+				long sequential = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (int i = 0; i < runs; i++) {
+					renderer.render(phi, theta, box[0], box[1], rho, target);
+				}
+				long parallel = System.nanoTime() - start;
+
+				System.out.println(box[0] + "x" + box[1] + " zoom " + zoom
+						+ " - sequential " + formatter.format(sequential / (runs * 1_000_000D)) + " ms"
+						+ ", parallel " + formatter.format(parallel / (runs * 1_000_000D)) + " ms"
+						+ ", speed up " + formatter.format((double) sequential / parallel) + "x.");
+			}
+		}
+	}
+}
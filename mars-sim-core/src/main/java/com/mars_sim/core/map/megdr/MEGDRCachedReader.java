@@ -50,7 +50,7 @@ public abstract class MEGDRCachedReader extends MEGDRMapReader {
 		}
 
 		if (requests % 10000 == 0) {
-			logger.fine("MEGDR Cache hit rate " + ((100 * hits)/requests)  + "%, requests="
+			logger.fine(() -> "MEGDR Cache hit rate " + ((100 * hits)/requests)  + "%, requests="
 						+ requests + ", size=" + cache.size());
 		}
 		return result;
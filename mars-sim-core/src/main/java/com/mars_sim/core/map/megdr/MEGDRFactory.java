@@ -6,11 +6,14 @@
  */
 package com.mars_sim.core.map.megdr;
 
-import java.text.DecimalFormat;
-import java.time.Duration;
-import java.time.Instant;
-
 import java.io.IOException;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 import com.mars_sim.core.tool.RandomUtil;
@@ -25,13 +28,14 @@ public class MEGDRFactory {
 	static final String ARRAY_READER = "array";
 	static final String DIRECT_READER = "direct";
 	static final String MEMORY_READER = "memory";
+	static final String SHARED_READER = "shared";
 
     private static final String ELEVATION_FOLDER = "/elevation/";
 	
     private static Logger logger = Logger.getLogger(MEGDRFactory.class.getName());
 
-	private static MEGDRMapReader reader;
-    private static String defaultSpec = MEMORY_READER + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE;
+	private static volatile MEGDRMapReader reader;
+    private static String defaultSpec = SHARED_READER + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE;
 
     private MEGDRFactory() {
         // Stop creation of helper classes
@@ -45,14 +49,38 @@ public class MEGDRFactory {
 	 * @return the elevation as an integer.
 	 */
     public static short getElevation(double phi, double theta) {
-        if (reader == null) {
-            reader = createReader(defaultSpec);
-        }
-        return reader.getElevation(phi, theta);
+        return getReader().getElevation(phi, theta);
 	}
 
+    /**
+	 * Gets the elevation averaged over a block of pixels at a given location.
+	 * 
+	 * @param phi   the phi location.
+	 * @param theta the theta location.
+	 * @param level the level of the block; each level doubles the size.
+	 * @return the elevation as an integer.
+	 */
+    public static short getAverageElevation(double phi, double theta, int level) {
+        return getReader().getAverageElevation(phi, theta, level);
+	}
+
+    private static MEGDRMapReader getReader() {
+        MEGDRMapReader r = reader;
+        if (r == null) {
+            synchronized (MEGDRFactory.class) {
+                r = reader;
+                if (r == null) {
+                    r = createReader(defaultSpec);
+                    reader = r;
+                }
+            }
+        }
+        return r;
+    }
+
 	/**
 	 * Creates a MEGDRReader based on a spec that contains the "reader type, filename".
+	 * The shared reader takes an optional third part of the number of averaged levels.
 	 * 
 	 * @param spec
 	 * @return
@@ -70,6 +98,8 @@ public class MEGDRFactory {
 				case ARRAY_READER -> new MEGDRMapArray(imageName);
 				case DIRECT_READER -> new MEGDRMapDirect(imageName);
 				case MEMORY_READER -> new MEGDRMapMemory(imageName);
+				case SHARED_READER -> new MEGDRMapShared(imageName,
+								(parts.length > 2 ? Integer.parseInt(parts[2].trim()) : 0));
 				default -> throw new IllegalArgumentException("Unknown MEGDR reader called " + reader);
 			};
 		}
@@ -84,28 +114,95 @@ public class MEGDRFactory {
     }
 
 
+	/**
+	 * Runs the benchmark of all the readers.
+	 */
 	public static void main(String[] args) {
-		runPerfTest(DIRECT_READER + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE);
-		runPerfTest(ARRAY_READER + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE);
-		runPerfTest(MEMORY_READER + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE);
+		int lookups = 1_000_000;
+		int threads = Runtime.getRuntime().availableProcessors();
+
+		// Same locations for every reader so the random generator is not measured
+		double[] phis = new double[lookups];
+		double[] thetas = new double[lookups];
+		for (int i = 0; i < lookups; i++) {
+			phis[i] = RandomUtil.getRandomDouble(Math.PI);
+			thetas[i] = RandomUtil.getRandomDouble(Math.PI * 2);
+		}
+
+		for (String r : List.of(DIRECT_READER, ARRAY_READER, MEMORY_READER, SHARED_READER)) {
+			runPerfTest(r + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE, phis, thetas, threads);
+		}
+		runPerfTest(SHARED_READER + SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE + SEPARATOR + 4,
+					phis, thetas, threads);
 	}
 
-	private static void runPerfTest(String spec) {
+	/**
+	 * Measures the memory used by a reader and the lookup rate on one thread and
+	 * when shared by several threads.
+	 */
+	private static void runPerfTest(String spec, double[] phis, double[] thetas, int threads) {
 		DecimalFormat formatter = new DecimalFormat("###,###,###");
 
 		long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
 		MEGDRMapReader reader = createReader(spec);
-		int size = 10000;
-		double pi2 = Math.PI * 2;
-		Instant start = Instant.now();
-		for(int i = 0; i < size; i++) {
-			double phi = RandomUtil.getRandomDouble(Math.PI);
-			double theta = RandomUtil.getRandomDouble(pi2);
-			reader.getElevation(phi, theta);
-		}
-		Instant finish = Instant.now();
 		long finishMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+
+		// Warm up
+		lookup(reader, phis, thetas);
+
+		long start = System.nanoTime();
+		lookup(reader, phis, thetas);
+		long single = System.nanoTime() - start;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		start = System.nanoTime();
+		try {
+			List<Future<Long>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> lookup(reader, phis, thetas)));
+			}
+			for (Future<Long> f : results) {
+				f.get();
+			}
+		}
+		catch (ExecutionException e) {
+			logger.severe("Problem running " + spec + ": " + e.getMessage());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdown();
+		}
+		long multi = System.nanoTime() - start;
+
 		System.out.println("Reader " + spec + " - Memory increase " + formatter.format(finishMemory - startMemory) + ".");
-		System.out.println(size + " lookups in " + Duration.between(start, finish).toMillis() + " ms.");
+		System.out.println("  1 thread: " + formatter.format(phis.length * 1_000_000_000L / Math.max(single, 1))
+					+ " lookups/s.");
+		System.out.println("  " + threads + " threads: "
+					+ formatter.format(threads * (long) phis.length * 1_000_000_000L / Math.max(multi, 1))
+					+ " lookups/s.");
+		if (reader instanceof MEGDRMapShared s && s.getLevels() > 0) {
+			start = System.nanoTime();
+			for (int i = 0; i < phis.length; i++) {
+				s.getAverageElevation(phis[i], thetas[i], s.getLevels());
+			}
+			long averaged = System.nanoTime() - start;
+			System.out.println("  Averaged level " + s.getLevels() + ": "
+					+ formatter.format(phis.length * 1_000_000_000L / Math.max(averaged, 1)) + " lookups/s.");
+		}
+	}
+
+	/**
+	 * Looks up all the locations.
+	 *
+	 * @return Sum of the elevations so the lookups are not optimised away
+	 */
+	private static long lookup(MEGDRMapReader reader, double[] phis, double[] thetas) {
+		long sum = 0;
+		for (int i = 0; i < phis.length; i++) {
+			sum += reader.getElevation(phis[i], thetas[i]);
+		}
+		return sum;
 	}
 }
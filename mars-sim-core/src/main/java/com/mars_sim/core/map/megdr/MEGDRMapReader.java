@@ -83,23 +83,64 @@ public abstract class MEGDRMapReader {
 	 * @return the elevation as an integer.
 	 */
 	public short getElevation(double phi, double theta) {
+		return getElevation(toIndex(phi, theta, mapWidth, mapHeight));
+	}
+
+	/**
+	 * Gets the elevation averaged over a block of pixels at a given location. Each level
+	 * doubles the size of the block. Readers without averaged data return the elevation
+	 * of the nearest pixel.
+	 * 
+	 * @param phi   the phi location.
+	 * @param theta the theta location.
+	 * @param level the level of the block; 0 is a single pixel.
+	 * @return the elevation as an integer.
+	 */
+	public short getAverageElevation(double phi, double theta, int level) {
+		return getElevation(phi, theta);
+	}
+
+	/**
+	 * Gets the index of the pixel nearest to a location in a map.
+	 * 
+	 * @param phi   the phi location.
+	 * @param theta the theta location.
+	 * @param width Width of the map
+	 * @param height Height of the map
+	 * @return
+	 */
+	protected static int toIndex(double phi, double theta, int width, int height) {
 		// Note that row 0 and column 0 are at top left 
-		int row = (int)Math.round(phi * mapHeight / Math.PI);
+		int row = (int)Math.round(phi * height / Math.PI);
 		
-		if (row == mapHeight) 
+		if (row == height) 
 			row--;
 		
-		int column = (int)Math.round(theta * mapWidth / TWO_PI);
+		int column = (int)Math.round(theta * width / TWO_PI);
 
-		if (column == mapWidth)
+		if (column == width)
 			column--;
 
-		int index = row * mapWidth + column;
+		int index = row * width + column;
 		
-		if (index > mapHeight * mapWidth - 1)
-			index = mapHeight * mapWidth - 1;
+		if (index > height * width - 1)
+			index = height * width - 1;
 		
-		return getElevation(index);
+		return index;
+	}
+
+	/**
+	 * Gets the width of the map in pixels.
+	 */
+	int getMapWidth() {
+		return mapWidth;
+	}
+
+	/**
+	 * Gets the height of the map in pixels.
+	 */
+	int getMapHeight() {
+		return mapHeight;
 	}
 
 	/**
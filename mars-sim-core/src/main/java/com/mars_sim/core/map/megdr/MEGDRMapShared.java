@@ -0,0 +1,141 @@
+/*
+ * Mars Simulation Project
+ * MEGDRMapShared.java
+ */
+package com.mars_sim.core.map.megdr;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Logger;
+
+import com.mars_sim.core.map.common.FileLocator;
+
+/**
+ * Gets elevation data from a read-only memory mapping of the selected MEGDR file that is
+ * shared by all threads. Each lookup is an absolute read of the buffer so it needs no
+ * lock, cache or allocation.
+ * Optionally a pyramid of averaged maps is built where each level halves the size of the
+ * one below it; this answers averaged elevation queries with a single lookup.
+ */
+public class MEGDRMapShared extends MEGDRMapReader {
+
+    private static final Logger logger = Logger.getLogger(MEGDRMapShared.class.getName());
+
+	private final ByteBuffer buffer;
+	private final short[][] levels;
+	private final int[] levelWidths;
+	private final int levelCount;
+
+	/**
+	 * Maps the image with no averaged levels.
+	 *
+	 * @param imageName
+	 * @throws IOException
+	 */
+	public MEGDRMapShared(String imageName) throws IOException {
+		this(imageName, 0);
+	}
+
+	/**
+	 * Maps the image and builds the averaged levels.
+	 *
+	 * @param imageName
+	 * @param maxLevel Number of averaged levels to build
+	 * @throws IOException
+	 */
+	public MEGDRMapShared(String imageName, int maxLevel) throws IOException {
+		File mapSource = FileLocator.locateFile(imageName);
+
+		// The mapping stays valid after the file is closed
+		try (RandomAccessFile mapData = new RandomAccessFile(mapSource, "r");
+			FileChannel fileChannel = mapData.getChannel()) {
+			buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size())
+								.asReadOnlyBuffer();
+		}
+
+		short mapHeight = (short) Math.sqrt(buffer.capacity() / 4D);
+		short mapWidth = (short) (mapHeight * 2);
+		setSize(mapWidth, mapHeight);
+
+		logger.info("Reading elevation shared memory mapped to '" + mapSource.getName()
+						+ "' (" + mapWidth + " by " + mapHeight + ").");
+
+		levels = new short[maxLevel + 1][];
+		levelWidths = new int[maxLevel + 1];
+		levelWidths[0] = mapWidth;
+		levelCount = buildLevels(mapWidth, mapHeight);
+	}
+
+	/**
+	 * Gets the elevation with an absolute read of the buffer.
+	 */
+	@Override
+	protected short getElevation(int index) {
+		// Absolute reads leave the buffer position alone so are thread safe
+		return buffer.getShort(index * 2);
+	}
+
+	/**
+	 * Builds each averaged level from the level below by taking the mean of each
+	 * 2 by 2 block of pixels.
+	 *
+	 * @return The number of levels built
+	 */
+	private int buildLevels(int width, int height) {
+		int l = 1;
+		for (; l < levels.length; l++) {
+			if ((width % 2 != 0) || (height % 2 != 0)) {
+				// Cannot halve any further
+				break;
+			}
+			int w = width / 2;
+			int h = height / 2;
+			short[] below = levels[l - 1];
+			short[] level = new short[w * h];
+			for (int r = 0; r < h; r++) {
+				for (int c = 0; c < w; c++) {
+					int top = (2 * r) * width + 2 * c;
+					int bottom = top + width;
+					int sum = getPixel(below, top) + getPixel(below, top + 1)
+							+ getPixel(below, bottom) + getPixel(below, bottom + 1);
+					level[r * w + c] = (short) Math.floorDiv(sum + 2, 4);
+				}
+			}
+
+			levels[l] = level;
+			levelWidths[l] = w;
+			width = w;
+			height = h;
+		}
+		return l - 1;
+	}
+
+	private short getPixel(short[] level, int index) {
+		return (level == null ? getElevation(index) : level[index]);
+	}
+
+	/**
+	 * Gets the number of averaged levels that have been built.
+	 */
+	public int getLevels() {
+		return levelCount;
+	}
+
+	/**
+	 * Gets the elevation from the averaged level. If the level has not been built then
+	 * the highest one available is used.
+	 */
+	@Override
+	public short getAverageElevation(double phi, double theta, int level) {
+		int l = Math.min(Math.max(level, 0), levelCount);
+		if (l == 0) {
+			return getElevation(phi, theta);
+		}
+
+		int width = levelWidths[l];
+		return levels[l][toIndex(phi, theta, width, width / 2)];
+	}
+}
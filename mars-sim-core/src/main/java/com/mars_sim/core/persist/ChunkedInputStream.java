@@ -0,0 +1,200 @@
+/*
+ * Mars Simulation Project
+ * ChunkedInputStream.java
+ */
+package com.mars_sim.core.persist;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This reads a save file written by {@link ChunkedOutputStream}. The chunks are
+ * read ahead and decompressed in parallel while the earlier chunks are consumed.
+ */
+public class ChunkedInputStream extends InputStream {
+
+	/** Number of chunks decompressed ahead of the reader. */
+	private static final int READ_AHEAD = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+	private DataInputStream in;
+	private Executor executor;
+	private SaveCodec codec;
+	private Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+	private boolean endOfChunks = false;
+
+	private byte[] current = new byte[0];
+	private int pos = 0;
+
+	/**
+	 * Creates a stream using the common pool for decompression.
+	 *
+	 * @param in Source of the chunks
+	 * @throws IOException
+	 */
+	public ChunkedInputStream(InputStream in) throws IOException {
+		this(in, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a stream.
+	 *
+	 * @param in Source of the chunks
+	 * @param executor Executor that decompresses the chunks
+	 * @throws IOException
+	 */
+	public ChunkedInputStream(InputStream in, Executor executor) throws IOException {
+		this.in = new DataInputStream(new BufferedInputStream(in, 1024 * 1024));
+		this.executor = executor;
+
+		byte[] magic = new byte[ChunkedOutputStream.MAGIC.length];
+		this.in.readFully(magic);
+		if (!Arrays.equals(magic, ChunkedOutputStream.MAGIC)) {
+			throw new IOException("Not a chunked save file");
+		}
+		int version = this.in.readInt();
+		if (version != ChunkedOutputStream.VERSION) {
+			throw new IOException("Unsupported chunked save version " + version);
+		}
+		codec = SaveCodec.fromId(this.in.readUnsignedByte());
+	}
+
+	/**
+	 * Checks whether a stream starts with the chunked header. The stream is reset
+	 * to where it was.
+	 *
+	 * @param in Stream supporting mark
+	 * @return
+	 * @throws IOException
+	 */
+	public static boolean isChunked(InputStream in) throws IOException {
+		byte[] magic = new byte[ChunkedOutputStream.MAGIC.length];
+		in.mark(magic.length);
+		int read = in.readNBytes(magic, 0, magic.length);
+		in.reset();
+		return (read == magic.length) && Arrays.equals(magic, ChunkedOutputStream.MAGIC);
+	}
+
+	/**
+	 * Reads the next chunk records from the file and starts decompressing them.
+	 *
+	 * @throws IOException
+	 */
+	private void readAhead() throws IOException {
+		while (!endOfChunks && (pending.size() < READ_AHEAD)) {
+			int rawLength = in.readInt();
+			if (rawLength < 0) {
+				endOfChunks = true;
+				break;
+			}
+			byte[] compressed = new byte[in.readInt()];
+			byte[] digest = new byte[ChunkedOutputStream.DIGEST_SIZE];
+			in.readFully(digest);
+			in.readFully(compressed);
+
+			pending.add(CompletableFuture.supplyAsync(() -> decompress(compressed, rawLength, digest),
+								executor));
+		}
+	}
+
+	/**
+	 * Decompresses a chunk and checks the content.
+	 *
+	 * @param compressed
+	 * @param rawLength
+	 * @param digest
+	 * @return
+	 */
+	private byte[] decompress(byte[] compressed, int rawLength, byte[] digest) {
+		try {
+			byte[] raw = codec.decompress(compressed, rawLength);
+			if (raw.length != rawLength) {
+				throw new IOException("Chunk is truncated");
+			}
+			if (!Arrays.equals(digest, ChunkedOutputStream.digest(raw))) {
+				throw new IOException("Chunk is corrupted");
+			}
+			return raw;
+		}
+		catch (IOException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	/**
+	 * Gets the codec that compressed the chunks.
+	 */
+	public SaveCodec getCodec() {
+		return codec;
+	}
+
+	/**
+	 * Moves on to the next decompressed chunk.
+	 *
+	 * @return false if there are no more chunks
+	 * @throws IOException
+	 */
+	private boolean nextChunk() throws IOException {
+		readAhead();
+		CompletableFuture<byte[]> next = pending.poll();
+		if (next == null) {
+			return false;
+		}
+		try {
+			current = next.join();
+			pos = 0;
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof IOException ioe) {
+				throw ioe;
+			}
+			throw new IOException("Problem decompressing chunk", e.getCause());
+		}
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		while (pos >= current.length) {
+			if (!nextChunk()) {
+				return -1;
+			}
+		}
+		return current[pos++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		while (pos >= current.length) {
+			if (!nextChunk()) {
+				return -1;
+			}
+		}
+		int n = Math.min(len, current.length - pos);
+		System.arraycopy(current, pos, b, off, n);
+		pos += n;
+		return n;
+	}
+
+	@Override
+	public int available() {
+		return current.length - pos;
+	}
+
+	@Override
+	public void close() throws IOException {
+		pending.clear();
+		in.close();
+	}
+}
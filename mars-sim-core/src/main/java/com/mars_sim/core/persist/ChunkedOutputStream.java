@@ -0,0 +1,242 @@
+/*
+ * Mars Simulation Project
+ * ChunkedOutputStream.java
+ */
+package com.mars_sim.core.persist;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This splits a serialized simulation into fixed size chunks that are compressed
+ * independently and in parallel. The simulation is one object graph written by a single
+ * object stream so the chunks are only a unit of compression; every save compresses
+ * the whole stream again. The managers share back references in that stream so they
+ * can not be written as separate chunks that are reused when unchanged.
+ * Each chunk is written out as soon as it and all the chunks before it are compressed;
+ * only a bounded number of chunks are held at any time.
+ *
+ * The file layout is the {@link #MAGIC} header, a version, the {@link SaveCodec} id,
+ * then one record per chunk (raw length, compressed length, digest, compressed bytes)
+ * terminated by a record with a negative raw length.
+ */
+public class ChunkedOutputStream extends OutputStream {
+
+	/** Marks a chunked save file. */
+	static final byte[] MAGIC = {'M', 'S', 'I', 'M', 'C', 'H', 'N', 'K'};
+	/** Version of the file layout. */
+	static final int VERSION = 1;
+	/** Raw length that marks the end of the chunks. */
+	static final int END_MARKER = -1;
+
+	static final String DIGEST_ALGORITHM = "SHA-256";
+	static final int DIGEST_SIZE = 32;
+
+	/** Size of every chunk except the last one. */
+	private static final int CHUNK_SIZE = 1024 * 1024;
+	/** Chunks being compressed or waiting to be written. */
+	private static final int MAX_PENDING = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+	/**
+	 * A chunk of the stream ready to be written.
+	 */
+	private record Chunk(int rawLength, byte[] digest, byte[] compressed) {}
+
+	private DataOutputStream out;
+	private Executor executor;
+	private SaveCodec codec;
+	private Deque<CompletableFuture<Chunk>> chunks = new ArrayDeque<>();
+
+	private byte[] buffer = new byte[CHUNK_SIZE];
+	private int count = 0;
+	private boolean closed = false;
+	private boolean headerWritten = false;
+
+	private long rawSize = 0;
+	private int chunkCount = 0;
+
+	/**
+	 * Creates a stream using the common pool for compression.
+	 *
+	 * @param out Destination of the chunks
+	 */
+	public ChunkedOutputStream(OutputStream out) {
+		this(out, SaveCodec.GZIP, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a stream using the common pool for compression.
+	 *
+	 * @param out Destination of the chunks
+	 * @param codec Compression applied to the chunks
+	 */
+	public ChunkedOutputStream(OutputStream out, SaveCodec codec) {
+		this(out, codec, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a stream.
+	 *
+	 * @param out Destination of the chunks
+	 * @param codec Compression applied to the chunks
+	 * @param executor Executor that compresses the chunks
+	 */
+	public ChunkedOutputStream(OutputStream out, SaveCodec codec, Executor executor) {
+		this.out = new DataOutputStream(new BufferedOutputStream(out, 1024 * 1024));
+		this.codec = codec;
+		this.executor = executor;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		buffer[count++] = (byte) b;
+		if (count == CHUNK_SIZE) {
+			submitChunk();
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			int n = Math.min(len, CHUNK_SIZE - count);
+			System.arraycopy(b, off, buffer, count, n);
+			count += n;
+			off += n;
+			len -= n;
+			if (count == CHUNK_SIZE) {
+				submitChunk();
+			}
+		}
+	}
+
+	/**
+	 * Hands over the current chunk for compression.
+	 *
+	 * @throws IOException
+	 */
+	private void submitChunk() throws IOException {
+		if (count == 0) {
+			return;
+		}
+		byte[] raw = Arrays.copyOf(buffer, count);
+		rawSize += count;
+		chunkCount++;
+		count = 0;
+
+		chunks.add(CompletableFuture.supplyAsync(() -> {
+				try {
+					return new Chunk(raw.length, digest(raw), codec.compress(raw));
+				}
+				catch (IOException e) {
+					throw new CompletionException(e);
+				}
+			}, executor));
+
+		writeChunks(false);
+	}
+
+	/**
+	 * Writes the compressed chunks at the head of the queue. This waits for the oldest
+	 * chunk while too many are pending or when all are wanted.
+	 *
+	 * @param all Write every chunk
+	 * @throws IOException
+	 */
+	private void writeChunks(boolean all) throws IOException {
+		try {
+			while (!chunks.isEmpty()
+					&& (all || chunks.peekFirst().isDone() || (chunks.size() > MAX_PENDING))) {
+				writeChunk(chunks.removeFirst().get());
+			}
+		}
+		catch (ExecutionException e) {
+			throw new IOException("Problem compressing chunk", e.getCause());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted compressing chunks", e);
+		}
+	}
+
+	private void writeChunk(Chunk c) throws IOException {
+		writeHeader();
+		out.writeInt(c.rawLength());
+		out.writeInt(c.compressed().length);
+		out.write(c.digest());
+		out.write(c.compressed());
+	}
+
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			headerWritten = true;
+			out.write(MAGIC);
+			out.writeInt(VERSION);
+			out.writeByte(codec.getId());
+		}
+	}
+
+	/**
+	 * Calculates the digest of a chunk.
+	 *
+	 * @param raw
+	 * @return
+	 * @throws IOException
+	 */
+	static byte[] digest(byte[] raw) throws IOException {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(raw);
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IOException("No digest " + DIGEST_ALGORITHM, e);
+		}
+	}
+
+	/**
+	 * Writes the remaining chunks in order once they are compressed.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		try {
+			submitChunk();
+			writeChunks(true);
+			writeHeader();
+			out.writeInt(END_MARKER);
+			out.flush();
+		}
+		finally {
+			chunks.clear();
+			out.close();
+		}
+	}
+
+	/**
+	 * Gets the number of raw bytes written.
+	 */
+	public long getRawSize() {
+		return rawSize;
+	}
+
+	/**
+	 * Gets the number of chunks.
+	 */
+	public int getChunkCount() {
+		return chunkCount;
+	}
+}
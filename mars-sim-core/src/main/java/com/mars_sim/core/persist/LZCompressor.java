@@ -0,0 +1,179 @@
+/*
+ * Mars Simulation Project
+ * LZCompressor.java
+ */
+package com.mars_sim.core.persist;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fast LZ77 block compressor in the style of LZ4. Repeated content is found using
+ * a single probe of a hash table so it trades compression for speed.
+ *
+ * A block is a series of sequences. Each sequence is a token holding the literal length
+ * and the match length in a nibble each, any extra length bytes, the literals, a 2 byte
+ * little endian offset back to the match and any extra match length bytes.
+ * The last sequence only has literals.
+ */
+final class LZCompressor {
+
+	private static final int MIN_MATCH = 4;
+	private static final int MAX_OFFSET = 0xffff;
+	private static final int HASH_LOG = 16;
+	/** Misses before the search starts skipping ahead through incompressible content. */
+	private static final int SKIP_TRIGGER = 6;
+
+	private LZCompressor() {
+		// Static helper class
+	}
+
+	private static int readInt(byte[] b, int i) {
+		return (b[i] & 0xff) | (b[i + 1] & 0xff) << 8 | (b[i + 2] & 0xff) << 16 | (b[i + 3] & 0xff) << 24;
+	}
+
+	private static int hash(int v) {
+		return (v * -1640531535) >>> (32 - HASH_LOG);
+	}
+
+	/**
+	 * Compresses a block.
+	 *
+	 * @param src
+	 * @return
+	 */
+	static byte[] compress(byte[] src) {
+		int n = src.length;
+		byte[] out = new byte[n + (n / 255) + 16];
+		// Holds position + 1 so zero is empty
+		int[] table = new int[1 << HASH_LOG];
+
+		int op = 0;
+		int anchor = 0;
+		int i = 0;
+		int limit = n - MIN_MATCH;
+		while (i <= limit) {
+			int v = readInt(src, i);
+			int h = hash(v);
+			int ref = table[h] - 1;
+			table[h] = i + 1;
+
+			if ((ref >= 0) && (i - ref <= MAX_OFFSET) && (readInt(src, ref) == v)) {
+				int len = MIN_MATCH;
+				while ((i + len < n) && (src[ref + len] == src[i + len])) {
+					len++;
+				}
+				op = writeSequence(out, op, src, anchor, i - anchor, i - ref, len);
+				i += len;
+				anchor = i;
+			}
+			else {
+				i += 1 + ((i - anchor) >>> SKIP_TRIGGER);
+			}
+		}
+
+		// Remaining literals
+		int literals = n - anchor;
+		op = writeToken(out, op, literals, 0);
+		System.arraycopy(src, anchor, out, op, literals);
+		op += literals;
+
+		return Arrays.copyOf(out, op);
+	}
+
+	private static int writeSequence(byte[] out, int op, byte[] src, int start, int literals,
+									int offset, int matchLength) {
+		op = writeToken(out, op, literals, matchLength - MIN_MATCH);
+		System.arraycopy(src, start, out, op, literals);
+		op += literals;
+		out[op++] = (byte) offset;
+		out[op++] = (byte) (offset >>> 8);
+		if (matchLength - MIN_MATCH >= 15) {
+			op = writeLength(out, op, matchLength - MIN_MATCH - 15);
+		}
+		return op;
+	}
+
+	private static int writeToken(byte[] out, int op, int literals, int match) {
+		out[op++] = (byte) ((Math.min(literals, 15) << 4) | Math.min(match, 15));
+		if (literals >= 15) {
+			op = writeLength(out, op, literals - 15);
+		}
+		return op;
+	}
+
+	private static int writeLength(byte[] out, int op, int length) {
+		while (length >= 255) {
+			out[op++] = (byte) 255;
+			length -= 255;
+		}
+		out[op++] = (byte) length;
+		return op;
+	}
+
+	/**
+	 * Decompresses a block.
+	 *
+	 * @param src Compressed block
+	 * @param rawLength Length of the original content
+	 * @return
+	 * @throws IOException
+	 */
+	static byte[] decompress(byte[] src, int rawLength) throws IOException {
+		byte[] dst = new byte[rawLength];
+		int ip = 0;
+		int op = 0;
+		try {
+			while (ip < src.length) {
+				int token = src[ip++] & 0xff;
+
+				int literals = token >>> 4;
+				if (literals == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xff;
+						literals += b;
+					} while (b == 255);
+				}
+				System.arraycopy(src, ip, dst, op, literals);
+				ip += literals;
+				op += literals;
+				if (ip >= src.length) {
+					// Last sequence
+					break;
+				}
+
+				int offset = (src[ip] & 0xff) | (src[ip + 1] & 0xff) << 8;
+				ip += 2;
+				int length = token & 0x0f;
+				if (length == 15) {
+					int b;
+					do {
+						b = src[ip++] & 0xff;
+						length += b;
+					} while (b == 255);
+				}
+				length += MIN_MATCH;
+
+				int ref = op - offset;
+				if ((offset == 0) || (ref < 0)) {
+					throw new IOException("Bad match offset " + offset);
+				}
+				if (offset >= length) {
+					System.arraycopy(dst, ref, dst, op, length);
+					op += length;
+				}
+				else {
+					// Match overlaps the output so copy a byte at a time
+					for (int end = op + length; op < end; ) {
+						dst[op++] = dst[ref++];
+					}
+				}
+			}
+		}
+		catch (IndexOutOfBoundsException e) {
+			throw new IOException("Compressed block is corrupted", e);
+		}
+		return (op == rawLength ? dst : Arrays.copyOf(dst, op));
+	}
+}
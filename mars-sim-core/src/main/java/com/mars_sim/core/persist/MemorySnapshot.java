@@ -0,0 +1,89 @@
+/*
+ * Mars Simulation Project
+ * MemorySnapshot.java
+ */
+package com.mars_sim.core.persist;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This holds a serialized simulation in memory. It is captured while the simulation
+ * is between pulses and later written to a file by a background thread while the
+ * simulation carries on. The content is held in fixed size blocks so there is no copy
+ * when it grows and no 2GB limit of a single array.
+ */
+public class MemorySnapshot extends OutputStream {
+
+	private static final int BLOCK_SIZE = 1024 * 1024;
+
+	private List<byte[]> blocks = new ArrayList<>();
+	private byte[] current;
+	private int pos = BLOCK_SIZE;
+	private long size = 0;
+
+	@Override
+	public void write(int b) {
+		if (pos == BLOCK_SIZE) {
+			nextBlock();
+		}
+		current[pos++] = (byte) b;
+		size++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		while (len > 0) {
+			if (pos == BLOCK_SIZE) {
+				nextBlock();
+			}
+			int n = Math.min(len, BLOCK_SIZE - pos);
+			System.arraycopy(b, off, current, pos, n);
+			pos += n;
+			off += n;
+			len -= n;
+			size += n;
+		}
+	}
+
+	private void nextBlock() {
+		current = new byte[BLOCK_SIZE];
+		blocks.add(current);
+		pos = 0;
+	}
+
+	/**
+	 * Gets the number of bytes captured.
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * Moves the captured content to a stream. Each block is released once written so
+	 * the snapshot shrinks while the file is written.
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	public void moveTo(OutputStream out) throws IOException {
+		int last = blocks.size() - 1;
+		for (int i = 0; i <= last; i++) {
+			out.write(blocks.get(i), 0, (i == last ? pos : BLOCK_SIZE));
+			blocks.set(i, null);
+		}
+		release();
+	}
+
+	/**
+	 * Releases the captured content.
+	 */
+	public void release() {
+		blocks.clear();
+		current = null;
+		pos = BLOCK_SIZE;
+		size = 0;
+	}
+}
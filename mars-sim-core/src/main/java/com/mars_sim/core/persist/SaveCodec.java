@@ -0,0 +1,166 @@
+/*
+ * Mars Simulation Project
+ * SaveCodec.java
+ */
+package com.mars_sim.core.persist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.XZInputStream;
+import org.tukaani.xz.XZOutputStream;
+
+/**
+ * The compression applied to the chunks of a save file. The codec is recorded
+ * in the header of the file so a file can be read whatever the current choice is.
+ */
+public enum SaveCodec {
+
+	/** No compression; the fastest save but the largest file. */
+	NONE(0) {
+		@Override
+		byte[] compress(byte[] raw) {
+			return raw;
+		}
+
+		@Override
+		byte[] decompress(byte[] data, int rawLength) {
+			return data;
+		}
+	},
+
+	/** The deflate compression used by gzip. */
+	GZIP(1) {
+		@Override
+		byte[] compress(byte[] raw) {
+			Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+			try {
+				deflater.setInput(raw);
+				deflater.finish();
+				byte[] output = new byte[Math.max(64, raw.length / 2)];
+				int size = 0;
+				while (!deflater.finished()) {
+					if (size == output.length) {
+						output = Arrays.copyOf(output, output.length * 2);
+					}
+					size += deflater.deflate(output, size, output.length - size);
+				}
+				return Arrays.copyOf(output, size);
+			}
+			finally {
+				deflater.end();
+			}
+		}
+
+		@Override
+		byte[] decompress(byte[] data, int rawLength) throws IOException {
+			Inflater inflater = new Inflater();
+			try {
+				inflater.setInput(data);
+				byte[] raw = new byte[rawLength];
+				int size = 0;
+				while (size < rawLength && !inflater.finished()) {
+					int n = inflater.inflate(raw, size, rawLength - size);
+					if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+					size += n;
+				}
+				return (size == rawLength ? raw : Arrays.copyOf(raw, size));
+			}
+			catch (DataFormatException e) {
+				throw new IOException("Problem inflating chunk", e);
+			}
+			finally {
+				inflater.end();
+			}
+		}
+	},
+
+	/** LZMA2 compression as used by xz; the smallest file but the slowest save. */
+	XZ(2) {
+		@Override
+		byte[] compress(byte[] raw) throws IOException {
+			ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+			try (XZOutputStream xz = new XZOutputStream(output, new LZMA2Options(LZMA2Options.PRESET_DEFAULT))) {
+				xz.write(raw);
+			}
+			return output.toByteArray();
+		}
+
+		@Override
+		byte[] decompress(byte[] data, int rawLength) throws IOException {
+			try (InputStream xz = new XZInputStream(new ByteArrayInputStream(data))) {
+				return xz.readNBytes(rawLength);
+			}
+		}
+	},
+
+	/** A fast LZ77 compression; less compact than gzip but much quicker to save. */
+	LZ(3) {
+		@Override
+		byte[] compress(byte[] raw) {
+			return LZCompressor.compress(raw);
+		}
+
+		@Override
+		byte[] decompress(byte[] data, int rawLength) throws IOException {
+			return LZCompressor.decompress(data, rawLength);
+		}
+	};
+
+	private int id;
+
+	private SaveCodec(int id) {
+		this.id = id;
+	}
+
+	/**
+	 * Gets the identifier recorded in the save file.
+	 */
+	int getId() {
+		return id;
+	}
+
+	/**
+	 * Compresses a chunk.
+	 *
+	 * @param raw
+	 * @return
+	 * @throws IOException
+	 */
+	abstract byte[] compress(byte[] raw) throws IOException;
+
+	/**
+	 * Decompresses a chunk.
+	 *
+	 * @param data Compressed chunk
+	 * @param rawLength Expected length of the raw content
+	 * @return
+	 * @throws IOException
+	 */
+	abstract byte[] decompress(byte[] data, int rawLength) throws IOException;
+
+	/**
+	 * Finds the codec recorded in a save file.
+	 *
+	 * @param id
+	 * @return
+	 * @throws IOException
+	 */
+	static SaveCodec fromId(int id) throws IOException {
+		for (SaveCodec c : values()) {
+			if (c.id == id) {
+				return c;
+			}
+		}
+		throw new IOException("Unknown save codec " + id);
+	}
+}
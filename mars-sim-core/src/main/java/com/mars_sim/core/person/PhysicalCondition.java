@@ -6,6 +6,9 @@
  */
 package com.mars_sim.core.person;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -79,11 +82,11 @@ public class PhysicalCondition implements Serializable {
 	/** The amount of thirst threshold [millisols]. */
 	public static final int ENERGY_THRESHOLD = 2525;
 	/** The amount of fatigue threshold [millisols]. */
-	private static final int FATIGUE_THRESHOLD = 750;
+	static final int FATIGUE_THRESHOLD = 750;
 	/** The amount of fatigue threshold [millisols]. */
 	public static final int FATIGUE_MIN = 150;
 	/** The amount of stress threshold [millisols]. */
-	private static final int STRESS_THRESHOLD = 75;
+	static final int STRESS_THRESHOLD = 75;
 	/** Life support minimum value. */
 	private static final int MIN_VALUE = 0;
 	/** Life support maximum value. */
@@ -157,15 +160,17 @@ public class PhysicalCondition implements Serializable {
 	private double muscleHealth;
 	private double muscleSoreness;
 	
-	/** Person's thirst level. [in millisols]. */
+	/**
+	 * Holds the person's thirst [in millisols], fatigue (0 to infinity), hunger [in millisols],
+	 * stress (0.0 % - 100.0 %) and performance factor (0.0 to 1.0) in a slot.
+	 */
+	private transient PopulationPhysiology vitals;
+	private transient int slot;
+	// Persisted form of the vitals; only up to date while saving
 	private double thirst;
-	/** Person's fatigue level from 0 to infinity. */
 	private double fatigue;
-	/** Person's hunger level [in millisols]. */
 	private double hunger;
-	/** Person's stress level (0.0 % - 100.0 %). */
 	private double stress;
-	/** Performance factor 0.0 to 1.0. */
 	private double performance;
 	/** Person's energy level [in kJ] */
 	private double kJoules;
@@ -284,6 +289,9 @@ public class PhysicalCondition implements Serializable {
 				* RandomUtil.computeGaussianWithLimit(1, .5, .2);						
 		bmi = mass/heightSquared;
 
+		vitals = PopulationPhysiology.createSingle();
+		slot = vitals.allocate(this, getVitalsDrift(), alive);
+
 		// Assume a person drinks 10 times a day, each time ~375 mL
 		waterConsumedPerSol = h20Consumption * bodyMassDeviation ;
 		// waterConsumedPerServing is ~ 0.19 kg
@@ -299,7 +307,7 @@ public class PhysicalCondition implements Serializable {
 		isStressedOut = false;
 		isDehydrated = false;
 		// Initially set performance to 1.0 (=100%) to avoid issues at startup
-		performance = 1.0D;
+		vitals.performance[slot] = 1.0D;
 
 		// Initialize the food consumption logger
 		consumption = new SolMetricDataLogger<>(MAX_NUM_SOLS);
@@ -316,16 +324,16 @@ public class PhysicalCondition implements Serializable {
 
 	private void initializeHealthIndices() {
 		// Set up random physical health index
-		thirst = RandomUtil.getRandomRegressionInteger(50);
-		fatigue = RandomUtil.getRandomRegressionInteger(50);
-		stress = RandomUtil.getRandomRegressionInteger(10);
-		hunger = RandomUtil.getRandomRegressionInteger(50);
+		vitals.thirst[slot] = RandomUtil.getRandomRegressionInteger(50);
+		vitals.fatigue[slot] = RandomUtil.getRandomRegressionInteger(50);
+		vitals.stress[slot] = RandomUtil.getRandomRegressionInteger(10);
+		vitals.hunger[slot] = RandomUtil.getRandomRegressionInteger(50);
 		// kJoules somewhat co-relates with hunger
-		kJoules = 10000 + (50 - hunger) * 100;
-		performance = 1.0D - (50 - fatigue) * .002 
-				- (20 - stress) * .002 
-				- (50 - hunger) * .002
-				- (50 - thirst) * .002;
+		kJoules = 10000 + (50 - vitals.hunger[slot]) * 100;
+		vitals.performance[slot] = 1.0D - (50 - vitals.fatigue[slot]) * .002 
+				- (20 - vitals.stress[slot]) * .002 
+				- (50 - vitals.hunger[slot]) * .002
+				- (50 - vitals.thirst[slot]) * .002;
 	}
 
 	
@@ -422,14 +430,16 @@ public class PhysicalCondition implements Serializable {
 			if (pulse.isNewIntMillisol()) {
 				// reduce the muscle soreness
 				recoverFromSoreness(1);
-				// Update thirst
-				increaseThirst(bodyMassDeviation * .75);
-				// Update fatigue
-				increaseFatigue(1);
-				// Update hunger
-				increaseHunger(bodyMassDeviation * .75);
-				// Reduce stress
-				reduceStress(time/10);
+				if (!vitals.isBatched()) {
+					// Update thirst
+					increaseThirst(getVitalsDrift());
+					// Update fatigue
+					increaseFatigue(1);
+					// Update hunger
+					increaseHunger(getVitalsDrift());
+					// Reduce stress
+					reduceStress(time/10);
+				}
 				
 				// Calculate performance and most mostSeriousProblem illness.
 				recalculatePerformance();
@@ -449,19 +459,21 @@ public class PhysicalCondition implements Serializable {
 					}
 				}				
 				
-				if (stress < STRESS_THRESHOLD) {
+				if (vitals.stress[slot] < STRESS_THRESHOLD) {
 					isStressedOut = false;
 				}
 				
 				int msol = pulse.getMarsTime().getMillisolInt();
 				if (msol % 7 == 0) {
 
-					// Update starvation
-					checkStarvation(hunger);
-					// Update dehydration
-					checkDehydration(thirst);					
-					// Check if person is stressed out
-					checkStressOut();
+					if (isThresholdCrossed()) {
+						// Update starvation
+						checkStarvation(vitals.hunger[slot]);
+						// Update dehydration
+						checkDehydration(vitals.thirst[slot]);					
+						// Check if person is stressed out
+						checkStressOut();
+					}
 					
 					// Check if person is at very high fatigue may collapse.
 
@@ -488,6 +500,89 @@ public class PhysicalCondition implements Serializable {
 		}
 	}
 
+	/**
+	 * Gets the hunger and thirst gained per millisol.
+	 */
+	private double getVitalsDrift() {
+		return bodyMassDeviation * PopulationPhysiology.DRIFT_FACTOR;
+	}
+
+	/**
+	 * Checks if a vital is past the threshold of a starvation, dehydration or stress
+	 * problem or one is in progress. Otherwise the checks would do nothing.
+	 */
+	private boolean isThresholdCrossed() {
+		return isStarving || isDehydrated || isStressedOut
+				|| vitals.hunger[slot] > starvationStartTime
+				|| vitals.thirst[slot] > dehydrationStartTime
+				|| vitals.stress[slot] >= STRESS_THRESHOLD;
+	}
+
+	/**
+	 * Is this a view onto a slot of the population physiology?
+	 *
+	 * @param physiology
+	 * @return
+	 */
+	boolean isViewOf(PopulationPhysiology physiology) {
+		return vitals == physiology;
+	}
+
+	/**
+	 * Moves the vitals into a slot of another population physiology.
+	 *
+	 * @param target
+	 */
+	synchronized void moveVitals(PopulationPhysiology target) {
+		if (vitals == target) {
+			return;
+		}
+
+		int newSlot = target.allocate(this, getVitalsDrift(), alive);
+		synchronized (target) {
+			target.hunger[newSlot] = vitals.hunger[slot];
+			target.thirst[newSlot] = vitals.thirst[slot];
+			target.fatigue[newSlot] = vitals.fatigue[slot];
+			target.stress[newSlot] = vitals.stress[slot];
+			target.performance[newSlot] = vitals.performance[slot];
+		}
+		vitals.release(slot);
+
+		vitals = target;
+		slot = newSlot;
+	}
+
+	/**
+	 * Moves the vitals out of a population physiology to be held by the person.
+	 *
+	 * @param source
+	 */
+	synchronized void moveVitalsFrom(PopulationPhysiology source) {
+		if (vitals == source) {
+			moveVitals(PopulationPhysiology.createSingle());
+		}
+	}
+
+	/**
+	 * Vitals changed by the population physiology have crossed a threshold.
+	 *
+	 * @param crossed The vitals as PopulationPhysiology flags
+	 */
+	void fireVitalsChanged(int crossed) {
+		if ((crossed & PopulationPhysiology.THIRST_CROSSED) != 0) {
+			person.fireUnitUpdate(UnitEventType.THIRST_EVENT);
+		}
+		if ((crossed & PopulationPhysiology.FATIGUE_CROSSED) != 0) {
+			person.fireUnitUpdate(UnitEventType.FATIGUE_EVENT);
+		}
+		if ((crossed & PopulationPhysiology.HUNGER_CROSSED) != 0) {
+			person.fireUnitUpdate(UnitEventType.HUNGER_EVENT);
+		}
+		if ((crossed & PopulationPhysiology.STRESS_CROSSED) != 0) {
+			person.fireUnitUpdate(UnitEventType.STRESS_EVENT);
+		}
+	}
+
 	 /**
 	  * Checks and updates existing health problems
 	  *
@@ -608,11 +703,11 @@ public class PhysicalCondition implements Serializable {
 	 * @return the value from 0 to infinity.
 	 */
 	public double getFatigue() {
-		return fatigue;
+		return vitals.fatigue[slot];
 	}
 
 	public double getThirst() {
-		return thirst;
+		return vitals.thirst[slot];
 	}
 
 	/**
@@ -679,7 +774,7 @@ public class PhysicalCondition implements Serializable {
 		// Note: FOOD_COMPOSITION_ENERGY_RATIO = 16290
 		double xdelta = foodAmount * FOOD_COMPOSITION_ENERGY_RATIO / appetite / ENERGY_FACTOR;
 
-		if (hunger <= 0)
+		if (vitals.hunger[slot] <= 0)
 			kJoules = personalMaxDailyEnergy;
 		else if (kJoules > 19_000) {
 			kJoules += xdelta * .035;
@@ -727,7 +822,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return The value is between 0 -> 1.
 	 */
 	public double getPerformanceFactor() {
-		return performance;
+		return vitals.performance[slot];
 	}
 
 	/**
@@ -741,8 +836,8 @@ public class PhysicalCondition implements Serializable {
 			pp = 1D;
 		else if (pp < 0)
 			pp = 0;
-		if (performance != pp) {
-			performance = pp;
+		if (vitals.performance[slot] != pp) {
+			vitals.performance[slot] = pp;
 			person.fireUnitUpdate(UnitEventType.PERFORMANCE_EVENT);
 		}
 	}
@@ -759,7 +854,7 @@ public class PhysicalCondition implements Serializable {
 		else if (ff < -100)
 			ff = -100;
 
-		fatigue = ff;
+		vitals.fatigue[slot] = ff;
 		person.fireUnitUpdate(UnitEventType.FATIGUE_EVENT);
 	}
 	
@@ -769,11 +864,11 @@ public class PhysicalCondition implements Serializable {
 	 * @param delta
 	 */
 	public void increaseFatigue(double delta) {
-		double f = fatigue + delta;
+		double f = vitals.fatigue[slot] + delta;
 		if (f > MAX_FATIGUE)
 			f = MAX_FATIGUE;
 
-		fatigue = f;	
+		vitals.fatigue[slot] = f;	
 		person.fireUnitUpdate(UnitEventType.FATIGUE_EVENT);
 	}
 	
@@ -783,11 +878,11 @@ public class PhysicalCondition implements Serializable {
 	 * @param delta
 	 */
 	public void reduceFatigue(double delta) {
-		double f = fatigue - delta;
+		double f = vitals.fatigue[slot] - delta;
 		if (f < -100) 
 			f = -100;
 		
-		fatigue = f;
+		vitals.fatigue[slot] = f;
 		person.fireUnitUpdate(UnitEventType.FATIGUE_EVENT);
 	}
 	
@@ -803,7 +898,7 @@ public class PhysicalCondition implements Serializable {
 		else if (tt < -50)
 			tt = -50;
 
-		thirst = tt;
+		vitals.thirst[slot] = tt;
 		person.fireUnitUpdate(UnitEventType.THIRST_EVENT);
 	}
 
@@ -813,13 +908,13 @@ public class PhysicalCondition implements Serializable {
 	 * @param thirstRelieved
 	 */
 	public void reduceThirst(double delta) {
-		double t = thirst - delta;
+		double t = vitals.thirst[slot] - delta;
 		if (t < -50)
 			t = -50;
 		else if (t > THIRST_CEILING_UPON_DRINKING)
 			t = THIRST_CEILING_UPON_DRINKING;
 		
-		thirst = t;
+		vitals.thirst[slot] = t;
 		person.fireUnitUpdate(UnitEventType.THIRST_EVENT);
 	}
 	
@@ -829,11 +924,11 @@ public class PhysicalCondition implements Serializable {
 	 * @param delta
 	 */
 	public void increaseThirst(double delta) {
-		double t = thirst + delta;
+		double t = vitals.thirst[slot] + delta;
 		if (t > MAX_THIRST)
 			t = MAX_THIRST;
 		
-		thirst = t;
+		vitals.thirst[slot] = t;
 		person.fireUnitUpdate(UnitEventType.THIRST_EVENT);
 	}
 
@@ -849,7 +944,7 @@ public class PhysicalCondition implements Serializable {
 		else if (h < -100)
 			h = -100;
 
-		hunger = h;
+		vitals.hunger[slot] = h;
 		person.fireUnitUpdate(UnitEventType.HUNGER_EVENT);
 	}
 
@@ -859,13 +954,13 @@ public class PhysicalCondition implements Serializable {
 	 * @param hungerRelieved
 	 */
 	public void reduceHunger(double hungerRelieved) {
-		double h = hunger - hungerRelieved;
+		double h = vitals.hunger[slot] - hungerRelieved;
 		if (h < -100)
 			h = -100;
 		else if (h > HUNGER_CEILING_UPON_EATING)
 			h = HUNGER_CEILING_UPON_EATING;
 		
-		hunger = h;
+		vitals.hunger[slot] = h;
 		person.fireUnitUpdate(UnitEventType.HUNGER_EVENT);
 	}
 	
@@ -875,11 +970,11 @@ public class PhysicalCondition implements Serializable {
 	 * @param hungerAdded
 	 */
 	public void increaseHunger(double hungerAdded) {
-		double h = hunger + hungerAdded;
+		double h = vitals.hunger[slot] + hungerAdded;
 		if (h > MAX_HUNGER)
 			h = MAX_HUNGER;
 
-		hunger = h;
+		vitals.hunger[slot] = h;
 		person.fireUnitUpdate(UnitEventType.HUNGER_EVENT);
 	}
 	
@@ -889,7 +984,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return person's hunger
 	 */
 	public double getHunger() {
-		return hunger;
+		return vitals.hunger[slot];
 	}
 
 	/**
@@ -902,10 +997,10 @@ public class PhysicalCondition implements Serializable {
 		if (ss > 100)
 			ss = 100;
 		else if (ss < 0
-				|| Double.isNaN(stress))
+				|| Double.isNaN(vitals.stress[slot]))
 			ss = 0D;
 		
-		stress = ss;
+		vitals.stress[slot] = ss;
 		person.fireUnitUpdate(UnitEventType.STRESS_EVENT);
 	}
 	
@@ -915,18 +1010,18 @@ public class PhysicalCondition implements Serializable {
 	 * @param d
 	 */
 	public void addStress(double d) {
-		if (stress > 95) {
-			logger.warning(person, 30_000, "stress: " + Math.round(stress * 1000.0)/1000.0 + "  d: " + Math.round(d * 1000.0)/1000.0);
+		if (vitals.stress[slot] > 95) {
+			logger.warning(person, 30_000, "stress: " + Math.round(vitals.stress[slot] * 1000.0)/1000.0 + "  d: " + Math.round(d * 1000.0)/1000.0);
 		}
 		
-		double ss = stress + d;
+		double ss = vitals.stress[slot] + d;
 		if (ss > 100)
 			ss = 100;
 		else if (ss < 0
 			|| Double.isNaN(ss))
 			ss = 0;
 		
-		stress = ss;
+		vitals.stress[slot] = ss;
 		person.fireUnitUpdate(UnitEventType.STRESS_EVENT);
 	}
 
@@ -936,14 +1031,14 @@ public class PhysicalCondition implements Serializable {
 	 * @param d
 	 */
 	public void reduceStress(double d) {
-		double ss = stress - d;
+		double ss = vitals.stress[slot] - d;
 		if (ss > 100)
 			ss = 100;
 		else if (ss < 0
 			|| Double.isNaN(ss))
 			ss = 0;
 		
-		stress = ss;
+		vitals.stress[slot] = ss;
 		person.fireUnitUpdate(UnitEventType.STRESS_EVENT);
 	}
 	
@@ -953,14 +1048,14 @@ public class PhysicalCondition implements Serializable {
 	 * @return stress (0.0 to 100.0)
 	 */
 	public double getStress() {
-		return stress;
+		return vitals.stress[slot];
 	}
 	
 	/**
 	 * Checks if a person suffers from stress related health problem.
 	 */
 	private void checkStressOut() {
-		if (stress >= STRESS_THRESHOLD && !isStressedOut()) {
+		if (vitals.stress[slot] >= STRESS_THRESHOLD && !isStressedOut()) {
 			isStressedOut = true;
 		}
 		
@@ -968,16 +1063,16 @@ public class PhysicalCondition implements Serializable {
 			HealthProblem panic = getProblemByType(ComplaintType.PANIC_ATTACK);
 	
 			if (panic == null || !problems.contains(panic)) {
-				if (stress >= 100.0) {
+				if (vitals.stress[slot] >= 100.0) {
 					addMedicalComplaint(medicalManager.getPanicAttack());
 					person.fireUnitUpdate(UnitEventType.ILLNESS_EVENT);
 				}
-				else if (stress >= STRESS_THRESHOLD) {
+				else if (vitals.stress[slot] >= STRESS_THRESHOLD) {
 					// Anything to do here ?
 				}
 			}
 			
-			else if (panic != null && stress < STRESS_THRESHOLD) {
+			else if (panic != null && vitals.stress[slot] < STRESS_THRESHOLD) {
 				
 				panic.setCured();
 				
@@ -1446,6 +1541,7 @@ public class PhysicalCondition implements Serializable {
 	 */
 	public void reviveToLife() {
 		alive = true;
+		vitals.setActive(slot, true);
 		
 		HealthProblem problem = deathDetails.getProblem();
 		
@@ -1482,6 +1578,7 @@ public class PhysicalCondition implements Serializable {
 	 */
 	public void recordDead(HealthProblem problem, boolean triggeredByPlayer, String lastWord) {
 		alive = false;
+		vitals.setActive(slot, false);
 		String reason = TBD;
 		if (triggeredByPlayer) {
 			reason = TRIGGERED_DEATH;
@@ -1582,31 +1679,31 @@ public class PhysicalCondition implements Serializable {
 		double tempPerformance = maxPerformance;
 
 		// High thirst reduces performance.
-		if (thirst > 800D) {
-			tempPerformance -= (thirst - 800D) * THIRST_PERFORMANCE_MODIFIER / 2;
-		} else if (thirst > 400D) {
-			tempPerformance -= (thirst - 400D) * THIRST_PERFORMANCE_MODIFIER / 4;
+		if (vitals.thirst[slot] > 800D) {
+			tempPerformance -= (vitals.thirst[slot] - 800D) * THIRST_PERFORMANCE_MODIFIER / 2;
+		} else if (vitals.thirst[slot] > 400D) {
+			tempPerformance -= (vitals.thirst[slot] - 400D) * THIRST_PERFORMANCE_MODIFIER / 4;
 		}
 
 		// High hunger reduces performance.
-		if (hunger > 1600D) {
-			tempPerformance -= (hunger - 1600D) * HUNGER_PERFORMANCE_MODIFIER / 2;
-		} else if (hunger > 800D) {
-			tempPerformance -= (hunger - 800D) * HUNGER_PERFORMANCE_MODIFIER / 4;
+		if (vitals.hunger[slot] > 1600D) {
+			tempPerformance -= (vitals.hunger[slot] - 1600D) * HUNGER_PERFORMANCE_MODIFIER / 2;
+		} else if (vitals.hunger[slot] > 800D) {
+			tempPerformance -= (vitals.hunger[slot] - 800D) * HUNGER_PERFORMANCE_MODIFIER / 4;
 		}
 
 		// High fatigue reduces performance.
-		if (fatigue > 1500D) {
-			tempPerformance -= (fatigue - 1500D) * FATIGUE_PERFORMANCE_MODIFIER / 2;
-		} else if (fatigue > 700D) {
-			tempPerformance -= (fatigue - 700D) * FATIGUE_PERFORMANCE_MODIFIER / 4;
+		if (vitals.fatigue[slot] > 1500D) {
+			tempPerformance -= (vitals.fatigue[slot] - 1500D) * FATIGUE_PERFORMANCE_MODIFIER / 2;
+		} else if (vitals.fatigue[slot] > 700D) {
+			tempPerformance -= (vitals.fatigue[slot] - 700D) * FATIGUE_PERFORMANCE_MODIFIER / 4;
 		}
 
 		// High stress reduces performance.
-		if (stress > 75D) {
-			tempPerformance -= (stress - 75D) * STRESS_PERFORMANCE_MODIFIER / 2;
-		} else if (stress > 50D) {
-			tempPerformance -= (stress - 50D) * STRESS_PERFORMANCE_MODIFIER / 4;
+		if (vitals.stress[slot] > 75D) {
+			tempPerformance -= (vitals.stress[slot] - 75D) * STRESS_PERFORMANCE_MODIFIER / 2;
+		} else if (vitals.stress[slot] > 50D) {
+			tempPerformance -= (vitals.stress[slot] - 50D) * STRESS_PERFORMANCE_MODIFIER / 4;
 		}
 
 		// High kJoules improves performance and low kJoules hurts performance.
@@ -1682,8 +1779,8 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isUnfitByLevel(int fatMax, int stressMax, int hunMax, int thirstMax) {
-        return (fatigue > fatMax || stress > stressMax
-        		|| hunger > hunMax || thirst > thirstMax
+        return (vitals.fatigue[slot] > fatMax || vitals.stress[slot] > stressMax
+        		|| vitals.hunger[slot] > hunMax || vitals.thirst[slot] > thirstMax
         		|| hasSeriousMedicalProblems());
 	}
 	
@@ -1693,11 +1790,11 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public double computeHealthScore() {
-		return (Math.max(100 - fatigue/10, 0) 
-				+ Math.max(100 - stress, 0) 
-				+ Math.max(100 - hunger/10, 0) 
-				+ Math.max(100 - thirst/10, 0) 
-				+ Math.max(100 - performance * 100, 0))
+		return (Math.max(100 - vitals.fatigue[slot]/10, 0) 
+				+ Math.max(100 - vitals.stress[slot], 0) 
+				+ Math.max(100 - vitals.hunger[slot]/10, 0) 
+				+ Math.max(100 - vitals.thirst[slot]/10, 0) 
+				+ Math.max(100 - vitals.performance[slot] * 100, 0))
 				/ 5.0;
 	}
 	
@@ -1712,17 +1809,17 @@ public class PhysicalCondition implements Serializable {
 			return 0;
 		}
 
-		if (fatigue < 100 && stress < 10 && hunger < 100 && thirst < 50 && kJoules > 12000)
+		if (vitals.fatigue[slot] < 100 && vitals.stress[slot] < 10 && vitals.hunger[slot] < 100 && vitals.thirst[slot] < 50 && kJoules > 12000)
         	level = 5;
-		else if (fatigue < 250 && stress < 25 && hunger < 250 && thirst < 125 && kJoules > 10000)
+		else if (vitals.fatigue[slot] < 250 && vitals.stress[slot] < 25 && vitals.hunger[slot] < 250 && vitals.thirst[slot] < 125 && kJoules > 10000)
         	level = 4;
-        else if (fatigue < 500 && stress < 50 && hunger < 500 && thirst < 250 && kJoules > 8000)
+        else if (vitals.fatigue[slot] < 500 && vitals.stress[slot] < 50 && vitals.hunger[slot] < 500 && vitals.thirst[slot] < 250 && kJoules > 8000)
         	level = 3;
-        else if (fatigue < 800 && stress < 65 && hunger < 800 && thirst < 400 && kJoules > 6000)
+        else if (vitals.fatigue[slot] < 800 && vitals.stress[slot] < 65 && vitals.hunger[slot] < 800 && vitals.thirst[slot] < 400 && kJoules > 6000)
         	level = 2;
-        else if (fatigue < 1200 && stress < 80 && hunger < 1200 && thirst < 600 && kJoules > 4000)
+        else if (vitals.fatigue[slot] < 1200 && vitals.stress[slot] < 80 && vitals.hunger[slot] < 1200 && vitals.thirst[slot] < 600 && kJoules > 4000)
         	level = 1;
-        else if (fatigue < 1800 && stress < 95 && hunger < 1800 && thirst < 900 && kJoules > 2000)
+        else if (vitals.fatigue[slot] < 1800 && vitals.stress[slot] < 95 && vitals.hunger[slot] < 1800 && vitals.thirst[slot] < 900 && kJoules > 2000)
         	level = 0;
 
         return level;
@@ -1923,7 +2020,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isDoubleHungry() {
-		return hunger > HUNGER_THRESHOLD * 2 || kJoules < ENERGY_THRESHOLD * 2;
+		return vitals.hunger[slot] > HUNGER_THRESHOLD * 2 || kJoules < ENERGY_THRESHOLD * 2;
 	}
 	
 
@@ -1933,7 +2030,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isHungry() {
-		return hunger > HUNGER_THRESHOLD || kJoules < ENERGY_THRESHOLD;
+		return vitals.hunger[slot] > HUNGER_THRESHOLD || kJoules < ENERGY_THRESHOLD;
 	}
 
 	/**
@@ -1942,7 +2039,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isDoubleThirsty() {
-		return thirst > THIRST_THRESHOLD * 2;
+		return vitals.thirst[slot] > THIRST_THRESHOLD * 2;
 	}
 	
 	/**
@@ -1951,7 +2048,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isThirsty() {
-		return thirst > THIRST_THRESHOLD;
+		return vitals.thirst[slot] > THIRST_THRESHOLD;
 	}
 
 	/**
@@ -1960,7 +2057,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isSleepy() {
-		return fatigue > FATIGUE_THRESHOLD;
+		return vitals.fatigue[slot] > FATIGUE_THRESHOLD;
 	}
 
 	/**
@@ -1969,7 +2066,7 @@ public class PhysicalCondition implements Serializable {
 	 * @return
 	 */
 	public boolean isStressed() {
-		return stress > STRESS_THRESHOLD;
+		return vitals.stress[slot] > STRESS_THRESHOLD;
 	}
 
 	public double getStrengthMod() {
@@ -2022,7 +2119,7 @@ public class PhysicalCondition implements Serializable {
 		if (d != null)
 			dessertEaten = d.doubleValue();
 		return (foodEaten + mealEaten + dessertEaten >= foodConsumption * 1.5
-				&& hunger < HUNGER_THRESHOLD);
+				&& vitals.hunger[slot] < HUNGER_THRESHOLD);
 	}
 	
 	/**
@@ -2033,7 +2130,7 @@ public class PhysicalCondition implements Serializable {
 	public boolean drinkEnoughWater() {
 		Double w = consumption.getDataPoint(3);
 		return ((w != null) && (w.doubleValue() >= h20Consumption * 1.5
-					&& thirst < THIRST_THRESHOLD));
+					&& vitals.thirst[slot] < THIRST_THRESHOLD));
 	}
 	
 	/**
@@ -2151,6 +2248,41 @@ public class PhysicalCondition implements Serializable {
 		starved = null;
 		dehydrated = null;
 		medicationList = null;
+		vitals.release(slot);
+	}
+
+	/**
+	 * Copies the vitals into the persisted fields which match older saves.
+	 *
+	 * @param out
+	 * @throws IOException
+	 */
+	private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+		thirst = vitals.thirst[slot];
+		fatigue = vitals.fatigue[slot];
+		hunger = vitals.hunger[slot];
+		stress = vitals.stress[slot];
+		performance = vitals.performance[slot];
+		out.defaultWriteObject();
+	}
+
+	/**
+	 * Restores the vitals into a slot held by the person; a settlement attaches
+	 * it again on the next pulse.
+	 *
+	 * @param in
+	 * @throws IOException
+	 * @throws ClassNotFoundException
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		vitals = PopulationPhysiology.createSingle();
+		slot = vitals.allocate(this, getVitalsDrift(), alive);
+		vitals.thirst[slot] = thirst;
+		vitals.fatigue[slot] = fatigue;
+		vitals.hunger[slot] = hunger;
+		vitals.stress[slot] = stress;
+		vitals.performance[slot] = performance;
 	}
 
 }
@@ -0,0 +1,261 @@
+/*
+ * Mars Simulation Project
+ * PopulationPhysiology.java
+ */
+package com.mars_sim.core.person;
+
+import java.util.Arrays;
+
+import com.mars_sim.core.time.ClockPulse;
+
+/**
+ * Holds the vitals (hunger, thirst, fatigue, stress and performance) of a group of
+ * people in primitive arrays; a {@link PhysicalCondition} is a view onto one slot.
+ * A settlement's instance is batched: the steady change in the vitals of all its
+ * citizens is applied in one loop at the start of each millisol instead of by each
+ * person. Anyone not attached to a settlement holds their vitals in a single slot
+ * instance that is updated by the person.
+ * The slots are allocated and released under the lock of the instance so people can
+ * join or leave while the batch is being updated. The vitals are not persisted; the
+ * PhysicalCondition saves its own values.
+ */
+public class PopulationPhysiology {
+
+	private static final int INITIAL_SIZE = 8;
+
+	/** Hunger and thirst gained per millisol for each unit of body mass deviation. */
+	static final double DRIFT_FACTOR = .75;
+
+	// Vitals that crossed a threshold in the batch update
+	static final int THIRST_CROSSED = 1;
+	static final int FATIGUE_CROSSED = 2;
+	static final int HUNGER_CROSSED = 4;
+	static final int STRESS_CROSSED = 8;
+
+	// The vitals of each slot
+	double[] hunger;
+	double[] thirst;
+	double[] fatigue;
+	double[] stress;
+	double[] performance;
+
+	// Hunger and thirst gained per millisol
+	private double[] drift;
+	// Member is alive so the vitals change
+	private boolean[] active;
+	// Vitals that crossed a threshold since the last events
+	private int[] crossed;
+	private PhysicalCondition[] members;
+	// Slots ever used are below this
+	private int size = 0;
+	// Released slots below size waiting to be reused
+	private int[] free;
+	private int freeCount = 0;
+	private final boolean batched;
+
+	private PopulationPhysiology(int capacity, boolean batched) {
+		this.batched = batched;
+		hunger = new double[capacity];
+		thirst = new double[capacity];
+		fatigue = new double[capacity];
+		stress = new double[capacity];
+		performance = new double[capacity];
+		drift = new double[capacity];
+		active = new boolean[capacity];
+		crossed = new int[capacity];
+		members = new PhysicalCondition[capacity];
+		free = new int[capacity];
+	}
+
+	/**
+	 * Creates a batched instance for a settlement.
+	 */
+	public PopulationPhysiology() {
+		this(INITIAL_SIZE, true);
+	}
+
+	/**
+	 * Creates an instance that holds the vitals of one person who updates them.
+	 *
+	 * @return
+	 */
+	static PopulationPhysiology createSingle() {
+		return new PopulationPhysiology(1, false);
+	}
+
+	/**
+	 * Is the steady change of the vitals applied by this instance?
+	 *
+	 * @return
+	 */
+	boolean isBatched() {
+		return batched;
+	}
+
+	/**
+	 * Attaches the vitals of a person to this instance.
+	 *
+	 * @param condition
+	 */
+	public void attach(PhysicalCondition condition) {
+		condition.moveVitals(this);
+	}
+
+	/**
+	 * Detaches the vitals of a person from this instance; they are held by the person.
+	 *
+	 * @param condition
+	 */
+	public void detach(PhysicalCondition condition) {
+		condition.moveVitalsFrom(this);
+	}
+
+	/**
+	 * Allocates a slot for a member, reusing a released slot first.
+	 *
+	 * @param member
+	 * @param memberDrift Hunger and thirst gained per millisol
+	 * @param alive
+	 * @return The slot
+	 */
+	synchronized int allocate(PhysicalCondition member, double memberDrift, boolean alive) {
+		int slot;
+		if (freeCount > 0) {
+			slot = free[--freeCount];
+		}
+		else {
+			if (size == members.length) {
+				grow();
+			}
+			slot = size++;
+		}
+		members[slot] = member;
+		drift[slot] = memberDrift;
+		active[slot] = alive;
+		crossed[slot] = 0;
+		return slot;
+	}
+
+	/**
+	 * Frees a slot to be reused.
+	 *
+	 * @param slot
+	 */
+	synchronized void release(int slot) {
+		members[slot] = null;
+		active[slot] = false;
+		crossed[slot] = 0;
+		free[freeCount++] = slot;
+	}
+
+	synchronized void setActive(int slot, boolean alive) {
+		active[slot] = alive;
+	}
+
+	private void grow() {
+		int length = members.length * 2;
+		hunger = Arrays.copyOf(hunger, length);
+		thirst = Arrays.copyOf(thirst, length);
+		fatigue = Arrays.copyOf(fatigue, length);
+		stress = Arrays.copyOf(stress, length);
+		performance = Arrays.copyOf(performance, length);
+		drift = Arrays.copyOf(drift, length);
+		active = Arrays.copyOf(active, length);
+		crossed = Arrays.copyOf(crossed, length);
+		members = Arrays.copyOf(members, length);
+		free = Arrays.copyOf(free, length);
+	}
+
+	/**
+	 * Applies the steady change in the vitals of all the members once per millisol.
+	 * Only the members with a vital crossing a threshold fire an event.
+	 * This must be called before the members receive the pulse.
+	 *
+	 * @param pulse
+	 */
+	public void timePassing(ClockPulse pulse) {
+		if (!batched || !pulse.isNewIntMillisol()) {
+			return;
+		}
+
+		PhysicalCondition[] changed;
+		int[] changes;
+		int count;
+		synchronized (this) {
+			count = updateVitals(pulse.getElapsed() / 10);
+			if (count == 0) {
+				return;
+			}
+
+			changed = new PhysicalCondition[count];
+			changes = new int[count];
+			int n = 0;
+			for (int i = 0; (i < size) && (n < count); i++) {
+				if (crossed[i] != 0) {
+					changed[n] = members[i];
+					changes[n++] = crossed[i];
+					crossed[i] = 0;
+				}
+			}
+		}
+
+		// Listeners are called outside the lock
+		for (int i = 0; i < count; i++) {
+			changed[i].fireVitalsChanged(changes[i]);
+		}
+	}
+
+	/**
+	 * Increases hunger, thirst and fatigue and reduces stress of the active members.
+	 * This matches the changes made by a person not in a batch.
+	 *
+	 * @param stressRelief Stress reduced
+	 * @return Number of slots with a vital crossing a threshold
+	 */
+	synchronized int updateVitals(double stressRelief) {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (active[i]) {
+				int c = 0;
+				double t = Math.min(thirst[i] + drift[i], PhysicalCondition.MAX_THIRST);
+				if (isCrossed(thirst[i], t, PhysicalCondition.THIRST_THRESHOLD)) {
+					c |= THIRST_CROSSED;
+				}
+				thirst[i] = t;
+
+				double f = Math.min(fatigue[i] + 1, PhysicalCondition.MAX_FATIGUE);
+				if (isCrossed(fatigue[i], f, PhysicalCondition.FATIGUE_THRESHOLD)) {
+					c |= FATIGUE_CROSSED;
+				}
+				fatigue[i] = f;
+
+				double h = Math.min(hunger[i] + drift[i], PhysicalCondition.MAX_HUNGER);
+				if (isCrossed(hunger[i], h, PhysicalCondition.HUNGER_THRESHOLD)) {
+					c |= HUNGER_CROSSED;
+				}
+				hunger[i] = h;
+
+				double s = stress[i] - stressRelief;
+				// Also clears a NaN
+				s = (s > 0 ? Math.min(s, 100) : 0);
+				if (isCrossed(stress[i], s, PhysicalCondition.STRESS_THRESHOLD)) {
+					c |= STRESS_CROSSED;
+				}
+				stress[i] = s;
+
+				crossed[i] |= c;
+			}
+			if (crossed[i] != 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Has a value moved to the other side of a threshold?
+	 */
+	private static boolean isCrossed(double before, double after, double threshold) {
+		return (before < threshold) != (after < threshold);
+	}
+}
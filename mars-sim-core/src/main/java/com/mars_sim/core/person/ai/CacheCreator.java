@@ -5,12 +5,20 @@ import com.mars_sim.core.time.MarsTime;
 import com.mars_sim.core.tool.RandomUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Holds a set of scored options and makes a random selection weighted on the score.
+ * The selection uses a binary search of the cumulative scores rather than a scan
+ * of the options.
+ */
 public class CacheCreator<T extends Rating> {
 
     private List<T> cache = new ArrayList<>();
     private double probability = 0;
+    /** Cumulative scores of the cache entries; null when they need calculating. */
+    private volatile double[] cumulative = null;
     private String context;
     private MarsTime createdTime;
     private T lastSelected;
@@ -23,17 +31,23 @@ public class CacheCreator<T extends Rating> {
     }
 
     public void put(T t) {
-        cache.add(t);
-        probability += t.getScore().getScore();
+        double score = t.getScore().getScore();
+        if (score > 0) {
+            cache.add(t);
+            probability += score;
+            cumulative = null;
+        }
     }
 
     public void add(List<T> t) {
         for(T tt : t) {
-            if(tt.getScore().getScore() > 0) {
+            double score = tt.getScore().getScore();
+            if (score > 0) {
                 cache.add(tt);
-                probability += tt.getScore().getScore();
+                probability += score;
             }
         }
+        cumulative = null;
     }
     
     public MarsTime getCreatedTime() {
@@ -57,23 +71,77 @@ public class CacheCreator<T extends Rating> {
     }
 
     public T getRandomSelection() {
-        T lastEntry = null;
+        if (cache.isEmpty()) {
+            return null;
+        }
+        // Default caches are shared by many workers so must use a local reference
+        double[] sums = cumulative;
+        if (sums == null) {
+            sums = buildCumulative();
+        }
+
         double randomDouble = getRandomDoubleBasedOnProbability();
+        int idx = findEntry(sums, randomDouble);
+        T entry = cache.get(idx);
+        if (createdTime != null) {
+            // Dynamic cache so the selection can not be used again
+            lastSelected = entry;
+            removeEntry(sums, idx);
+        }
+        return entry;
+    }
 
-        for (T entry : cache) {
-            double probWeight = entry.getScore().getScore();
-            if (randomDouble <= probWeight) {
-                if (createdTime != null) {
-                    lastSelected = entry;
-                    cache.remove(entry);
-                    probability -= probWeight;
-                }
-                return entry;
+    /**
+     * Calculates the cumulative scores of the entries.
+     */
+    private double[] buildCumulative() {
+        int size = cache.size();
+        double[] sums = new double[size];
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cache.get(i).getScore().getScore();
+            sums[i] = total;
+        }
+        cumulative = sums;
+        return sums;
+    }
+
+    /**
+     * Finds the first entry whose cumulative score reaches the value.
+     * 
+     * @param sums Cumulative scores
+     * @param value
+     * @return Index of the entry; the last entry if the value is beyond the total
+     */
+    private int findEntry(double[] sums, double value) {
+        int last = cache.size() - 1;
+        int idx = Arrays.binarySearch(sums, 0, last + 1, value);
+        if (idx < 0) {
+            idx = -(idx + 1);
+        }
+        else {
+            // Step back over any zero score entries with the same cumulative value
+            while ((idx > 0) && (sums[idx - 1] == value)) {
+                idx--;
             }
-            randomDouble -= probWeight;
-            lastEntry = entry;
         }
-        return lastEntry;
+        return Math.min(idx, last);
+    }
+
+    /**
+     * Removes an entry and adjusts the cumulative scores of the later entries.
+     * 
+     * @param sums
+     * @param idx
+     */
+    private void removeEntry(double[] sums, int idx) {
+        int size = cache.size();
+        double weight = sums[idx] - (idx > 0 ? sums[idx - 1] : 0D);
+        for (int i = idx + 1; i < size; i++) {
+            sums[i - 1] = sums[i] - weight;
+        }
+        cache.remove(idx);
+        probability -= weight;
     }
 
     private double getRandomDoubleBasedOnProbability() {
@@ -799,7 +799,7 @@ public class EatDrink extends Task {
 			// Change the hunger level after eating
 			pc.reduceHunger(hungerRelieved);
 
-			logger.log(worker, Level.FINE, 4_000, "Eating " + cookedMeal.getName() + ".");
+			logger.log(worker, Level.FINE, 4_000, () -> "Eating " + cookedMeal.getName() + ".");
 
 			// Reduce person's stress over time from eating a cooked meal.
 			// This is in addition to normal stress reduction from eating task.
@@ -1005,7 +1005,8 @@ public class EatDrink extends Task {
 			
 			// Test to see if there's enough water
 			if (available >= amount) {
-				logger.fine(person, 4_000L, "Drinking " + Math.round(amount * 100.0)/100.0 + " kg of water from " + suit.getName() + ".");
+				final double drunk = amount;
+				logger.fine(person, 4_000L, () -> "Drinking " + Math.round(drunk * 100.0)/100.0 + " kg of water from " + suit.getName() + ".");
 				consumeWater(suit, amount, waterOnly);
 			}
 			else if (available > 0) {
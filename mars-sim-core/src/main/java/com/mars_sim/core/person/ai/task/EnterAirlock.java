@@ -114,7 +114,7 @@ public class EnterAirlock extends Task {
 
 		setPhase(REQUEST_INGRESS);
 
-		logger.fine(person, 4000, "Starting EVA ingress in " + airlock.getEntityName() + ".");
+		logger.fine(person, 4000, () -> "Starting EVA ingress in " + airlock.getEntityName() + ".");
 	}
 
 	/**
@@ -249,7 +249,7 @@ public class EnterAirlock extends Task {
 				// Set the person's new position
 				person.setPosition(newPos);
 
-				logger.fine(person, 4000, "Arrived at " + newPos.getShortFormat() + " in " + newZone + ".");
+				logger.fine(person, 4000, () -> "Arrived at " + newPos.getShortFormat() + " in " + newZone + ".");
 				return true;
 			} else {
 				logger.info(person, 4000, "Couldn't enter the chamber in airlock zone " + newZone + ".");
@@ -261,7 +261,7 @@ public class EnterAirlock extends Task {
 			// Set the person's new position
 			person.setPosition(newPos);
 
-			logger.fine(person, 4000, "Arrived at " + newPos.getShortFormat() + " in " + newZone + "@" + b.getName());
+			logger.fine(person, 4000, () -> "Arrived at " + newPos.getShortFormat() + " in " + newZone + "@" + b.getName());
 			return true;
 		}
 	}
@@ -276,7 +276,7 @@ public class EnterAirlock extends Task {
 
 		boolean canProceed = false;
 
-		logger.fine(person, 20_000, "Requested EVA ingress in " + airlock.getEntityName() + ".");
+		logger.fine(person, 20_000, () -> "Requested EVA ingress in " + airlock.getEntityName() + ".");
 
 		if (!airlock.isActivated()) {
 			// Only the airlock operator may activate the airlock
@@ -565,7 +565,7 @@ public class EnterAirlock extends Task {
 			// Reset accumulatedTime back to zero
 			accumulatedTime -= STANDARD_TIME * time;
 
-			logger.fine(person, 4_000, "Just entered through the outer door into " + airlock.getEntityName() + ".");
+			logger.fine(person, 4_000, () -> "Just entered through the outer door into " + airlock.getEntityName() + ".");
 
 			airlock.setAirlockMode(AirlockMode.INGRESS);
 
@@ -590,7 +590,7 @@ public class EnterAirlock extends Task {
 
 		boolean canProceed = false;
 
-		logger.fine(person, 4_000, "Walking to a chamber in " + airlock.getEntityName() + ".");
+		logger.fine(person, 4_000, () -> "Walking to a chamber in " + airlock.getEntityName() + ".");
 
 		if (inSettlement) {
 
@@ -640,7 +640,7 @@ public class EnterAirlock extends Task {
 			}
 
 			if (airlock.isPressurized()) {
-				logger.fine(person, 4_000, "Chamber already pressurized for entry in " + airlock.getEntityName() + ".");
+				logger.fine(person, 4_000, () -> "Chamber already pressurized for entry in " + airlock.getEntityName() + ".");
 
 				// Reset the count down doffing time
 				remainingDoffingTime = SUIT_DOFFING_TIME + RandomUtil.getRandomInt(-2, 2);
@@ -679,7 +679,7 @@ public class EnterAirlock extends Task {
 
 		if (airlock.isPressurized()) {
 
-			logger.fine(person, 4_000, "Chamber already pressurized for entry in " + airlock.getEntityName() + ".");
+			logger.fine(person, 4_000, () -> "Chamber already pressurized for entry in " + airlock.getEntityName() + ".");
 
 			canProceed = true;
 		}
@@ -891,7 +891,7 @@ public class EnterAirlock extends Task {
 			// Add experience
 			addExperience(time);
 
-			logger.fine(person, 4_000, "Departing " + airlock.getEntity().toString() + ".");
+			logger.fine(person, 4_000, () -> "Departing " + airlock.getEntity().toString() + ".");
 
 			// This completes the EVA ingress through the airlock
 			completeAirlockTask();
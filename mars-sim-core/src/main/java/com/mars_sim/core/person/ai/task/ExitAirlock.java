@@ -215,12 +215,12 @@ public class ExitAirlock extends Task {
 		// the previous zone #  a lower numeric #
 		int previousZone = newZone.ordinal() - 1;
 		LocalPosition newPos = fetchNewPos(newZone);
-		logger.fine(person, "Just fetched " + newPos + " in zone " + newZone.ordinal() + ".");
+		logger.fine(person, () -> "Just fetched " + newPos + " in zone " + newZone.ordinal() + ".");
 		if (newPos != null && airlock.claim(newZone, newPos, person)) {
-			logger.fine(person, "Just claimed zone " + newZone.ordinal() + ".");
+			logger.fine(person, () -> "Just claimed zone " + newZone.ordinal() + ".");
 			if (previousZone >= 0) {
 				if (airlock.vacate(AirlockZone.convert2Zone(previousZone), person)) {
-					logger.fine(person, "Just vacated zone " + previousZone + ".");
+					logger.fine(person, () -> "Just vacated zone " + previousZone + ".");
 					return moveThere(newPos, newZone);
 				}
 				else
@@ -791,7 +791,7 @@ public class ExitAirlock extends Task {
 
 		boolean canProceed = false;
 
-		logger.fine(person, 4_000, "Walking to a chamber in " + airlock.getEntityName() + ".");
+		logger.fine(person, 4_000, () -> "Walking to a chamber in " + airlock.getEntityName() + ".");
 		
 		// Activates airlock first to check for occupant ids and operator
 		// before calling other checks
@@ -131,12 +131,12 @@ public class RepairEVAMalfunction extends EVAOperation implements Repair {
 			workTime += workTime * (.2D * mechanicSkill);
 
 		if (RepairHelper.hasRepairParts(partStore, malfunction)) {
-			logger.log(worker, Level.FINE, 10_000, "Parts for repairing malfunction '" + malfunction + "' available @ " + entity.getName() + ".");
+			logger.log(worker, Level.FINE, 10_000, () -> "Parts for repairing malfunction '" + malfunction + "' available @ " + entity.getName() + ".");
 			RepairHelper.claimRepairParts(partStore, malfunction);
 		}
 
 		else {
-			logger.log(worker, Level.FINE, 10_000, "Parts for repairing malfunction '" + malfunction + "' not available @ " + entity.getName() + ".");
+			logger.log(worker, Level.FINE, 10_000, () -> "Parts for repairing malfunction '" + malfunction + "' not available @ " + entity.getName() + ".");
 			checkLocation("Part(s) not available.");
             return remainingTime;
 		}
@@ -151,7 +151,7 @@ public class RepairEVAMalfunction extends EVAOperation implements Repair {
 		double workTimeLeft = 0D;
 		// Check if there are no more malfunctions.
 		if (!malfunction.isWorkDone(MalfunctionRepairWork.EVA)) {
-			logger.log(worker, Level.FINE, 10_000, "Performing EVA repair on malfunction '" + malfunction + "' @ " + entity.getName() + ".");
+			logger.log(worker, Level.FINE, 10_000, () -> "Performing EVA repair on malfunction '" + malfunction + "' @ " + entity.getName() + ".");
 			// Add EVA work to malfunction.
 			workTimeLeft = malfunction.addWorkTime(MalfunctionRepairWork.EVA, workTime, worker.getName());
 		}
@@ -189,7 +189,7 @@ public class RepairInsideMalfunction extends Task implements Repair {
 		// Add EVA work to malfunction.
 		double workTimeLeft = 0D;
 		if (!malfunction.isWorkDone(MalfunctionRepairWork.INSIDE)) {
-			logger.log(worker, Level.FINE, 10_000, "Performing inside repair on malfunction '" + malfunction + "' at " + entity.getName() + ".");
+			logger.log(worker, Level.FINE, 10_000, () -> "Performing inside repair on malfunction '" + malfunction + "' at " + entity.getName() + ".");
 			// Add work to malfunction.
 			workTimeLeft = malfunction.addWorkTime(MalfunctionRepairWork.INSIDE, workTime, worker.getName());
 		}
@@ -83,7 +83,7 @@ public class Teach extends Task {
 		Iterator<Person> i = candidates.iterator();
 		while (i.hasNext()) {
 			Person candidate = i.next();
-			logger.log(worker, Level.FINE, 4_000, "Connecting with student " + candidate.getName() + ".");
+			logger.log(worker, Level.FINE, 4_000, () -> "Connecting with student " + candidate.getName() + ".");
 			students.add(candidate);
 		}
 		
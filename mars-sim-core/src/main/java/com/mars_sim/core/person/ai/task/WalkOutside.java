@@ -173,7 +173,7 @@ public class WalkOutside extends Task {
 		// Check if direct walking path to destination is free of obstacles.
 		Line2D line = new Line2D.Double(start.getX(), start.getY(), destination.getX(), destination.getY());
 
-		boolean freePath = LocalAreaUtil.isLinePathCollisionFree(line, worker.getCoordinates(), true);
+		boolean freePath = LocalAreaUtil.isLinePathCollisionFree(line, worker.getCoordinates());
 
 		if (freePath) {
 			result.add(destination);
@@ -330,7 +330,7 @@ public class WalkOutside extends Task {
 	 */
 	private boolean checkClearPathToDestination(LocalPosition startPos, LocalPosition endPos) {
 		Line2D line = new Line2D.Double(startPos.getX(), startPos.getY(), endPos.getX(), endPos.getY());
-		return LocalAreaUtil.isLinePathCollisionFree(line, worker.getCoordinates(), true);
+		return LocalAreaUtil.isLinePathCollisionFree(line, worker.getCoordinates());
 	}
 	
 	/**
@@ -412,7 +412,7 @@ public class WalkOutside extends Task {
 				// If clear path between previous and next location,
 				// remove this location from path.
 				Line2D line = new Line2D.Double(prevLoc.getX(), prevLoc.getY(), nextLoc.getX(), nextLoc.getY());
-				if (LocalAreaUtil.isLinePathCollisionFree(line, worker.getCoordinates(), true)) {
+				if (LocalAreaUtil.isLinePathCollisionFree(line, worker.getCoordinates())) {
 					i.remove();
 				}
 			}
@@ -461,7 +461,7 @@ public class WalkOutside extends Task {
 		// Get location North of currentLoc.
 		LocalPosition northLoc = new LocalPosition(currentLoc.getX(), currentLoc.getY() + NEIGHBOR_DISTANCE);
 		Line2D northLine = new Line2D.Double(currentLoc.getX(), currentLoc.getY(), northLoc.getX(), northLoc.getY());
-		if (LocalAreaUtil.isLinePathCollisionFree(northLine, worker.getCoordinates(), true)) {
+		if (LocalAreaUtil.isLinePathCollisionFree(northLine, worker.getCoordinates())) {
 			result.add(northLoc);
 		}
 
@@ -469,14 +469,14 @@ public class WalkOutside extends Task {
 		// Get location East of currentLoc.
 		LocalPosition eastLoc = new LocalPosition(currentLoc.getX() - NEIGHBOR_DISTANCE, currentLoc.getY());
 		Line2D eastLine = new Line2D.Double(currentLoc.getX(), currentLoc.getY(), eastLoc.getX(), eastLoc.getY());
-		if (LocalAreaUtil.isLinePathCollisionFree(eastLine, worker.getCoordinates(), true)) {
+		if (LocalAreaUtil.isLinePathCollisionFree(eastLine, worker.getCoordinates())) {
 			result.add(eastLoc);
 		}
 
 		// Get location South of currentLoc.
 		LocalPosition southLoc = new LocalPosition(currentLoc.getX(), currentLoc.getY() - NEIGHBOR_DISTANCE);
 		Line2D southLine = new Line2D.Double(currentLoc.getX(), currentLoc.getY(), southLoc.getX(), southLoc.getY());
-		if (LocalAreaUtil.isLinePathCollisionFree(southLine, worker.getCoordinates(), true)) {
+		if (LocalAreaUtil.isLinePathCollisionFree(southLine, worker.getCoordinates())) {
 			result.add(southLoc);
 		}
 
@@ -485,7 +485,7 @@ public class WalkOutside extends Task {
 		LocalPosition westLoc = new LocalPosition(currentLoc.getX() + NEIGHBOR_DISTANCE, currentLoc.getY());
 		Line2D westLine = new Line2D.Double(currentLoc.getX(), currentLoc.getY(), westLoc.getX(), westLoc.getY());
 
-		if (LocalAreaUtil.isLinePathCollisionFree(westLine, worker.getCoordinates(), true)) {
+		if (LocalAreaUtil.isLinePathCollisionFree(westLine, worker.getCoordinates())) {
 			result.add(westLoc);
 		}
 
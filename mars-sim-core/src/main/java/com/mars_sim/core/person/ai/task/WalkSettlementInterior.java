@@ -299,7 +299,7 @@ public class WalkSettlementInterior extends Task {
 			
 			InsidePathLocation location = walkingPath.getNextPathLocation();
 
-			logger.log(worker, Level.FINEST, 0, "Close enough to final destination ("
+			logger.log(worker, Level.FINEST, 0, () -> "Close enough to final destination ("
 					+ location.getPosition());
 			
 			worker.setPosition(location.getPosition());
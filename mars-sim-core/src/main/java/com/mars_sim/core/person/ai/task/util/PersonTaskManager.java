@@ -6,14 +6,17 @@
  */
 package com.mars_sim.core.person.ai.task.util;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.mars_sim.core.data.RatingScore;
 import com.mars_sim.core.logging.SimLogger;
 import com.mars_sim.core.mission.util.MissionRating;
 import com.mars_sim.core.person.Person;
+import com.mars_sim.core.person.PhysicalCondition;
 import com.mars_sim.core.person.ai.CacheCreator;
 import com.mars_sim.core.person.ai.Mind;
+import com.mars_sim.core.person.ai.mission.Mission;
 import com.mars_sim.core.person.ai.shift.ShiftSlot.WorkStatus;
 import com.mars_sim.core.person.ai.task.EatDrink;
 import com.mars_sim.core.person.ai.task.Sleep;
@@ -29,6 +32,14 @@ import com.mars_sim.core.time.MarsTime;
  */
 public class PersonTaskManager extends TaskManager {
 
+	/**
+	 * The inputs the Person's MetaTasks depend upon. If these have not changed then
+	 * the scores of the MetaTasks are still a fair reflection. Physical needs are
+	 * banded so only a significant change triggers a rebuild.
+	 */
+	private record CacheInputs(WorkStatus status, Object location, Mission mission,
+								int buildings, int hunger, int thirst, int fatigue, int stress) {}
+
 	/** default serial id. */
 	private static final long serialVersionUID = 1L;
 
@@ -42,6 +53,11 @@ public class PersonTaskManager extends TaskManager {
 	private static final String EAT = "Eat";
 
 	private static final String DIAGS_MODULE = "taskperson";
+
+	/** Maximum age of a Task cache [in millisols] even if nothing has changed. */
+	private static final double MAX_CACHE_AGE = 5D;
+	private static final int FATIGUE_BAND = 250;
+	private static final int STRESS_BAND = 10;
 	
 	// Data members
 	
@@ -54,6 +70,13 @@ public class PersonTaskManager extends TaskManager {
 
 	private transient Person person;
 
+	/** Jobs from the Person's own MetaTasks; reused whilst the inputs are the same. */
+	private transient List<TaskJob> personalJobs;
+	private transient CacheInputs personalInputs;
+	private transient MarsTime personalCreated;
+	/** Version of the Settlement tasks used in the current cache. */
+	private transient int settlementVersion = -1;
+
 
 	/**
 	 * Constructor.
@@ -91,6 +114,7 @@ public class PersonTaskManager extends TaskManager {
 		List<FactoryMetaTask> mtList = null;
 		String shiftDesc = null;
 		WorkStatus workStatus = person.getShiftSlot().getStatus();
+		CacheInputs inputs = getCacheInputs(workStatus);
         shiftDesc = switch (workStatus) {
             case OFF_DUTY, ON_LEAVE -> {
                 mtList = MetaTaskUtil.getNonDutyHourTasks();
@@ -110,18 +134,26 @@ public class PersonTaskManager extends TaskManager {
 		// Create new taskProbCache
 		CacheCreator<TaskJob> newCache = new CacheCreator<>(shiftDesc, now);
 
-		// Determine probabilities.
-		for (FactoryMetaTask mt : mtList) {
-			List<TaskJob> job = mt.getTaskJobs(person);
-			if (job != null) {
-				newCache.add(job);
+		// Determine probabilities. Only rescore the MetaTasks if their inputs changed
+		if (!isPersonalValid(inputs, now)) {
+			personalJobs = new ArrayList<>();
+			for (FactoryMetaTask mt : mtList) {
+				List<TaskJob> job = mt.getTaskJobs(person);
+				if (job != null) {
+					personalJobs.addAll(job);
+				}
 			}
+			personalInputs = inputs;
+			personalCreated = now;
 		}
+		newCache.add(personalJobs);
 
 		// Add in any Settlement Tasks
+		settlementVersion = -1;
 		if ((workStatus == WorkStatus.ON_DUTY) && person.isInSettlement()) {
 			SettlementTaskManager stm = person.getAssociatedSettlement().getTaskManager();
 			newCache.add(stm.getTasks(person));
+			settlementVersion = stm.getVersion();
 		}
 
 		// Check if the map cache is empty
@@ -138,6 +170,60 @@ public class PersonTaskManager extends TaskManager {
 		return newCache;
 	}
 
+	/**
+	 * A cache remains valid until the inputs of the MetaTasks or the Settlement tasks change
+	 * or it reaches the maximum age.
+	 * 
+	 * @param cache Cache to check
+	 * @param now The current MarsTime
+	 */
+	@Override
+	protected boolean isCacheValid(CacheCreator<TaskJob> cache, MarsTime now) {
+		WorkStatus workStatus = person.getShiftSlot().getStatus();
+		if (!isPersonalValid(getCacheInputs(workStatus), now)) {
+			return false;
+		}
+
+		int currentVersion = -1;
+		if ((workStatus == WorkStatus.ON_DUTY) && person.isInSettlement()) {
+			currentVersion = person.getAssociatedSettlement().getTaskManager().getVersion();
+		}
+		return (currentVersion == settlementVersion);
+	}
+
+	/**
+	 * Are the jobs from the Person's own MetaTasks still valid?
+	 * 
+	 * @param inputs Current inputs
+	 * @param now
+	 */
+	private boolean isPersonalValid(CacheInputs inputs, MarsTime now) {
+		return (personalJobs != null) && inputs.equals(personalInputs)
+				&& (now.getTimeDiff(personalCreated) < MAX_CACHE_AGE);
+	}
+
+	/**
+	 * Captures the current inputs used by the MetaTasks of the Person.
+	 * 
+	 * @param workStatus
+	 * @return
+	 */
+	private CacheInputs getCacheInputs(WorkStatus workStatus) {
+		Object location = person.getBuildingLocation();
+		if (location == null) {
+			location = person.getContainerUnit();
+		}
+		var settlement = person.getAssociatedSettlement();
+		int buildings = (settlement != null ? settlement.getBuildingManager().getNumBuildings() : 0);
+		var pc = person.getPhysicalCondition();
+
+		return new CacheInputs(workStatus, location, person.getMission(), buildings,
+						(int) (pc.getHunger() / PhysicalCondition.HUNGER_THRESHOLD),
+						(int) (pc.getThirst() / PhysicalCondition.THIRST_THRESHOLD),
+						(int) (pc.getFatigue() / FATIGUE_BAND),
+						(int) (pc.getStress() / STRESS_BAND));
+	}
+
 	/**
 	 * Shared cache for person who are Inside. Contains the basic Task
 	 * that can always be done.
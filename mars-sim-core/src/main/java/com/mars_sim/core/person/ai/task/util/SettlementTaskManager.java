@@ -75,6 +75,8 @@ public class SettlementTaskManager implements Serializable {
     private int callCount;
     private int buildCount = 0;
     private int executedCount = 0;
+    /** Changes whenever the set of available tasks changes. */
+    private transient int version = 0;
 
     public SettlementTaskManager(Settlement owner) {
         this.owner = owner;
@@ -87,8 +89,8 @@ public class SettlementTaskManager implements Serializable {
      */
     void removeTask(SettlementTask source) {
         executedCount++;
-        if (tasks != null) {
-            tasks.remove(source);
+        if ((tasks != null) && tasks.remove(source)) {
+            version++;
         }
     }
 
@@ -108,10 +110,14 @@ public class SettlementTaskManager implements Serializable {
      */
     private List<SettlementTask> getTasks() {
         if (refreshTasks || (tasks == null)) {
-            tasks = new ArrayList<>();
+            List<SettlementTask> newTasks = new ArrayList<>();
             for (SettlementMetaTask mt : getMetaTasks()) {
-                tasks.addAll(mt.getSettlementTasks(owner));
+                newTasks.addAll(mt.getSettlementTasks(owner));
             }
+            if (!isSameTasks(tasks, newTasks)) {
+                version++;
+            }
+            tasks = newTasks;
             refreshTasks = false;
             buildCount++;
 
@@ -122,6 +128,36 @@ public class SettlementTaskManager implements Serializable {
         return tasks;
     }
 
+    /**
+     * Checks whether two task lists offer the same work.
+     */
+    private static boolean isSameTasks(List<SettlementTask> oldTasks, List<SettlementTask> newTasks) {
+        if ((oldTasks == null) || (oldTasks.size() != newTasks.size())) {
+            return false;
+        }
+        for (int i = 0; i < newTasks.size(); i++) {
+            SettlementTask o = oldTasks.get(i);
+            SettlementTask n = newTasks.get(i);
+            if ((o.getMeta() != n.getMeta()) || (o.getDemand() != n.getDemand())
+                    || !o.getName().equals(n.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the version of the available tasks. This changes when tasks are added
+     * or removed so Workers know their own Task cache is out of date.
+     * 
+     * @return
+     */
+    public int getVersion() {
+        // Make sure the tasks are current
+        getTasks();
+        return version;
+    }
+
     /**
      * Gets the currently available SettlementTasks. This list maybe be null.
      * 
@@ -1354,7 +1354,7 @@ public abstract class Task implements Serializable, Comparable<Task> {
 					Building building = buildingList.get(buildingIndex);
 
 					if (!robot.getSettlement().getAdjacentBuildings(building).isEmpty()) {
-						logger.log(robot, Level.FINER, 5000, "Walking toward " + building.getName());
+						logger.log(robot, Level.FINER, 5000, () -> "Walking toward " + building.getName());
 						walkToActivitySpotInBuilding(building, fct, allowFail);
 					}
 				}
@@ -1390,7 +1390,7 @@ public abstract class Task implements Serializable, Comparable<Task> {
 					Building building = buildingList.get(buildingIndex);
 
 					if (!robot.getSettlement().getAdjacentBuildings(building).isEmpty()) {
-						logger.fine(robot, 5000, "Walking toward " + building.getName());
+						logger.fine(robot, 5000, () -> "Walking toward " + building.getName());
 						canWalk = walkToActivitySpotInBuilding(building, functionType, allowFail);
 					}
 				}
@@ -0,0 +1,67 @@
+/*
+ * Mars Simulation Project
+ * TaskCacheBenchmark.java
+ */
+package com.mars_sim.core.person.ai.task.util;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mars_sim.core.Simulation;
+import com.mars_sim.core.SimulationConfig;
+import com.mars_sim.core.configuration.ScenarioConfig;
+import com.mars_sim.core.structure.SettlementBuilder;
+import com.mars_sim.core.time.MarsTime;
+
+/**
+ * Measures the time taken to rebuild the task cache of every person and robot.
+ * The simulation is the single settlement scenario; the name of another scenario
+ * can be given as the argument.
+ */
+final class TaskCacheBenchmark {
+
+	private static final String DEFAULT_SCENARIO = "Single Settlement";
+
+	private TaskCacheBenchmark() {
+	}
+
+	/**
+	 * Runs the benchmark of the task cache rebuild.
+	 */
+	public static void main(String[] args) {
+		DecimalFormat formatter = new DecimalFormat("###,###,###.000");
+		int runs = 100;
+
+		SimulationConfig simConfig = SimulationConfig.instance();
+		simConfig.loadConfig();
+		Simulation sim = Simulation.instance();
+		sim.createNewSimulation(64);
+		new SettlementBuilder(sim, simConfig).createInitialSettlements(
+				new ScenarioConfig().getItem(args.length > 0 ? args[0] : DEFAULT_SCENARIO));
+
+		List<TaskManager> managers = new ArrayList<>();
+		sim.getUnitManager().getPeople().forEach(p -> managers.add(p.getTaskManager()));
+		sim.getUnitManager().getRobots().forEach(r -> managers.add(r.getTaskManager()));
+		MarsTime now = sim.getMasterClock().getMarsTime();
+
+		// Warm up
+		for (TaskManager m : managers) {
+			m.rebuildTaskCache(now);
+		}
+
+		int entries = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < runs; i++) {
+			for (TaskManager m : managers) {
+				entries += m.rebuildTaskCache(now).getCache().size();
+			}
+		}
+		long time = System.nanoTime() - start;
+
+		int rebuilds = runs * managers.size();
+		System.out.println("Rebuilt " + rebuilds + " task caches for " + managers.size() + " workers - "
+				+ formatter.format(time / (rebuilds * 1_000_000D)) + " ms per rebuild, "
+				+ (entries / Math.max(1, rebuilds)) + " entries on average.");
+	}
+}
@@ -6,15 +6,21 @@
  */
 package com.mars_sim.core.person.ai.task.util;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.mars_sim.core.Simulation;
 import com.mars_sim.core.SimulationConfig;
+import com.mars_sim.core.SimulationRuntime;
 import com.mars_sim.core.UnitEventType;
 import com.mars_sim.core.data.History;
+import com.mars_sim.core.data.HistoryArchive;
 import com.mars_sim.core.data.RatingLog;
 import com.mars_sim.core.data.RatingScore;
 import com.mars_sim.core.logging.SimLogger;
@@ -41,6 +47,15 @@ public abstract class TaskManager implements Serializable {
 	/** Number of days to record Tack Activities. */	
 	private static MasterClock master;
 
+	/** Maximum number of distinct activities shared; the table is emptied when it is full. */
+	private static final int MAX_SHARED_ACTIVITIES = 20_000;
+	/** Activities shared by all workers so each distinct one is only held once. */
+	private static final Map<OneActivity, OneActivity> sharedActivities = new ConcurrentHashMap<>();
+	/** File in the data directory archiving the activities that drop out of the history. */
+	private static final String ACTIVITY_ARCHIVE_FILE = "activities.log";
+	/** Optional archive of the activities that drop out of the history. */
+	private static HistoryArchive activityArchive;
+
 	/**The worker **/
 	private transient Worker worker;
 	/** The current task the worker is doing. */
@@ -67,6 +82,29 @@ public abstract class TaskManager implements Serializable {
 		this.worker = worker;
 		allActivities = new History<>(150);   // Equivalent of 3 days
 		pendingTasks = new CopyOnWriteArrayList<>();
+		attachArchive();
+	}
+
+	private void attachArchive() {
+		if (activityArchive != null) {
+			allActivities.setOverflow(activityArchive.createOverflow(worker.getName(),
+					a -> a.getTaskName() + " | " + a.getDescription() + " | " + a.getPhase()));
+		}
+	}
+
+	/**
+	 * Gets the shared copy of an activity.
+	 * 
+	 * @param activity
+	 * @return
+	 */
+	private static OneActivity share(OneActivity activity) {
+		if (sharedActivities.size() >= MAX_SHARED_ACTIVITIES) {
+			// Existing histories keep their copy
+			sharedActivities.clear();
+		}
+		OneActivity existing = sharedActivities.putIfAbsent(activity, activity);
+		return (existing != null ? existing : activity);
 	}
 
 	/**
@@ -278,6 +316,17 @@ public abstract class TaskManager implements Serializable {
 	 */
 	protected abstract CacheCreator<TaskJob> rebuildTaskCache(MarsTime now);
 
+	/**
+	 * Is a Task cache still valid for the Worker? By default a cache is only valid
+	 * for the pulse it was created in.
+	 * 
+	 * @param cache Cache to check
+	 * @param now The current MarsTime
+	 */
+	protected boolean isCacheValid(CacheCreator<TaskJob> cache, MarsTime now) {
+		return now.getMillisol() == cache.getCreatedTime().getMillisol();
+	}
+
 	/**
 	 * Constructs a new Task of the specified type.
 	 * 
@@ -339,7 +388,7 @@ public abstract class TaskManager implements Serializable {
 											newPhase, 
 											missionName);
 
-		allActivities.add(newActivity);
+		allActivities.add(share(newActivity));
 	}
 	
 	
@@ -453,7 +502,7 @@ public abstract class TaskManager implements Serializable {
 		// ignore the cache
 		MarsTime now = master.getMarsTime();
 		if ((taskProbCache == null)  || (taskProbCache.getCreatedTime() == null) || taskProbCache.getCache().isEmpty()
-				|| (now.getMillisol() != taskProbCache.getCreatedTime().getMillisol())) {
+				|| !isCacheValid(taskProbCache, now)) {
 			taskProbCache = rebuildTaskCache(now);
 		}
 
@@ -691,6 +740,26 @@ public abstract class TaskManager implements Serializable {
 		Task.initializeInstances(sim, conf.getPersonConfig());
 		RespondToStudyInvitation.initialiseInstances(conf.getScienceConfig());
 		master = sim.getMasterClock();
+
+		if ((activityArchive == null) && conf.isActivityArchived()) {
+			File file = new File(SimulationRuntime.getDataDir(), ACTIVITY_ARCHIVE_FILE);
+			try {
+				activityArchive = new HistoryArchive(file);
+			}
+			catch (IOException e) {
+				logger.warning("Cannot open the activity archive " + file + ": " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Closes the archive of the activities that dropped out of the histories.
+	 */
+	public static void closeActivityArchive() {
+		if (activityArchive != null) {
+			activityArchive.close();
+			activityArchive = null;
+		}
 	}
 	
 
@@ -703,6 +772,7 @@ public abstract class TaskManager implements Serializable {
 		if (lastTask != null)
 			lastTask.reinit();
 		this.worker = worker;
+		attachArchive();
 	}
 	
 	/**
@@ -63,6 +63,7 @@ import com.mars_sim.core.parameter.ParameterManager;
 import com.mars_sim.core.person.Commander;
 import com.mars_sim.core.person.Person;
 import com.mars_sim.core.person.PhysicalCondition;
+import com.mars_sim.core.person.PopulationPhysiology;
 import com.mars_sim.core.person.ai.job.util.JobUtil;
 import com.mars_sim.core.person.ai.mission.MissionLimitParameters;
 import com.mars_sim.core.person.ai.mission.MissionType;
@@ -263,6 +264,8 @@ public class Settlement extends Unit implements Temporal,
 	private ChainOfCommand chainOfCommand;
 	/** The settlement's location. */
 	private Coordinates location;
+	/** ID of the settlement's location in the weather. */
+	private int weatherLocationId;
 	/** The settlement's last dust storm. */
 	private DustStorm storm;
 	/** The settlement's EquipmentInventory instance. */
@@ -274,6 +277,8 @@ public class Settlement extends Unit implements Temporal,
 	private SettlementTaskManager taskManager;
 	private ScheduledEventManager futureEvents;
 	private ManufacturingManager manuManager;
+	/** The vitals of the citizens when they are updated in a batch; rebuilt after loading. */
+	private transient PopulationPhysiology physiology;
 	
 	/** The settlement objective type instance. */
 	private ObjectiveType objectiveType;
@@ -345,6 +350,7 @@ public class Settlement extends Unit implements Temporal,
 		this.settlementCode = createCode(name);
 		this.location = location;
 		this.timeOffset = MarsSurface.getTimeOffset(location);
+		weatherLocationId = weather.addLocation(location);
 		
 		citizens = new UnitSet<>();
 		ownedRobots = new UnitSet<>();
@@ -413,7 +419,7 @@ public class Settlement extends Unit implements Temporal,
 							 MissionType.CONSTRUCTION.name(), 1);
 
 		// Call weather to add this location
-		weather.addLocation(location);
+		weatherLocationId = weather.addLocation(location);
 
 		explorations = new ExplorationManager(this);
 			
@@ -534,6 +540,15 @@ public class Settlement extends Unit implements Temporal,
 		return location;
 	}
 
+	/**
+	 * Gets the ID of the settlement's location to read the weather and surface fields.
+	 * 
+	 * @return
+	 */
+	public int getWeatherLocationId() {
+		return weatherLocationId;
+	}
+
 	/**
 	 * Gets the 2-letter settlement code.
 	 * 
@@ -792,7 +807,7 @@ public class Settlement extends Unit implements Temporal,
 		currentPressure =  totalPressureArea * AirComposition.KPA_PER_ATM / totalArea;
 		currentTemperature = totalTArea / totalArea;
 
-		outsideTemperature = weather.getTemperature(location);
+		outsideTemperature = weather.getTemperature(weatherLocationId);
 	}
 
 	/**
@@ -852,6 +867,17 @@ public class Settlement extends Unit implements Temporal,
 		buildingManager.timePassing(pulse);
 		taskManager.timePassing();
 
+		if ((physiology == null) && simulationConfig.isBatchPhysiology()) {
+			physiology = new PopulationPhysiology();
+			for (Person p : citizens) {
+				physiology.attach(p.getPhysicalCondition());
+			}
+		}
+		if (physiology != null) {
+			// Citizens' vitals change before they receive the pulse
+			physiology.timePassing(pulse);
+		}
+
 		// Update citizens
 		timePassingCitizens(pulse);
 
@@ -1674,6 +1700,10 @@ public class Settlement extends Unit implements Temporal,
 			// Update the numCtizens
 			numCitizens = citizens.size();
 
+			if (physiology != null) {
+				physiology.attach(p.getPhysicalCondition());
+			}
+
 			// Update mission limit dependent upon population
 			setMissionLimit(MissionLimitParameters.TOTAL_MISSIONS, 1, 5);
 			setMissionLimit(MissionType.MINING.name(), 0, 8);
@@ -1724,6 +1754,10 @@ public class Settlement extends Unit implements Temporal,
 			removePeopleWithin(p);
 			// Update the numCtizens
 			numCitizens = citizens.size();
+
+			if (physiology != null) {
+				physiology.detach(p.getPhysicalCondition());
+			}
 			// Fire unit update
 			fireUnitUpdate(UnitEventType.REMOVE_ASSOCIATED_PERSON_EVENT, this);
 			
@@ -3245,6 +3279,9 @@ public class Settlement extends Unit implements Temporal,
 		
 		if (terrainElevation == null) 
 			terrainElevation = surfaceFeatures.getTerrainElevation();
+
+		// Saves from before the location IDs hold 0
+		weatherLocationId = weather.addLocation(location);
 		
 		buildingManager.reinit();
 	}
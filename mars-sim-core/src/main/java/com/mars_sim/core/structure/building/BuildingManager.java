@@ -224,6 +224,7 @@ public class BuildingManager implements Serializable {
 			oldBuilding.removeFunctionsFromSettlement();
 
 			buildings.remove(oldBuilding);
+			LocalAreaUtil.removeBoundedObject(oldBuilding, settlement.getCoordinates());
 
 			// use this only after buildingFunctionsMap has been created
 			for (var f : oldBuilding.getFunctions()) {
@@ -323,6 +324,7 @@ public class BuildingManager implements Serializable {
 			unitManager.addUnit(newBuilding);
 
 			buildings.add(newBuilding);
+			LocalAreaUtil.updateBoundedObject(newBuilding, settlement.getCoordinates());
 			
 			// Insert this new building into buildingFunctionsMap
 			refreshFunctionMapForBuilding(newBuilding);
@@ -346,6 +348,7 @@ public class BuildingManager implements Serializable {
 	public void addMockBuilding(Building newBuilding) {
 		if (!buildings.contains(newBuilding)) {
 			buildings.add(newBuilding);
+			LocalAreaUtil.updateBoundedObject(newBuilding, settlement.getCoordinates());
 		}
 	}
 
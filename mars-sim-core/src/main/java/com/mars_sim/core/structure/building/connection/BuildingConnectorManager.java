@@ -61,6 +61,8 @@ public class BuildingConnectorManager implements Serializable {
 	private Settlement settlement;
 	
 	private Set<BuildingConnector> buildingConnections;
+	/** Shortest routes between the buildings; null when it needs building. */
+	private transient volatile BuildingRouteIndex routeIndex;
 		
 	/**
 	 * Constructor
@@ -88,6 +90,7 @@ public class BuildingConnectorManager implements Serializable {
 	public void initialize(Settlement settlement, List<BuildingTemplate> buildingTemplates) {
 		
 		buildingConnections = new HashSet<>();
+		routeIndex = null;
 
 		BuildingManager buildingManager = settlement.getBuildingManager();
 
@@ -369,10 +372,14 @@ public class BuildingConnectorManager implements Serializable {
 	 * 
 	 * @param buildingConnector new building connector.
 	 */
-	public void addBuildingConnection(BuildingConnector buildingConnector) {
+	public synchronized void addBuildingConnection(BuildingConnector buildingConnector) {
 
 		if (!buildingConnections.contains(buildingConnector)) {
 			buildingConnections.add(buildingConnector);
+			BuildingRouteIndex current = routeIndex;
+			if (current != null) {
+				routeIndex = current.addConnector(buildingConnector);
+			}
 		} else {
 			throw new IllegalArgumentException("BuildingConnector already exists.");
 		}
@@ -383,10 +390,12 @@ public class BuildingConnectorManager implements Serializable {
 	 * 
 	 * @param buildingConnector old building connector.
 	 */
-	public void removeBuildingConnection(BuildingConnector buildingConnector) {
+	public synchronized void removeBuildingConnection(BuildingConnector buildingConnector) {
 
 		if (buildingConnections.contains(buildingConnector)) {
 			buildingConnections.remove(buildingConnector);
+			// Routes may get longer so rebuild on the next request
+			routeIndex = null;
 		} else {
 			throw new IllegalArgumentException("BuildingConnector does not exists.");
 		}
@@ -397,7 +406,7 @@ public class BuildingConnectorManager implements Serializable {
 	 * 
 	 * @param building the building.
 	 */
-	public void removeAllConnectionsToBuilding(Building building) {
+	public synchronized void removeAllConnectionsToBuilding(Building building) {
 
 		Iterator<BuildingConnector> i = getConnectionsToBuilding(building).iterator();
 		while (i.hasNext()) {
@@ -471,6 +480,25 @@ public class BuildingConnectorManager implements Serializable {
 		return result;
 	}
 
+	/**
+	 * Gets the routing index, building it if the connections have changed.
+	 * 
+	 * @return
+	 */
+	private BuildingRouteIndex getRouteIndex() {
+		BuildingRouteIndex result = routeIndex;
+		if (result == null) {
+			synchronized (this) {
+				result = routeIndex;
+				if (result == null) {
+					result = new BuildingRouteIndex(buildingConnections);
+					routeIndex = result;
+				}
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * Checks if there is a valid interior walking path between two buildings.
 	 * 
@@ -486,10 +514,7 @@ public class BuildingConnectorManager implements Serializable {
 			throw new IllegalArgumentException("Building arguments cannot be null");
 		}
 
-		InsideBuildingPath validPath = determineShortestPath(building1, building1.getPosition(),
-															building2, building2.getPosition());
-
-		if (validPath != null) {
+		if (building1.equals(building2) || getRouteIndex().isConnected(building1, building2)) {
 			result = true;
 		}
 		else if (logger.isLoggable(Level.FINEST)) {
@@ -514,109 +539,28 @@ public class BuildingConnectorManager implements Serializable {
 		BuildingLocation start = new BuildingLocation(startBuilding, startPosition);
 		BuildingLocation end = new BuildingLocation(endBuilding, endPosition);
 
-		InsideBuildingPath startingPath = new InsideBuildingPath();
-		startingPath.addPathLocation(start);
+		InsideBuildingPath finalPath = new InsideBuildingPath();
+		finalPath.addPathLocation(start);
 
-		InsideBuildingPath finalPath = null;
 		if (!startBuilding.equals(endBuilding)) {
-			// Check shortest path to target building from this building.
-			finalPath = determineShortestPath(startingPath, startBuilding, endBuilding, end);
-		} else {
-			finalPath = startingPath;
-			finalPath.addPathLocation(end);
+			// Follow the precomputed shortest route to target building
+			List<InsidePathLocation> route = getRouteIndex().findRoute(startBuilding, startPosition,
+																endBuilding, endPosition);
+			if (route == null) {
+				return null;
+			}
+			for (InsidePathLocation location : route) {
+				finalPath.addPathLocation(location);
+			}
 		}
+		finalPath.addPathLocation(end);
 
 		// Iterate path index.
-		if (finalPath != null) {
-			finalPath.iteratePathLocation();
-		}
+		finalPath.iteratePathLocation();
 
 		return finalPath;
 	}
 
-	/**
-	 * Recursive method to determine the shortest path between two buildings.
-	 * 
-	 * @param existingPath    the current path.
-	 * @param currentBuilding the current building.
-	 * @param targetBuilding  the target building.
-	 * @param endingLocation  the end building location.
-	 * @return shortest path or null if none found.
-	 */
-	private InsideBuildingPath determineShortestPath(InsideBuildingPath existingPath, Building currentBuilding,
-			Building targetBuilding, BuildingLocation endingLocation) {
-
-		InsideBuildingPath result = null;
-
-		// Try each building connection from current building.
-		Iterator<BuildingConnector> i = getConnectionsToBuilding(currentBuilding).iterator();
-		while (i.hasNext()) {
-			BuildingConnector connector = i.next();
-
-			Building connectionBuilding = null;
-			Hatch nearHatch = null;
-			Hatch farHatch = null;
-			if (connector.getBuilding1().equals(currentBuilding)) {
-				connectionBuilding = connector.getBuilding2();
-				nearHatch = connector.getHatch1();
-				farHatch = connector.getHatch2();
-			} else {
-				connectionBuilding = connector.getBuilding1();
-				nearHatch = connector.getHatch2();
-				farHatch = connector.getHatch1();
-			}
-
-			// Make sure building or connection is not already in existing path.
-			boolean inExistingPath = existingPath.containsPathLocation(connectionBuilding);
-            if (existingPath.containsPathLocation(connector)) {
-				inExistingPath = true;
-			}
-			if (existingPath.containsPathLocation(nearHatch)) {
-				inExistingPath = true;
-			}
-			if (existingPath.containsPathLocation(farHatch)) {
-				inExistingPath = true;
-			}
-			if (inExistingPath) {
-				continue;
-			}
-
-			// Copy existing path to create new path.
-			InsideBuildingPath newPath = new InsideBuildingPath(existingPath);
-
-			// Add building connector to new path.
-			if (connector.isSplitConnection()) {
-				newPath.addPathLocation(nearHatch);
-				newPath.addPathLocation(connector);
-				newPath.addPathLocation(farHatch);
-			} else {
-				newPath.addPathLocation(connector);
-			}
-
-			InsideBuildingPath bestPath = null;
-			if (connectionBuilding.equals(targetBuilding)) {
-				// Add ending location within connection building.
-				newPath.addPathLocation(endingLocation);
-				bestPath = newPath;
-			} else {
-				// Add connection building to new path.
-				newPath.addPathLocation(connectionBuilding);
-
-				// Recursively call this method with new path and connection building.
-				// Note: how to avoid StackOverflow ?
-				bestPath = determineShortestPath(newPath, connectionBuilding, targetBuilding, endingLocation);
-			}
-
-			if (bestPath != null) {
-				if ((result == null) || (bestPath.getPathLength() < result.getPathLength())) {
-					result = bestPath;
-				}
-			}
-		}
-
-		return result;
-	}
-
 	/**
 	 * Creates building connections from a new building to the surrounding buildings.
 	 * 
@@ -954,6 +898,7 @@ public class BuildingConnectorManager implements Serializable {
 		}
 		// buildingConnections.clear();
 		buildingConnections = null;
+		routeIndex = null;
 	}
 
 	/**
@@ -0,0 +1,379 @@
+/*
+ * Mars Simulation Project
+ * BuildingRouteIndex.java
+ */
+package com.mars_sim.core.structure.building.connection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mars_sim.core.map.location.LocalPosition;
+import com.mars_sim.core.structure.building.Building;
+
+/**
+ * A routing index over the building connectors of a settlement. It holds the shortest
+ * walking distance between the centres of every pair of buildings together with the
+ * next building on that route, so reachability is a lookup and a path is rebuilt
+ * by following the next hops.
+ * An index is never changed once published; adding a connector creates an updated copy.
+ */
+final class BuildingRouteIndex {
+
+	private static final double UNREACHABLE = Double.POSITIVE_INFINITY;
+	private static final int NO_HOP = -1;
+
+	private final Map<Building, Integer> indexes;
+	private final List<Building> buildings;
+	private final List<List<BuildingConnector>> adjacent;
+	/** Shortest distance between building centres. */
+	private final double[][] dist;
+	/** The next building on the shortest route. */
+	private final int[][] next;
+	/** The best connector between two adjacent buildings. */
+	private final BuildingConnector[][] via;
+
+	/**
+	 * Builds the index for a set of connectors.
+	 *
+	 * @param connectors
+	 */
+	BuildingRouteIndex(Collection<BuildingConnector> connectors) {
+		indexes = new HashMap<>();
+		buildings = new ArrayList<>();
+		adjacent = new ArrayList<>();
+		for (BuildingConnector c : connectors) {
+			addBuilding(c.getBuilding1()).add(c);
+			addBuilding(c.getBuilding2()).add(c);
+		}
+
+		int n = buildings.size();
+		dist = new double[n][n];
+		next = new int[n][n];
+		via = new BuildingConnector[n][n];
+		for (int i = 0; i < n; i++) {
+			Arrays.fill(dist[i], UNREACHABLE);
+			Arrays.fill(next[i], NO_HOP);
+			dist[i][i] = 0D;
+			next[i][i] = i;
+		}
+
+		for (BuildingConnector c : connectors) {
+			int a = indexes.get(c.getBuilding1());
+			int b = indexes.get(c.getBuilding2());
+			double w = getCrossingDistance(buildings.get(a).getPosition(), c, buildings.get(a),
+											buildings.get(b).getPosition());
+			if (w < dist[a][b]) {
+				setEdge(a, b, w, c);
+			}
+		}
+
+		// Floyd-Warshall
+		for (int k = 0; k < n; k++) {
+			double[] distK = dist[k];
+			for (int i = 0; i < n; i++) {
+				double ik = dist[i][k];
+				if (ik == UNREACHABLE) {
+					continue;
+				}
+				double[] distI = dist[i];
+				for (int j = 0; j < n; j++) {
+					double d = ik + distK[j];
+					if (d < distI[j]) {
+						distI[j] = d;
+						next[i][j] = next[i][k];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Creates a copy of an index with room for any new buildings of a connector.
+	 */
+	private BuildingRouteIndex(BuildingRouteIndex source, BuildingConnector connector) {
+		indexes = new HashMap<>(source.indexes);
+		buildings = new ArrayList<>(source.buildings);
+		adjacent = new ArrayList<>(source.adjacent);
+
+		// Only the lists of the connected buildings change
+		for (Building b : List.of(connector.getBuilding1(), connector.getBuilding2())) {
+			Integer idx = indexes.get(b);
+			if (idx != null) {
+				adjacent.set(idx, new ArrayList<>(adjacent.get(idx)));
+			}
+			addBuilding(b).add(connector);
+		}
+
+		int oldSize = source.buildings.size();
+		int n = buildings.size();
+		dist = new double[n][];
+		next = new int[n][];
+		via = new BuildingConnector[n][];
+		for (int i = 0; i < n; i++) {
+			if (i < oldSize) {
+				dist[i] = Arrays.copyOf(source.dist[i], n);
+				next[i] = Arrays.copyOf(source.next[i], n);
+				via[i] = Arrays.copyOf(source.via[i], n);
+				Arrays.fill(dist[i], oldSize, n, UNREACHABLE);
+				Arrays.fill(next[i], oldSize, n, NO_HOP);
+			}
+			else {
+				dist[i] = new double[n];
+				next[i] = new int[n];
+				via[i] = new BuildingConnector[n];
+				Arrays.fill(dist[i], UNREACHABLE);
+				Arrays.fill(next[i], NO_HOP);
+				dist[i][i] = 0D;
+				next[i][i] = i;
+			}
+		}
+	}
+
+	/**
+	 * Creates an index that also includes a new connector. Only the routes that can
+	 * use the new connector are updated rather than the whole index being rebuilt.
+	 *
+	 * @param connector
+	 * @return
+	 */
+	BuildingRouteIndex addConnector(BuildingConnector connector) {
+		BuildingRouteIndex result = new BuildingRouteIndex(this, connector);
+		result.relaxEdge(connector);
+		return result;
+	}
+
+	private List<BuildingConnector> addBuilding(Building b) {
+		Integer idx = indexes.get(b);
+		if (idx == null) {
+			idx = buildings.size();
+			indexes.put(b, idx);
+			buildings.add(b);
+			adjacent.add(new ArrayList<>());
+		}
+		return adjacent.get(idx);
+	}
+
+	private void setEdge(int a, int b, double w, BuildingConnector c) {
+		dist[a][b] = w;
+		dist[b][a] = w;
+		next[a][b] = b;
+		next[b][a] = a;
+		via[a][b] = c;
+		via[b][a] = c;
+	}
+
+	/**
+	 * Updates the shortest routes for a single new connector. A new shortest route
+	 * can only use the new connector once so every pair is checked against the old
+	 * routes to both ends of it.
+	 */
+	private void relaxEdge(BuildingConnector c) {
+		int a = indexes.get(c.getBuilding1());
+		int b = indexes.get(c.getBuilding2());
+		Building aBuilding = buildings.get(a);
+		double w = getCrossingDistance(aBuilding.getPosition(), c, aBuilding, buildings.get(b).getPosition());
+		if (w >= dist[a][b]) {
+			// No route gets shorter
+			return;
+		}
+		via[a][b] = c;
+		via[b][a] = c;
+
+		int n = buildings.size();
+		double[] toA = new double[n];
+		double[] toB = new double[n];
+		int[] hopA = new int[n];
+		int[] hopB = new int[n];
+		for (int i = 0; i < n; i++) {
+			toA[i] = dist[i][a];
+			toB[i] = dist[i][b];
+			hopA[i] = next[i][a];
+			hopB[i] = next[i][b];
+		}
+
+		for (int i = 0; i < n; i++) {
+			boolean reachA = (toA[i] != UNREACHABLE);
+			boolean reachB = (toB[i] != UNREACHABLE);
+			if (!reachA && !reachB) {
+				continue;
+			}
+			for (int j = 0; j < n; j++) {
+				// Routes are symmetric so the distance from b to j is the distance from j to b
+				double viaAB = toA[i] + w + toB[j];
+				double viaBA = toB[i] + w + toA[j];
+				if (viaAB < dist[i][j] && viaAB <= viaBA) {
+					dist[i][j] = viaAB;
+					next[i][j] = (i == a ? b : hopA[i]);
+				}
+				else if (viaBA < dist[i][j]) {
+					dist[i][j] = viaBA;
+					next[i][j] = (i == b ? a : hopB[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if there is an interior route between two different buildings.
+	 *
+	 * @param building1
+	 * @param building2
+	 * @return
+	 */
+	boolean isConnected(Building building1, Building building2) {
+		Integer i = indexes.get(building1);
+		Integer j = indexes.get(building2);
+		return (i != null) && (j != null) && (dist[i][j] != UNREACHABLE);
+	}
+
+	/**
+	 * Gets the connectors attached to a building.
+	 *
+	 * @param building
+	 * @return
+	 */
+	List<BuildingConnector> getConnectors(Building building) {
+		Integer i = indexes.get(building);
+		return (i == null ? Collections.emptyList() : Collections.unmodifiableList(adjacent.get(i)));
+	}
+
+	/**
+	 * Finds the shortest route between positions in two different buildings. The route
+	 * is the connector locations and the intermediate buildings passed through; it does
+	 * not include the start and end positions.
+	 *
+	 * @param startBuilding
+	 * @param startPosition
+	 * @param endBuilding
+	 * @param endPosition
+	 * @return Route or null if the buildings are not connected
+	 */
+	List<InsidePathLocation> findRoute(Building startBuilding, LocalPosition startPosition,
+						Building endBuilding, LocalPosition endPosition) {
+		Integer s = indexes.get(startBuilding);
+		Integer e = indexes.get(endBuilding);
+		if ((s == null) || (e == null) || (dist[s][e] == UNREACHABLE)) {
+			return null;
+		}
+
+		double best = UNREACHABLE;
+		BuildingConnector bestFirst = null;
+		BuildingConnector bestLast = null;
+		for (BuildingConnector first : adjacent.get(s)) {
+			Building firstBuilding = getOtherBuilding(first, startBuilding);
+			if (firstBuilding.equals(endBuilding)) {
+				// Direct connection
+				double d = getCrossingDistance(startPosition, first, startBuilding, endPosition);
+				if (d < best) {
+					best = d;
+					bestFirst = first;
+					bestLast = null;
+				}
+				continue;
+			}
+
+			int f = indexes.get(firstBuilding);
+			double startLeg = getCrossingDistance(startPosition, first, startBuilding, firstBuilding.getPosition());
+			if (startLeg >= best) {
+				continue;
+			}
+			for (BuildingConnector last : adjacent.get(e)) {
+				Building lastBuilding = getOtherBuilding(last, endBuilding);
+				int l = indexes.get(lastBuilding);
+				if ((l == s) || (dist[f][l] == UNREACHABLE)) {
+					continue;
+				}
+				double d = startLeg + dist[f][l]
+							+ getCrossingDistance(lastBuilding.getPosition(), last, lastBuilding, endPosition);
+				if ((d < best) && !passesThrough(f, l, s, e)) {
+					best = d;
+					bestFirst = first;
+					bestLast = last;
+				}
+			}
+		}
+
+		if (bestFirst == null) {
+			return null;
+		}
+
+		List<InsidePathLocation> route = new ArrayList<>();
+		addCrossing(route, bestFirst, startBuilding);
+		if (bestLast != null) {
+			Building lastBuilding = getOtherBuilding(bestLast, endBuilding);
+			int current = indexes.get(getOtherBuilding(bestFirst, startBuilding));
+			int target = indexes.get(lastBuilding);
+			route.add(buildings.get(current));
+			while (current != target) {
+				int hop = next[current][target];
+				addCrossing(route, via[current][hop], buildings.get(current));
+				current = hop;
+				route.add(buildings.get(current));
+			}
+			addCrossing(route, bestLast, lastBuilding);
+		}
+		return route;
+	}
+
+	/**
+	 * Does the route between two buildings go through either of the excluded buildings.
+	 */
+	private boolean passesThrough(int from, int to, int excluded1, int excluded2) {
+		int current = from;
+		while (true) {
+			if ((current == excluded1) || (current == excluded2)) {
+				return true;
+			}
+			if (current == to) {
+				return false;
+			}
+			current = next[current][to];
+		}
+	}
+
+	private static Building getOtherBuilding(BuildingConnector c, Building b) {
+		return (c.getBuilding1().equals(b) ? c.getBuilding2() : c.getBuilding1());
+	}
+
+	/**
+	 * Adds the locations to cross a connector leaving a building.
+	 */
+	private static void addCrossing(List<InsidePathLocation> route, BuildingConnector c, Building from) {
+		if (c.isSplitConnection()) {
+			boolean forward = c.getBuilding1().equals(from);
+			route.add(forward ? c.getHatch1() : c.getHatch2());
+			route.add(c);
+			route.add(forward ? c.getHatch2() : c.getHatch1());
+		}
+		else {
+			route.add(c);
+		}
+	}
+
+	/**
+	 * Gets the walking distance between two positions through a connector.
+	 *
+	 * @param from Position in the building being left
+	 * @param c
+	 * @param fromBuilding Building being left
+	 * @param to Position in the building being entered
+	 * @return
+	 */
+	static double getCrossingDistance(LocalPosition from, BuildingConnector c, Building fromBuilding,
+						LocalPosition to) {
+		LocalPosition connector = c.getPosition();
+		if (c.isSplitConnection()) {
+			boolean forward = c.getBuilding1().equals(fromBuilding);
+			LocalPosition near = (forward ? c.getHatch1() : c.getHatch2()).getPosition();
+			LocalPosition far = (forward ? c.getHatch2() : c.getHatch1()).getPosition();
+			return from.getDistanceTo(near) + near.getDistanceTo(connector)
+						+ connector.getDistanceTo(far) + far.getDistanceTo(to);
+		}
+		return from.getDistanceTo(connector) + connector.getDistanceTo(to);
+	}
+}
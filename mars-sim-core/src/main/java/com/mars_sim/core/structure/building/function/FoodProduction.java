@@ -247,7 +247,7 @@ public class FoodProduction extends Function {
 
 		// Log food production process starting.
 		logger.log(getBuilding(), Level.FINEST, 20_000,
-				getBuilding()
+				() -> getBuilding()
 				+ " starting food production process: " + process.getInfo().getName());	
 	}
 
@@ -181,7 +181,7 @@ public class LifeSupport extends Function {
 			// Add person to this building.
 			occupants.add(person);
 			
-			logger.fine(person, 10_000L, "Added to " + building + "'s life support.");	
+			logger.fine(person, 10_000L, () -> "Added to " + building + "'s life support.");	
 		} 
 		else {
 			throw new IllegalStateException("Person already occupying building.");
@@ -196,7 +196,7 @@ public class LifeSupport extends Function {
 	public void removePerson(Person occupant) {
 		if (occupants.contains(occupant)) {
 			occupants.remove(occupant);
-			logger.fine(occupant, 10_000L, "Removed from " + building + "'s life support.");
+			logger.fine(occupant, 10_000L, () -> "Removed from " + building + "'s life support.");
 		} else {
 			throw new IllegalStateException("Person does not occupy building.");
 		}
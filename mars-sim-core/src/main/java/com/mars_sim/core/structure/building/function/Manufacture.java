@@ -258,7 +258,7 @@ public class Manufacture extends Function {
 
 		// Log manufacturing process starting.
 		logger.log(getBuilding(), Level.FINEST, 20_000,
-						"Starting manufacturing process: " + process.getInfo().getName());
+						() -> "Starting manufacturing process: " + process.getInfo().getName());
 		
 		return true;
 	}
@@ -194,7 +194,7 @@ public class RoboticStation extends Function {
 			robotOccupants.add(robot);
 			
 			// Add robot to this building.
-			logger.fine(robot,  10_000L, "Added to " + getBuilding() + "'s robotic station.");
+			logger.fine(robot,  10_000L, () -> "Added to " + getBuilding() + "'s robotic station.");
 		
 		} else {
 			throw new IllegalStateException("This robot is already in this building.");
@@ -210,7 +210,7 @@ public class RoboticStation extends Function {
 	public void removeRobot(Robot robot) {
 		if (robotOccupants.contains(robot)) {
 			robotOccupants.remove(robot);
-			logger.fine(robot, 10_000L, "Removed from " + getBuilding() + "'s robotic station.");
+			logger.fine(robot, 10_000L, () -> "Removed from " + getBuilding() + "'s robotic station.");
 		} else {
 			throw new IllegalStateException("The robot is not in this building.");
 		}
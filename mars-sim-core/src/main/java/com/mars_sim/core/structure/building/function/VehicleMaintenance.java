@@ -160,7 +160,7 @@ public abstract class VehicleMaintenance extends Function {
 				double newFacing = getBuilding().getFacing();
 				flyer.setFlyerLocation(newLoc, newFacing);
 		
-				logger.fine(flyer, "Added to " + building.getName() 
+				logger.fine(flyer, () -> "Added to " + building.getName() 
 					+ " in " + building.getSettlement() + ".");
 				
 				return true;
@@ -211,7 +211,7 @@ public abstract class VehicleMaintenance extends Function {
 				double newFacing = getBuilding().getFacing();
 				vehicle.setParkedLocation(newLoc, newFacing);
 		
-				logger.fine(vehicle, "Added to " + building.getName() 
+				logger.fine(vehicle, () -> "Added to " + building.getName() 
 					+ " in " + building.getSettlement() + ".");
 
 				return true;
@@ -241,7 +241,7 @@ public abstract class VehicleMaintenance extends Function {
 			 
 			parkInVicinity(vehicle);
 
-			logger.fine(vehicle, "Removed from " + building.getName() 
+			logger.fine(vehicle, () -> "Removed from " + building.getName() 
 				+ " in " + building.getSettlement() + ".");
 			
 			return true;
@@ -267,7 +267,7 @@ public abstract class VehicleMaintenance extends Function {
 			 
 			parkInVicinity(flyer);
 
-			logger.fine(flyer, "Removed from " + building.getName() 
+			logger.fine(flyer, () -> "Removed from " + building.getName() 
 				+ " in " + building.getSettlement() + ".");
 			
 			return true;
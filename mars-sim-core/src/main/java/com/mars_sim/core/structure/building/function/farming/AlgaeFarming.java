@@ -588,7 +588,7 @@ public class AlgaeFarming extends Function {
 		
 		adjustEnvironmentFactor(1D, LIGHT_FACTOR);
 		
-		double solarIrradiance = surface.getSolarIrradiance(building.getSettlement().getCoordinates());
+		double solarIrradiance = surface.getSolarIrradiance(building.getSettlement().getWeatherLocationId());
 		computeLight(pulse, time, solarIrradiance);
 		
 		// STEP 2 : COMPUTE THE EFFECTS OF THE TEMPERATURE
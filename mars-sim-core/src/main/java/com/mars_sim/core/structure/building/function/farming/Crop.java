@@ -329,7 +329,7 @@ public class Crop implements Comparable<Crop>, Entity {
 		currentPhase = newPhase;
 		currentPhaseWorkRequired = currentPhase.getWorkRequired() * 1000D;
 
-		logger.fine(this, "Entered a new phase " + currentPhase.getName());
+		logger.fine(this, () -> "Entered a new phase " + currentPhase.getName());
 	}
 
 	/**
@@ -669,7 +669,7 @@ public class Crop implements Comparable<Crop>, Entity {
 
 		// Safety check
 		if ((currentPhase.getPhaseType() == PhaseType.HARVESTING) && percentageGrowth > 115D)  {
-			logger.fine(this, "At " + percentageGrowth
+			logger.fine(this, () -> "At " + percentageGrowth
 					   + "% of growth, setting the phase to FINISHED.");
 			finishCrop(false);
 		}
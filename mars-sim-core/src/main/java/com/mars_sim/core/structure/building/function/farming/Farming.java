@@ -818,7 +818,7 @@ public class Farming extends Function {
 			else if (powerMode == PowerMode.LOW_POWER)
 				productionLevel = .5D;
 
-			double solarIrradiance = surface.getSolarIrradiance(building.getSettlement().getCoordinates());
+			double solarIrradiance = surface.getSolarIrradiance(building.getSettlement().getWeatherLocationId());
 			double greyFilterRate = building.getSettlement().getGreyWaterFilteringRate();
 
 			// Compute the effect of the temperature
@@ -505,10 +505,11 @@ public class ProduceFood extends Task {
 				setDescription(Msg.getString(DETAIL_DESCRIPTION, //$NON-NLS-1$
                     Conversion.capitalize(process.toString())));
 				
+				final FoodProductionProcess worked = process;
 				if (person != null)
-					logger.log(person, Level.FINE, 30_000, "Worked on '" + process.getInfo().getName() + "'.");
+					logger.log(person, Level.FINE, 30_000, () -> "Worked on '" + worked.getInfo().getName() + "'.");
 				else
-					logger.log(robot, Level.FINE, 30_000, "Worked on '" + process.getInfo().getName() + "'.");
+					logger.log(robot, Level.FINE, 30_000, () -> "Worked on '" + worked.getInfo().getName() + "'.");
 				
 			} else {
 				if (!worker.getAssociatedSettlement().getProcessOverride(OverrideType.FOOD_PRODUCTION)) {
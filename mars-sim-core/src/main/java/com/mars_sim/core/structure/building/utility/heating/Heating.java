@@ -14,7 +14,6 @@ import com.mars_sim.core.UnitEventType;
 import com.mars_sim.core.environment.SurfaceFeatures;
 import com.mars_sim.core.environment.Weather;
 import com.mars_sim.core.logging.SimLogger;
-import com.mars_sim.core.map.location.Coordinates;
 import com.mars_sim.core.person.PersonConfig;
 import com.mars_sim.core.resource.ResourceUtil;
 import com.mars_sim.core.structure.Settlement;
@@ -231,8 +230,6 @@ public class Heating implements Serializable {
 	 */
 //	private double convFactorAirMoisture;
 
-	private Coordinates location;
-
 	private Building building;
 
 	private List<Building> adjacentBuildings;
@@ -250,7 +247,6 @@ public class Heating implements Serializable {
 //		super(FUNCTION, spec, building);
 		this.building = building;
 
-		location = building.getSettlement().getCoordinates();
 		length = building.getLength();
 
 		if (length < 0) {
@@ -385,7 +381,7 @@ public class Heating implements Serializable {
 		int numEVAgoers = building.numOfPeopleInAirLock(); // if num > 0, this building has an airlock
 
 		// Convert from W to kW
-		double irradiance = surface.getSolarIrradiance(location) / SurfaceFeatures.MAX_SOLAR_IRRADIANCE;
+		double irradiance = surface.getSolarIrradiance(building.getSettlement().getWeatherLocationId()) / SurfaceFeatures.MAX_SOLAR_IRRADIANCE;
 		// if sunlight = 25 W/m2, I = 25/717 = 0.035 kW/m2
 
 //		error = checkError("I", irradiance, 1) || error;
@@ -954,19 +950,20 @@ public class Heating implements Serializable {
 		error = checkError("heatAirlock", heatAirlock, -10) || error;
 
 		// (3b) CALCULATE HEAT LOSS DUE TO STRUCTURE
+		double windSpeed = weather.getWindSpeed(building.getSettlement().getWeatherLocationId());
 		double structuralLoss = 0;
 		// Note: deltaT is positive if indoor T is greater than outdoor T
 		if (numEVAgoers > 0) {
 			structuralLoss = -CLF * deltaTinTout * (uValueAreaCeilingFloor * 2D + uValueAreaWall
-					+ uValueAreaCrackLengthAirlock * weather.getWindSpeed(location)) / 1000 / 1.1;
+					+ uValueAreaCrackLengthAirlock * windSpeed) / 1000 / 1.1;
 			// Note : 1 m/s = 3.28084 ft/s = 2.23694 miles per hour
 		} else {
 			if (isGreenhouse) {
 				structuralLoss = -CLF * deltaTinTout * (uValueAreaCeilingFloor + uValueAreaWall
-						+ uValueAreaCrackLength * weather.getWindSpeed(location)) / 1000 / 1.1;
+						+ uValueAreaCrackLength * windSpeed) / 1000 / 1.1;
 			} else {
 				structuralLoss = -CLF * deltaTinTout * (uValueAreaCeilingFloor * 2D + uValueAreaWall
-						+ uValueAreaCrackLength * weather.getWindSpeed(location)) / 1000 / 1.1;
+						+ uValueAreaCrackLength * windSpeed) / 1000 / 1.1;
 			}
 		}
 
@@ -2152,7 +2149,6 @@ public class Heating implements Serializable {
 
 	public void destroy() {
 		building = null;
-		location = null;
 		adjacentBuildings = null;
 		heatSink = null;
 	}
@@ -7,7 +7,6 @@
 package com.mars_sim.core.structure.building.utility.heating;
 
 import com.mars_sim.core.environment.SurfaceFeatures;
-import com.mars_sim.core.map.location.Coordinates;
 import com.mars_sim.core.structure.building.Building;
 
 /**
@@ -33,8 +32,6 @@ public class SolarHeatingSource extends HeatSource {
 
 	private Building building;
 	
-	private transient Coordinates location;
-	
 	/**
 	 * Constructor.
 	 * 
@@ -69,11 +66,7 @@ public class SolarHeatingSource extends HeatSource {
 	}
 
 	public double getSunlight() {
-		if (location == null) {
-			location = building.getCoordinates();
-		}
-		
-		return surface.getSolarIrradiance(location) ;
+		return surface.getSolarIrradiance(building.getSettlement().getWeatherLocationId());
 	}
 	
 	@Override
@@ -214,7 +214,7 @@ public class PowerGrid implements Serializable, Temporal {
 	@Override
 	public boolean timePassing(ClockPulse pulse) {
 
-		logger.log(settlement, Level.FINEST, 0, Msg.getString("PowerGrid.log.settlementPowerSituation", settlement.getName()));
+		logger.log(settlement, Level.FINEST, 0, () -> Msg.getString("PowerGrid.log.settlementPowerSituation", settlement.getName()));
 
 		// update the total power generated in the grid.
 		double powerGen = updateTotalPowerGenerated();
@@ -68,7 +68,7 @@ public class SolarPowerSource extends PowerSource {
 	 */
 	@Override
 	public double getCurrentPower(Building building) {
-		double I = surface.getSolarIrradiance(building.getCoordinates());
+		double I = surface.getSolarIrradiance(building.getSettlement().getWeatherLocationId());
 
 		if (I <= 0)
 			return 0;
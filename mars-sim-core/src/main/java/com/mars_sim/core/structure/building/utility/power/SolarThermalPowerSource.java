@@ -44,7 +44,7 @@ public class SolarThermalPowerSource extends PowerSource {
 	@Override
 	public double getCurrentPower(Building building) {
 
-		double I = surface.getSolarIrradiance(building.getCoordinates());
+		double I = surface.getSolarIrradiance(building.getSettlement().getWeatherLocationId());
 
 		if (I <= 0)
 			return 0;
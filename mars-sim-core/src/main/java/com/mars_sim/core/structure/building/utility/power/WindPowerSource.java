@@ -62,7 +62,7 @@ public class WindPowerSource extends PowerSource {
 	@Override
 	public double getCurrentPower(Building building) {
 		// Make power generated to be based on current wind speed at location.
-		double speed = Math.min(HEIGHT_FACTOR * weather.getWindSpeed(building.getCoordinates()), WIND_SPEED_THRESHOLD); 
+		double speed = Math.min(HEIGHT_FACTOR * weather.getWindSpeed(building.getSettlement().getWeatherLocationId()), WIND_SPEED_THRESHOLD); 
 
 		return Math.min(getMaxPower(), numModules * getPowerOutput(speed));			
 	}
@@ -10,6 +10,7 @@ package com.mars_sim.core.structure.construction;
 import java.util.Collection;
 import java.util.List;
 
+import com.mars_sim.core.LocalAreaUtil;
 import com.mars_sim.core.SimulationConfig;
 import com.mars_sim.core.UnitEventType;
 import com.mars_sim.core.UnitType;
@@ -122,6 +123,7 @@ public class ConstructionSite extends FixedUnit {
      */
     public void setWidth(double width) {
         this.width = width;
+        LocalAreaUtil.updateBoundedObject(this, getCoordinates());
     }
 
     @Override
@@ -136,6 +138,7 @@ public class ConstructionSite extends FixedUnit {
      */
     public void setLength(double length) {
         this.length = length;
+        LocalAreaUtil.updateBoundedObject(this, getCoordinates());
     }
 
     @Override
@@ -145,6 +148,7 @@ public class ConstructionSite extends FixedUnit {
     
 	public void setPosition(LocalPosition position2) {
 		this.position = position2;
+		LocalAreaUtil.updateBoundedObject(this, getCoordinates());
 	}
 	
     @Override
@@ -159,6 +163,7 @@ public class ConstructionSite extends FixedUnit {
      */
     public void setFacing(double facing) {
         this.facing = facing;
+        LocalAreaUtil.updateBoundedObject(this, getCoordinates());
     }
 
     /**
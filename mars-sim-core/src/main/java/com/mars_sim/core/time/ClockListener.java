@@ -24,4 +24,15 @@ public interface ClockListener {
 	 * @param isPaused true if clock is paused.
 	 */
 	public void pauseChange(boolean isPaused, boolean showPane);
+
+	/**
+	 * Can this listener receive the pulse at the same time as other listeners ?
+	 * Serial listeners are called one at a time; parallel listeners run alongside
+	 * them and the clock waits for all to complete before the next pulse.
+	 * 
+	 * @return true if the listener does not depend on the other listeners
+	 */
+	public default boolean isParallel() {
+		return false;
+	}
 }
@@ -9,10 +9,12 @@ package com.mars_sim.core.time;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoField;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -95,8 +97,24 @@ public class MasterClock implements Serializable {
 	private transient ExecutorService clockExecutor;
 	/** A list of clock listener tasks. */
 	private transient Collection<ClockListenerTask> clockListenerTasks;
+	/** A snapshot of the clock listener tasks that is reused on every pulse. */
+	private transient volatile ClockListenerTask[] listenerSnapshot;
+	/** The results of the parallel clock listener tasks of the current pulse. */
+	private transient List<Future<String>> parallelResults;
 	/** The clock pulse. */
 	private transient ClockPulse currentPulse;
+	/** The fixed pulse width [in millisols] in batch mode; zero if not in batch mode. */
+	private transient double batchPulseWidth = 0;
+	/** The mission sol that completes the batch run. */
+	private transient int batchTargetSol;
+	/** Has the batch run reached the target sol ? */
+	private transient volatile boolean batchComplete = false;
+	/** The real time [in nanoseconds] the batch run started. */
+	private transient long batchStartNanos;
+	/** The total millisols when the batch run started. */
+	private transient double batchStartMillisols;
+	/** The simulated sols per real second achieved by the batch run. */
+	private transient double batchSolsPerSecond;
 	
 	// Data members
 	/** Is pausing millisol in use. */
@@ -364,6 +382,7 @@ public class MasterClock implements Serializable {
 			clockListenerTasks = Collections.synchronizedSet(new HashSet<>());
 		if (!hasClockListenerTask(newListener)) {
 			clockListenerTasks.add(new ClockListenerTask(newListener, minDuration));
+			updateListenerSnapshot();
 		}
 	}
 
@@ -376,9 +395,32 @@ public class MasterClock implements Serializable {
 		ClockListenerTask task = retrieveClockListenerTask(oldListener);
 		if (task != null) {
 			clockListenerTasks.remove(task);
+			updateListenerSnapshot();
 		}
 	}
 
+	/**
+	 * Rebuilds the snapshot of the clock listener tasks used by the pulse.
+	 */
+	private void updateListenerSnapshot() {
+		synchronized (clockListenerTasks) {
+			listenerSnapshot = clockListenerTasks.toArray(new ClockListenerTask[0]);
+		}
+	}
+
+	/**
+	 * Gets the clock listener tasks, e.g. to review their execution times.
+	 *
+	 * @return
+	 */
+	public List<ClockListenerTask> getClockListenerTasks() {
+		ClockListenerTask[] tasks = listenerSnapshot;
+		if (tasks == null) {
+			return Collections.emptyList();
+		}
+		return List.of(tasks);
+	}
+
 	/**
 	 * Does it have this clock listener ?
 	 *
@@ -588,6 +630,112 @@ public class MasterClock implements Serializable {
 		return acceptablePulse;
 	}
 
+	/**
+	 * Runs the clock in batch mode. Pulses of a fixed width are fired back to back
+	 * without sleeping, i.e. independent of the real time and the time ratio,
+	 * until the target mission sol is reached. Then the clock stops.
+	 * This must be called before the clock is started.
+	 *
+	 * @param pulseWidth The width of each pulse [in millisols]
+	 * @param targetSol The mission sol that completes the run
+	 */
+	public void setBatchMode(double pulseWidth, int targetSol) {
+		if (pulseWidth <= 0 || pulseWidth > maxMilliSolPerPulse) {
+			throw new IllegalArgumentException("Batch pulse width must be between 0 and "
+							+ maxMilliSolPerPulse + " millisols");
+		}
+		if (targetSol <= marsTime.getMissionSol()) {
+			throw new IllegalArgumentException("Batch target sol must be after the current sol "
+							+ marsTime.getMissionSol());
+		}
+
+		batchPulseWidth = pulseWidth;
+		batchTargetSol = targetSol;
+		batchComplete = false;
+		batchStartNanos = 0;
+		nextPulseTime = pulseWidth;
+		Task.setStandardPulseTime(Math.min(pulseWidth, MAX_PULSE_WIDTH));
+
+		logger.config("Batch mode with pulses of " + pulseWidth + " millisols until sol " + targetSol + ".");
+	}
+
+	/**
+	 * Is the clock running in batch mode ?
+	 */
+	public boolean isBatchMode() {
+		return batchPulseWidth > 0;
+	}
+
+	/**
+	 * Has the batch run reached the target sol ?
+	 */
+	public boolean isBatchComplete() {
+		return batchComplete;
+	}
+
+	/**
+	 * Gets the number of simulated sols per real second achieved by the batch run.
+	 *
+	 * @return
+	 */
+	public double getBatchSolsPerSecond() {
+		return batchSolsPerSecond;
+	}
+
+	/**
+	 * Adds a fixed width pulse to the earth time and mars time in batch mode.
+	 *
+	 * @return true if the pulse was fired
+	 */
+	private boolean addBatchTime() {
+		if (isPaused) {
+			return false;
+		}
+
+		if (batchStartNanos == 0) {
+			batchStartNanos = System.nanoTime();
+			batchStartMillisols = marsTime.getTotalMillisols();
+		}
+
+		// Find the new up time
+		long tnow = System.currentTimeMillis();
+		uptimer.updateTime(tnow - tLast);
+		timestampPulseStart();
+
+		// Add time to the Earth clock and Mars clock
+		long earthMillisec = (long) (batchPulseWidth * MILLISECONDS_PER_MILLISOL);
+		earthTime = earthTime.plus(earthMillisec, ChronoField.MILLI_OF_SECOND.getBaseUnit());
+		marsTime = marsTime.addTime(batchPulseWidth);
+
+		fireClockPulse(batchPulseWidth);
+
+		if (marsTime.getMissionSol() >= batchTargetSol) {
+			completeBatch();
+		}
+		return true;
+	}
+
+	/**
+	 * Stops the batch run and reports the simulated sols per real second.
+	 */
+	private void completeBatch() {
+		double realSecs = (System.nanoTime() - batchStartNanos) / 1_000_000_000D;
+		double sols = (marsTime.getTotalMillisols() - batchStartMillisols) / 1000D;
+		if (realSecs > 0) {
+			batchSolsPerSecond = sols / realSecs;
+			actualTR = sols * 1000D * MarsTime.SECONDS_PER_MILLISOL / realSecs;
+		}
+
+		logger.config("Batch run reached sol " + marsTime.getMissionSol() + " : "
+				+ Math.round(sols * 1000.0)/1000.0 + " sols in "
+				+ Math.round(realSecs * 1000.0)/1000.0 + " secs, "
+				+ Math.round(batchSolsPerSecond * 1000.0)/1000.0 + " sols/sec over "
+				+ (nextPulseId - 1) + " pulses.");
+
+		clockThreadTask.stopRunning();
+		batchComplete = true;
+	}
+
 	/**
 	 * Calculate the difference between the actualTR and the desiredTR.
 	 * 
@@ -730,14 +878,51 @@ public class MasterClock implements Serializable {
 		private long lastPulseDelivered = 0;
 		private ClockListener listener;
 		private long minDuration;
+		private boolean parallel;
+		/** The time [in nanoseconds] taken by the last delivered pulse. */
+		private volatile long lastExecutionTime = 0;
+		/** The total time [in nanoseconds] taken by all delivered pulses. */
+		private volatile long totalExecutionTime = 0;
+		/** The number of delivered pulses. */
+		private volatile long pulsesDelivered = 0;
 
 		public ClockListener getClockListener() {
 			return listener;
 		}
 
+		/**
+		 * Does the listener run alongside the other listeners ?
+		 */
+		public boolean isParallel() {
+			return parallel;
+		}
+
+		/**
+		 * Gets the time [in milliseconds] the listener took to handle the last pulse.
+		 *
+		 * @return
+		 */
+		public double getLastExecutionTime() {
+			return lastExecutionTime / 1_000_000D;
+		}
+
+		/**
+		 * Gets the average time [in milliseconds] the listener takes to handle a pulse.
+		 *
+		 * @return
+		 */
+		public double getAverageExecutionTime() {
+			long count = pulsesDelivered;
+			if (count == 0) {
+				return 0;
+			}
+			return totalExecutionTime / 1_000_000D / count;
+		}
+
 		private ClockListenerTask(ClockListener listener, long minDuration) {
 			this.listener = listener;
 			this.minDuration = minDuration;
+			this.parallel = listener.isParallel();
 			this.lastPulseDelivered = System.currentTimeMillis();
 		}
 
@@ -768,7 +953,13 @@ public class MasterClock implements Serializable {
 					}
 
 					// Call handler
+					long start = System.nanoTime();
 					listener.clockPulse(activePulse);
+					long elapsed = System.nanoTime() - start;
+
+					lastExecutionTime = elapsed;
+					totalExecutionTime += elapsed;
+					pulsesDelivered++;
 				}
 				catch (Exception e) {
 					logger.severe( "Can't send out clock pulse: ", e);
@@ -896,32 +1087,77 @@ public class MasterClock implements Serializable {
 		// Note: Using .parallelStream().forEach() in a quad cpu machine would reduce TPS and unable to increase it beyond 512x
 		// Not using clockListenerTasks.forEach(s -> { }) for now
 
-		// Execute all listener concurrently and wait for all to complete before advancing
+		// Execute all listener and wait for all to complete before advancing
 		// Ensure that Settlements stay synch'ed and some don't get ahead of others as tasks queue
-		// May use parallelStream() after it's proven to be safe
-		if (clockListenerTasks != null) {
-			Collections.synchronizedSet(new HashSet<>(clockListenerTasks)).stream().forEach(this::executeClockListenerTask);
+		ClockListenerTask[] tasks = listenerSnapshot;
+		if (tasks != null) {
+			executeClockListenerTasks(tasks);
 		}
 	}
 
+	/**
+	 * Executes the clock listener tasks. The parallel tasks are started first and 
+	 * run alongside the serial tasks which are executed one at a time.
+	 * All tasks are complete when this method returns.
+	 *
+	 * @param tasks
+	 */
+	private void executeClockListenerTasks(ClockListenerTask[] tasks) {
+		if (parallelResults == null) {
+			parallelResults = new ArrayList<>();
+		}
+
+		try {
+			for (ClockListenerTask t : tasks) {
+				if (t.isParallel()) {
+					parallelResults.add(listenerExecutor.submit(t));
+				}
+			}
+		} catch (RejectedExecutionException ree) {
+			// Application shutting down
+			logger.severe( "RejectedExecutionException. Problem with clock listener tasks: ", ree);
+		}
+
+		for (ClockListenerTask t : tasks) {
+			if (!t.isParallel()) {
+				executeClockListenerTask(t);
+			}
+		}
+
+		// Single barrier for the parallel tasks
+		for (Future<String> result : parallelResults) {
+			waitForClockListenerTask(result);
+		}
+		parallelResults.clear();
+	}
+
 	/**
 	 * Executes the clock listener task.
 	 *
 	 * @param task
 	 */
 	public void executeClockListenerTask(ClockListenerTask task) {
-		Future<String> result = listenerExecutor.submit(task);
-
 		try {
-			// Wait for it to complete so the listeners doesn't get queued up if the MasterClock races ahead
-			result.get();
-		} catch (ExecutionException ee) {
-			logger.severe( "ExecutionException. Problem with clock listener tasks: ", ee);
+			waitForClockListenerTask(listenerExecutor.submit(task));
 		} catch (RejectedExecutionException ree) {
 			// Application shutting down
 			Thread.currentThread().interrupt();
 			// Executor is shutdown and cannot complete queued tasks
 			logger.severe( "RejectedExecutionException. Problem with clock listener tasks: ", ree);
+		}
+	}
+
+	/**
+	 * Waits for a submitted clock listener task to complete.
+	 *
+	 * @param result
+	 */
+	private void waitForClockListenerTask(Future<String> result) {
+		try {
+			// Wait for it to complete so the listeners doesn't get queued up if the MasterClock races ahead
+			result.get();
+		} catch (ExecutionException ee) {
+			logger.severe( "ExecutionException. Problem with clock listener tasks: ", ee);
 		} catch (InterruptedException ie) {
 			// Program closing down
 			Thread.currentThread().interrupt();
@@ -967,7 +1203,8 @@ public class MasterClock implements Serializable {
 		if (listenerExecutor == null 
 				|| listenerExecutor.isShutdown()
 				|| listenerExecutor.isTerminated()) {
-			int num = Math.min(1, SimulationRuntime.NUM_CORES - SimulationConfig.instance().getUnusedCores());
+			// One thread for the serial listeners plus the others for the parallel listeners
+			int num = SimulationRuntime.NUM_CORES - SimulationConfig.instance().getUnusedCores();
 			if (num <= 0) num = 1;
 			logger.config(3_000, "Setting up " + num + " thread(s) for clock listener.");
 			listenerExecutor = Executors.newFixedThreadPool(num,
@@ -1329,6 +1566,17 @@ public class MasterClock implements Serializable {
 				
 				long startTime = System.currentTimeMillis();
 
+				if (isBatchMode()) {
+					// Fixed width pulses back to back with no sleeping
+					if (addBatchTime()) {
+						executionTime = (int) (System.currentTimeMillis() - startTime);
+					}
+					if (exitProgram) {
+						System.exit(0);
+					}
+					continue;
+				}
+
 				// Call addTime() to increment time in EarthClock and MarsClock
 				if (addTime()) {
 					// Case 1: Normal Operation: acceptablePulse is true
@@ -411,6 +411,8 @@ public abstract class Vehicle extends AbstractMobileUnit
 		// Set the robot crew locations to the vehicle's new parked location.
 		if (currentRobotCrewPositions != null)
 			setRobotCrewPositions(currentRobotCrewPositions);
+
+		LocalAreaUtil.updateBoundedObject(this, getCoordinates());
 	}
 
 	/**
@@ -423,6 +425,24 @@ public abstract class Vehicle extends AbstractMobileUnit
 		// Set new parked location for the flyer.
 		setPosition(position);
 		this.facingParked = facing;
+
+		LocalAreaUtil.updateBoundedObject(this, getCoordinates());
+	}
+
+	/**
+	 * Sets the vehicle's location coordinates and moves it between the local obstacle indexes.
+	 *
+	 * @param newLocation the new location of the vehicle
+	 */
+	@Override
+	public void setCoordinates(Coordinates newLocation) {
+		Coordinates oldLocation = getCoordinates();
+		super.setCoordinates(newLocation);
+
+		if (!newLocation.equals(oldLocation)) {
+			LocalAreaUtil.removeBoundedObject(this, oldLocation);
+			LocalAreaUtil.updateBoundedObject(this, newLocation);
+		}
 	}
 	
 	/**
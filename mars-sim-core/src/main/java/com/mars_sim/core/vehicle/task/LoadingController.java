@@ -243,7 +243,7 @@ public class LoadingController implements Serializable {
 			// Can remove assume fuel is reloaded
 			vehicle.removeSecondaryStatus(StatusType.OUT_OF_FUEL);
 			vehicle.setLoading(null);
-			logger.fine(vehicle, "Loading completed by " + worker.getName());
+			logger.fine(vehicle, () -> "Loading completed by " + worker.getName());
 		}
 		return (amountLoading > 0D) || completed;
 	}
@@ -471,7 +471,7 @@ public class LoadingController implements Serializable {
 		// Check if this resource is complete
 		amountNeeded -= amountToLoad;
 		if (amountNeeded == 0) {
-			logger.fine(vehicle, loader + " completed loading item " + p.getName());
+			logger.fine(vehicle, () -> loader + " completed loading item " + p.getName());
 			manifest.remove(id);
 		}
 		// If it's optional and attempted to load something then remove it.
@@ -528,12 +528,13 @@ public class LoadingController implements Serializable {
 
 			// Update the manifest
 			if (amountNeeded == 0) {
-				logger.fine(vehicle, "Completed loading equipment " + equipmentType);
+				logger.fine(vehicle, () -> "Completed loading equipment " + equipmentType);
 				manifest.remove(equipmentType);
 			}
 			else if (!mandatory && (amountLoading > 0D)) {
 				// For optional and still have capacity to load so abort
-				logger.fine(vehicle, "Optional equipment " + equipmentType + " not loaded " + amountNeeded);
+				final int notLoaded = amountNeeded;
+				logger.fine(vehicle, () -> "Optional equipment " + equipmentType + " not loaded " + notLoaded);
 				manifest.remove(equipmentType);
 			}
 			else {
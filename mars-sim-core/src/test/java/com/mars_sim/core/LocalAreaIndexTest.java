@@ -0,0 +1,90 @@
+package com.mars_sim.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mars_sim.core.map.location.BoundedObject;
+import com.mars_sim.core.map.location.LocalBoundedObject;
+import com.mars_sim.core.map.location.LocalPosition;
+
+class LocalAreaIndexTest {
+
+    /**
+     * Bounded object that can be moved.
+     */
+    private static class MovingObject implements LocalBoundedObject {
+        private LocalPosition pos;
+
+        MovingObject(LocalPosition pos) {
+            this.pos = pos;
+        }
+
+        @Override
+        public LocalPosition getPosition() {
+            return pos;
+        }
+
+        @Override
+        public double getWidth() {
+            return 4D;
+        }
+
+        @Override
+        public double getLength() {
+            return 6D;
+        }
+
+        @Override
+        public double getFacing() {
+            return 0D;
+        }
+    }
+
+    @Test
+    void testPointCandidates() {
+        var near = new BoundedObject(0D, 0D, 10D, 10D, 0D);
+        var far = new BoundedObject(100D, 100D, 10D, 10D, 0D);
+        var index = new LocalAreaIndex(List.of(near, far));
+
+        assertEquals(List.of(near), index.getCandidates(1D, 1D));
+        assertEquals(List.of(far), index.getCandidates(104D, 96D));
+        assertTrue(index.getCandidates(50D, 50D).isEmpty(), "Empty space");
+        assertEquals(2, index.getAll().size());
+    }
+
+    @Test
+    void testAreaCandidates() {
+        // Rotated so the bounds are wider than the object
+        var rotated = new BoundedObject(0D, 0D, 2D, 20D, 45D);
+        var other = new BoundedObject(30D, 0D, 4D, 4D, 0D);
+        var index = new LocalAreaIndex(List.of(rotated, other));
+
+        assertEquals(List.of(rotated), index.getCandidates(new Rectangle2D.Double(6D, 6D, 1D, 1D)));
+        assertEquals(2, index.getCandidates(new Rectangle2D.Double(-50D, -50D, 100D, 100D)).size());
+
+        // A line along the edge of the bounds has no width but still touches
+        assertEquals(List.of(other), index.getCandidates(new Rectangle2D.Double(32D, -10D, 0D, 20D)));
+    }
+
+    @Test
+    void testMoveAndRemove() {
+        var vehicle = new MovingObject(new LocalPosition(0D, 0D));
+        var index = new LocalAreaIndex(List.of(vehicle));
+        assertEquals(List.of(vehicle), index.getCandidates(0D, 0D));
+
+        vehicle.pos = new LocalPosition(45D, -25D);
+        index.add(vehicle);
+        assertTrue(index.getCandidates(0D, 0D).isEmpty(), "Old position cleared");
+        assertEquals(List.of(vehicle), index.getCandidates(46D, -27D));
+        assertEquals(1, index.getAll().size());
+
+        index.remove(vehicle);
+        assertTrue(index.getCandidates(46D, -27D).isEmpty(), "Removed");
+        assertTrue(index.getAll().isEmpty(), "Index empty");
+    }
+}
@@ -0,0 +1,31 @@
+package com.mars_sim.core;
+
+import com.mars_sim.core.map.location.LocalPosition;
+
+public class ObstacleIndexTest extends AbstractMarsSimUnitTest {
+
+    public void testIndexFollowsChanges() {
+        var s = buildSettlement("Index");
+        var bm = s.getBuildingManager();
+        var first = buildAccommodation(bm, new LocalPosition(0, 0), 0D, 0);
+        var loc = s.getCoordinates();
+
+        // First lookup builds the index
+        var found = LocalAreaUtil.getAllLocalBoundedObjectsAtLocation(loc);
+        assertTrue("First building found", found.contains(first));
+
+        var second = buildResearch(bm, new LocalPosition(30, 0), 0D, 1);
+        var rover = buildRover(s, "Rover", new LocalPosition(60, 0));
+        found = LocalAreaUtil.getAllLocalBoundedObjectsAtLocation(loc);
+        assertTrue("Added building found", found.contains(second));
+        assertTrue("Parked rover found", found.contains(rover));
+        assertFalse("Rover blocks its parking spot", LocalAreaUtil.isPositionCollisionFree(new LocalPosition(60, 0), loc));
+
+        bm.removeBuilding(first);
+        unitManager.removeUnit(rover);
+        found = LocalAreaUtil.getAllLocalBoundedObjectsAtLocation(loc);
+        assertFalse("Removed building gone", found.contains(first));
+        assertFalse("Removed rover gone", found.contains(rover));
+        assertTrue("Parking spot free", LocalAreaUtil.isPositionCollisionFree(new LocalPosition(60, 0), loc));
+    }
+}
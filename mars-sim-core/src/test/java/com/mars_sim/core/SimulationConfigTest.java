@@ -0,0 +1,42 @@
+package com.mars_sim.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jdom2.Document;
+import org.jdom2.output.XMLOutputter;
+
+import junit.framework.TestCase;
+
+public class SimulationConfigTest extends TestCase {
+
+    private SimulationConfig config;
+
+    @Override
+    public void setUp() {
+        config = SimulationConfig.instance();
+        config.loadConfig();
+    }
+
+    public void testParallelMatchesSequential() throws Exception {
+        var docs = config.parseInParallel("resources", "parts", "resources");
+        assertEquals("Repeated file parsed once", 2, docs.size());
+
+        var out = new XMLOutputter();
+        for (var name : docs.keySet()) {
+            Document parallel = docs.get(name).join().doc();
+            Document sequential = config.parseXMLFileAsJDOMDocument(name, true);
+            assertEquals("Same document for " + name, out.outputString(sequential), out.outputString(parallel));
+        }
+    }
+
+    public void testBuildRecordsTimings() throws Exception {
+        var docs = config.parseInParallel("parts");
+        Map<String, long[]> timings = new HashMap<>();
+
+        String root = SimulationConfig.build(docs, "parts", d -> d.getRootElement().getName(), timings);
+        assertEquals("Built from document", config.parseXMLFileAsJDOMDocument("parts", true)
+                            .getRootElement().getName(), root);
+        assertTrue("Timings recorded", timings.containsKey("parts"));
+    }
+}
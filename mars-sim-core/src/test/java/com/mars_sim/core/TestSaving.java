@@ -14,6 +14,7 @@ import com.mars_sim.core.person.Person;
 import com.mars_sim.core.person.health.Complaint;
 import com.mars_sim.core.person.health.ComplaintType;
 import com.mars_sim.core.person.health.MedicalManager;
+import com.mars_sim.core.persist.SaveCodec;
 import com.mars_sim.core.structure.Settlement;
 import com.mars_sim.core.structure.SettlementBuilder;
 
@@ -35,16 +36,22 @@ public class TestSaving extends TestCase implements SimulationListener {
         simConfig.loadConfig();
     }
 
-    public void testSaving() throws IOException {
+    /**
+     * Builds a realistic simulation with entities to save.
+     */
+    private Simulation createSimulation() {
         Simulation sim = Simulation.instance();
         sim.createNewSimulation(64); 
 
-
-        // Build a realistic simulation with entities to save
         SettlementBuilder builder = new SettlementBuilder(sim, simConfig);
         ScenarioConfig config = new ScenarioConfig();
         Scenario bootstrap = config.getItem("Single Settlement");
         builder.createInitialSettlements(bootstrap);
+        return sim;
+    }
+
+    public void testSaving() throws IOException {
+        Simulation sim = createSimulation();
         
         // Add Equipment
         Settlement s = (new ArrayList<>(sim.getUnitManager().getSettlements())).get(0);
@@ -74,6 +81,34 @@ public class TestSaving extends TestCase implements SimulationListener {
         assertEquals("Has complaint", complaint, laterP.getPhysicalCondition().getMostSerious().getComplaint());
     }
 
+    /**
+     * Saves and loads the same simulation with each codec.
+     */
+    public void testCodecRoundTrip() throws IOException {
+        Simulation sim = createSimulation();
+        Person p = (new ArrayList<>(sim.getUnitManager().getPeople())).get(0);
+        SaveCodec original = Simulation.getSaveCodec();
+
+        try {
+            for (SaveCodec codec : SaveCodec.values()) {
+                Simulation.setSaveCodec(codec);
+                saveFile = File.createTempFile("save-" + codec.name().toLowerCase(), ".sim");
+                saveFeedback = null;
+
+                sim.saveSimulation(Simulation.SaveType.SAVE_AS, saveFile, this);
+                assertEquals("Save status with " + codec, SimulationListener.SAVE_COMPLETED, saveFeedback);
+
+                sim.loadSimulation(saveFile);
+                Person laterP = sim.getUnitManager().getPersonByID(p.getIdentifier());
+                assertEquals("Person loaded with " + codec, p.getName(), laterP.getName());
+                saveFile.delete();
+            }
+        }
+        finally {
+            Simulation.setSaveCodec(original);
+        }
+    }
+
     @Override
     public void tearDown() {
         // Delete the saved file
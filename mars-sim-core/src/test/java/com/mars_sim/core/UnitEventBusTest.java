@@ -0,0 +1,58 @@
+package com.mars_sim.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class UnitEventBusTest extends AbstractMarsSimUnitTest {
+
+    private static class Recorder implements UnitListener {
+        private final boolean batched;
+        private final List<UnitEvent> events = new ArrayList<>();
+
+        Recorder(boolean batched) {
+            this.batched = batched;
+        }
+
+        @Override
+        public void unitUpdate(UnitEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public boolean isBatched() {
+            return batched;
+        }
+    }
+
+    public void testCoalescedDelivery() {
+        var s = buildSettlement();
+        var bus = UnitEventBus.instance();
+        var batched = new Recorder(true);
+        var direct = new Recorder(false);
+        s.addUnitListener(batched);
+        s.addUnitListener(direct);
+        assertTrue("Batched listener registered", s.hasUnitListener(batched));
+
+        bus.deliver();
+        long fired = bus.getFiredCount();
+        long delivered = bus.getDeliveredCount();
+
+        s.fireUnitUpdate(UnitEventType.NAME_EVENT, "A");
+        s.fireUnitUpdate(UnitEventType.NAME_EVENT, "A");
+        s.fireUnitUpdate(UnitEventType.NAME_EVENT, "A");
+        s.fireUnitUpdate(UnitEventType.NAME_EVENT, "B");
+
+        assertEquals("Direct listener called at once", 4, direct.events.size());
+        assertTrue("Batched listener waits", batched.events.isEmpty());
+
+        bus.deliver();
+        assertEquals("Repeats coalesced", 2, batched.events.size());
+        assertEquals("Fired count", 4, bus.getFiredCount() - fired);
+        assertEquals("Delivered count", 2, bus.getDeliveredCount() - delivered);
+
+        s.removeUnitListener(batched);
+        s.fireUnitUpdate(UnitEventType.NAME_EVENT, "C");
+        bus.deliver();
+        assertEquals("Removed listener not called", 2, batched.events.size());
+    }
+}
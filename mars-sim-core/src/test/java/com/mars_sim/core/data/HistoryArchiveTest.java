@@ -0,0 +1,42 @@
+package com.mars_sim.core.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import com.mars_sim.core.data.History.HistoryItem;
+import com.mars_sim.core.time.MarsTime;
+
+class HistoryArchiveTest {
+
+    private static void append(HistoryArchive archive, int count) {
+        var overflow = archive.<Integer>createOverflow("Worker", i -> "Value " + i);
+        for (int i = 0; i < count; i++) {
+            overflow.accept(new HistoryItem<>(new MarsTime(1, 1, 1, 100, 1), i));
+        }
+    }
+
+    @Test
+    void testSegmentFlushed() throws IOException {
+        Path file = Files.createTempFile("history", ".log");
+        try {
+            HistoryArchive archive = new HistoryArchive(file.toFile());
+            append(archive, HistoryArchive.SEGMENT_LINES + 10);
+
+            // The full segment is in the file before the archive is closed
+            assertEquals(HistoryArchive.SEGMENT_LINES, Files.readAllLines(file).size(), "Lines before close");
+
+            archive.close();
+            assertEquals(HistoryArchive.SEGMENT_LINES + 10, Files.readAllLines(file).size(), "Lines after close");
+            assertEquals(new MarsTime(1, 1, 1, 100, 1).getDateTimeStamp() + "\tWorker\tValue 0",
+                            Files.readAllLines(file).get(0), "First line");
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
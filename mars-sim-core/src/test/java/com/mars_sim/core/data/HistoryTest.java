@@ -1,5 +1,16 @@
 package com.mars_sim.core.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamConstants;
+import java.io.ObjectStreamField;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.mars_sim.core.AbstractMarsSimUnitTest;
@@ -9,6 +20,45 @@ import com.mars_sim.core.time.MarsTime;
 import com.mars_sim.core.time.MasterClock;
 
 public class HistoryTest extends AbstractMarsSimUnitTest {
+
+    /**
+     * Holds the list of items like a History in older saves.
+     */
+    private static class LegacyHistory implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private List<HistoryItem<Integer>> history = new ArrayList<>();
+        private int maxItems;
+    }
+
+    /**
+     * Writes a legacy history under the name of the History class.
+     */
+    private static class LegacyOutputStream extends ObjectOutputStream {
+        LegacyOutputStream(OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            if (desc.forClass() != LegacyHistory.class) {
+                super.writeClassDescriptor(desc);
+                return;
+            }
+            writeUTF(History.class.getName());
+            writeLong(ObjectStreamClass.lookup(History.class).getSerialVersionUID());
+            writeByte(ObjectStreamConstants.SC_SERIALIZABLE);
+            ObjectStreamField[] fields = desc.getFields();
+            writeShort(fields.length);
+            for (ObjectStreamField f : fields) {
+                writeByte(f.getTypeCode());
+                writeUTF(f.getName());
+                if (!f.isPrimitive()) {
+                    writeObject(f.getTypeString());
+                }
+            }
+        }
+    }
     
     public void testAdd() {
         History<Integer> h = new History<>();
@@ -91,4 +141,118 @@ public class HistoryTest extends AbstractMarsSimUnitTest {
         assertEquals("Last time", firstTime, changes.get(0).getWhen());
         assertEquals("Last value", Integer.valueOf(1), changes.get(0).getWhat());
     }
+
+    public void testBoundedWrap() {
+        History<Integer> h = new History<>(3);
+        List<Integer> overflow = new ArrayList<>();
+        h.setOverflow(i -> overflow.add(i.getWhat()));
+        MasterClock master = sim.getMasterClock();
+
+        List<MarsTime> times = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            master.setMarsTime(master.getMarsTime().addTime(10));
+            times.add(master.getMarsTime());
+            h.add(i);
+        }
+
+        List<HistoryItem<Integer>> changes = h.getChanges();
+        assertEquals("History size", 3, changes.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Value " + i, Integer.valueOf(37 + i), changes.get(i).getWhat());
+            assertEquals("Time " + i, times.get(37 + i), changes.get(i).getWhen());
+        }
+        assertEquals("Overflow size", 37, overflow.size());
+        assertEquals("Oldest overflow", Integer.valueOf(0), overflow.get(0));
+
+        // Later additions do not change an earlier view
+        master.setMarsTime(master.getMarsTime().addTime(10));
+        h.add(100);
+        assertEquals("View unchanged", Integer.valueOf(37), changes.get(0).getWhat());
+    }
+
+    public void testUnboundedGrows() {
+        History<Integer> h = new History<>();
+        MasterClock master = sim.getMasterClock();
+
+        for (int i = 0; i < 100; i++) {
+            master.setMarsTime(master.getMarsTime().addTime(100));
+            h.add(i);
+        }
+
+        List<HistoryItem<Integer>> changes = h.getChanges();
+        assertEquals("History size", 100, changes.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Value " + i, Integer.valueOf(i), changes.get(i).getWhat());
+        }
+        assertEquals("Range", changes.stream().map(c -> c.getWhen().getDate()).distinct().toList(),
+                    h.getRange());
+    }
+
+    public void testSerialized() throws IOException, ClassNotFoundException {
+        History<Integer> h = new History<>(3);
+        MasterClock master = sim.getMasterClock();
+        for (int i = 0; i < 5; i++) {
+            master.setMarsTime(master.getMarsTime().addTime(10));
+            h.add(i);
+        }
+
+        var out = new ByteArrayOutputStream();
+        try (var oos = new ObjectOutputStream(out)) {
+            oos.writeObject(h);
+        }
+        History<Integer> copy;
+        try (var ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            var read = (History<Integer>) ois.readObject();
+            copy = read;
+        }
+
+        List<HistoryItem<Integer>> expected = h.getChanges();
+        List<HistoryItem<Integer>> changes = copy.getChanges();
+        assertEquals("History size", expected.size(), changes.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Value " + i, expected.get(i).getWhat(), changes.get(i).getWhat());
+            assertEquals("Time " + i, expected.get(i).getWhen(), changes.get(i).getWhen());
+        }
+
+        // Still bounded after reading
+        master.setMarsTime(master.getMarsTime().addTime(10));
+        copy.add(100);
+        changes = copy.getChanges();
+        assertEquals("Bounded size", 3, changes.size());
+        assertEquals("Oldest dropped", Integer.valueOf(3), changes.get(0).getWhat());
+    }
+
+    public void testReadLegacy() throws IOException, ClassNotFoundException {
+        MasterClock master = sim.getMasterClock();
+        var legacy = new LegacyHistory();
+        legacy.maxItems = 3;
+        for (int i = 0; i < 5; i++) {
+            master.setMarsTime(master.getMarsTime().addTime(10));
+            legacy.history.add(new HistoryItem<>(master.getMarsTime(), i));
+        }
+
+        var out = new ByteArrayOutputStream();
+        try (var oos = new LegacyOutputStream(out)) {
+            oos.writeObject(legacy);
+        }
+        History<Integer> copy;
+        try (var ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            var read = (History<Integer>) ois.readObject();
+            copy = read;
+        }
+
+        // Only the newest items fit
+        List<HistoryItem<Integer>> changes = copy.getChanges();
+        assertEquals("History size", 3, changes.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Value " + i, Integer.valueOf(2 + i), changes.get(i).getWhat());
+            assertEquals("Time " + i, legacy.history.get(2 + i).getWhen(), changes.get(i).getWhen());
+        }
+
+        master.setMarsTime(master.getMarsTime().addTime(10));
+        copy.add(100);
+        assertEquals("Oldest dropped", Integer.valueOf(3), copy.getChanges().get(0).getWhat());
+    }
 }
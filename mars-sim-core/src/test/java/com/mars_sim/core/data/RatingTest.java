@@ -1,5 +1,10 @@
 package com.mars_sim.core.data;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Map;
 
 import junit.framework.TestCase;
@@ -51,6 +56,20 @@ public class RatingTest extends TestCase {
         assertEquals("Set base " + MOD1, (BASE + BASE2) * MOD1_VALUE, r.getScore());
     }
 
+    public void testReplaceModifier() {
+        RatingScore r = new RatingScore(BASE);
+        r.addModifier(MOD1, MOD1_VALUE);
+        r.addModifier(MOD1, MOD2_VALUE);
+
+        assertEquals("Replaced " + MOD1, BASE * MOD2_VALUE, r.getScore());
+        assertEquals("Number of modifiers", 1, r.getModifiers().size());
+
+        RatingScore copy = new RatingScore(r);
+        copy.addModifier(MOD2, MOD2_VALUE);
+        assertEquals("Original unchanged", BASE * MOD2_VALUE, r.getScore());
+        assertEquals("Copy changed", BASE * MOD2_VALUE * MOD2_VALUE, copy.getScore());
+    }
+
     public void testCompare() {
         RatingScore r1 = new RatingScore("test", 2);
         RatingScore r2 = new RatingScore("test", 1);
@@ -61,4 +80,30 @@ public class RatingTest extends TestCase {
         assertTrue("Compare modifiers", r1.compareTo(r2) < 0);
 
     }
+
+    private static RatingScore copy(RatingScore r) throws IOException, ClassNotFoundException {
+        var out = new ByteArrayOutputStream();
+        try (var oos = new ObjectOutputStream(out)) {
+            oos.writeObject(r);
+        }
+        try (var ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return (RatingScore) ois.readObject();
+        }
+    }
+
+    public void testSerialized() throws IOException, ClassNotFoundException {
+        RatingScore r = new RatingScore(BASE);
+        r.addBase("second", BASE2);
+        r.addModifier(MOD1, MOD1_VALUE);
+
+        RatingScore c = copy(r);
+        assertEquals("Score", r.getScore(), c.getScore());
+        assertEquals("Bases", r.getBases(), c.getBases());
+        assertEquals("Modifiers", r.getModifiers(), c.getModifiers());
+
+        c.addModifier(MOD2, MOD2_VALUE);
+        assertEquals("Modifier added after reading", (BASE + BASE2) * MOD1_VALUE * MOD2_VALUE, c.getScore(), 1E-9);
+
+        assertEquals("Zero rating", 0D, copy(RatingScore.ZERO_RATING).getScore());
+    }
 }
@@ -0,0 +1,217 @@
+package com.mars_sim.core.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.mars_sim.core.time.MarsTime;
+
+class SolMetricDataLoggerTest {
+
+    /**
+     * Holds the metrics in the daily maps like the loggers in older saves.
+     */
+    @SuppressWarnings("serial")
+    private static class LegacyMetricLogger extends DataLogger<Map<String, Double>> {
+        LegacyMetricLogger(int maxSols) {
+            super(maxSols);
+        }
+
+        @Override
+        protected Map<String, Double> getNewDataItem() {
+            return new HashMap<>();
+        }
+
+        void increaseDataPoint(String metric, double increment) {
+            updating();
+            currentData.merge(metric, increment, Double::sum);
+        }
+    }
+
+    /**
+     * Holds only the daily lists like the loggers in older saves.
+     */
+    @SuppressWarnings("serial")
+    private static class LegacyMSolLogger extends SolListDataLogger<MSolDataItem<Integer>> {
+        LegacyMSolLogger(int maxSols) {
+            super(maxSols);
+        }
+
+        void addDataPoint(int data) {
+            addData(new MSolDataItem<>(currentMsol, data));
+        }
+    }
+
+    /**
+     * Writes a legacy logger under the name of the current class.
+     */
+    private static class LegacyOutputStream extends ObjectOutputStream {
+        private final Class<?> legacy;
+        private final Class<?> current;
+
+        LegacyOutputStream(OutputStream out, Class<?> legacy, Class<?> current) throws IOException {
+            super(out);
+            this.legacy = legacy;
+            this.current = current;
+        }
+
+        @Override
+        protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
+            super.writeClassDescriptor(desc.forClass() == legacy ? ObjectStreamClass.lookup(current) : desc);
+        }
+    }
+
+    private static Object readLegacy(Object legacy, Class<?> current) throws IOException, ClassNotFoundException {
+        var out = new ByteArrayOutputStream();
+        try (var oos = new LegacyOutputStream(out, legacy.getClass(), current)) {
+            oos.writeObject(legacy);
+        }
+        try (var ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return ois.readObject();
+        }
+    }
+
+    private static void setTime(int missionSol, double millisol) {
+        DataLogger.changeTime(new MarsTime(1, 1, 1, millisol, missionSol));
+    }
+
+    @Test
+    void testDailyValues() {
+        var logger = new SolMetricDataLogger<String>(3);
+        setTime(1, 500);
+        logger.increaseDataPoint("A", 1D);
+        logger.increaseDataPoint("A", 2D);
+        logger.increaseDataPoint("B", 5D);
+
+        setTime(2, 500);
+        logger.increaseDataPoint("A", 4D);
+
+        assertEquals(4D, logger.getDataPoint("A").doubleValue(), "Today A");
+        assertNull(logger.getDataPoint("B"), "No B today");
+        assertEquals(Map.of("A", 3D, "B", 5D), logger.getSolData(1), "Sol 1");
+        assertEquals(Map.of("A", 4D), logger.getTodayData(), "Sol 2");
+        assertEquals(2, logger.getHistory().size(), "Sols held");
+    }
+
+    @Test
+    void testOldestDropped() {
+        var logger = new SolMetricDataLogger<Integer>(3);
+        for (int sol = 1; sol <= 5; sol++) {
+            setTime(sol, 500);
+            logger.increaseDataPoint(1, sol);
+        }
+
+        var history = logger.getHistory();
+        assertEquals(Map.of(3, Map.of(1, 3D), 4, Map.of(1, 4D), 5, Map.of(1, 5D)), history, "Last 3 sols");
+        assertNull(logger.getSolData(2), "Sol 2 dropped");
+    }
+
+    @Test
+    void testDailyAverage() {
+        var logger = new SolMetricDataLogger<Integer>(3);
+        for (int sol = 1; sol <= 4; sol++) {
+            setTime(sol, 500);
+            logger.increaseDataPoint(1, 10D * sol);
+        }
+
+        // Sol 2 & 3 plus today's 40 at half way through the sol
+        assertEquals((20D + 30D + 80D) / 3, logger.getDailyAverage(1), 1E-9, "Average");
+        assertEquals(0D, logger.getDailyAverage(2), 1E-9, "Unknown metric");
+    }
+
+    @Test
+    void testSerialized() throws IOException, ClassNotFoundException {
+        var logger = new SolMetricDataLogger<String>(2);
+        for (int sol = 1; sol <= 3; sol++) {
+            setTime(sol, 500);
+            logger.increaseDataPoint("A", sol);
+            logger.increaseDataPoint("B" + sol, 1D);
+        }
+
+        var out = new ByteArrayOutputStream();
+        try (var oos = new ObjectOutputStream(out)) {
+            oos.writeObject(logger);
+        }
+        SolMetricDataLogger<String> copy;
+        try (var ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            var read = (SolMetricDataLogger<String>) ois.readObject();
+            copy = read;
+        }
+
+        assertEquals(logger.getHistory(), copy.getHistory(), "Same history");
+        assertEquals(logger.getDailyAverage("A"), copy.getDailyAverage("A"), 1E-9, "Same average");
+
+        setTime(4, 500);
+        copy.increaseDataPoint("A", 4D);
+        assertEquals(Map.of(3, Map.of("A", 3D, "B3", 1D), 4, Map.of("A", 4D)), copy.getHistory(),
+                        "Carries on after reading");
+    }
+
+    @Test
+    void testReadLegacy() throws IOException, ClassNotFoundException {
+        var legacy = new LegacyMetricLogger(2);
+        for (int sol = 1; sol <= 3; sol++) {
+            setTime(sol, 500);
+            legacy.increaseDataPoint("A", sol);
+            legacy.increaseDataPoint("B" + sol, 1D);
+        }
+
+        @SuppressWarnings("unchecked")
+        var copy = (SolMetricDataLogger<String>) readLegacy(legacy, SolMetricDataLogger.class);
+        assertEquals(legacy.getHistory(), copy.getHistory(), "Same history");
+        assertEquals(3D, copy.getDataPoint("A").doubleValue(), "Today A");
+        assertEquals((2D + 6D) / 2, copy.getDailyAverage("A"), 1E-9, "Average");
+
+        setTime(4, 500);
+        copy.increaseDataPoint("A", 4D);
+        assertEquals(Map.of(3, Map.of("A", 3D, "B3", 1D), 4, Map.of("A", 4D)), copy.getHistory(),
+                        "Carries on after reading");
+    }
+
+    @Test
+    void testReadLegacyMSol() throws IOException, ClassNotFoundException {
+        var legacy = new LegacyMSolLogger(2);
+        setTime(1, 100);
+        legacy.addDataPoint(10);
+        setTime(2, 100);
+        legacy.addDataPoint(20);
+        legacy.addDataPoint(30);
+
+        @SuppressWarnings("unchecked")
+        var copy = (MSolDataLogger<Integer>) readLegacy(legacy, MSolDataLogger.class);
+        assertEquals(20D, copy.getAverageDouble(), 1E-9, "Average");
+
+        setTime(3, 100);
+        copy.addDataPoint(40);
+        // Sol 1 has been dropped
+        assertEquals(30D, copy.getAverageDouble(), 1E-9, "Average after reading");
+    }
+
+    @Test
+    void testMSolAverage() {
+        var logger = new MSolDataLogger<Integer>(2);
+        setTime(1, 100);
+        logger.addDataPoint(10);
+        setTime(2, 100);
+        logger.addDataPoint(20);
+        logger.addDataPoint(30);
+        setTime(3, 100);
+        logger.addDataPoint(40);
+
+        // Sol 1 has been dropped
+        assertEquals(30D, logger.getAverageDouble(), 1E-9, "Average");
+        assertEquals(2, logger.getHistory().size(), "Sols held");
+    }
+}
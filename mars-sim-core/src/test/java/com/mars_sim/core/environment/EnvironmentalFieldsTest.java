@@ -0,0 +1,41 @@
+package com.mars_sim.core.environment;
+
+import com.mars_sim.core.AbstractMarsSimUnitTest;
+import com.mars_sim.core.map.location.Coordinates;
+
+public class EnvironmentalFieldsTest extends AbstractMarsSimUnitTest {
+
+    public void testSnapshotPerMillisol() {
+        var weather = sim.getWeather();
+        var location = new Coordinates("10.0 N", "45.0 E");
+        int id = weather.addLocation(location);
+        assertEquals("Same ID when added again", id, weather.addLocation(location));
+
+        var pulse = createPulse(1, 100, false, false);
+        sim.getSurfaceFeatures().timePassing(pulse);
+        weather.refreshFields(pulse);
+
+        double temperature = weather.getField(EnvironmentalFields.TEMPERATURE, id);
+        assertFalse("Temperature in snapshot", Double.isNaN(temperature));
+        assertEquals("Temperature read from snapshot", temperature, weather.getTemperature(id));
+        assertEquals("Temperature unchanged in millisol", temperature, weather.getTemperature(id));
+        assertEquals("Optical depth read from snapshot",
+                weather.getField(EnvironmentalFields.OPTICAL_DEPTH, id),
+                sim.getSurfaceFeatures().getOpticalDepth(id));
+
+        var other = weather.addLocation(new Coordinates("20.0 S", "10.0 E"));
+        assertTrue("Location added after refresh", Double.isNaN(weather.getField(EnvironmentalFields.AIR_PRESSURE, other)));
+
+        pulse = createPulse(1, 101, false, false);
+        assertTrue("Snapshot stale in next millisol",
+                Double.isNaN(weather.getField(EnvironmentalFields.TEMPERATURE, id)));
+
+        weather.refreshFields(pulse);
+        assertFalse("Snapshot refreshed",
+                Double.isNaN(weather.getField(EnvironmentalFields.TEMPERATURE, id)));
+
+        weather.clearMap();
+        assertTrue("Snapshot dropped",
+                Double.isNaN(weather.getField(EnvironmentalFields.TEMPERATURE, id)));
+    }
+}
@@ -141,5 +141,55 @@ public class TestScheduledEventManager extends AbstractMarsSimUnitTest  {
 			assertEquals("Handler executuon count", count, handler.counter);
 		}
     }
+
+	public void testCancelEvent() {
+		TestHandler first = new TestHandler("First", 0);
+		TestHandler second = new TestHandler("Second", 0);
+		ScheduledEvent firstEvent = mgr.addEvent(100, first);
+		mgr.addEvent(200, second);
+
+		firstEvent.cancel();
+		assertTrue("Event cancelled", firstEvent.isCancelled());
+		Collection<ScheduledEvent> events = mgr.getEvents();
+		assertEquals("Cancelled event not listed", 1, events.size());
+		assertEquals("Remaining event", "Second", events.iterator().next().getDescription());
+
+		mgr.timePassing(createPulse(clock.getMarsTime().addTime(300), false, false));
+		assertEquals("Cancelled handler not executed", 0, first.counter);
+		assertEquals("Other handler executed", 1, second.counter);
+		assertTrue("All events executed", events.isEmpty());
+	}
+
+	public void testRemoveEvent() {
+		TestHandler handler = new TestHandler("Handler", 0);
+		mgr.addEvent(300, handler);
+		mgr.addEvent(100, handler);
+
+		mgr.removeEvent(handler);
+
+		Collection<ScheduledEvent> events = mgr.getEvents();
+		assertEquals("One event removed", 1, events.size());
+		assertEquals("Earliest event removed", clock.getMarsTime().addTime(300),
+						events.iterator().next().getWhen());
+	}
+
+	public void testManyEvents() {
+		int count = 1000;
+		TestHandler handler = new TestHandler("Handler", 0);
+		for (int i = count; i > 0; i--) {
+			mgr.addEvent(i, handler);
+		}
+
+		// Drain half of them in one pulse
+		mgr.timePassing(createPulse(clock.getMarsTime().addTime(count / 2), false, false));
+		assertEquals("Due events executed", count / 2, handler.counter);
+
+		double last = 0;
+		for (ScheduledEvent event : mgr.getEvents()) {
+			double due = event.getWhen().getTotalMillisols();
+			assertTrue("Events in order", due >= last);
+			last = due;
+		}
+		assertEquals("Remaining events", count / 2, mgr.getEvents().size());
+	}
 }
-   
\ No newline at end of file
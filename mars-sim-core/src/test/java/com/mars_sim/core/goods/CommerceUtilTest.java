@@ -0,0 +1,71 @@
+package com.mars_sim.core.goods;
+
+import com.mars_sim.core.AbstractMarsSimUnitTest;
+import com.mars_sim.core.equipment.EquipmentFactory;
+import com.mars_sim.core.equipment.EquipmentType;
+import com.mars_sim.core.map.location.Coordinates;
+import com.mars_sim.core.map.location.LocalPosition;
+import com.mars_sim.core.structure.MockSettlement;
+
+public class CommerceUtilTest extends AbstractMarsSimUnitTest {
+
+    /**
+     * Settlement that can be moved, like one placed again in the site editor.
+     */
+    @SuppressWarnings("serial")
+    private static class MovableSettlement extends MockSettlement {
+        // Set once moved
+        private Coordinates locn;
+
+        MovableSettlement(String name, Coordinates locn) {
+            super(name, false, locn);
+        }
+
+        @Override
+        public Coordinates getCoordinates() {
+            return (locn != null ? locn : super.getCoordinates());
+        }
+    }
+
+    public void testLoadSignature() {
+        var buyer = buildSettlement("Buyer", true, new Coordinates("0.0 N", "0.0 E"));
+        var seller = buildSettlement("Seller", true, new Coordinates("0.0 N", "10.0 E"));
+        var rover = buildRover(buyer, "Trader", new LocalPosition(0, 0));
+
+        var original = CommerceUtil.getLoadSignature(buyer, seller, rover);
+        assertEquals("Nothing changed", original, CommerceUtil.getLoadSignature(buyer, seller, rover));
+
+        EquipmentFactory.createEquipment(EquipmentType.BARREL, buyer);
+        assertEquals("Buyer containers not used", original, CommerceUtil.getLoadSignature(buyer, seller, rover));
+
+        EquipmentFactory.createEquipment(EquipmentType.BARREL, seller);
+        assertFalse("Seller has another empty barrel",
+                    original.equals(CommerceUtil.getLoadSignature(buyer, seller, rover)));
+    }
+
+    public void testReplacedSettlement() {
+        var home = buildSettlement("Home", false, new Coordinates("0.0 N", "0.0 E"));
+        var near = buildSettlement("Near", false, new Coordinates("0.0 N", "10.0 E"));
+        assertEquals("Distance to first settlement", home.getCoordinates().getDistance(near.getCoordinates()),
+                    CommerceUtil.getDistance(home, near), 1E-6);
+
+        // Same number of settlements but one is elsewhere
+        unitManager.removeUnit(near);
+        var far = buildSettlement("Far", false, new Coordinates("0.0 N", "90.0 E"));
+        assertEquals("Distance to replacement settlement", home.getCoordinates().getDistance(far.getCoordinates()),
+                    CommerceUtil.getDistance(home, far), 1E-6);
+    }
+
+    public void testRelocatedSettlement() {
+        var home = buildSettlement("Home", false, new Coordinates("0.0 N", "0.0 E"));
+        var moved = new MovableSettlement("Moved", new Coordinates("0.0 N", "10.0 E"));
+        unitManager.addUnit(moved);
+        double before = CommerceUtil.getDistance(home, moved);
+
+        moved.locn = new Coordinates("0.0 N", "90.0 E");
+        double after = CommerceUtil.getDistance(home, moved);
+        assertEquals("Distance after relocation", home.getCoordinates().getDistance(moved.getCoordinates()),
+                    after, 1E-6);
+        assertTrue("Distance changed", after > before);
+    }
+}
@@ -0,0 +1,96 @@
+package com.mars_sim.core.goods;
+
+import java.util.List;
+
+import com.mars_sim.core.AbstractMarsSimUnitTest;
+import com.mars_sim.core.process.ProcessItem;
+import com.mars_sim.core.resource.ItemType;
+import com.mars_sim.core.resource.ResourceUtil;
+
+public class GoodDependenciesTest extends AbstractMarsSimUnitTest {
+
+    private static boolean isInput(int id, List<ProcessItem> items) {
+        return items.stream()
+                    .anyMatch(i -> (i.getType() == ItemType.AMOUNT_RESOURCE) && (i.getId() == id));
+    }
+
+    public void testManufactureConsumers() {
+        var deps = new GoodDependencies(simConfig);
+        var processes = simConfig.getManufactureConfiguration().getManufactureProcessList();
+
+        for (Good g : GoodsUtil.getGoodsList()) {
+            if (g instanceof AmountResourceGood) {
+                int id = g.getID();
+                var expected = processes.stream().filter(p -> isInput(id, p.getInputList())).toList();
+                var found = deps.getManufactureConsumers(id);
+                assertEquals("Consumers of " + g.getName(), expected.size(), found.size());
+                assertTrue("Same consumers of " + g.getName(), found.containsAll(expected));
+            }
+        }
+    }
+
+    public void testFoodProductionConsumers() {
+        var deps = new GoodDependencies(simConfig);
+        var processes = simConfig.getFoodProductionConfiguration().getProcessList();
+
+        for (Good g : GoodsUtil.getGoodsList()) {
+            if (g instanceof AmountResourceGood) {
+                int id = g.getID();
+                var expected = processes.stream().filter(p -> isInput(id, p.getInputList())).toList();
+                var found = deps.getFoodProductionConsumers(id);
+                assertEquals("Consumers of " + g.getName(), expected.size(), found.size());
+                assertTrue("Same consumers of " + g.getName(), found.containsAll(expected));
+            }
+        }
+    }
+
+    public void testProducerInputs() {
+        var deps = new GoodDependencies(simConfig);
+
+        for (var p : simConfig.getManufactureConfiguration().getManufactureProcessList()) {
+            for (var out : p.getOutputList()) {
+                var inputs = deps.getInputs(out.getId());
+                for (var in : p.getInputList()) {
+                    if (in.getId() != out.getId()) {
+                        assertTrue(p.getName() + " input " + in.getName(), inputs.contains(in.getId()));
+                    }
+                }
+            }
+        }
+    }
+
+    public void testMealProportion() {
+        var deps = new GoodDependencies(simConfig);
+
+        for (var meal : simConfig.getMealConfiguration().getDishList()) {
+            for (var i : meal.getIngredientList()) {
+                assertTrue("Ingredient in " + meal.getMealName(),
+                            deps.getMealProportion(i.getAmountResourceID()) >= i.getProportion());
+            }
+        }
+    }
+
+    public void testResourceProcessConsumers() {
+        var deps = new GoodDependencies(simConfig);
+
+        for (var spec : simConfig.getBuildingConfiguration().getBuildingTypes()) {
+            for (var engine : spec.getResourceProcess()) {
+                var rp = engine.getProcessSpec();
+                for (int in : rp.getInputResources()) {
+                    assertEquals(rp.getName() + " consumes " + in, !rp.isAmbientInputResource(in),
+                                deps.getResourceProcessConsumers(in).contains(rp.getName()));
+                }
+            }
+        }
+    }
+
+    public void testFarmingInput() {
+        var deps = new GoodDependencies(simConfig);
+
+        assertTrue("Crops use water", deps.isFarmingInput(ResourceUtil.waterID));
+        assertTrue("Crops use soil", deps.isFarmingInput(ResourceUtil.soilID));
+        assertTrue("Crops use fertilizer", deps.isFarmingInput(ResourceUtil.fertilizerID));
+        assertTrue("Crops use grey water", deps.isFarmingInput(ResourceUtil.greyWaterID));
+        assertFalse("Crops do not use methane", deps.isFarmingInput(ResourceUtil.methaneID));
+    }
+}
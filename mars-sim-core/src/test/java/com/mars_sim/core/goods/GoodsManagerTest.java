@@ -3,6 +3,9 @@ package com.mars_sim.core.goods;
 
 import static org.junit.Assert.assertNotEquals;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import com.mars_sim.core.AbstractMarsSimUnitTest;
 import com.mars_sim.core.goods.GoodsManager.CommerceType;
 
@@ -49,4 +52,53 @@ public class GoodsManagerTest extends AbstractMarsSimUnitTest {
         	assertNotEquals("Demand has changed after budget review", initialDemand, newDemand);
         
     }
+
+    public void testIncrementalReview() {
+        var s = buildSettlement();
+        var gm = new GoodsManager(s);
+        var allGoods = GoodsUtil.getGoodsList();
+
+        // Every good is reviewed once over a full set of updates
+        Set<Good> reviewed = new HashSet<>();
+        int updates = 0;
+        while (reviewed.size() < allGoods.size()) {
+            var goods = gm.getGoodsToReview(allGoods);
+            assertTrue("Only a slice is reviewed", goods.size() < allGoods.size());
+            reviewed.addAll(goods);
+            updates++;
+        }
+        assertTrue("Updates to cover all goods", updates <= 20);
+
+        // A changed good is picked up in the next review only
+        Good changed = allGoods.get(allGoods.size() / 2);
+        boolean inSlice = true;
+        while (inSlice) {
+            // Move the slice past the good
+            inSlice = gm.getGoodsToReview(allGoods).contains(changed);
+        }
+        gm.markGoodChanged(changed.getID());
+        assertTrue("Changed good reviewed", gm.getGoodsToReview(allGoods).contains(changed));
+        assertFalse("Changed good reviewed once", gm.getGoodsToReview(allGoods).contains(changed));
+    }
+
+    public void testMarketAggregation() {
+        var goods = GoodsUtil.getGoodsList();
+        var market = new GoodsMarket(goods);
+        var good = goods.get(0);
+
+        assertEquals("Unset market", -1D, market.get(GoodsMarket.VALUE, good));
+
+        market.publish(GoodsMarket.VALUE, good, 10D);
+        assertEquals("Not applied before aggregation", -1D, market.get(GoodsMarket.VALUE, good));
+        market.aggregate();
+        assertEquals("First value", 10D, market.get(GoodsMarket.VALUE, good));
+
+        // Two settlements publish the same value
+        market.publish(GoodsMarket.VALUE, good, 20D);
+        market.publish(GoodsMarket.VALUE, good, 20D);
+        market.aggregate();
+        double expected = 0.95 * (0.95 * 10D + 0.05 * 20D) + 0.05 * 20D;
+        assertEquals("Blended value", expected, market.get(GoodsMarket.VALUE, good), 1E-9);
+        assertEquals("Other figure untouched", -1D, market.get(GoodsMarket.PRICE, good));
+    }
 }
@@ -0,0 +1,148 @@
+package com.mars_sim.core.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncLogHandlerTest {
+
+    /**
+     * Collects the records it is given.
+     */
+    private static class CollectingHandler extends Handler {
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void publish(LogRecord record) {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+            // Nothing to flush
+        }
+
+        @Override
+        public void close() {
+            // Nothing to close
+        }
+    }
+
+    @Test
+    void testRingBufferOrderAndCapacity() {
+        var buffer = new LogRingBuffer<Integer>(3);
+        assertEquals(4, buffer.capacity(), "Rounded to a power of two");
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i), "Offer " + i);
+        }
+        assertFalse(buffer.offer(4), "Buffer full");
+
+        assertEquals(0, buffer.poll().intValue(), "Oldest first");
+        assertTrue(buffer.offer(4), "Slot freed");
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, buffer.poll().intValue(), "Poll " + i);
+        }
+        assertNull(buffer.poll(), "Empty");
+        assertTrue(buffer.isEmpty(), "Empty");
+    }
+
+    @Test
+    void testRecordsWritten() throws InterruptedException {
+        var target = new CollectingHandler();
+        var handler = new AsyncLogHandler(List.of(target), 1024);
+
+        int threads = 4;
+        int perThread = 200;
+        var done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            String prefix = "T" + t + "-";
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    handler.publish(new LogRecord(Level.INFO, prefix + i));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        handler.close();
+
+        long written = target.messages.stream().filter(m -> m.startsWith("T")).count();
+        assertEquals(threads * perThread, written + handler.getDropped(), "All records accounted for");
+        for (int t = 0; t < threads; t++) {
+            // Each thread's records stay in order
+            String prefix = "T" + t + "-";
+            int last = -1;
+            for (String m : target.messages) {
+                if (m.startsWith(prefix)) {
+                    int i = Integer.parseInt(m.substring(prefix.length()));
+                    assertTrue(i > last, "In order " + m);
+                    last = i;
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWarningsNotDropped() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        CollectingHandler target = new CollectingHandler() {
+            @Override
+            public void publish(LogRecord record) {
+                try {
+                    // Hold the writer thread so the buffer fills up
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        var handler = new AsyncLogHandler(List.of(target), 2);
+
+        // Thread so a write of the warning waiting on the writer does not stall the test
+        var publisher = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                handler.publish(new LogRecord(Level.INFO, "Info " + i));
+            }
+            handler.publish(new LogRecord(Level.SEVERE, "Severe"));
+        });
+        publisher.start();
+        // The full buffer makes the publisher wait to write the warning itself
+        while (publisher.getState() == Thread.State.RUNNABLE) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        publisher.join();
+        handler.close();
+
+        assertTrue(handler.getDropped() > 0, "Buffer was full");
+        assertEquals("Severe", target.messages.get(target.messages.size() - 1), "Severe written after queued records");
+        long infos = target.messages.stream().filter(m -> m.startsWith("Info")).count();
+        assertEquals(10, infos + handler.getDropped(), "Only info records dropped");
+    }
+
+    @Test
+    void testPublishAfterClose() {
+        var target = new CollectingHandler();
+        var handler = new AsyncLogHandler(List.of(target), 2);
+        handler.close();
+
+        // Closed so written directly
+        handler.publish(new LogRecord(Level.INFO, "After close"));
+        assertEquals(List.of("After close"), target.messages, "Written after close");
+        assertEquals(0, handler.getDropped(), "None dropped");
+    }
+}
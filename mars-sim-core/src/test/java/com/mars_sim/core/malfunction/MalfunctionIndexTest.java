@@ -0,0 +1,73 @@
+package com.mars_sim.core.malfunction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.mars_sim.core.AbstractMarsSimUnitTest;
+import com.mars_sim.core.tool.RandomUtil;
+
+public class MalfunctionIndexTest extends AbstractMarsSimUnitTest {
+
+	private static final Set<String> SCOPES = Set.of("rover", "vehicle");
+
+	/**
+	 * Calculates the repair parts the long way.
+	 */
+	private static Map<Integer, Double> expectedRepairParts(Set<String> scopes) {
+		Map<Integer, Double> result = new HashMap<>();
+		for (MalfunctionMeta m : MalfunctionFactory.mc.getMalfunctionList()) {
+			if (m.isMatched(scopes)) {
+				for (RepairPart p : m.getParts()) {
+					double number = RandomUtil.getIntegerAverageValue(p.getNumber())
+								* p.getRepairProbability() / 100D * m.getProbability() / 100D;
+					result.merge(p.getPartID(), number, Double::sum);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void assertSameParts(Map<Integer, Double> expected, Map<Integer, Double> actual) {
+		assertEquals("Number of parts", expected.size(), actual.size());
+		for (var e : expected.entrySet()) {
+			assertEquals("Part " + e.getKey(), e.getValue(), actual.get(e.getKey()), 1E-9);
+		}
+	}
+
+	public void testRepairParts() {
+		assertSameParts(expectedRepairParts(SCOPES), MalfunctionFactory.getRepairPartProbabilities(SCOPES));
+	}
+
+	public void testPickMatches() {
+		for (int i = 0; i < 100; i++) {
+			MalfunctionMeta m = MalfunctionIndex.pick(SCOPES);
+			assertNotNull("Malfunction picked", m);
+			assertTrue(m.getName() + " matches scopes", m.isMatched(SCOPES));
+		}
+	}
+
+	public void testProbabilityChange() {
+		MalfunctionMeta changed = null;
+		for (MalfunctionMeta m : MalfunctionFactory.mc.getMalfunctionList()) {
+			if (m.isMatched(SCOPES) && !m.getParts().isEmpty()) {
+				changed = m;
+				break;
+			}
+		}
+		assertNotNull("Found malfunction with parts", changed);
+
+		double total = MalfunctionIndex.getTotalProbability(SCOPES);
+		double original = changed.getProbability();
+		try {
+			changed.setProbability(original + 10D);
+
+			assertEquals("Total probability updated", total + 10D,
+						MalfunctionIndex.getTotalProbability(SCOPES), 1E-9);
+			assertSameParts(expectedRepairParts(SCOPES), MalfunctionFactory.getRepairPartProbabilities(SCOPES));
+		}
+		finally {
+			changed.setProbability(original);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.mars_sim.core.map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MapTextureCacheTest {
+
+    @TempDir
+    Path folder;
+
+    private File createSource(String content) throws IOException {
+        File source = folder.resolve("map.jpg").toFile();
+        Files.writeString(source.toPath(), content);
+        return source;
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        File source = createSource("image data");
+        assertNull(MapTextureCache.load(source, true), "No cache yet");
+
+        int[] pixels = {0xff102030, 0xff405060, 0, -1, 7, 8};
+        MapTextureCache.save(source, true, new MapTextureCache.Texture(3, 2, IntBuffer.wrap(pixels)));
+
+        var loaded = MapTextureCache.load(source, true);
+        assertNotNull(loaded, "Cache loaded");
+        assertEquals(3, loaded.width(), "Width");
+        assertEquals(2, loaded.height(), "Height");
+        for (int i = 0; i < pixels.length; i++) {
+            assertEquals(pixels[i], loaded.pixels().get(i), "Pixel " + i);
+        }
+
+        assertNull(MapTextureCache.load(source, false), "Mono pixels are not colours");
+    }
+
+    @Test
+    void testStaleCache() throws IOException {
+        File source = createSource("image data");
+        MapTextureCache.save(source, true, new MapTextureCache.Texture(1, 1, IntBuffer.wrap(new int[] {1})));
+
+        // Same length but different content
+        Files.writeString(source.toPath(), "image date");
+        assertNull(MapTextureCache.load(source, true), "Checksum differs");
+    }
+}
@@ -0,0 +1,61 @@
+package com.mars_sim.core.map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.IntBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import com.mars_sim.core.tool.RandomUtil;
+
+class ParallelMapRendererTest {
+
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 360;
+    private static final double HALF_PI = Math.PI / 2;
+
+    private static ParallelMapRenderer createRenderer(boolean mono) {
+        int[] texture = new int[WIDTH * HEIGHT];
+        for (int i = 0; i < texture.length; i++) {
+            texture[i] = (mono ? RandomUtil.getRandomInt(255) : RandomUtil.getRandomInt(0xffffff));
+        }
+        return new ParallelMapRenderer(IntBuffer.wrap(texture), WIDTH, HEIGHT, mono);
+    }
+
+    private static void assertSameImage(ParallelMapRenderer renderer) {
+        for (int i = 0; i < 10; i++) {
+            int boxWidth = 100 + RandomUtil.getRandomInt(300);
+            int boxHeight = 100 + RandomUtil.getRandomInt(300);
+            double rho = (1D + RandomUtil.getRandomDouble(4D)) * HEIGHT / Math.PI;
+            double phi = RandomUtil.getRandomDouble(Math.PI);
+            double theta = RandomUtil.getRandomDouble(Math.PI * 2);
+
+            int[] sequential = new int[boxWidth * boxHeight];
+            int[] parallel = new int[boxWidth * boxHeight];
+            renderer.renderSequential(phi, theta, boxWidth, boxHeight, rho, sequential);
+            renderer.render(phi, theta, boxWidth, boxHeight, rho, parallel);
+
+            assertArrayEquals(sequential, parallel, "Same image at zoom " + rho);
+        }
+    }
+
+    @Test
+    void testColourMatchesSequential() {
+        assertSameImage(createRenderer(false));
+    }
+
+    @Test
+    void testMonoMatchesSequential() {
+        assertSameImage(createRenderer(true));
+    }
+
+    @Test
+    void testOffGlobeIsBlack() {
+        var renderer = createRenderer(false);
+        int[] image = new int[100 * 100];
+        renderer.render(HALF_PI, 0D, 100, 100, 10D, image);
+
+        assertEquals(0, image[0], "Corner is black");
+    }
+}
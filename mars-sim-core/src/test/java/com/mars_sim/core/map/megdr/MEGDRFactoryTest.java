@@ -16,6 +16,8 @@ class MEGDRFactoryTest {
                                     + MEGDRFactory.SEPARATOR + " " + MEGDRMapReader.DEFAULT_MEGDR_FILE);
         MEGDRMapReader arrayReader = MEGDRFactory.createReader(MEGDRFactory.ARRAY_READER
         						+ " " + MEGDRFactory.SEPARATOR  + MEGDRMapReader.DEFAULT_MEGDR_FILE + " ");
+        MEGDRMapReader sharedReader = MEGDRFactory.createReader(MEGDRFactory.SHARED_READER
+                                    + MEGDRFactory.SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE);
         
         for (int i = 0; i < 1000; i++) {
             double phi = RandomUtil.getRandomDouble(Math.PI);
@@ -23,9 +25,34 @@ class MEGDRFactoryTest {
             short memoryElevation = memoryReader.getElevation(phi, theta);
             short directElevation = directReader.getElevation(phi, theta);
             short arrayElevation = arrayReader.getElevation(phi, theta);
+            short sharedElevation = sharedReader.getElevation(phi, theta);
 
             assertEquals("Array & Direct elevation", arrayElevation, directElevation);
             assertEquals("Array & Memory elevation", arrayElevation, memoryElevation);
+            assertEquals("Array & Shared elevation", arrayElevation, sharedElevation);
+        }
+    }
+
+    @Test
+    void testAveragedLevels() {
+        MEGDRMapShared reader = (MEGDRMapShared) MEGDRFactory.createReader(MEGDRFactory.SHARED_READER
+                                    + MEGDRFactory.SEPARATOR + MEGDRMapReader.DEFAULT_MEGDR_FILE
+                                    + MEGDRFactory.SEPARATOR + "2");
+        assertEquals("Levels built", 2, reader.getLevels());
+
+        int width = reader.getMapWidth();
+        for (int i = 0; i < 100; i++) {
+            // Centre of a pixel in level 1
+            int row = RandomUtil.getRandomInt(reader.getMapHeight() / 2 - 1);
+            int column = RandomUtil.getRandomInt(width / 2 - 1);
+            double phi = row * Math.PI / (reader.getMapHeight() / 2);
+            double theta = column * Math.PI * 2 / (width / 2);
+
+            int top = 2 * row * width + 2 * column;
+            int sum = reader.getElevation(top) + reader.getElevation(top + 1)
+                        + reader.getElevation(top + width) + reader.getElevation(top + width + 1);
+            assertEquals("Average of block", Math.floorDiv(sum + 2, 4), reader.getAverageElevation(phi, theta, 1));
+            assertEquals("Level 0 is a pixel", reader.getElevation(phi, theta), reader.getAverageElevation(phi, theta, 0));
         }
     }
 }
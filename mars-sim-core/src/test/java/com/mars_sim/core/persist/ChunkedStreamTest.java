@@ -0,0 +1,132 @@
+package com.mars_sim.core.persist;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ChunkedStreamTest {
+
+    private static byte[] createContent(int size) {
+        // Random content is not compressible and has no repeated chunks
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+
+    private static byte[] write(byte[] content) throws IOException {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        try (ChunkedOutputStream out = new ChunkedOutputStream(file)) {
+            out.write(content);
+        }
+        return file.toByteArray();
+    }
+
+    private static byte[] read(byte[] file) throws IOException {
+        try (ChunkedInputStream in = new ChunkedInputStream(new ByteArrayInputStream(file))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        byte[] content = createContent(10 * 1024 * 1024);
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ChunkedOutputStream out = new ChunkedOutputStream(file);
+        out.write(content, 0, 100);
+        out.write(content, 100, content.length - 100);
+        out.close();
+
+        assertEquals(10, out.getChunkCount(), "Content is split");
+        assertEquals(content.length, out.getRawSize(), "Raw size");
+        assertArrayEquals(content, read(file.toByteArray()), "Content read back");
+    }
+
+    @Test
+    void testWrittenBeforeClose() throws IOException {
+        byte[] content = createContent(3 * 1024 * 1024);
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        ChunkedOutputStream out = new ChunkedOutputStream(file, SaveCodec.NONE, Runnable::run);
+        out.write(content);
+        assertTrue(file.size() >= 2 * 1024 * 1024, "Compressed chunks written before close");
+
+        out.close();
+        assertArrayEquals(content, read(file.toByteArray()), "Content read back");
+    }
+
+    @Test
+    void testCodecs() throws IOException {
+        // Repetitive content so there is something to compress
+        byte[] content = new byte[3 * 1024 * 1024];
+        Random rand = new Random(7);
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + rand.nextInt(4) + (i % 64 == 0 ? 10 : 0));
+        }
+
+        for (SaveCodec codec : SaveCodec.values()) {
+            ByteArrayOutputStream file = new ByteArrayOutputStream();
+            try (ChunkedOutputStream out = new ChunkedOutputStream(file, codec)) {
+                out.write(content);
+            }
+            if (codec != SaveCodec.NONE) {
+                assertTrue(file.size() < content.length, codec + " compresses");
+            }
+
+            try (ChunkedInputStream in = new ChunkedInputStream(new ByteArrayInputStream(file.toByteArray()))) {
+                assertArrayEquals(content, in.readAllBytes(), codec + " content read back");
+                assertEquals(codec, in.getCodec(), "Codec recorded in the header");
+            }
+        }
+    }
+
+    @Test
+    void testLZCompressor() throws IOException {
+        byte[] text = "The quick brown fox jumps over the lazy dog. ".repeat(500).getBytes();
+        byte[] compressed = LZCompressor.compress(text);
+
+        assertTrue(compressed.length < text.length / 10, "Repeated text compresses");
+        assertArrayEquals(text, LZCompressor.decompress(compressed, text.length), "Text read back");
+
+        byte[] random = createContent(100_000);
+        assertArrayEquals(random, LZCompressor.decompress(LZCompressor.compress(random), random.length),
+                    "Random content read back");
+        assertEquals(0, LZCompressor.decompress(LZCompressor.compress(new byte[0]), 0).length, "Empty block");
+    }
+
+    @Test
+    void testEmpty() throws IOException {
+        byte[] file = write(new byte[0]);
+
+        assertEquals(0, read(file).length, "No content read back");
+    }
+
+    @Test
+    void testIsChunked() throws IOException {
+        byte[] file = write(createContent(1000));
+
+        assertTrue(ChunkedInputStream.isChunked(new BufferedInputStream(new ByteArrayInputStream(file))),
+                    "Chunked file detected");
+        assertFalse(ChunkedInputStream.isChunked(new BufferedInputStream(new ByteArrayInputStream(new byte[] {0x1f, (byte)0x8b}))),
+                    "GZIP file not detected");
+    }
+
+    @Test
+    void testCorruptedChunk() throws IOException {
+        byte[] file = write(createContent(1000));
+        // Last byte of the only chunk's content before the end marker
+        file[file.length - 5] ^= 0x7f;
+
+        assertThrows(IOException.class, () -> read(file), "Corruption detected");
+    }
+}
@@ -0,0 +1,112 @@
+package com.mars_sim.core.person;
+
+import com.mars_sim.core.AbstractMarsSimUnitTest;
+
+public class PopulationPhysiologyTest extends AbstractMarsSimUnitTest {
+
+    private static void setVitals(PhysicalCondition pc, double thirst, double fatigue, double hunger, double stress) {
+        pc.setThirst(thirst);
+        pc.setFatigue(fatigue);
+        pc.setHunger(hunger);
+        pc.setStress(stress);
+    }
+
+    private static void assertVitals(String message, PhysicalCondition pc, double thirst, double fatigue,
+                                    double hunger, double stress) {
+        assertEquals(message + " thirst", thirst, pc.getThirst(), 1E-9);
+        assertEquals(message + " fatigue", fatigue, pc.getFatigue(), 1E-9);
+        assertEquals(message + " hunger", hunger, pc.getHunger(), 1E-9);
+        assertEquals(message + " stress", stress, pc.getStress(), 1E-9);
+    }
+
+    public void testAttachKeepsVitals() {
+        var s = buildSettlement("Batch");
+        var pc = buildPerson("Member", s).getPhysicalCondition();
+        setVitals(pc, 100, 200, 300, 40);
+        double performance = pc.getPerformanceFactor();
+
+        var physiology = new PopulationPhysiology();
+        physiology.attach(pc);
+        assertTrue("Attached", pc.isViewOf(physiology));
+        assertVitals("Attached", pc, 100, 200, 300, 40);
+        assertEquals("Attached performance", performance, pc.getPerformanceFactor(), 1E-9);
+
+        physiology.detach(pc);
+        assertFalse("Detached", pc.isViewOf(physiology));
+        assertVitals("Detached", pc, 100, 200, 300, 40);
+    }
+
+    public void testBatchUpdate() {
+        var s = buildSettlement("Batch");
+        var pc1 = buildPerson("One", s).getPhysicalCondition();
+        var pc2 = buildPerson("Two", s).getPhysicalCondition();
+
+        var physiology = new PopulationPhysiology();
+        physiology.attach(pc1);
+        physiology.attach(pc2);
+        setVitals(pc1, 100, 200, 300, 40);
+        setVitals(pc2, 10, PhysicalCondition.MAX_FATIGUE, 30, 1);
+
+        physiology.updateVitals(2);
+
+        assertEquals("Fatigue increased", 201, pc1.getFatigue(), 1E-9);
+        assertEquals("Stress reduced", 38, pc1.getStress(), 1E-9);
+        double drift = pc1.getThirst() - 100;
+        assertGreaterThan("Thirst increased", 0, drift);
+        assertEquals("Hunger increased like thirst", 300 + drift, pc1.getHunger(), 1E-9);
+
+        assertEquals("Fatigue at maximum", PhysicalCondition.MAX_FATIGUE, pc2.getFatigue(), 1E-9);
+        assertEquals("Stress not negative", 0, pc2.getStress(), 1E-9);
+    }
+
+    public void testSlotReused() {
+        var s = buildSettlement("Batch");
+        var pc1 = buildPerson("One", s).getPhysicalCondition();
+        var pc2 = buildPerson("Two", s).getPhysicalCondition();
+        setVitals(pc2, 10, 20, 30, 4);
+
+        var physiology = new PopulationPhysiology();
+        physiology.attach(pc1);
+        physiology.detach(pc1);
+        physiology.attach(pc2);
+
+        // Values of the first member are not carried over to the slot
+        assertVitals("Reused slot", pc2, 10, 20, 30, 4);
+    }
+
+    public void testReleasedSlotReused() {
+        var s = buildSettlement("Batch");
+        var pc1 = buildPerson("One", s).getPhysicalCondition();
+        var pc2 = buildPerson("Two", s).getPhysicalCondition();
+        var pc3 = buildPerson("Three", s).getPhysicalCondition();
+        var pc4 = buildPerson("Four", s).getPhysicalCondition();
+        setVitals(pc1, 1, 2, 3, 4);
+        setVitals(pc3, 5, 6, 7, 8);
+        setVitals(pc4, 9, 10, 11, 12);
+
+        var physiology = new PopulationPhysiology();
+        physiology.attach(pc1);
+        physiology.attach(pc2);
+        physiology.attach(pc3);
+        physiology.detach(pc2);
+        physiology.attach(pc4);
+
+        assertVitals("First", pc1, 1, 2, 3, 4);
+        assertVitals("Third", pc3, 5, 6, 7, 8);
+        assertVitals("Reused slot", pc4, 9, 10, 11, 12);
+    }
+
+    public void testOnlyThresholdCrossed() {
+        var s = buildSettlement("Batch");
+        var pc1 = buildPerson("One", s).getPhysicalCondition();
+        var pc2 = buildPerson("Two", s).getPhysicalCondition();
+        setVitals(pc1, 1000, PhysicalCondition.FATIGUE_THRESHOLD - 0.5, 1000, 50);
+        setVitals(pc2, 1000, 0, 1000, 50);
+
+        var physiology = new PopulationPhysiology();
+        physiology.attach(pc1);
+        physiology.attach(pc2);
+
+        assertEquals("Only fatigue of one member crossed", 1, physiology.updateVitals(0));
+    }
+}
@@ -44,6 +44,35 @@ class CacheCreatorTest {
         Assertions.assertEquals(1.0, cacheCreator.getCache().size());
     }
 
+    @Test
+    public void testPutNonPositiveScore() {
+        RatingScore zero = mock(RatingScore.class);
+        RatingScore negative = mock(RatingScore.class);
+        Rating zeroRating = mock(Rating.class);
+        Rating negativeRating = mock(Rating.class);
+        when(zero.getScore()).thenReturn(0.0);
+        when(negative.getScore()).thenReturn(-2.0);
+        when(zeroRating.getScore()).thenReturn(zero);
+        when(negativeRating.getScore()).thenReturn(negative);
+
+        cacheCreator.put(rating1);
+        cacheCreator.put(zeroRating);
+        cacheCreator.put(negativeRating);
+        cacheCreator.put(rating2);
+
+        // Only the positive scores are kept so the cumulative scores never decrease
+        Assertions.assertEquals(8.0, cacheCreator.getTotalProbability());
+        Assertions.assertEquals(2.0, cacheCreator.getCache().size());
+
+        try (MockedStatic<RandomUtil> randomUtilStatic =
+                     mockStatic(RandomUtil.class)) {
+            randomUtilStatic.when(() -> RandomUtil
+                    .getRandomDouble(8.0)).thenReturn(6.0);
+
+            Assertions.assertEquals(rating2, cacheCreator.getRandomSelection());
+        }
+    }
+
     @Test
     public void testAdd() {
         List<Rating> ratings = new ArrayList<>();
@@ -84,4 +113,26 @@ class CacheCreatorTest {
             Assertions.assertEquals(1.0, cacheCreator.getCache().size());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSelectionAfterRemoval() {
+        cacheCreator.put(rating1);
+        cacheCreator.put(rating2);
+
+        try (MockedStatic<RandomUtil> randomUtilStatic =
+                     mockStatic(RandomUtil.class)) {
+            randomUtilStatic.when(() -> RandomUtil
+                    .getRandomDouble(8.0)).thenReturn(6.0);
+            randomUtilStatic.when(() -> RandomUtil
+                    .getRandomDouble(5.0)).thenReturn(5.0);
+
+            Assertions.assertEquals(rating2, cacheCreator.getRandomSelection());
+            Assertions.assertEquals(5.0, cacheCreator.getTotalProbability());
+
+            // Remaining cumulative scores are adjusted
+            Assertions.assertEquals(rating1, cacheCreator.getRandomSelection());
+            Assertions.assertEquals(0.0, cacheCreator.getTotalProbability());
+            Assertions.assertTrue(cacheCreator.getCache().isEmpty());
+        }
+    }
+}
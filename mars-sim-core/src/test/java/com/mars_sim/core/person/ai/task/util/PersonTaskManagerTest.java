@@ -0,0 +1,78 @@
+package com.mars_sim.core.person.ai.task.util;
+
+import java.util.HashSet;
+
+import com.mars_sim.core.AbstractMarsSimUnitTest;
+import com.mars_sim.core.map.location.LocalPosition;
+import com.mars_sim.core.person.PhysicalCondition;
+
+public class PersonTaskManagerTest extends AbstractMarsSimUnitTest {
+
+    public void testCacheReused() {
+        var s = buildSettlement("Cache");
+        buildAccommodation(s.getBuildingManager(), new LocalPosition(0, 0), 0D, 0);
+        var p = buildPerson("Worker", s);
+        var tm = p.getMind().getTaskManager();
+
+        var now = sim.getMasterClock().getMarsTime();
+        var cache = tm.rebuildTaskCache(now);
+        assertFalse("Cache has jobs", cache.getCache().isEmpty());
+
+        var later = now.addTime(1D);
+        assertTrue("Cache valid when nothing changed", tm.isCacheValid(cache, later));
+
+        var old = now.addTime(10D);
+        assertFalse("Cache expires", tm.isCacheValid(cache, old));
+    }
+
+    public void testCacheInvalidated() {
+        var s = buildSettlement("Cache");
+        buildAccommodation(s.getBuildingManager(), new LocalPosition(0, 0), 0D, 0);
+        var p = buildPerson("Worker", s);
+        var tm = p.getMind().getTaskManager();
+
+        var now = sim.getMasterClock().getMarsTime();
+        var cache = tm.rebuildTaskCache(now);
+
+        // Get hungry
+        p.getPhysicalCondition().setHunger(p.getPhysicalCondition().getHunger()
+                                        + 2 * PhysicalCondition.HUNGER_THRESHOLD);
+        assertFalse("Cache invalid when hungry", tm.isCacheValid(cache, now));
+    }
+
+    public void testCachedScores() {
+        var s = buildSettlement("Cache");
+        var bm = s.getBuildingManager();
+        buildAccommodation(bm, new LocalPosition(0, 0), 0D, 0);
+        buildResearch(bm, new LocalPosition(10, 0), 0D, 1);
+        buildRecreation(bm, new LocalPosition(20, 0), 0D, 2);
+        var p = buildPerson("Worker", s);
+        var tm = p.getMind().getTaskManager();
+
+        var cache = tm.rebuildTaskCache(sim.getMasterClock().getMarsTime());
+        var entries = cache.getCache();
+        int size = entries.size();
+        assertTrue("Cache has several jobs", size > 1);
+
+        double total = 0D;
+        for (var j : entries) {
+            double score = j.getScore().getScore();
+            assertGreaterThan("Score of " + j.getName(), 0D, score);
+            total += score;
+        }
+        assertEquals("Total of the scores", total, cache.getTotalProbability(), 1E-6);
+
+        // Each selection is removed from the dynamic cache
+        var selected = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            var job = cache.getRandomSelection();
+            assertNotNull("Job selected", job);
+            assertTrue("Job selected once", selected.add(job));
+            assertEquals("Last selected", job, cache.getLastSelected());
+            total -= job.getScore().getScore();
+            assertEquals("Total after selection " + i, total, cache.getTotalProbability(), 1E-6);
+        }
+        assertTrue("Cache emptied", cache.getCache().isEmpty());
+        assertNull("Nothing left to select", cache.getRandomSelection());
+    }
+}
@@ -222,4 +222,53 @@ public class BuildingConnectorManagerTest extends TestCase {
         assertEquals(1D, nextPath.getPosition().getY(), SMALL_DELTA);
         assertTrue(path3.isEndOfPath());
     }
+
+    public void testPathAfterConnectionChanges() {
+
+        Settlement settlement = new MockSettlement();
+        BuildingManager buildingManager = settlement.getBuildingManager();
+
+        MockBuilding building0 = new MockBuilding(settlement, 0, new BoundedObject(0D, 0D, 9D, 9D, 0D));
+        BuildingTemplate buildingTemplate0 = new BuildingTemplate("0", 0, "building 0", "building 0", new BoundedObject(0D, 0D, 9D, 9D, 0D));
+        buildingTemplate0.addBuildingConnection("2", new LocalPosition(-4.5D, 0D));
+        buildingManager.addBuilding(building0, false);
+
+        MockBuilding building1 = new MockBuilding(settlement, 1, new BoundedObject(-12D, 0D, 6D, 9D, 270D));
+        BuildingTemplate buildingTemplate1 = new BuildingTemplate("1", 0, "building 1", "building 1", new BoundedObject(-12D, 0D, 6D, 9D, 270D));
+        buildingTemplate1.addBuildingConnection("2", new LocalPosition(0D, 4.5D));
+        buildingManager.addBuilding(building1, false);
+
+        MockBuilding building2 = new MockBuilding(settlement, 2, new BoundedObject(-6D, 0D, 2D, 3D, 270D));
+        BuildingTemplate buildingTemplate2 = new BuildingTemplate("2", 0, "building 2", "building 2", new BoundedObject(-6D, 0D, 6D, 9D, 270D));
+        buildingTemplate2.addBuildingConnection("0", new LocalPosition(0D, 1.5D));
+        buildingTemplate2.addBuildingConnection("1", new LocalPosition(0D, -1.5D));
+        buildingManager.addBuilding(building2, false);
+
+        List<BuildingTemplate> buildingTemplates = new ArrayList<BuildingTemplate>();
+        buildingTemplates.add(buildingTemplate0);
+        buildingTemplates.add(buildingTemplate1);
+        buildingTemplates.add(buildingTemplate2);
+
+        BuildingConnectorManager manager = new BuildingConnectorManager(settlement, buildingTemplates);
+        assertTrue(manager.hasValidPath(building0, building1));
+
+        // Cut building 1 off
+        Set<BuildingConnector> removed = manager.getBuildingConnections(building1, building2);
+        manager.removeAllConnectionsToBuilding(building1);
+        assertFalse(manager.hasValidPath(building0, building1));
+        assertTrue(manager.hasValidPath(building0, building2));
+        assertNull(manager.determineShortestPath(building0, new LocalPosition(2D, -1D),
+                                                 building1, new LocalPosition(-10D, 1D)));
+
+        // Reconnect it and the route is found again
+        for (BuildingConnector c : removed) {
+            manager.addBuildingConnection(c);
+        }
+        assertTrue(manager.hasValidPath(building1, building0));
+        InsideBuildingPath path = manager.determineShortestPath(building0, new LocalPosition(2D, -1D),
+                                                                building1, new LocalPosition(-10D, 1D));
+        assertNotNull(path);
+        assertEquals(12.269055622550205D, path.getPathLength(), SMALL_DELTA);
+        assertEquals(4, path.getRemainingPathLocations().size());
+    }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
@@ -28,6 +29,7 @@ import com.mars_sim.console.chat.service.RemoteChatService;
 import com.mars_sim.core.Simulation;
 import com.mars_sim.core.SimulationBuilder;
 import com.mars_sim.core.SimulationRuntime;
+import com.mars_sim.core.time.MasterClock;
 import com.mars_sim.core.tool.RandomStringUtils;
 
 /**
@@ -41,6 +43,11 @@ public class MarsProjectHeadless {
 	private static final String DISPLAYHELP = "help";
 	private static final String RESETADMIN = "resetadmin";
 	private static final String LOAD_ARG = "load";
+	private static final String BATCH_ARG = "batch";
+	private static final String BATCH_PULSE_ARG = "batchpulse";
+
+	/** Default width of a batch pulse in millisols. */
+	private static final double DEFAULT_BATCH_PULSE = 0.5;
 
 
 	/** initialized logger for this class. */
@@ -88,6 +95,10 @@ public class MarsProjectHeadless {
 
 		options.addOption(Option.builder(LOAD_ARG).argName("path to simulation file").hasArg().optionalArg(true)
 				.desc("Load the a previously saved sim. No argument then the default is used").build());
+		options.addOption(Option.builder(BATCH_ARG).argName("target sol").hasArg()
+				.desc("Run as fast as possible with fixed pulses until the target sol, then exit").build());
+		options.addOption(Option.builder(BATCH_PULSE_ARG).argName("millisols").hasArg()
+				.desc("Width of each pulse in batch mode (default " + DEFAULT_BATCH_PULSE + ")").build());
 		options.addOption(Option.builder(DISPLAYHELP)
 				.desc("Help of the options").build());
 		OptionGroup remoteGrp = new OptionGroup();
@@ -102,6 +113,7 @@ public class MarsProjectHeadless {
 
 		CommandLineParser commandline = new DefaultParser();
 		boolean resetAdmin = false;
+		boolean batch = false;
 		try {
 			CommandLine line = commandline.parse(options, args);
 
@@ -131,6 +143,17 @@ public class MarsProjectHeadless {
 				}
 				builder.setSimFile(simFile);
 			}
+			if (line.hasOption(BATCH_ARG)) {
+				batch = true;
+				double pulse = DEFAULT_BATCH_PULSE;
+				if (line.hasOption(BATCH_PULSE_ARG)) {
+					pulse = Double.parseDouble(line.getOptionValue(BATCH_PULSE_ARG));
+				}
+				builder.setBatchMode(Integer.parseInt(line.getOptionValue(BATCH_ARG)), pulse);
+				
+				// No remote console for a batch run
+				startServer = false;
+			}
 		}
 		catch (Exception e1) {
 			usage("Problem with arguments: " + e1.getMessage(), options);
@@ -139,9 +162,12 @@ public class MarsProjectHeadless {
 		// Do it
 		try {
 			// Build and run the simulator
-			builder.start();
+			Simulation sim = builder.start();
 
-			if (startServer) {
+			if (batch) {
+				waitForBatch(sim);
+			}
+			else if (startServer) {
 				startRemoteConsole(serverPort, resetAdmin);
 			}
 		}
@@ -154,6 +180,28 @@ public class MarsProjectHeadless {
 		return true;
 	}
 
+	/**
+	 * Waits for a batch run to reach the target sol and then exits.
+	 * 
+	 * @param sim
+	 */
+	private void waitForBatch(Simulation sim) {
+		MasterClock clock = sim.getMasterClock();
+		try {
+			while (!clock.isBatchComplete()) {
+				TimeUnit.SECONDS.sleep(1);
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		logger.info("Batch run completed at " + clock.getMarsTime().getTruncatedDateTimeStamp()
+					+ " with " + Math.round(clock.getBatchSolsPerSecond() * 1000.0)/1000.0 + " sols/sec.");
+		sim.endSimulation();
+		System.exit(0);
+	}
+
 	private void usage(String message, Options options) {
 		HelpFormatter format = new HelpFormatter();
 		System.out.println();
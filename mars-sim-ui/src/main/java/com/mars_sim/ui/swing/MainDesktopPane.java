@@ -36,6 +36,7 @@ import com.mars_sim.core.Entity;
 import com.mars_sim.core.GameManager.GameMode;
 import com.mars_sim.core.Simulation;
 import com.mars_sim.core.Unit;
+import com.mars_sim.core.UnitEventBus;
 import com.mars_sim.core.UnitManager;
 import com.mars_sim.core.UnitManagerEvent;
 import com.mars_sim.core.UnitManagerListener;
@@ -135,6 +136,9 @@ public class MainDesktopPane extends JDesktopPane
 
 		prepareListeners();
 
+		// Deliver the batched unit events to the tables once per frame
+		UnitEventBus.instance().start(UnitEventBus.FRAME_PERIOD);
+
 		init();
 	}
 
@@ -834,6 +838,7 @@ public class MainDesktopPane extends JDesktopPane
 	 */
 	public void destroy() {
 
+		UnitEventBus.instance().stop();
 		mode = null;
 		if (unitWindows != null) {
 			for (UnitWindow u : unitWindows) {
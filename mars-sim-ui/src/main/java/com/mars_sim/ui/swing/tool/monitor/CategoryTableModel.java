@@ -54,6 +54,14 @@ public abstract class CategoryTableModel<T> extends EntityTableModel<CategoryKey
 		}
 	}
 
+	/**
+	 * Table updates can be batched as only the latest value is shown.
+	 */
+	@Override
+	public boolean isBatched() {
+		return true;
+	}
+
 	/**
 	 * Prepares the model for deletion.
 	 */
@@ -10,9 +10,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.SwingUtilities;
 
@@ -33,6 +36,9 @@ public abstract class EntityTableModel<T> extends AbstractMonitorModel {
     private Map<T ,Map<Integer, Object>> rowCache;
     private Set<Integer> cachedColumns;
     private boolean fireEnabled;
+    /** Cells changed since the last update of the table; row in the top half. */
+    private final Set<Long> changedCells = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean updatePending = new AtomicBoolean(false);
 
     /**
 	 * Constructor.
@@ -279,8 +285,29 @@ public abstract class EntityTableModel<T> extends AbstractMonitorModel {
                 }
             }
 
-            // Fire the cell update in the background thread
-            SwingUtilities.invokeLater(new TableCellUpdater(rowIndex, i));
+            changedCells.add(((long) rowIndex << 32) | i);
+        }
+
+        // Fire all the changed cells in one go in the UI thread
+        if (updatePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::fireChangedCells);
+        }
+    }
+
+    /**
+     * Fires an update for each cell changed since the last call.
+     */
+    private void fireChangedCells() {
+        updatePending.set(false);
+        int rows = getRowCount();
+        Iterator<Long> it = changedCells.iterator();
+        while (it.hasNext()) {
+            long cell = it.next();
+            it.remove();
+            int rowIndex = (int) (cell >>> 32);
+            if (rowIndex < rows) {
+                fireTableCellUpdated(rowIndex, (int) cell);
+            }
         }
     }
 
@@ -289,20 +316,4 @@ public abstract class EntityTableModel<T> extends AbstractMonitorModel {
      * may involve expensive calculations.
      */
     protected abstract Object getEntityValue(T entity, int column);
-
-    private class TableCellUpdater implements Runnable {
-
-        private int colIndex;
-        private int rowIndex;
-
-        public TableCellUpdater(int rowIndex, int colIndex) {
-            this.rowIndex = rowIndex;
-            this.colIndex = colIndex;
-        }
-
-        @Override
-        public void run() {
-            fireTableCellUpdated(rowIndex, colIndex);
-        }
-    }
 }
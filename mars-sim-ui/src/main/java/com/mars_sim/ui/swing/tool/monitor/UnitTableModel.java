@@ -127,6 +127,14 @@ public abstract class UnitTableModel<T extends Unit> extends EntityTableModel<T>
 		oldUnit.removeUnitListener(this);
 	}
 
+	/**
+	 * Table updates can be batched as only the latest value is shown.
+	 */
+	@Override
+	public boolean isBatched() {
+		return true;
+	}
+
 	/**
 	 * Prepares the model for deletion.
 	 */